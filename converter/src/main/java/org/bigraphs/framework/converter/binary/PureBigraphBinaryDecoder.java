@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.converter.binary;
+
+import static org.bigraphs.framework.converter.binary.PureBigraphBinaryEncoder.*;
+import static org.bigraphs.framework.core.factory.BigraphFactory.createOrGetBigraphMetaModel;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+
+import java.io.*;
+import java.util.*;
+import org.bigraphs.framework.converter.BigraphObjectDecoder;
+import org.bigraphs.framework.core.ControlStatus;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.MutableBuilder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.impl.signature.DynamicSignatureBuilder;
+
+/**
+ * Decodes the binary representation of a pure bigraph that was created by {@link PureBigraphBinaryEncoder}.
+ * <p>
+ * If a signature is provided, the controls of the nodes are taken from it, so that the decoded bigraph can be used
+ * together with other bigraphs (e.g., reaction rules) of the same signature.
+ * Otherwise, a new signature is created from the control table of the encoding.
+ * <p>
+ * A decoder does not keep any state between calls and can be shared by several threads.
+ *
+ * @author Dominik Grzelak
+ * @see PureBigraphBinaryEncoder
+ */
+public class PureBigraphBinaryDecoder implements BigraphObjectDecoder<PureBigraph, byte[]> {
+
+    @Override
+    public PureBigraph decode(byte[] bigraph) {
+        return decode(bigraph, null);
+    }
+
+    /**
+     * Decodes the given bytes with respect to the given signature.
+     *
+     * @param bigraph   the encoded bigraph
+     * @param signature the signature of the bigraph, or {@code null} to create one from the encoding
+     * @return the decoded bigraph
+     */
+    public PureBigraph decode(byte[] bigraph, DynamicSignature signature) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bigraph))) {
+            return read(in, signature);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PureBigraph read(DataInputStream in, DynamicSignature signature) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported encoding version: " + version);
+        }
+
+        int controlCount = readVarInt(in);
+        String[] controlNames = new String[controlCount];
+        DynamicSignatureBuilder signatureBuilder = signature == null ? pureSignatureBuilder() : null;
+        for (int i = 0; i < controlCount; i++) {
+            controlNames[i] = in.readUTF();
+            int arity = readVarInt(in);
+            boolean active = in.readBoolean();
+            if (signatureBuilder != null) {
+                signatureBuilder.add(controlNames[i], arity, active ? ControlStatus.ACTIVE : ControlStatus.PASSIVE);
+            }
+        }
+        if (signatureBuilder != null) {
+            signature = signatureBuilder.create();
+        }
+        DynamicControl[] controls = new DynamicControl[controlCount];
+        for (int i = 0; i < controlCount; i++) {
+            controls[i] = signature.getControlByName(controlNames[i]);
+            if (controls[i] == null) {
+                throw new IllegalArgumentException("Control " + controlNames[i] + " is not part of the signature");
+            }
+        }
+
+        MutableBuilder<DynamicSignature> builder = new MutableBuilder<>(signature, createOrGetBigraphMetaModel(signature), null);
+        Map<String, BigraphEntity.OuterName> outerNames = new LinkedHashMap<>();
+        Map<String, BigraphEntity.InnerName> innerNames = new LinkedHashMap<>();
+        Map<String, BigraphEntity.Edge> edges = new LinkedHashMap<>();
+        Map<Integer, BigraphEntity.RootEntity> roots = new LinkedHashMap<>();
+        Map<Integer, BigraphEntity.SiteEntity> sites = new LinkedHashMap<>();
+        Map<String, BigraphEntity.NodeEntity> nodes = new LinkedHashMap<>();
+
+        BigraphEntity.OuterName[] outerNameTable = new BigraphEntity.OuterName[readVarInt(in)];
+        for (int i = 0; i < outerNameTable.length; i++) {
+            outerNameTable[i] = (BigraphEntity.OuterName) builder.createNewOuterName(in.readUTF());
+            outerNames.put(outerNameTable[i].getName(), outerNameTable[i]);
+        }
+        BigraphEntity.InnerName[] innerNameTable = new BigraphEntity.InnerName[readVarInt(in)];
+        for (int i = 0; i < innerNameTable.length; i++) {
+            innerNameTable[i] = (BigraphEntity.InnerName) builder.createNewInnerName(in.readUTF());
+            innerNames.put(innerNameTable[i].getName(), innerNameTable[i]);
+        }
+        BigraphEntity.Edge[] edgeTable = new BigraphEntity.Edge[readVarInt(in)];
+        for (int i = 0; i < edgeTable.length; i++) {
+            edgeTable[i] = (BigraphEntity.Edge) builder.createNewEdge(in.readUTF());
+            edges.put(edgeTable[i].getName(), edgeTable[i]);
+        }
+
+        int rootCount = readVarInt(in);
+        for (int i = 0; i < rootCount; i++) {
+            roots.put(i, (BigraphEntity.RootEntity) builder.createNewRoot(i));
+        }
+        BigraphEntity.NodeEntity[] nodeTable = new BigraphEntity.NodeEntity[readVarInt(in)];
+        for (int i = 0; i < nodeTable.length; i++) {
+            String name = in.readUTF();
+            BigraphEntity.NodeEntity node = (BigraphEntity.NodeEntity) builder.createNewNode(controls[readVarInt(in)], name);
+            builder.setParentOfNode(node, parentOf(readVarInt(in), roots, nodeTable));
+            int attributeCount = readVarInt(in);
+            if (attributeCount > 0) {
+                Map<String, Object> attributes = new HashMap<>();
+                for (int a = 0; a < attributeCount; a++) {
+                    attributes.put(in.readUTF(), readAttributeValue(in));
+                }
+                node.setAttributes(attributes);
+            }
+            nodeTable[i] = node;
+            nodes.put(name, node);
+        }
+        int siteCount = readVarInt(in);
+        for (int i = 0; i < siteCount; i++) {
+            BigraphEntity.SiteEntity site = (BigraphEntity.SiteEntity) builder.createNewSite(readVarInt(in));
+            builder.setParentOfNode(site, parentOf(readVarInt(in), roots, nodeTable));
+            sites.put(site.getIndex(), site);
+        }
+
+        for (BigraphEntity.NodeEntity each : nodeTable) {
+            int portCount = readVarInt(in);
+            for (int p = 0; p < portCount; p++) {
+                int portIndex = readVarInt(in);
+                builder.connectToLinkUsingIndex(each, linkOf(readVarInt(in), outerNameTable, edgeTable), portIndex);
+            }
+        }
+        for (BigraphEntity.InnerName each : innerNameTable) {
+            int linkRef = readVarInt(in);
+            if (linkRef == 0) continue;
+            BigraphEntity.Link link = linkOf(linkRef - 1, outerNameTable, edgeTable);
+            if (link instanceof BigraphEntity.OuterName) {
+                builder.connectInnerToOuter(each, (BigraphEntity.OuterName) link);
+            } else {
+                builder.connectInnerToLink(each, link);
+            }
+        }
+
+        PureBigraphBuilder<DynamicSignature>.InstanceParameter meta = builder.new InstanceParameter(
+                builder.getMetaModel(), signature, roots, sites, nodes, innerNames, outerNames, edges);
+        builder.reset();
+        return new PureBigraph(meta);
+    }
+
+    private BigraphEntity<?> parentOf(int parentRef, Map<Integer, BigraphEntity.RootEntity> roots, BigraphEntity.NodeEntity[] nodes) {
+        return (parentRef & 1) == 0 ? roots.get(parentRef >>> 1) : nodes[parentRef >>> 1];
+    }
+
+    private BigraphEntity.Link linkOf(int linkRef, BigraphEntity.OuterName[] outerNames, BigraphEntity.Edge[] edges) {
+        return (linkRef & 1) == 0 ? outerNames[linkRef >>> 1] : edges[linkRef >>> 1];
+    }
+
+    private Object readAttributeValue(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case ATTR_NULL:
+                return null;
+            case ATTR_STRING:
+                return in.readUTF();
+            case ATTR_INTEGER:
+                return in.readInt();
+            case ATTR_LONG:
+                return in.readLong();
+            case ATTR_DOUBLE:
+                return in.readDouble();
+            case ATTR_BOOLEAN:
+                return in.readBoolean();
+            case ATTR_SERIALIZABLE:
+                byte[] serialized = new byte[readVarInt(in)];
+                in.readFully(serialized);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    return objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown attribute type: " + type);
+        }
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.converter.binary;
+
+import java.io.*;
+import java.util.*;
+import org.bigraphs.framework.converter.BigraphObjectEncoder;
+import org.bigraphs.framework.core.BigraphEntityType;
+import org.bigraphs.framework.core.ControlStatus;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+
+/**
+ * Encodes a pure bigraph into a compact binary representation that can be decoded again by
+ * {@link PureBigraphBinaryDecoder}. It is used to keep bigraphs outside the heap, e.g., on disk.
+ * <p>
+ * The encoding contains a table of the used controls, the names of the outer names, inner names and edges,
+ * the nodes (name, control, parent and attributes; parents before children), the sites, the port linking of each node and the
+ * linking of the inner names. All numbers are written as variable-length integers.
+ * <p>
+ * Supported attribute values are strings, numbers, booleans and serializable objects.
+ *
+ * @author Dominik Grzelak
+ * @see PureBigraphBinaryDecoder
+ */
+public class PureBigraphBinaryEncoder implements BigraphObjectEncoder<byte[], PureBigraph> {
+
+    static final int VERSION = 1;
+
+    static final int ATTR_NULL = 0;
+    static final int ATTR_STRING = 1;
+    static final int ATTR_INTEGER = 2;
+    static final int ATTR_LONG = 3;
+    static final int ATTR_DOUBLE = 4;
+    static final int ATTR_BOOLEAN = 5;
+    static final int ATTR_SERIALIZABLE = 6;
+
+    @Override
+    public byte[] encode(PureBigraph bigraph) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(bigraph, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void write(PureBigraph bigraph, DataOutputStream out) throws IOException {
+        out.writeByte(VERSION);
+
+        // Place graph: each parent is written before its children
+        List<BigraphEntity.RootEntity> roots = new ArrayList<>(bigraph.getRoots());
+        roots.sort(Comparator.comparingInt(BigraphEntity.RootEntity::getIndex));
+        List<BigraphEntity.NodeEntity<DynamicControl>> nodes = new ArrayList<>(bigraph.getNodes().size());
+        List<Integer> nodeParents = new ArrayList<>(bigraph.getNodes().size());
+        List<int[]> sites = new ArrayList<>(bigraph.getSites().size());
+        Map<BigraphEntity<?>, Integer> nodeIndex = new HashMap<>();
+        Deque<BigraphEntity<?>> stack = new ArrayDeque<>();
+        for (int r = roots.size() - 1; r >= 0; r--) {
+            stack.push(roots.get(r));
+        }
+        while (!stack.isEmpty()) {
+            BigraphEntity<?> parent = stack.pop();
+            int parentRef = BigraphEntityType.isRoot(parent)
+                    ? 2 * ((BigraphEntity.RootEntity) parent).getIndex()
+                    : 2 * nodeIndex.get(parent) + 1;
+            List<BigraphEntity<?>> children = new ArrayList<>(bigraph.getChildrenOf(parent));
+            for (BigraphEntity<?> child : children) {
+                if (BigraphEntityType.isSite(child)) {
+                    sites.add(new int[]{((BigraphEntity.SiteEntity) child).getIndex(), parentRef});
+                } else if (BigraphEntityType.isNode(child)) {
+                    nodeIndex.put(child, nodes.size());
+                    nodes.add((BigraphEntity.NodeEntity<DynamicControl>) child);
+                    nodeParents.add(parentRef);
+                }
+            }
+            for (int c = children.size() - 1; c >= 0; c--) {
+                if (BigraphEntityType.isNode(children.get(c))) {
+                    stack.push(children.get(c));
+                }
+            }
+        }
+
+        Map<String, Integer> controls = new LinkedHashMap<>();
+        List<DynamicControl> controlTable = new ArrayList<>();
+        for (BigraphEntity.NodeEntity<DynamicControl> each : nodes) {
+            controls.computeIfAbsent(each.getControl().getNamedType().stringValue(), k -> {
+                controlTable.add(each.getControl());
+                return controlTable.size() - 1;
+            });
+        }
+        writeVarInt(out, controlTable.size());
+        for (DynamicControl each : controlTable) {
+            out.writeUTF(each.getNamedType().stringValue());
+            writeVarInt(out, each.getArity().getValue().intValue());
+            out.writeBoolean(each.getControlKind() != ControlStatus.PASSIVE);
+        }
+
+        Map<BigraphEntity.Link, Integer> linkRefs = new HashMap<>();
+        List<BigraphEntity.OuterName> outerNames = new ArrayList<>(bigraph.getOuterNames());
+        writeVarInt(out, outerNames.size());
+        for (int i = 0; i < outerNames.size(); i++) {
+            out.writeUTF(outerNames.get(i).getName());
+            linkRefs.put(outerNames.get(i), 2 * i);
+        }
+        List<BigraphEntity.InnerName> innerNames = new ArrayList<>(bigraph.getInnerNames());
+        writeVarInt(out, innerNames.size());
+        for (BigraphEntity.InnerName each : innerNames) {
+            out.writeUTF(each.getName());
+        }
+        List<BigraphEntity.Edge> edges = new ArrayList<>(bigraph.getEdges());
+        writeVarInt(out, edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            out.writeUTF(edges.get(i).getName());
+            linkRefs.put(edges.get(i), 2 * i + 1);
+        }
+
+        writeVarInt(out, roots.size());
+        writeVarInt(out, nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            BigraphEntity.NodeEntity<DynamicControl> each = nodes.get(i);
+            out.writeUTF(each.getName());
+            writeVarInt(out, controls.get(each.getControl().getNamedType().stringValue()));
+            writeVarInt(out, nodeParents.get(i));
+            Map<String, Object> attributes = each.getAttributes();
+            writeVarInt(out, attributes.size());
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                writeAttributeValue(out, attribute.getValue());
+            }
+        }
+        writeVarInt(out, sites.size());
+        for (int[] each : sites) {
+            writeVarInt(out, each[0]);
+            writeVarInt(out, each[1]);
+        }
+
+        // Link graph
+        for (BigraphEntity.NodeEntity<DynamicControl> each : nodes) {
+            List<BigraphEntity.Port> ports = new ArrayList<>(bigraph.getPorts(each));
+            ports.removeIf(port -> bigraph.getLinkOfPoint(port) == null);
+            writeVarInt(out, ports.size());
+            for (BigraphEntity.Port port : ports) {
+                writeVarInt(out, port.getIndex());
+                writeVarInt(out, linkRefs.get(bigraph.getLinkOfPoint(port)));
+            }
+        }
+        for (BigraphEntity.InnerName each : innerNames) {
+            BigraphEntity.Link link = bigraph.getLinkOfPoint(each);
+            writeVarInt(out, link == null ? 0 : linkRefs.get(link) + 1);
+        }
+    }
+
+    private void writeAttributeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(ATTR_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(ATTR_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(ATTR_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(ATTR_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(ATTR_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(ATTR_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Serializable) {
+            out.writeByte(ATTR_SERIALIZABLE);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(serialized)) {
+                objectOut.writeObject(value);
+            }
+            writeVarInt(out, serialized.size());
+            serialized.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("Attribute value cannot be encoded: " + value.getClass().getName());
+        }
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -267,6 +267,34 @@ public interface Bigraph<S extends Signature<?>> extends HasSignature<S> {
 
     <C extends Control<?, ?>> Collection<BigraphEntity.NodeEntity<C>> getNodes();
 
+    /**
+     * Returns the node with the given name.
+     * Implementations may use an index; the default implementation searches all nodes.
+     *
+     * @param name the name of the node
+     * @return the node, or {@code null} if the bigraph has no node with this name
+     */
+    default <C extends Control<?, ?>> BigraphEntity.NodeEntity<C> getNodeByName(String name) {
+        for (BigraphEntity.NodeEntity<C> each : this.<C>getNodes()) {
+            if (each.getName().equals(name)) return each;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the link (outer name or edge) with the given name. Outer names take precedence over edges.
+     * Implementations may use an index; the default implementation searches all links.
+     *
+     * @param name the name of the link
+     * @return the link, or {@code null} if the bigraph has no link with this name
+     */
+    default BigraphEntity.Link getLinkByName(String name) {
+        for (BigraphEntity.Link each : getAllLinks()) {
+            if (each.getName().equals(name)) return each;
+        }
+        return null;
+    }
+
     BigraphEntity.RootEntity getTopLevelRoot(BigraphEntity<?> node);
 
     /**
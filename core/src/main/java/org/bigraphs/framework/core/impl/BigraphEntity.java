@@ -160,6 +160,16 @@ public class BigraphEntity<C extends Control> {
             return list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
         }
 
+        /**
+         * Checks whether this entity has attributes, without creating the map of {@link #getAttributes()}.
+         *
+         * @return {@code true}, if at least one attribute is set
+         */
+        public boolean hasAttributes() {
+            EStructuralFeature attrFeature = getInstance().eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES);
+            return !((List<?>) getInstance().eGet(attrFeature, true)).isEmpty();
+        }
+
         public void setAttributes(Map<String, Object> attributes) {
             EStructuralFeature attrFeature = getInstance().eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES);
             List<EObject> collect = attributes.entrySet().stream().map(x -> {
@@ -231,6 +241,16 @@ public class BigraphEntity<C extends Control> {
             return list.stream().collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
         }
 
+        /**
+         * Checks whether this entity has attributes, without creating the map of {@link #getAttributes()}.
+         *
+         * @return {@code true}, if at least one attribute is set
+         */
+        public boolean hasAttributes() {
+            EStructuralFeature attrFeature = getInstance().eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES);
+            return !((List<?>) getInstance().eGet(attrFeature, true)).isEmpty();
+        }
+
         public void setAttributes(Map<String, Object> attributes) {
             EStructuralFeature attrFeature = getInstance().eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES);
             List<EObject> collect = attributes.entrySet().stream().map(x -> {
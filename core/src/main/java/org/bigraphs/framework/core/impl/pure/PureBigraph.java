@@ -63,6 +63,9 @@ public class PureBigraph implements Bigraph<DynamicSignature>, EcoreBigraph<Dyna
     private final ImmutableSet<BigraphEntity.OuterName> outerNames;
     private final ImmutableSet<BigraphEntity.Edge> edges;
     private final DynamicSignature signature;
+    // Name indexes, built on first use (see getNodeByName and getLinkByName)
+    private volatile Map<String, BigraphEntity.NodeEntity<DynamicControl>> nodesByName;
+    private volatile Map<String, BigraphEntity.Link> linksByName;
 
     public PureBigraph(BigraphBuilderSupport.InstanceParameter details) {
         this.modelPackage = details.getModelPackage();
@@ -373,6 +376,51 @@ public class PureBigraph implements Bigraph<DynamicSignature>, EcoreBigraph<Dyna
         return this.nodes.castToList();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The lookup uses an index that is built once, on the first call.
+     */
+    @Override
+    public BigraphEntity.NodeEntity<DynamicControl> getNodeByName(String name) {
+        Map<String, BigraphEntity.NodeEntity<DynamicControl>> index = nodesByName;
+        if (index == null) {
+            index = new HashMap<>();
+            for (BigraphEntity.NodeEntity<DynamicControl> each : getNodes()) {
+                index.putIfAbsent(each.getName(), each);
+            }
+            nodesByName = index;
+        }
+        return index.get(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The lookup uses an index that is built once, on the first call.
+     */
+    @Override
+    public BigraphEntity.Link getLinkByName(String name) {
+        Map<String, BigraphEntity.Link> index = linksByName;
+        if (index == null) {
+            index = new HashMap<>();
+            for (BigraphEntity.Link each : getAllLinks()) {
+                index.putIfAbsent(each.getName(), each);
+            }
+            linksByName = index;
+        }
+        return index.get(name);
+    }
+
+    /**
+     * Discards the name indexes, so that they are rebuilt on the next lookup.
+     * Must be called by subclasses that add or remove nodes or links.
+     */
+    protected void invalidateNameIndexes() {
+        nodesByName = null;
+        linksByName = null;
+    }
+
     @Override
     public BigraphEntity.RootEntity getTopLevelRoot(BigraphEntity<?> node) {
         EStructuralFeature prntRef = node.getInstance().eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PARENT);
@@ -1080,6 +1080,7 @@ public class PureBigraphMutable extends PureBigraph {
     // ============================================
     
     private void fireNodeAdded(BigraphEntity.NodeEntity<DynamicControl> node, BigraphEntity<?> parent) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.NodeAdded(this, node, parent);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onNodeAdded(event);
@@ -1087,6 +1088,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireNodeRemoved(BigraphEntity.NodeEntity<DynamicControl> node, BigraphEntity<?> parent) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.NodeRemoved(this, node, parent);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onNodeRemoved(event);
@@ -1108,6 +1110,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireRootRemoved(BigraphEntity.RootEntity root) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.RootRemoved(this, root);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onRootRemoved(event);
@@ -1115,6 +1118,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireEdgeAdded(BigraphEntity.Edge edge) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.EdgeAdded(this, edge);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onEdgeAdded(event);
@@ -1122,6 +1126,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireEdgeRemoved(BigraphEntity.Edge edge) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.EdgeRemoved(this, edge);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onEdgeRemoved(event);
@@ -1129,6 +1134,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireOuterNameAdded(BigraphEntity.OuterName outerName) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.OuterNameAdded(this, outerName);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onOuterNameAdded(event);
@@ -1136,6 +1142,7 @@ public class PureBigraphMutable extends PureBigraph {
     }
     
     private void fireOuterNameRemoved(BigraphEntity.OuterName outerName) {
+        invalidateNameIndexes();
         BigraphChangeEvent event = new BigraphChangeEvent.OuterNameRemoved(this, outerName);
         for (BigraphChangeListener listener : changeListeners) {
             listener.onOuterNameRemoved(event);
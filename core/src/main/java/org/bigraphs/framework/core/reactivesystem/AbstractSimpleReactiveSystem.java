@@ -16,8 +16,6 @@ package org.bigraphs.framework.core.reactivesystem;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import org.bigraphs.framework.core.*;
@@ -26,8 +24,6 @@ import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.exceptions.*;
 import org.bigraphs.framework.core.impl.BigraphEntity;
-import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.impl.factory.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -115,34 +111,33 @@ public abstract class AbstractSimpleReactiveSystem<B extends Bigraph<? extends S
         return isIdle;
     }
 
+    /**
+     * Copies the attributes of all nodes and links of the source bigraph to the elements of the target bigraph
+     * with the same name. The target elements are looked up by name (see {@link Bigraph#getNodeByName(String)}),
+     * so the cost is linear in the number of elements.
+     *
+     * @param sourceBigraph the bigraph to copy the attributes from
+     * @param targetBigraph the bigraph to copy the attributes to
+     */
     protected void copyAttributes(B sourceBigraph, B targetBigraph) {
-        MutableMap<String, Map<String, Object>> S = Maps.mutable.empty();
-
         // First: Handle all Nodes
-        // Iterate through all nodes and store in a map S: nodeId |-> Attributes
-        sourceBigraph.getNodes().forEach(n -> {
-            if (!n.getAttributes().isEmpty()) {
-                S.put(n.getName(), n.getAttributes());
+        // For each attributed node, look up the node with the same name in the target and set the attributes
+        for (BigraphEntity.NodeEntity<Control<?, ?>> each : sourceBigraph.<Control<?, ?>>getNodes()) {
+            if (!each.hasAttributes()) continue;
+            BigraphEntity.NodeEntity<Control<?, ?>> target = targetBigraph.getNodeByName(each.getName());
+            if (target != null) {
+                target.setAttributes(each.getAttributes());
             }
-        });
-        // Iterate through keys in map S, for each id get the node in target and set attributes
-        S.keySet().forEach(nodeId -> {
-            Optional<BigraphEntity.NodeEntity<Control<?, ?>>> first = targetBigraph.getNodes().stream().filter(n -> n.getName().equals(nodeId)).findFirst();
-            first.ifPresent(controlNodeEntity -> controlNodeEntity.setAttributes(S.get(nodeId)));
-        });
+        }
 
         // Second: Handle all Links
-        S.clear();
-        sourceBigraph.getAllLinks().forEach(n -> {
-            if (!n.getAttributes().isEmpty()) {
-                S.put(n.getName(), n.getAttributes());
+        for (BigraphEntity.Link each : sourceBigraph.getAllLinks()) {
+            if (!each.hasAttributes()) continue;
+            BigraphEntity.Link target = targetBigraph.getLinkByName(each.getName());
+            if (target != null) {
+                target.setAttributes(each.getAttributes());
             }
-        });
-        S.keySet().forEach(elemId -> {
-            Optional<BigraphEntity.Link> first = targetBigraph.getAllLinks().stream().filter(lnk -> lnk.getName().equals(elemId)).findFirst();
-            first.ifPresent(lnk -> lnk.setAttributes(S.get(elemId)));
-        });
-
+        }
     }
 
     @Override
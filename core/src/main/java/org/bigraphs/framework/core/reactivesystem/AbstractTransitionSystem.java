@@ -84,7 +84,10 @@ public class AbstractTransitionSystem<B, T> {
 
     protected final Set<String> initialStateLabels = new HashSet<>();
 
-    protected final Map<String, B> stateMap = new ConcurrentHashMap<>();
+    protected Map<String, B> stateMap = new ConcurrentHashMap<>();
+
+    // reverse index of the state map (state to label), see getLabelByState(B); null if it is not maintained
+    protected Map<B, String> labelIndex = new ConcurrentHashMap<>();
 
     //TODO can be merged in Transition
     // A transition is labeled. This stores an data object to a transition relation via its label
@@ -101,6 +104,9 @@ public class AbstractTransitionSystem<B, T> {
             initialStateLabels.add(sourceLbl);
         }
         stateMap.put(sourceLbl, source);
+        if (labelIndex != null) {
+            labelIndex.putIfAbsent(source, sourceLbl);
+        }
     }
 
 
@@ -178,14 +184,19 @@ public class AbstractTransitionSystem<B, T> {
     }
 
     /**
-     * This doesnt work with source/target states coming from Transition.
-     * Its better to compute the canonical string encoding directly to get the label.
+     * Returns the label of the given state, which is looked up in a reverse index of the state map.
+     * If the index is not maintained (e.g., because the states are not kept on the heap), the state map is searched.
+     * <p>
+     * The state must be the same object (more precisely, an equal object) as the one that was added.
+     * To get the label of an arbitrary bigraph, it is better to compute its canonical string encoding directly.
      *
-     * @param state
-     * @return
+     * @param state the state
+     * @return the label of the state, if it is part of the transition system
      */
     public Optional<String> getLabelByState(B state) {
-        // do reverse search in map
+        if (labelIndex != null) {
+            return Optional.ofNullable(labelIndex.get(state));
+        }
         return stateMap.entrySet().stream().filter(e -> e.getValue().equals(state)).map(Map.Entry::getKey).findFirst();
     }
 
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.core.reactivesystem;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+/**
+ * An immutable, compact representation of a transition system for analysis.
+ * <p>
+ * States are identified by integer IDs {@code 0..n-1} and rules by integer IDs {@code 0..r-1}.
+ * The transitions are stored in compressed sparse row (CSR) form: the outgoing transitions of state {@code s} are the
+ * transition IDs {@code t} with {@link #getFirstTransition(int) getFirstTransition(s)} {@code <= t <}
+ * {@link #getFirstTransition(int) getFirstTransition(s + 1)}, and each transition only stores its target state and
+ * its rule. Thus, a transition takes 8 bytes and a state 4 bytes plus its label.
+ * <p>
+ * The bigraphs of the states and a JGraphT view are provided lazily:
+ * {@link #getState(int)} resolves the bigraph of a state from the state storage it was created with, and
+ * {@link #asGraph()} returns a read-only {@link Graph} over the state and transition IDs that does not copy the arrays.
+ * The predecessors of the states are computed on first use (see {@link #getPredecessors(int)}).
+ *
+ * @param <B> the type of the bigraphs of the states
+ * @author Dominik Grzelak
+ * @see ReactionGraph#compact()
+ */
+public class CompactReactionGraph<B extends Bigraph<? extends Signature<?>>> {
+
+    private final String[] stateLabels;
+    private final String[] ruleLabels;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] rules;
+    private final int[] initialStates;
+    private final Function<String, B> stateResolver;
+
+    private Map<String, Integer> stateIds;
+    private int[] predecessorOffsets;
+    private int[] predecessors;
+    private Graph<Integer, Integer> graphView;
+
+    private CompactReactionGraph(String[] stateLabels, String[] ruleLabels, int[] offsets, int[] targets, int[] rules,
+                                 int[] initialStates, Function<String, B> stateResolver) {
+        this.stateLabels = stateLabels;
+        this.ruleLabels = ruleLabels;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.rules = rules;
+        this.initialStates = initialStates;
+        this.stateResolver = stateResolver;
+    }
+
+    /**
+     * Creates a compact copy of the given reaction graph. The states are numbered in the order they were added to
+     * the reaction graph. The bigraphs of the states are resolved from the state map of the reaction graph.
+     *
+     * @param reactionGraph the reaction graph
+     * @param <B>           the type of the bigraphs of the states
+     * @return the compact reaction graph
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CompactReactionGraph<B> of(ReactionGraph<B> reactionGraph) {
+        Graph<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> graph = reactionGraph.getGraph();
+        Builder<B> builder = new Builder<>(graph.vertexSet().size(), graph.edgeSet().size());
+        Map<ReactionGraph.LabeledNode, Integer> ids = new HashMap<>();
+        for (ReactionGraph.LabeledNode each : graph.vertexSet()) {
+            ids.put(each, builder.addState(each.getCanonicalForm()));
+        }
+        for (ReactionGraph.LabeledEdge each : graph.edgeSet()) {
+            builder.addTransition(ids.get(graph.getEdgeSource(each)), ids.get(graph.getEdgeTarget(each)), each.getLabel());
+        }
+        for (String each : reactionGraph.getInitialStateLabels()) {
+            builder.addInitialState(each);
+        }
+        Map<String, B> stateMap = reactionGraph.getStateMap();
+        return builder.build(stateMap::get);
+    }
+
+    public int getStateCount() {
+        return stateLabels.length;
+    }
+
+    public int getTransitionCount() {
+        return targets.length;
+    }
+
+    public int getRuleCount() {
+        return ruleLabels.length;
+    }
+
+    /**
+     * Returns the ID of the first outgoing transition of the given state.
+     * For {@code state == getStateCount()}, the number of transitions is returned.
+     *
+     * @param state the state ID
+     * @return the first transition ID of the state
+     */
+    public int getFirstTransition(int state) {
+        return offsets[state];
+    }
+
+    public int getOutDegree(int state) {
+        return offsets[state + 1] - offsets[state];
+    }
+
+    public int getTarget(int transition) {
+        return targets[transition];
+    }
+
+    /**
+     * Returns the source state of a transition by a binary search over the offsets.
+     *
+     * @param transition the transition ID
+     * @return the source state ID
+     */
+    public int getSource(int transition) {
+        int low = 0;
+        int high = stateLabels.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= transition) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    public int getRule(int transition) {
+        return rules[transition];
+    }
+
+    public String getRuleLabel(int rule) {
+        return ruleLabels[rule];
+    }
+
+    public String getStateLabel(int state) {
+        return stateLabels[state];
+    }
+
+    /**
+     * Returns the ID of the state with the given label. The index from labels to IDs is built on first use.
+     *
+     * @param label the label (canonical form) of the state
+     * @return the state ID, or {@code -1} if there is no such state
+     */
+    public synchronized int getStateId(String label) {
+        if (stateIds == null) {
+            stateIds = new HashMap<>(stateLabels.length * 2);
+            for (int i = 0; i < stateLabels.length; i++) {
+                stateIds.put(stateLabels[i], i);
+            }
+        }
+        return stateIds.getOrDefault(label, -1);
+    }
+
+    public int[] getInitialStates() {
+        return initialStates.clone();
+    }
+
+    /**
+     * Returns the targets of the outgoing transitions of a state.
+     *
+     * @param state the state ID
+     * @return the successor state IDs (with duplicates, if several rules lead to the same state)
+     */
+    public int[] getSuccessors(int state) {
+        return Arrays.copyOfRange(targets, offsets[state], offsets[state + 1]);
+    }
+
+    /**
+     * Returns the sources of the incoming transitions of a state. The predecessor lists of all states are computed in
+     * CSR form on first use.
+     *
+     * @param state the state ID
+     * @return the predecessor state IDs
+     */
+    public int[] getPredecessors(int state) {
+        computePredecessors();
+        return Arrays.copyOfRange(predecessors, predecessorOffsets[state], predecessorOffsets[state + 1]);
+    }
+
+    /**
+     * Returns the bigraph of a state. It is resolved from the state storage on each call.
+     *
+     * @param state the state ID
+     * @return the bigraph of the state, or {@code null} if it is not available
+     */
+    public B getState(int state) {
+        return stateResolver.apply(stateLabels[state]);
+    }
+
+    /**
+     * Returns a read-only JGraphT view of this transition system. The vertices are the state IDs and the edges are the
+     * transition IDs. The view is backed by the arrays of this object.
+     *
+     * @return the graph view
+     */
+    public synchronized Graph<Integer, Integer> asGraph() {
+        if (graphView == null) {
+            graphView = new GraphView();
+        }
+        return graphView;
+    }
+
+    private synchronized void computePredecessors() {
+        if (predecessors != null) return;
+        int[] counts = new int[stateLabels.length + 1];
+        for (int target : targets) {
+            counts[target + 1]++;
+        }
+        for (int i = 0; i < stateLabels.length; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] sources = new int[targets.length];
+        int[] next = Arrays.copyOf(counts, stateLabels.length);
+        for (int s = 0; s < stateLabels.length; s++) {
+            for (int t = offsets[s]; t < offsets[s + 1]; t++) {
+                sources[next[targets[t]]++] = s;
+            }
+        }
+        this.predecessorOffsets = counts;
+        this.predecessors = sources;
+    }
+
+    /**
+     * Collects states and transitions in any order and stores them in CSR form.
+     *
+     * @param <B> the type of the bigraphs of the states
+     */
+    public static class Builder<B extends Bigraph<? extends Signature<?>>> {
+        private final List<String> stateLabels;
+        private final Map<String, Integer> ruleIds = new LinkedHashMap<>();
+        private final Set<String> initialStates = new LinkedHashSet<>();
+        private int[] sources;
+        private int[] targets;
+        private int[] rules;
+        private int transitionCount = 0;
+
+        public Builder() {
+            this(16, 16);
+        }
+
+        public Builder(int expectedStates, int expectedTransitions) {
+            this.stateLabels = new ArrayList<>(expectedStates);
+            this.sources = new int[Math.max(16, expectedTransitions)];
+            this.targets = new int[sources.length];
+            this.rules = new int[sources.length];
+        }
+
+        /**
+         * Adds a state.
+         *
+         * @param label the label of the state
+         * @return the ID of the state
+         */
+        public int addState(String label) {
+            stateLabels.add(label);
+            return stateLabels.size() - 1;
+        }
+
+        public Builder<B> addInitialState(String label) {
+            initialStates.add(label);
+            return this;
+        }
+
+        public Builder<B> addTransition(int source, int target, String ruleLabel) {
+            if (transitionCount == sources.length) {
+                int capacity = sources.length + (sources.length >> 1);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                rules = Arrays.copyOf(rules, capacity);
+            }
+            sources[transitionCount] = source;
+            targets[transitionCount] = target;
+            rules[transitionCount] = ruleIds.computeIfAbsent(ruleLabel, k -> ruleIds.size());
+            transitionCount++;
+            return this;
+        }
+
+        /**
+         * Sorts the transitions by their source state (counting sort) and creates the compact reaction graph.
+         *
+         * @param stateResolver resolves the bigraph of a state by its label
+         * @return the compact reaction graph
+         */
+        public CompactReactionGraph<B> build(Function<String, B> stateResolver) {
+            int n = stateLabels.size();
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < transitionCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] sortedTargets = new int[transitionCount];
+            int[] sortedRules = new int[transitionCount];
+            for (int i = 0; i < transitionCount; i++) {
+                int position = next[sources[i]]++;
+                sortedTargets[position] = targets[i];
+                sortedRules[position] = rules[i];
+            }
+            String[] labels = stateLabels.toArray(new String[0]);
+            Map<String, Integer> ids = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                ids.put(labels[i], i);
+            }
+            int[] initial = initialStates.stream().filter(ids::containsKey).mapToInt(ids::get).toArray();
+            if (initial.length == 0 && n > 0) {
+                initial = new int[]{0};
+            }
+            return new CompactReactionGraph<>(labels, ruleIds.keySet().toArray(new String[0]),
+                    offsets, sortedTargets, sortedRules, initial, Objects.requireNonNull(stateResolver));
+        }
+    }
+
+    /**
+     * Read-only JGraphT view over the arrays.
+     */
+    private class GraphView extends AbstractGraph<Integer, Integer> {
+        private final Set<Integer> vertices = new IntRange(stateLabels.length);
+        private final Set<Integer> edges = new IntRange(targets.length);
+
+        @Override
+        public Set<Integer> getAllEdges(Integer source, Integer target) {
+            if (!containsVertex(source) || !containsVertex(target)) return null;
+            Set<Integer> result = new LinkedHashSet<>();
+            for (int t = offsets[source]; t < offsets[source + 1]; t++) {
+                if (targets[t] == target) result.add(t);
+            }
+            return result;
+        }
+
+        @Override
+        public Integer getEdge(Integer source, Integer target) {
+            if (!containsVertex(source) || !containsVertex(target)) return null;
+            for (int t = offsets[source]; t < offsets[source + 1]; t++) {
+                if (targets[t] == target) return t;
+            }
+            return null;
+        }
+
+        @Override
+        public Supplier<Integer> getVertexSupplier() {
+            return null;
+        }
+
+        @Override
+        public Supplier<Integer> getEdgeSupplier() {
+            return null;
+        }
+
+        @Override
+        public Integer addEdge(Integer source, Integer target) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public boolean addEdge(Integer source, Integer target, Integer edge) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public Integer addVertex() {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public boolean addVertex(Integer vertex) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public boolean containsEdge(Integer edge) {
+            return edges.contains(edge);
+        }
+
+        @Override
+        public boolean containsVertex(Integer vertex) {
+            return vertices.contains(vertex);
+        }
+
+        @Override
+        public Set<Integer> edgeSet() {
+            return edges;
+        }
+
+        @Override
+        public int degreeOf(Integer vertex) {
+            return inDegreeOf(vertex) + outDegreeOf(vertex);
+        }
+
+        @Override
+        public Set<Integer> edgesOf(Integer vertex) {
+            Set<Integer> result = new LinkedHashSet<>(outgoingEdgesOf(vertex));
+            result.addAll(incomingEdgesOf(vertex));
+            return result;
+        }
+
+        @Override
+        public int inDegreeOf(Integer vertex) {
+            assertVertexExist(vertex);
+            computePredecessors();
+            return predecessorOffsets[vertex + 1] - predecessorOffsets[vertex];
+        }
+
+        @Override
+        public Set<Integer> incomingEdgesOf(Integer vertex) {
+            assertVertexExist(vertex);
+            Set<Integer> result = new LinkedHashSet<>();
+            for (int source : getPredecessors(vertex)) {
+                for (int t = offsets[source]; t < offsets[source + 1]; t++) {
+                    if (targets[t] == vertex) result.add(t);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public int outDegreeOf(Integer vertex) {
+            assertVertexExist(vertex);
+            return getOutDegree(vertex);
+        }
+
+        @Override
+        public Set<Integer> outgoingEdgesOf(Integer vertex) {
+            assertVertexExist(vertex);
+            return new IntRange(offsets[vertex], offsets[vertex + 1]);
+        }
+
+        @Override
+        public Integer removeEdge(Integer source, Integer target) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public boolean removeEdge(Integer edge) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public boolean removeVertex(Integer vertex) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+
+        @Override
+        public Set<Integer> vertexSet() {
+            return vertices;
+        }
+
+        @Override
+        public Integer getEdgeSource(Integer edge) {
+            return getSource(edge);
+        }
+
+        @Override
+        public Integer getEdgeTarget(Integer edge) {
+            return targets[edge];
+        }
+
+        @Override
+        public GraphType getType() {
+            return new DefaultGraphType.Builder()
+                    .directed().allowMultipleEdges(true).allowSelfLoops(true).weighted(false).modifiable(false)
+                    .build();
+        }
+
+        @Override
+        public double getEdgeWeight(Integer edge) {
+            return Graph.DEFAULT_EDGE_WEIGHT;
+        }
+
+        @Override
+        public void setEdgeWeight(Integer edge, double weight) {
+            throw new UnsupportedOperationException("The compact reaction graph is immutable");
+        }
+    }
+
+    /**
+     * The set of the integers {@code from..to-1}.
+     */
+    private static final class IntRange extends AbstractSet<Integer> {
+        private final int from;
+        private final int to;
+
+        IntRange(int size) {
+            this(0, size);
+        }
+
+        IntRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer i && i >= from && i < to;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+                int next = from;
+
+                @Override
+                public boolean hasNext() {
+                    return next < to;
+                }
+
+                @Override
+                public Integer next() {
+                    if (next >= to) throw new NoSuchElementException();
+                    return next++;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package org.bigraphs.framework.core.reactivesystem;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
 import org.eclipse.collections.impl.factory.Maps;
@@ -33,6 +34,9 @@ import org.jgrapht.graph.builder.GraphTypeBuilder;
  * This reaction graph has no minimal context labels as transitions; it has reactions as labels.
  * <p>
  * The canonical string encoding of a bigraph is also stored here.
+ * <p>
+ * The methods that add states, transitions and predicate matches are synchronized, so that several workers of a
+ * model checker can insert into the same reaction graph.
  *
  * @param <B> the type of the bigraph of the states and transition relations of the transition system
  * @author Dominik Grzelak
@@ -44,6 +48,9 @@ public class ReactionGraph<B extends Bigraph<? extends Signature<?>>> extends Ab
 
     private Map<LabeledNode, Set<ReactiveSystemPredicate<B>>> predicateMatches;
     private ReactionGraphStats<B> graphStats;
+    private boolean externalStateStorage = false;
+    // the nodes of the graph by their canonical form
+    private Map<String, LabeledNode> nodeIndex;
 
     public ReactionGraph() {
         reset();
@@ -61,28 +68,28 @@ public class ReactionGraph<B extends Bigraph<? extends Signature<?>>> extends Ab
         return new CollapsedLabeledNode(newLabel, newLabel, labeledNodes);
     }
 
-    public void addEdge(B source, String sourceLbl, B target, String targetLbl, BMatchResult<B> reaction, String reactionLbl) {
-        LabeledNode sourceNode;
-        if (stateMap.get(sourceLbl) != null) {
-            sourceNode = graph.vertexSet().stream().filter(x -> x.canonicalForm.equals(sourceLbl)).findFirst().get();
-        } else {
-            sourceNode = createNode(sourceLbl);
-            addState(sourceLbl, source);
-            graph.addVertex(sourceNode);
-        }
-        LabeledNode targetNode;
-        if (stateMap.get(targetLbl) != null) {
-            targetNode = graph.vertexSet().stream().filter(x -> x.canonicalForm.equals(targetLbl)).findFirst().get();
-        } else {
-            targetNode = createNode(targetLbl);
-            addState(targetLbl, target);
-            graph.addVertex(targetNode);
+    /**
+     * Adds a transition between two states. States that are not part of the graph yet are added.
+     * The nodes are looked up by their canonical form in a hash index, so adding a transition takes constant time
+     * with respect to the size of the graph.
+     */
+    public synchronized void addEdge(B source, String sourceLbl, B target, String targetLbl, BMatchResult<B> reaction, String reactionLbl) {
+        LabeledNode sourceNode = getOrAddNode(source, sourceLbl);
+        LabeledNode targetNode = getOrAddNode(target, targetLbl);
+        boolean exists = false;
+        for (LabeledEdge each : graph.outgoingEdgesOf(sourceNode)) {
+            if (each.label.equals(reactionLbl) && graph.getEdgeTarget(each) == targetNode) {
+                exists = true;
+                break;
+            }
         }
-        Set<LabeledEdge> allEdges = graph.getAllEdges(sourceNode, targetNode);
-        Optional<LabeledEdge> first = allEdges.stream().filter(x -> x.label.equals(reactionLbl)).findFirst();
-        if (first.isEmpty()) {
+        if (!exists) {
             final LabeledEdge edge = new LabeledEdge(reactionLbl);
             boolean b = graph.addEdge(sourceNode, targetNode, edge);
+            if (externalStateStorage) {
+                // the transition data references the states, which would keep them on the heap
+                return;
+            }
             if (b) {
                 addTransition(source, target, reactionLbl, reaction);
             } else {
@@ -91,8 +98,50 @@ public class ReactionGraph<B extends Bigraph<? extends Signature<?>>> extends Ab
         }
     }
 
-    public Optional<LabeledNode> getLabeledNodeByCanonicalForm(String canonicalForm) {
-        return graph.vertexSet().stream().filter(x -> x.getCanonicalForm().equals(canonicalForm)).findFirst();
+    /**
+     * Returns the node of the state with the given canonical form, and adds the node and the state if the graph does
+     * not contain it yet. Subclasses must add nodes by this method, so that they are found by
+     * {@link #getLabeledNodeByCanonicalForm(String)}. Must be called while holding the lock of this graph.
+     *
+     * @param state         the state, or {@code null} if only the node is added
+     * @param canonicalForm the canonical form of the state
+     * @return the node of the state
+     */
+    protected LabeledNode getOrAddNode(B state, String canonicalForm) {
+        LabeledNode node = nodeIndex.get(canonicalForm);
+        if (node == null) {
+            node = createNode(canonicalForm);
+            if (state != null) addState(canonicalForm, state);
+            graph.addVertex(node);
+            nodeIndex.put(canonicalForm, node);
+        }
+        return node;
+    }
+
+    public synchronized Optional<LabeledNode> getLabeledNodeByCanonicalForm(String canonicalForm) {
+        return Optional.ofNullable(nodeIndex.get(canonicalForm));
+    }
+
+    /**
+     * Replaces the storage of the states, e.g., by a map that keeps the states outside the heap and restores them on
+     * access. It must be set before any state is added.
+     * <p>
+     * With an external state storage, the reaction graph only keeps the labels of the states and transitions.
+     * The states are only referenced by the given map, so the transition data that references the states
+     * ({@link #getTransitionMap()} and {@link #getTransitionRelations()}) is not recorded, and
+     * {@link #getLabelByState(Bigraph)} searches the map instead of an index.
+     *
+     * @param stateStorage the map that stores the states by their label, or {@code null} to restore the default
+     *                     storage on the heap
+     * @return this reaction graph
+     */
+    @SuppressWarnings("UnusedReturnValue")
+    public synchronized ReactionGraph<B> setStateStorage(Map<String, B> stateStorage) {
+        this.externalStateStorage = stateStorage != null;
+        this.stateMap = externalStateStorage ? stateStorage : new ConcurrentHashMap<>();
+        // the reverse index would keep the states on the heap
+        this.labelIndex = externalStateStorage ? null : new ConcurrentHashMap<>();
+        return this;
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -105,15 +154,25 @@ public class ReactionGraph<B extends Bigraph<? extends Signature<?>>> extends Ab
         return predicateMatches;
     }
 
-    public void reset() {
+    /**
+     * Removes all states, transitions and predicate matches, so that the graph can be explored anew.
+     * An external state storage (see {@link #setStateStorage(Map)}) is kept but cleared as well.
+     */
+    public synchronized void reset() {
         aSup = createSupplier();
+        stateMap.clear();
+        if (labelIndex != null) labelIndex.clear();
+        transitionMap.clear();
+        getTransitionRelations().clear();
+        initialStateLabels.clear();
         graph = buildEmptySimpleDirectedGraph();
+        nodeIndex = new HashMap<>();
         graphStats = new ReactionGraphStats<>(this);
         predicateMatches = Maps.mutable.empty();
     }
 
     @SuppressWarnings("UnusedReturnValue")
-    public ReactionGraph<B> addPredicateMatchToNode(LabeledNode node, ReactiveSystemPredicate<B> predicates) {
+    public synchronized ReactionGraph<B> addPredicateMatchToNode(LabeledNode node, ReactiveSystemPredicate<B> predicates) {
         predicateMatches.putIfAbsent(node, Sets.mutable.empty());
         predicateMatches.get(node).add(predicates);
         return this;
@@ -129,6 +188,17 @@ public class ReactionGraph<B extends Bigraph<? extends Signature<?>>> extends Ab
     }
 
 
+    /**
+     * Creates a compact, immutable copy of this reaction graph for analysis, in which states, rules and transitions
+     * are stored in primitive arrays (see {@link CompactReactionGraph}).
+     * The bigraphs of the states are not copied but resolved from the state map of this reaction graph on access.
+     *
+     * @return the compact reaction graph
+     */
+    public synchronized CompactReactionGraph<B> compact() {
+        return CompactReactionGraph.of(this);
+    }
+
     /**
      * Get an object containing some informative statistics of the reaction graph
      *
@@ -40,28 +40,16 @@ public class ReactionGraphCollapsed<B extends Bigraph<? extends Signature<?>>> e
 
     //source and target and reaction can be null
     @Override
-    public void addEdge(B source, String sourceLbl, B target, String targetLbl, BMatchResult<B> reaction, String reactionLbl) {
-        LabeledNode sourceNode;
-        if (stateMap.get(sourceLbl) != null) {
-            sourceNode = graph.vertexSet().stream().filter(x -> x.canonicalForm.equals(sourceLbl)).findFirst().get();
-        } else {
-            sourceNode = createNode(sourceLbl);
-            addState(sourceLbl, source);
-            graph.addVertex(sourceNode);
-        }
-        LabeledNode targetNode;
-        if (stateMap.get(targetLbl) != null) {
-            targetNode = graph.vertexSet().stream().filter(x -> x.canonicalForm.equals(targetLbl)).findFirst().get();
-        } else {
-            targetNode = createNode(targetLbl);
-            addState(targetLbl, target);
-            graph.addVertex(targetNode);
-        }
+    public synchronized void addEdge(B source, String sourceLbl, B target, String targetLbl, BMatchResult<B> reaction, String reactionLbl) {
+        LabeledNode sourceNode = getOrAddNode(source, sourceLbl);
+        LabeledNode targetNode = getOrAddNode(target, targetLbl);
         Set<LabeledEdge> allEdges = graph.getAllEdges(sourceNode, targetNode);
         Optional<LabeledEdge> first = allEdges.stream().filter(x -> x.label.equals(reactionLbl)).findFirst();
         if (first.isEmpty()) {
             final LabeledEdge edge = new LabeledEdge(reactionLbl);
             boolean b = graph.addEdge(sourceNode, targetNode, edge);
+            // the transition data is only recorded if the states and the reaction are given
+            if (source == null || target == null || reaction == null) return;
             if (b) {
                 addTransition(source, target, reactionLbl, reaction);
             } else {
@@ -23,10 +23,52 @@ import org.bigraphs.framework.core.Signature;
  */
 public class ReactionGraphStats<B extends Bigraph<? extends Signature<?>>> implements Serializable {
 
+    /**
+     * The reason why the synthesis of a reaction graph stopped.
+     */
+    public enum StopReason {
+        /**
+         * All reachable states were explored.
+         */
+        COMPLETED,
+        /**
+         * The maximum number of transitions was reached.
+         */
+        MAXIMUM_TRANSITIONS,
+        /**
+         * The wall-clock time budget was exceeded.
+         */
+        MAXIMUM_TIME,
+        /**
+         * The heap high-water mark was exceeded.
+         */
+        MAXIMUM_HEAP,
+        /**
+         * All states up to the maximum depth were explored, but deeper states were not expanded.
+         */
+        MAXIMUM_DEPTH,
+        /**
+         * The number of states waiting to be expanded exceeded its maximum.
+         */
+        MAXIMUM_FRONTIER,
+        /**
+         * The synthesis was cancelled.
+         */
+        CANCELLED,
+        /**
+         * The strategy stopped the synthesis itself.
+         */
+        STOPPED
+    }
+
     ReactionGraph<B> reactionGraph;
     int numberOfTransitions = -1;
     int numberOfOccurrences = -1;
     int numberOfStates = -1;
+    long numberOfExploredStates = -1;
+    long numberOfExploredTransitions = -1;
+    StopReason stopReason;
+    long numberOfSymmetricOccurrences = 0;
 
     public ReactionGraphStats(ReactionGraph<B> reactionGraph) {
         this.reactionGraph = reactionGraph;
@@ -53,4 +95,70 @@ public class ReactionGraphStats<B extends Bigraph<? extends Signature<?>>> imple
     public void setOccurrenceCount(int value) {
         this.numberOfOccurrences = value;
     }
+
+    /**
+     * Returns the number of states that were explored.
+     * This equals {@link #getStateCount()}, unless the states were explored without being retained in the reaction
+     * graph (e.g., in the bitstate mode of a model checker).
+     *
+     * @return the number of explored states
+     */
+    public long getExploredStateCount() {
+        return numberOfExploredStates >= 0 ? numberOfExploredStates : numberOfStates;
+    }
+
+    /**
+     * Returns the number of transitions that were explored.
+     * This equals {@link #getTransitionCount()}, unless the transitions were explored without being retained in the
+     * reaction graph.
+     *
+     * @return the number of explored transitions
+     */
+    public long getExploredTransitionCount() {
+        return numberOfExploredTransitions >= 0 ? numberOfExploredTransitions : numberOfTransitions;
+    }
+
+    public void setExploredCount(long states, long transitions) {
+        this.numberOfExploredStates = states;
+        this.numberOfExploredTransitions = transitions;
+    }
+
+    /**
+     * Returns the reason why the synthesis of the reaction graph stopped.
+     *
+     * @return the stop reason, or {@code null} if the reaction graph was not synthesized by a model checker
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public void setStopReason(StopReason stopReason) {
+        this.stopReason = stopReason;
+    }
+
+    /**
+     * Returns the number of rule occurrences that were skipped by the symmetry reduction, because an automorphism of
+     * the state maps them to an occurrence that was applied.
+     *
+     * @return the number of skipped occurrences
+     */
+    public long getSymmetricOccurrenceCount() {
+        return numberOfSymmetricOccurrences;
+    }
+
+    public void setSymmetricOccurrenceCount(long value) {
+        this.numberOfSymmetricOccurrences = value;
+    }
+
+    /**
+     * Returns the factor by which the symmetry reduction reduced the number of transitions, i.e., the number of
+     * explored and skipped occurrences divided by the number of explored transitions.
+     *
+     * @return the reduction factor, {@code 1} if no occurrence was skipped
+     */
+    public double getSymmetryReductionFactor() {
+        long transitions = getExploredTransitionCount();
+        if (numberOfSymmetricOccurrences == 0 || transitions <= 0) return 1;
+        return (double) (transitions + numberOfSymmetricOccurrences) / transitions;
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.core;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.CompactReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.tests.performance.ReactionGraphInsertionPerformanceTest;
+import org.jgrapht.Graph;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dominik Grzelak
+ */
+public class CompactReactionGraphUnitTest {
+
+    @Test
+    void compact_reaction_graph() {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 0).add("B", 0).create();
+        PureBigraph a = pureBuilder(sig).root().child("A").create();
+        PureBigraph b = pureBuilder(sig).root().child("B").create();
+        PureBigraph c = pureBuilder(sig).root().child("A").child("B").create();
+
+        ReactionGraph<PureBigraph> reactionGraph = new ReactionGraph<>();
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        reactionGraph.addEdge(a, "a", c, "c", new ReactionGraphInsertionPerformanceTest.Reaction(c), "r1");
+        reactionGraph.addEdge(b, "b", c, "c", new ReactionGraphInsertionPerformanceTest.Reaction(c), "r0");
+        reactionGraph.addEdge(c, "c", a, "a", new ReactionGraphInsertionPerformanceTest.Reaction(a), "r1");
+
+        CompactReactionGraph<PureBigraph> compact = reactionGraph.compact();
+        assertEquals(3, compact.getStateCount());
+        assertEquals(4, compact.getTransitionCount());
+        assertEquals(2, compact.getRuleCount());
+
+        int ia = compact.getStateId("a");
+        int ib = compact.getStateId("b");
+        int ic = compact.getStateId("c");
+        assertEquals(-1, compact.getStateId("d"));
+        assertEquals("b", compact.getStateLabel(ib));
+        assertSame(c, compact.getState(ic));
+
+        assertEquals(Set.of(ib, ic), Set.of(box(compact.getSuccessors(ia))));
+        assertArrayEquals(new int[]{ic}, compact.getSuccessors(ib));
+        assertEquals(Set.of(ia, ib), Set.of(box(compact.getPredecessors(ic))));
+        assertEquals(2, compact.getOutDegree(ia));
+        for (int t = compact.getFirstTransition(ic); t < compact.getFirstTransition(ic + 1); t++) {
+            assertEquals(ic, compact.getSource(t));
+            assertEquals(ia, compact.getTarget(t));
+            assertEquals("r1", compact.getRuleLabel(compact.getRule(t)));
+        }
+        for (int t = 0; t < compact.getTransitionCount(); t++) {
+            assertTrue(t >= compact.getFirstTransition(compact.getSource(t)));
+            assertTrue(t < compact.getFirstTransition(compact.getSource(t) + 1));
+        }
+
+        Graph<Integer, Integer> graph = compact.asGraph();
+        assertEquals(3, graph.vertexSet().size());
+        assertEquals(4, graph.edgeSet().size());
+        assertEquals(2, graph.outgoingEdgesOf(ia).size());
+        assertEquals(2, graph.incomingEdgesOf(ic).size());
+        Integer edge = graph.getEdge(ib, ic);
+        assertNotNull(edge);
+        assertEquals(ic, graph.getEdgeTarget(edge));
+        assertNull(graph.getEdge(ib, ia));
+        assertThrows(UnsupportedOperationException.class, () -> graph.addVertex(3));
+    }
+
+    @Test
+    void builder_with_states_without_transitions() {
+        CompactReactionGraph.Builder<PureBigraph> builder = new CompactReactionGraph.Builder<>();
+        for (int i = 0; i < 5; i++) {
+            builder.addState("s" + i);
+        }
+        builder.addTransition(3, 0, "r").addTransition(0, 3, "r").addTransition(3, 4, "q");
+        builder.addInitialState("s3");
+        CompactReactionGraph<PureBigraph> compact = builder.build(label -> null);
+
+        assertArrayEquals(new int[]{3}, compact.getInitialStates());
+        assertEquals(0, compact.getOutDegree(1));
+        assertEquals(0, compact.getOutDegree(2));
+        assertEquals(2, compact.getOutDegree(3));
+        for (int t = 0; t < compact.getTransitionCount(); t++) {
+            int source = compact.getSource(t);
+            assertTrue(source == 0 || source == 3);
+        }
+        assertArrayEquals(new int[]{3}, compact.getPredecessors(4));
+    }
+
+    private static Integer[] box(int[] values) {
+        return java.util.Arrays.stream(values).boxed().toArray(Integer[]::new);
+    }
+}
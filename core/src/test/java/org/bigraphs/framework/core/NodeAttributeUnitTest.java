@@ -16,12 +16,14 @@ package org.bigraphs.framework.core;
 
 import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
 import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.util.Map;
 import org.bigraphs.framework.core.impl.BigraphEntity;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.pure.PureBigraphMutable;
 import org.bigraphs.framework.core.impl.signature.DynamicControl;
 import org.bigraphs.framework.core.impl.signature.DynamicSignature;
 import org.bigraphs.framework.core.impl.signature.DynamicSignatureBuilder;
@@ -48,6 +50,42 @@ public class NodeAttributeUnitTest {
         BigraphFileModelManagement.Store.exportAsInstanceModel(bigraph, System.out);
     }
 
+    @Test
+    void lookup_by_name_and_attribute_check() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 1).add("B", 1).add("C", 1).create();
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A", "x").child("B").linkInner("e").child("C").linkInner("e");
+        b.closeInner();
+        PureBigraph bigraph = b.create();
+
+        for (BigraphEntity.NodeEntity<DynamicControl> each : bigraph.getNodes()) {
+            assertSame(each, bigraph.getNodeByName(each.getName()));
+            assertFalse(each.hasAttributes());
+        }
+        for (BigraphEntity.Link each : bigraph.getAllLinks()) {
+            assertSame(each, bigraph.getLinkByName(each.getName()));
+        }
+        assertNull(bigraph.getNodeByName("unknown"));
+        assertNull(bigraph.getLinkByName("unknown"));
+
+        BigraphEntity.NodeEntity<DynamicControl> first = bigraph.getNodes().get(0);
+        first.setAttributes(Map.of("data", 1309));
+        assertTrue(first.hasAttributes());
+
+        // the index of a mutable bigraph follows its modifications
+        PureBigraphBuilder<DynamicSignature> mb = pureBuilder(sig);
+        mb.root().child("A");
+        PureBigraphMutable mutable = mb.createMutable();
+        assertNull(mutable.getNodeByName("added"));
+        BigraphEntity.NodeEntity<DynamicControl> added = mutable.addNode(mutable.getRoots().get(0),
+                (DynamicControl) sig.getControlByName("B"), "added");
+        assertSame(added, mutable.getNodeByName("added"));
+        mutable.removeNode(added);
+        assertNull(mutable.getNodeByName("added"));
+        BigraphEntity.Edge edge = mutable.addEdge("edge");
+        assertSame(edge, mutable.getLinkByName("edge"));
+    }
+
     @Test
     void api_test_01() {
         BBigraph bBigraph = BigraphBaseModelFactory.eINSTANCE.createBBigraph();
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.core;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphCollapsed;
+import org.bigraphs.framework.core.tests.performance.ReactionGraphInsertionPerformanceTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dominik Grzelak
+ */
+public class ReactionGraphUnitTest {
+
+    @Test
+    void node_and_label_index() {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 0).add("B", 0).create();
+        PureBigraph a = pureBuilder(sig).root().child("A").create();
+        PureBigraph b = pureBuilder(sig).root().child("B").create();
+        PureBigraph c = pureBuilder(sig).root().child("A").child("B").create();
+
+        ReactionGraph<PureBigraph> reactionGraph = new ReactionGraph<>();
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        reactionGraph.addEdge(b, "b", c, "c", new ReactionGraphInsertionPerformanceTest.Reaction(c), "r0");
+        reactionGraph.addEdge(c, "c", a, "a", new ReactionGraphInsertionPerformanceTest.Reaction(a), "r1");
+        // an existing transition is not added again, but a transition with another rule is
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r1");
+
+        assertEquals(3, reactionGraph.getGraph().vertexSet().size());
+        assertEquals(4, reactionGraph.getGraph().edgeSet().size());
+        assertEquals("c", reactionGraph.getLabeledNodeByCanonicalForm("c").orElseThrow().getCanonicalForm());
+        assertTrue(reactionGraph.getLabeledNodeByCanonicalForm("d").isEmpty());
+        assertEquals("b", reactionGraph.getLabelByState(b).orElseThrow());
+        assertTrue(reactionGraph.getLabelByState(pureBuilder(sig).root().child("A").create()).isEmpty());
+        assertSame(c, reactionGraph.getStateByLabel("c").orElseThrow());
+
+        reactionGraph.reset();
+        assertTrue(reactionGraph.getLabeledNodeByCanonicalForm("a").isEmpty());
+        assertTrue(reactionGraph.getStateMap().isEmpty());
+        assertTrue(reactionGraph.getLabelByState(c).isEmpty());
+        assertTrue(reactionGraph.getTransitionMap().isEmpty());
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        assertEquals(2, reactionGraph.getGraph().vertexSet().size());
+        assertEquals(2, reactionGraph.getStateMap().size());
+        assertEquals(1, reactionGraph.getTransitionMap().get("r0").size());
+        assertEquals("a", reactionGraph.getLabelByState(a).orElseThrow());
+    }
+
+    @Test
+    void collapsed_graph_node_index() {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 0).add("B", 0).create();
+        PureBigraph a = pureBuilder(sig).root().child("A").create();
+        PureBigraph b = pureBuilder(sig).root().child("B").create();
+
+        ReactionGraph<PureBigraph> reactionGraph = new ReactionGraphCollapsed<>();
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        reactionGraph.addEdge(b, "b", a, "a", new ReactionGraphInsertionPerformanceTest.Reaction(a), "r0");
+        reactionGraph.addEdge(a, "a", b, "b", new ReactionGraphInsertionPerformanceTest.Reaction(b), "r0");
+        // a collapsed node may have no state
+        reactionGraph.addEdge(b, "b", null, "ab", null, "r1");
+
+        assertEquals(3, reactionGraph.getGraph().vertexSet().size());
+        assertEquals(3, reactionGraph.getGraph().edgeSet().size());
+        ReactionGraph.LabeledNode node = reactionGraph.getLabeledNodeByCanonicalForm("a").orElseThrow();
+        assertTrue(reactionGraph.getGraph().vertexSet().contains(node));
+        assertEquals(1, reactionGraph.getGraph().outgoingEdgesOf(node).size());
+        assertTrue(reactionGraph.getLabeledNodeByCanonicalForm("ab").isPresent());
+        assertTrue(reactionGraph.getStateByLabel("ab").isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.core.tests.performance;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.CompactReactionGraph;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the heap used by a {@link CompactReactionGraph} with 10^6 states and 10^7 transitions.
+ *
+ * @author Dominik Grzelak
+ */
+@Disabled
+public class CompactReactionGraphMemoryTest {
+
+    private static final int STATES = 1_000_000;
+    private static final int TRANSITIONS_PER_STATE = 10;
+
+    @Test
+    void heap_usage() {
+        long before = usedMemory();
+        CompactReactionGraph.Builder<PureBigraph> builder = new CompactReactionGraph.Builder<>(STATES, STATES * TRANSITIONS_PER_STATE);
+        for (int i = 0; i < STATES; i++) {
+            builder.addState("s" + i);
+        }
+        for (int i = 0; i < STATES; i++) {
+            for (int j = 1; j <= TRANSITIONS_PER_STATE; j++) {
+                builder.addTransition(i, (i + j * 7919) % STATES, "r" + j);
+            }
+        }
+        CompactReactionGraph<PureBigraph> compact = builder.build(label -> null);
+        builder = null;
+        long after = usedMemory();
+        System.out.println("states=" + compact.getStateCount() + ", transitions=" + compact.getTransitionCount()
+                + ", heap=" + (after - before) / (1024 * 1024) + " MB");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.core.tests.performance;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+
+import com.google.common.base.Stopwatch;
+import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.BMatchResult;
+import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time to insert states and transitions into a {@link ReactionGraph}.
+ * With the node index, the time per block of insertions stays flat as the graph grows.
+ *
+ * @author Dominik Grzelak
+ */
+@Disabled
+public class ReactionGraphInsertionPerformanceTest {
+
+    private static final int STATES = 1_000_000;
+    private static final int BLOCK = 100_000;
+
+    @Test
+    void insertion_time_per_block() {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 0).create();
+        PureBigraph state = pureBuilder(sig).root().child("A").create();
+        ReactionGraph<PureBigraph> reactionGraph = new ReactionGraph<>();
+        BMatchResult<PureBigraph> reaction = new Reaction(state);
+
+        System.out.println("states,ms_per_block,ns_per_insertion");
+        Stopwatch timer = Stopwatch.createStarted();
+        for (int i = 1; i < STATES; i++) {
+            // a new state and a transition back to an existing one
+            reactionGraph.addEdge(state, "s" + (i - 1), state, "s" + i, reaction, "r0");
+            reactionGraph.addEdge(state, "s" + i, state, "s" + (i / 2), reaction, "r1");
+            reactionGraph.getLabeledNodeByCanonicalForm("s" + (i / 3));
+            if (i % BLOCK == 0) {
+                long elapsed = timer.elapsed(TimeUnit.MILLISECONDS);
+                System.out.println(i + "," + elapsed + "," + (elapsed * 1_000_000 / BLOCK));
+                timer.reset().start();
+            }
+        }
+    }
+
+    public static class Reaction implements BMatchResult<PureBigraph> {
+        private final PureBigraph bigraph;
+
+        public Reaction(PureBigraph bigraph) {
+            this.bigraph = bigraph;
+        }
+
+        @Override
+        public ReactionRule<PureBigraph> getReactionRule() {
+            return null;
+        }
+
+        @Override
+        public BigraphMatch<PureBigraph> getMatch() {
+            return null;
+        }
+
+        @Override
+        public PureBigraph getBigraph() {
+            return bigraph;
+        }
+
+        @Override
+        public int getOccurrenceCount() {
+            return 0;
+        }
+
+        @Override
+        public String getCanonicalString() {
+            return "";
+        }
+    }
+}
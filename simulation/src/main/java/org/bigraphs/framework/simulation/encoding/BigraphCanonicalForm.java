@@ -14,6 +14,13 @@
  */
 package org.bigraphs.framework.simulation.encoding;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.ElementaryBigraph;
 import org.bigraphs.framework.core.exceptions.BigraphIsNotGroundException;
@@ -22,8 +29,6 @@ import org.bigraphs.framework.core.impl.elementary.DiscreteIon;
 import org.bigraphs.framework.core.impl.elementary.Linkings;
 import org.bigraphs.framework.core.impl.elementary.Placings;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
-import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.impl.factory.Maps;
 
 /**
  * This helper class creates a unique (canonical) label for a place graph of a bigraph such that two isomorphic place graphs
@@ -33,7 +38,9 @@ import org.eclipse.collections.impl.factory.Maps;
  * The string representations are the minimal of all these possible breadth-first/depth-first representation according
  * to the lexicographic order (= constraint). This guarantees the uniques of the string representation.
  * <p>
- * <b>Note:</b> This implementation only considers the first root of a bigraph.
+ * <b>Note:</b> All roots of a bigraph are encoded, in the order of their indices, with a common naming of the links.
+ * Bigraphs that only differ in the order of their roots get the same label if the roots are unordered
+ * (see {@link #setUnorderedRoots(boolean)}).
  * <p>
  * <b>Note on the Implementation:</b> The algorithm used to generate the canonical form is adopted from {@code [1]}. The needed top-down BFS is an implementation
  * described in {@code [2]} (a sequential bottom-up BFS algorithm).
@@ -48,9 +55,16 @@ import org.eclipse.collections.impl.factory.Maps;
  */
 public class BigraphCanonicalForm implements BigraphCanonicalFormSupport {
 
-    private final MutableMap<Class<? extends Bigraph<?>>, BigraphCanonicalFormStrategy<? extends Bigraph<?>>> strategyMap =
-            Maps.mutable.of(PureBigraph.class, new PureCanonicalForm(this));
+    // the strategies keep scratch state between two computations, so each running computation borrows its own
+    // instances; the pool only grows to the number of concurrent computations and is dropped with this instance
+    private final Queue<Strategies> strategies = new ConcurrentLinkedQueue<>();
+    // the structural and the incremental certificates are not complete invariants, so they only select a bucket in
+    // which the bigraphs are told apart by their canonical strings
+    private final Map<String, CertificateBucket> buckets = new ConcurrentHashMap<>();
     boolean withNodeIdentifiers = false;
+    boolean structural = false;
+    boolean incremental = false;
+    boolean unorderedRoots = false;
     final static char PREFIX_BARREN = 'r';
 
     boolean rewriteOpenLinks = false;
@@ -82,23 +96,32 @@ public class BigraphCanonicalForm implements BigraphCanonicalFormSupport {
      * according to the lexicographic order of the control's labels. The representation is unique.
      * <p>
      * //     * The bigraph must be prime, i.e., the place graph must only have one root.
+     * <p>
+     * The method can be called concurrently: every call borrows strategy instances of this instance that no other call
+     * uses meanwhile, and returns them for subsequent calls afterward (see {@link #release()}).
+     * The options of this instance should not be changed meanwhile.
      *
      * @param bigraph the bigraph
      * @param <B>     the type of the bigraph
      * @return the BFCS of the place graph of the given bigraph
      */
     @SuppressWarnings("unchecked")
-    public synchronized <B extends Bigraph<?>> String bfcs(B bigraph) {
+    public <B extends Bigraph<?>> String bfcs(B bigraph) {
         BigraphCanonicalFormStrategy<B> canonicalFormStrategy;
         if (bigraph instanceof PureBigraph) {
-            canonicalFormStrategy = (BigraphCanonicalFormStrategy<B>) strategyMap.getOrDefault(
-                            bigraph.getClass(),
-                            new PureCanonicalForm(this)
-                    )
-                    // pass additional options here
-                    .setPrintNodeIdentifiers(withNodeIdentifiers)
-                    .setRewriteOpenLinks(rewriteOpenLinks);
-            return canonicalFormStrategy.compute(bigraph);
+            Strategies local = strategies.poll();
+            if (Objects.isNull(local)) {
+                local = new Strategies(this);
+            }
+            try {
+                canonicalFormStrategy = (BigraphCanonicalFormStrategy<B>) configure(incremental ? local.incrementalForm : structural ? local.structuralForm : local.pureForm);
+                if (incremental || structural) {
+                    return labelOf(canonicalFormStrategy.compute(bigraph), (PureBigraph) bigraph, local);
+                }
+                return canonicalFormStrategy.compute(bigraph);
+            } finally {
+                strategies.offer(local);
+            }
         } else if (bigraph instanceof ElementaryBigraph) {
             return bfcs((ElementaryBigraph<?>) bigraph);
         } else {
@@ -106,6 +129,44 @@ public class BigraphCanonicalForm implements BigraphCanonicalFormSupport {
         }
     }
 
+    private BigraphCanonicalFormStrategy<PureBigraph> configure(BigraphCanonicalFormStrategy<PureBigraph> strategy) {
+        // pass additional options here
+        return strategy.setPrintNodeIdentifiers(withNodeIdentifiers)
+                .setRewriteOpenLinks(rewriteOpenLinks)
+                .setUnorderedRoots(unorderedRoots);
+    }
+
+    /**
+     * Returns the label of a bigraph with the given certificate. The first bigraph of a certificate is labelled by
+     * the certificate itself, without computing its canonical string. Only if another bigraph has the same
+     * certificate, the canonical strings of both are computed, and each further bigraph that is not isomorphic to a
+     * previous one is labelled by the certificate and the number of its isomorphism class within the bucket.
+     */
+    private String labelOf(String certificate, PureBigraph bigraph, Strategies local) {
+        CertificateBucket bucket = buckets.computeIfAbsent(certificate, x -> new CertificateBucket());
+        synchronized (bucket) {
+            if (bucket.first == null && bucket.canonicalStrings.isEmpty()) {
+                bucket.first = bigraph;
+                return certificate;
+            }
+            if (bucket.first == bigraph) {
+                return certificate;
+            }
+            BigraphCanonicalFormStrategy<PureBigraph> canonicalStrings = configure(local.pureForm);
+            if (bucket.first != null) {
+                bucket.canonicalStrings.add(canonicalStrings.compute(bucket.first));
+                bucket.first = null;
+            }
+            String canonicalString = canonicalStrings.compute(bigraph);
+            int index = bucket.canonicalStrings.indexOf(canonicalString);
+            if (index < 0) {
+                index = bucket.canonicalStrings.size();
+                bucket.canonicalStrings.add(canonicalString);
+            }
+            return index == 0 ? certificate : certificate + ":" + index;
+        }
+    }
+
     protected String bfcs(ElementaryBigraph<?> elementaryBigraph) {
         if (elementaryBigraph.isPlacing()) { // for no-arg elementary bigraphs
             if (elementaryBigraph instanceof Placings.Barren || elementaryBigraph instanceof Placings.Join) {
@@ -145,6 +206,76 @@ public class BigraphCanonicalForm implements BigraphCanonicalFormSupport {
         return this;
     }
 
+    public boolean isStructural() {
+        return structural;
+    }
+
+    /**
+     * Uses the structural certificate of {@link PureStructuralCanonicalForm} for pure bigraphs instead of the canonical
+     * string. The result of {@link #bfcs(Bigraph)} is then the hexadecimal representation of the certificate, which is
+     * much cheaper to compute.
+     * The certificate is not a complete invariant (see {@link PureStructuralCanonicalForm}), so it only selects a
+     * bucket: the canonical strings are computed for the bigraphs of a bucket as soon as it holds a second bigraph,
+     * and non-isomorphic bigraphs get different labels (see {@link #usesCertificates()}).
+     *
+     * @param structural {@code true}, to compute structural certificates
+     * @return this instance
+     */
+    public BigraphCanonicalForm setStructural(boolean structural) {
+        this.structural = structural;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Uses the certificate of {@link PureIncrementalCanonicalForm} for pure bigraphs, which caches subtree hashes at the
+     * instance model and only recomputes them where a bigraph has changed. Takes precedence over
+     * {@link #setStructural(boolean)}. The certificate is a weaker invariant than the structural certificate
+     * (see {@link PureIncrementalCanonicalForm}), and selects a bucket in the same way.
+     *
+     * @param incremental {@code true}, to compute incremental certificates
+     * @return this instance
+     */
+    public BigraphCanonicalForm setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * Indicates whether the labels are derived from certificates (see {@link #setStructural(boolean)} and
+     * {@link #setIncremental(boolean)}). Such labels depend on the bigraphs that this instance has labelled before:
+     * the first bigraph of each certificate is kept until a second bigraph with the same certificate is labelled,
+     * and the labels are only comparable if they are computed by the same instance.
+     *
+     * @return {@code true}, if the labels are derived from certificates
+     */
+    public boolean usesCertificates() {
+        return structural || incremental;
+    }
+
+    public boolean isUnorderedRoots() {
+        return unorderedRoots;
+    }
+
+    /**
+     * Treats the roots of a bigraph as unordered, so that bigraphs that are isomorphic up to a permutation of their
+     * roots get the same label, e.g., states of a reactive system whose agent has several roots where only the
+     * content of the roots matters. Sites and inner names keep their indices and names.
+     * <p>
+     * The canonical string is computed for the candidate orders of the roots described in
+     * {@link PureCanonicalForm#compute(PureBigraph)}. The certificates are computed with anonymous roots.
+     *
+     * @param unorderedRoots {@code true}, to ignore the order of the roots
+     * @return this instance
+     */
+    public BigraphCanonicalForm setUnorderedRoots(boolean unorderedRoots) {
+        this.unorderedRoots = unorderedRoots;
+        return this;
+    }
+
     <B extends Bigraph<?>> void assertBigraphIsGroundAndPrime(B bigraph) {
         if (!bigraph.isGround() || !bigraph.isPrime()) {
             throw new BigraphIsNotGroundException();
@@ -174,4 +305,36 @@ public class BigraphCanonicalForm implements BigraphCanonicalFormSupport {
             throw new RuntimeException("Bigraph has no roots. Cannot compute the canonical form");
         }
     }
+
+    /**
+     * Drops the strategy instances that are kept for subsequent calls of {@link #bfcs(Bigraph)}, together with their
+     * scratch state. The model checker calls it when an exploration ends.
+     */
+    public void release() {
+        strategies.clear();
+    }
+
+    /**
+     * The bigraphs with the same certificate: the first bigraph, until the canonical string of another bigraph is
+     * needed, and the canonical strings of the isomorphism classes in the order of their labels.
+     */
+    private static final class CertificateBucket {
+        PureBigraph first;
+        final List<String> canonicalStrings = new ArrayList<>(1);
+    }
+
+    /**
+     * The strategy instances of one computation.
+     */
+    private static final class Strategies {
+        final PureCanonicalForm pureForm;
+        final PureStructuralCanonicalForm structuralForm;
+        final PureIncrementalCanonicalForm incrementalForm;
+
+        Strategies(BigraphCanonicalForm bigraphCanonicalForm) {
+            this.pureForm = new PureCanonicalForm(bigraphCanonicalForm);
+            this.structuralForm = new PureStructuralCanonicalForm(bigraphCanonicalForm);
+            this.incrementalForm = new PureIncrementalCanonicalForm(bigraphCanonicalForm);
+        }
+    }
 }
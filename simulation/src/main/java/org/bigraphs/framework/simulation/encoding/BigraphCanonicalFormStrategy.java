@@ -24,6 +24,7 @@ public abstract class BigraphCanonicalFormStrategy<B extends Bigraph<?>> {
     private final BigraphCanonicalForm bigraphCanonicalForm;
     boolean printNodeIdentifiers = false;
     boolean rewriteOpenLinks = false;
+    boolean unorderedRoots = false;
 
     public BigraphCanonicalFormStrategy(BigraphCanonicalForm bigraphCanonicalForm) {
         this.bigraphCanonicalForm = bigraphCanonicalForm;
@@ -47,6 +48,15 @@ public abstract class BigraphCanonicalFormStrategy<B extends Bigraph<?>> {
         return this;
     }
 
+    public boolean isUnorderedRoots() {
+        return unorderedRoots;
+    }
+
+    public BigraphCanonicalFormStrategy<B> setUnorderedRoots(boolean unorderedRoots) {
+        this.unorderedRoots = unorderedRoots;
+        return this;
+    }
+
     public abstract String compute(B bigraph);
 
     public BigraphCanonicalForm getBigraphCanonicalForm() {
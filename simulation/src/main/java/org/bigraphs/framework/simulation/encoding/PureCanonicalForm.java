@@ -39,12 +39,22 @@ import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
 
 /**
  * The concrete strategy to compute the canonical string of a pure bigraph ({@link PureBigraph}).
+ * <p>
+ * An instance keeps its scratch maps and lists between two computations and only clears them, so it must be confined
+ * to one computation at a time (see {@link BigraphCanonicalForm}, which lends an instance to each running computation).
  *
  * @author Dominik Grzelak
  */
 public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph> {
 
-    RewriteFunction rewriteFunction = new RewriteFunction();
+    /**
+     * The maximal number of root orders that are encoded for unordered roots.
+     */
+    public static final int MAX_ROOT_ORDERINGS = 120;
+
+    // the reverse index of E2, I2 and O2, instead of flipping the sorted maps for every lookup
+    final Map<BigraphEntity<?>, String> keys = new HashMap<>();
+    final RewriteFunction rewriteFunction = new RewriteFunction(keys);
     TreeSortedMap<String, BigraphEntity.Edge> E2 = new TreeSortedMap<>(); //.mutable.with();
     TreeSortedMap<String, BigraphEntity.InnerName> I2 = new TreeSortedMap<>(); //SortedMaps.mutable.with();
     TreeSortedMap<String, BigraphEntity.OuterName> O2 = new TreeSortedMap<>(); //SortedMaps.mutable.with();
@@ -57,6 +67,8 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
     Supplier<String> rewriteEdgeNameSupplier;
     Supplier<String> rewriteInnerNameSupplier;
     Supplier<String> rewriteOuterNameSupplier;
+    // computes the root hashes for unordered roots
+    PureStructuralCanonicalForm structuralForm;
 //    private boolean rewriteLinkNames = false;
 
     public PureCanonicalForm(BigraphCanonicalForm bigraphCanonicalForm) {
@@ -64,7 +76,8 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
     }
 
     private void reset() {
-        rewriteFunction = new RewriteFunction();
+        keys.clear();
+        rewriteFunction.printNodeIdentifiers = false;
         E2.clear();
         I2.clear();
         O2.clear();
@@ -81,8 +94,172 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
 
     LinkedList<BigraphEntity<?>> totalOrdering = new LinkedList<>();
 
+    /**
+     * Computes the canonical string of a pure bigraph. The roots are encoded in the order of their indices, unless the
+     * roots are unordered (see {@link BigraphCanonicalForm#setUnorderedRoots(boolean)}). Then, the roots are ordered by
+     * their structural hashes (see {@link PureStructuralCanonicalForm}), which do not depend on the root indices, and
+     * roots with the same hash by the canonical string of their own subtree. Roots that are still equal are permuted,
+     * and the encoding is the lexicographically smallest one over all these orders, with two exceptions:
+     * <ul>
+     *     <li>If no link of the equal roots leaves the subtree of its root, swapping two of them is an automorphism,
+     *     so that their order does not matter.</li>
+     *     <li>If there are more than {@link #MAX_ROOT_ORDERINGS} orders, the equal roots are appended one by one,
+     *     each time the one with the smallest encoding of the roots appended so far.</li>
+     * </ul>
+     *
+     * @param bigraph the bigraph
+     * @return the canonical string
+     */
     @Override
-    public synchronized String compute(PureBigraph bigraph) {
+    public String compute(PureBigraph bigraph) {
+        List<BigraphEntity.RootEntity> roots = bigraph.getRoots();
+        if (!isUnorderedRoots() || roots.size() < 2) {
+            return encode(bigraph, roots);
+        }
+        String result = null;
+        for (List<BigraphEntity.RootEntity> each : rootOrderings(bigraph, roots)) {
+            String encoding = encode(bigraph, each);
+            if (result == null || encoding.compareTo(result) < 0) {
+                result = encoding;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the candidate orders of the roots: the roots are sorted by their structural hash and their subtree
+     * string, and equal roots are permuted (see {@link #compute(PureBigraph)}).
+     */
+    private List<List<BigraphEntity.RootEntity>> rootOrderings(PureBigraph bigraph, List<BigraphEntity.RootEntity> roots) {
+        if (structuralForm == null) {
+            structuralForm = new PureStructuralCanonicalForm(getBigraphCanonicalForm());
+        }
+        structuralForm.setPrintNodeIdentifiers(printNodeIdentifiers).setRewriteOpenLinks(rewriteOpenLinks).setUnorderedRoots(true);
+        long[] hashes = structuralForm.rootHashes(bigraph);
+        Map<Long, Integer> hashCounts = new HashMap<>();
+        for (long each : hashes) hashCounts.merge(each, 1, Integer::sum);
+        String[] subtrees = new String[roots.size()];
+        for (int i = 0; i < roots.size(); i++) {
+            subtrees[i] = hashCounts.get(hashes[i]) > 1 ? encode(bigraph, List.of(roots.get(i))) : "";
+        }
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < roots.size(); i++) positions.add(i);
+        positions.sort(Comparator.<Integer>comparingLong(i -> hashes[i]).thenComparing(i -> subtrees[i]));
+
+        List<List<BigraphEntity.RootEntity>> orderings = new ArrayList<>();
+        orderings.add(new ArrayList<>());
+        long count = 1;
+        for (int from = 0, to; from < positions.size(); from = to) {
+            List<BigraphEntity.RootEntity> group = new ArrayList<>();
+            for (to = from; to < positions.size() && hashes[positions.get(to)] == hashes[positions.get(from)]
+                    && subtrees[positions.get(to)].equals(subtrees[positions.get(from)]); to++) {
+                group.add(roots.get(positions.get(to)));
+            }
+            List<List<BigraphEntity.RootEntity>> permutations = List.of(group);
+            if (group.size() > 1 && !isInterchangeable(bigraph, group)) {
+                for (int k = 2; k <= group.size(); k++) count = Math.min(count * k, MAX_ROOT_ORDERINGS + 1L);
+                permutations = count <= MAX_ROOT_ORDERINGS ? permutations(group) : null;
+            }
+            List<List<BigraphEntity.RootEntity>> extended = new ArrayList<>();
+            for (List<BigraphEntity.RootEntity> prefix : orderings) {
+                if (permutations == null) {
+                    extended.add(greedyOrdering(bigraph, prefix, group));
+                    continue;
+                }
+                for (List<BigraphEntity.RootEntity> each : permutations) {
+                    List<BigraphEntity.RootEntity> ordering = new ArrayList<>(prefix);
+                    ordering.addAll(each);
+                    extended.add(ordering);
+                }
+            }
+            orderings = extended;
+        }
+        return orderings;
+    }
+
+    /**
+     * Returns whether roots with the same subtree string are interchangeable, i.e., whether swapping two of them is an
+     * automorphism of the bigraph. This holds if every link of their nodes only connects nodes within the subtree of
+     * the same root, or is an outer name that keeps its name in the encoding.
+     */
+    private boolean isInterchangeable(PureBigraph bigraph, List<BigraphEntity.RootEntity> group) {
+        for (BigraphEntity.RootEntity root : group) {
+            Set<BigraphEntity<?>> subtree = new HashSet<>();
+            Deque<BigraphEntity<?>> queue = new ArrayDeque<>(bigraph.getChildrenOf(root));
+            while (!queue.isEmpty()) {
+                BigraphEntity<?> next = queue.pop();
+                if (subtree.add(next)) queue.addAll(bigraph.getChildrenOf(next));
+            }
+            for (BigraphEntity<?> each : subtree) {
+                if (!(each instanceof BigraphEntity.NodeEntity<?> node)) continue;
+                for (BigraphEntity.Port port : bigraph.getPorts(node)) {
+                    BigraphEntity.Link link = bigraph.getLinkOfPoint(port);
+                    if (link == null) continue;
+                    if (BigraphEntityType.isOuterName(link)) {
+                        if (rewriteOpenLinks) return false;
+                        continue;
+                    }
+                    for (BigraphEntity<?> point : bigraph.getPointsFromLink(link)) {
+                        if (!(point instanceof BigraphEntity.Port other) || !subtree.contains(bigraph.getNodeOfPort(other))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the roots of a group to the prefix one by one, each time the root with the smallest encoding of the
+     * roots appended so far. Of several such roots, the first one of the group is taken, i.e., the one with the
+     * smallest index. Only then, the encoding may depend on the order of the roots, which can only leave isomorphic
+     * states unmerged.
+     */
+    private List<BigraphEntity.RootEntity> greedyOrdering(PureBigraph bigraph, List<BigraphEntity.RootEntity> prefix,
+                                                          List<BigraphEntity.RootEntity> group) {
+        List<BigraphEntity.RootEntity> ordering = new ArrayList<>(prefix);
+        List<BigraphEntity.RootEntity> remaining = new ArrayList<>(group);
+        while (!remaining.isEmpty()) {
+            BigraphEntity.RootEntity best = null;
+            String smallest = null;
+            for (BigraphEntity.RootEntity each : remaining) {
+                ordering.add(each);
+                String encoding = encode(bigraph, ordering);
+                ordering.remove(ordering.size() - 1);
+                if (smallest == null || encoding.compareTo(smallest) < 0) {
+                    best = each;
+                    smallest = encoding;
+                }
+            }
+            ordering.add(best);
+            remaining.remove(best);
+        }
+        return ordering;
+    }
+
+    private static <T> List<List<T>> permutations(List<T> elements) {
+        if (elements.size() < 2) {
+            return List.of(elements);
+        }
+        List<List<T>> result = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            List<T> rest = new ArrayList<>(elements);
+            T first = rest.remove(i);
+            for (List<T> each : permutations(rest)) {
+                List<T> permutation = new ArrayList<>();
+                permutation.add(first);
+                permutation.addAll(each);
+                result.add(permutation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encodes the bigraph, where the roots are encoded in the given order and labelled with their position.
+     */
+    private String encode(PureBigraph bigraph, List<BigraphEntity.RootEntity> roots) {
         reset();
         this.bigraph = bigraph;
         //        assertBigraphIsPrime(bigraph);
@@ -116,9 +293,10 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
                 );
 
 
-        for (BigraphEntity.RootEntity theParent : bigraph.getRoots()) {
+        int position = 0;
+        for (BigraphEntity.RootEntity theParent : roots) {
             totalOrdering.clear();
-            sb.append(PREFIX_BARREN).append(theParent.getIndex()).append('$');
+            sb.append(PREFIX_BARREN).append(position++).append('$');
             parentMap.put(theParent, theParent);
             frontier.clear();
             frontier.add(theParent);
@@ -126,22 +304,22 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
             // rewrite all "idle outer names" first, order is not important
             for (BigraphEntity.OuterName each : bigraph.getOuterNames()) {
                 if (bigraph.getPointsFromLink(each).size() == 0 &&
-                        O2.flip().get(each).getFirstOptional().isEmpty()) {
+                        !keys.containsKey(each)) {
                     if (rewriteOpenLinks)
-                        O2.put(rewriteOuterNameSupplier.get(), each);
+                        put(O2, rewriteOuterNameSupplier.get(), each);
                     else
-                        O2.put(each.getName(), each);
+                        put(O2, each.getName(), each);
                     idleOuterNames.add(each);
                 }
             }
             // rewrite all idle inner names first, order is not important
             for (BigraphEntity.InnerName each : bigraph.getInnerNames()) {
                 if ((bigraph.getLinkOfPoint(each) == null) &&
-                        I2.flip().get(each).getFirstOptional().isEmpty()) {
+                        !keys.containsKey(each)) {
                     if (rewriteOpenLinks) {
-                        I2.put(rewriteInnerNameSupplier.get(), each);
+                        put(I2, rewriteInnerNameSupplier.get(), each);
                     } else {
-                        I2.put(each.getName(), each);
+                        put(I2, each.getName(), each);
                     }
                 }
             }
@@ -366,11 +544,11 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
         E2.values().forEach(edge ->
                         bigraph.getPointsFromLink(edge).stream().filter(BigraphEntityType::isInnerName)
                                 .forEachOrdered(x -> {
-                                    if (I2.flip().get((BigraphEntity.InnerName) x).getFirstOptional().isEmpty()) {
+                                    if (!keys.containsKey(x)) {
                                         if (rewriteOpenLinks) {
-                                            I2.put(rewriteInnerNameSupplier.get(), (BigraphEntity.InnerName) x);
+                                            put(I2, rewriteInnerNameSupplier.get(), (BigraphEntity.InnerName) x);
                                         } else {
-                                            I2.put(((BigraphEntity.InnerName) x).getName(), (BigraphEntity.InnerName) x);
+                                            put(I2, ((BigraphEntity.InnerName) x).getName(), (BigraphEntity.InnerName) x);
                                         }
                                     }
 //                                    return (BigraphEntity.InnerName) x;
@@ -381,11 +559,11 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
         O2.values().forEach(edge ->
                         bigraph.getPointsFromLink(edge).stream().filter(BigraphEntityType::isInnerName)
                                 .forEachOrdered(x -> {
-                                    if (I2.flip().get((BigraphEntity.InnerName) x).getFirstOptional().isEmpty()) {
+                                    if (!keys.containsKey(x)) {
                                         if (rewriteOpenLinks) {
-                                            I2.put(rewriteInnerNameSupplier.get(), (BigraphEntity.InnerName) x);
+                                            put(I2, rewriteInnerNameSupplier.get(), (BigraphEntity.InnerName) x);
                                         } else {
-                                            I2.put(((BigraphEntity.InnerName) x).getName(), (BigraphEntity.InnerName) x);
+                                            put(I2, ((BigraphEntity.InnerName) x).getName(), (BigraphEntity.InnerName) x);
                                         }
                                     }
 //                                    return (BigraphEntity.InnerName) x;
@@ -408,9 +586,9 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
                         name = rewriteFunction.labelO(O2, (BigraphEntity.OuterName) linkOfPoint);
                         break;
                 }
-                sb.append(I2.flip().get(each).getOnly()).append(name).append("$");
+                sb.append(keys.get(each)).append(name).append("$");
             } else {
-                sb.append(I2.flip().get(each).getOnly()).append("$");
+                sb.append(keys.get(each)).append("$");
             }
         }
         // lastly links from inner to outer
@@ -447,6 +625,11 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
         }
     }
 
+    private <V extends BigraphEntity<?>> void put(MutableSortedMap<String, V> map, String key, V value) {
+        map.put(key, value);
+        keys.put(value, key);
+    }
+
     String getLinkName(PureBigraph bigraph, BigraphEntity<?> node) {
         if (!printNodeIdentifiers) return "";
         List<BigraphEntity.Port> ports = bigraph.getPorts(node);
@@ -477,6 +660,18 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
 
     public static class RewriteFunction {
         boolean printNodeIdentifiers;
+        final Map<BigraphEntity<?>, String> keys;
+
+        public RewriteFunction() {
+            this(new HashMap<>());
+        }
+
+        /**
+         * @param keys the reverse index of the maps of rewritten names, which is updated by {@link #rewrite}
+         */
+        public RewriteFunction(Map<BigraphEntity<?>, String> keys) {
+            this.keys = keys;
+        }
 
         public String rewrite(MutableSortedMap<String, BigraphEntity.Edge> E2,
                               MutableSortedMap<String, BigraphEntity.OuterName> O2,
@@ -486,16 +681,17 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
                               boolean printNodeIdentifiers) {
             this.printNodeIdentifiers = printNodeIdentifiers;
             if (BigraphEntityType.isEdge(l)) {
-                if (E2.flip().get((BigraphEntity.Edge) l).getFirstOptional().isEmpty()) {
-                    E2.put(rewriteEdgeNameSupplier.get(), (BigraphEntity.Edge) l);
+                if (!keys.containsKey(l)) {
+                    String key = rewriteEdgeNameSupplier.get();
+                    E2.put(key, (BigraphEntity.Edge) l);
+                    keys.put(l, key);
                 }
                 return labelE(E2, (BigraphEntity.Edge) l);
             } else {
-                if (O2.flip().get((BigraphEntity.OuterName) l).getFirstOptional().isEmpty()) {
-                    if (rewriteOuterNameSupplier != null)
-                        O2.put(rewriteOuterNameSupplier.get(), (BigraphEntity.OuterName) l);
-                    else
-                        O2.put(l.getName(), (BigraphEntity.OuterName) l);
+                if (!keys.containsKey(l)) {
+                    String key = rewriteOuterNameSupplier != null ? rewriteOuterNameSupplier.get() : l.getName();
+                    O2.put(key, (BigraphEntity.OuterName) l);
+                    keys.put(l, key);
                 }
                 return labelO(O2, (BigraphEntity.OuterName) l);
             }
@@ -505,7 +701,7 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
             if (printNodeIdentifiers) {
                 return val.getName();
             } else {
-                return map.flip().get(val).getOnly();
+                return keyOf(map, val);
             }
         }
 
@@ -513,9 +709,15 @@ public class PureCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph>
             if (printNodeIdentifiers) {
                 return val.getName();
             } else {
-                return map.flip().get(val).getOnly();
+                return keyOf(map, val);
             }
         }
+
+        private <V extends BigraphEntity<?>> String keyOf(MutableSortedMap<String, V> map, V val) {
+            String key = keys.get(val);
+            // the map may have been filled without this function
+            return key != null ? key : map.flip().get(val).getOnly();
+        }
     }
 
     Comparator<BigraphEntity<?>> compareByLinkGraphOrdering =
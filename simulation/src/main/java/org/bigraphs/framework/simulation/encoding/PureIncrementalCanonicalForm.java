@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.encoding;
+
+import static org.bigraphs.framework.simulation.encoding.PureStructuralCanonicalForm.*;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A canonical form strategy for pure bigraphs that computes a 128-bit certificate from Merkle-style subtree hashes,
+ * which are cached at the instance model and only recomputed where the bigraph has changed.
+ * <p>
+ * The hash of a place combines its label (control, or index of roots and sites), the signatures of the links at its
+ * ports, and the multiset of the hashes of its children. The signature of a link combines its kind (and name, see
+ * below) with the multiset of its points, where a port contributes its index and the context of its node, i.e., the
+ * labels on the path from the root to the node. The certificate combines the hashes of the roots in the order of
+ * their indices with the signatures of all links and the inner names. If the roots are unordered
+ * (see {@link BigraphCanonicalForm#setUnorderedRoots(boolean)}), roots are labelled without their index and their
+ * hashes are combined as a multiset, and the signature of a link also includes the numbers of its points per root.
+ * <p>
+ * All values are stored in an EMF {@link Adapter} at the respective object of the instance model. The adapters
+ * listen for changes of the instance model and invalidate the affected values: the subtree hashes on the path from a
+ * changed place to its root, the contexts of a moved subtree, and the signatures of links whose points have changed
+ * (which in turn invalidate the subtree hashes of the nodes at their ports). If a bigraph is rewritten on a copy of the
+ * instance model of the agent, the cached values can be handed over with {@link #transferCache(Map)} before the copy is
+ * modified. Then, the certificate of the result is computed in time proportional to the size of the changed region
+ * (including moved parameters) instead of the size of the whole bigraph.
+ * <p>
+ * The certificate is invariant under isomorphism and respects the options of the {@link BigraphCanonicalForm} in the
+ * same way as {@link PureStructuralCanonicalForm}. Since a link is only characterised by the controls, ports and
+ * contexts of its points, it is a weaker invariant than the structural certificate: links between places with the same
+ * labels on their paths to the root cannot be told apart (e.g., two nodes {@code A} with a child {@code B} each, where
+ * each {@code A} is linked to its own {@code B} or to the other {@code B}). Therefore, {@link BigraphCanonicalForm}
+ * uses the certificate only to select a bucket, in which bigraphs are compared by their canonical strings.
+ * <p>
+ * The cached values belong to the instance model, so that the same bigraph must not be hashed concurrently. Since
+ * the states of an exploration share the cached values of their agent, the model checker expands the states
+ * sequentially with this strategy.
+ *
+ * @author Dominik Grzelak
+ * @see BigraphCanonicalForm#setIncremental(boolean)
+ */
+public class PureIncrementalCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph> {
+
+    private static final HashFunction CERTIFICATE = Hashing.murmur3_128();
+    private static final long PORT = 0x9e3779b97f4a7c15L;
+
+    private final Map<String, Long> labelHashes = new ConcurrentHashMap<>();
+    private int mode;
+
+    public PureIncrementalCanonicalForm(BigraphCanonicalForm bigraphCanonicalForm) {
+        super(bigraphCanonicalForm);
+    }
+
+    @Override
+    public String compute(PureBigraph bigraph) {
+        return certificate(bigraph).toString();
+    }
+
+    /**
+     * Computes the certificate of a pure bigraph. Only the values that are not cached at the instance model, or that
+     * have been invalidated by a change, are recomputed.
+     *
+     * @param bigraph the bigraph
+     * @return the 128-bit certificate
+     */
+    public HashCode certificate(PureBigraph bigraph) {
+        getBigraphCanonicalForm().assertBigraphHasRoots(bigraph);
+        mode = (isPrintNodeIdentifiers() ? 1 : 0) | (isRewriteOpenLinks() ? 2 : 0) | (isUnorderedRoots() ? 4 : 0);
+        List<BigraphEntity.RootEntity> roots = new ArrayList<>(bigraph.getRoots());
+        roots.sort(Comparator.comparingInt(BigraphEntity.RootEntity::getIndex));
+        Hasher hasher = CERTIFICATE.newHasher()
+                .putInt(roots.size()).putInt(bigraph.getNodes().size()).putInt(bigraph.getSites().size())
+                .putInt(bigraph.getOuterNames().size() + bigraph.getEdges().size()).putInt(bigraph.getInnerNames().size());
+        if (isUnorderedRoots()) {
+            long rootSum = 0;
+            for (BigraphEntity.RootEntity each : roots) rootSum += mix(hash(each.getInstance()));
+            hasher.putLong(rootSum);
+        } else {
+            for (BigraphEntity.RootEntity each : roots) {
+                hasher.putLong(hash(each.getInstance()));
+            }
+        }
+        long linkSum = 0;
+        for (BigraphEntity.OuterName each : bigraph.getOuterNames()) linkSum += mix(signature(each.getInstance()));
+        for (BigraphEntity.Edge each : bigraph.getEdges()) linkSum += mix(signature(each.getInstance()));
+        long innerSum = 0;
+        for (BigraphEntity.InnerName each : bigraph.getInnerNames()) {
+            EObject link = link(each.getInstance());
+            innerSum += mix(combine(innerNameLabel(each.getInstance()), link != null ? signature(link) : IDLE));
+        }
+        return hasher.putLong(linkSum).putLong(innerSum).hash();
+    }
+
+    /**
+     * Hands the cached values over from the objects of an instance model to their copies, e.g., the map of an
+     * {@link EcoreUtil.Copier}. Must be called before the copies are modified.
+     *
+     * @param copies the copies of the objects of an instance model
+     */
+    public static void transferCache(Map<EObject, EObject> copies) {
+        for (Map.Entry<EObject, EObject> each : copies.entrySet()) {
+            Adapter adapter = EcoreUtil.getExistingAdapter(each.getKey(), Entry.class);
+            if (adapter != null) {
+                each.getValue().eAdapters().add(((Entry) adapter).copy());
+            } else if (EcoreUtil.getExistingAdapter(each.getKey(), PortListener.class) != null) {
+                each.getValue().eAdapters().add(PortListener.INSTANCE);
+            }
+        }
+    }
+
+    /**
+     * The subtree hash of a place.
+     */
+    private long hash(EObject place) {
+        Entry entry = entry(place);
+        if (entry.hasHash) return entry.hash;
+        long ports = 0;
+        EStructuralFeature portRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PORT);
+        if (portRef != null) {
+            for (EObject port : list(place, portRef)) {
+                EObject link = link(port);
+                ports += mix(combine(combine(PORT, index(port)), link != null ? signature(link) : IDLE));
+                if (EcoreUtil.getExistingAdapter(port, PortListener.class) == null) {
+                    port.eAdapters().add(PortListener.INSTANCE);
+                }
+            }
+        }
+        long children = 0;
+        EStructuralFeature childRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_CHILD);
+        if (childRef != null) {
+            for (EObject child : list(place, childRef)) {
+                children += mix(hash(child));
+            }
+        }
+        entry.hash = combine(combine(label(place), ports), children);
+        entry.hasHash = true;
+        return entry.hash;
+    }
+
+    /**
+     * The labels on the path from the root to a place.
+     */
+    private long context(EObject place) {
+        Entry entry = entry(place);
+        if (entry.hasContext) return entry.context;
+        EObject parent = parent(place);
+        entry.context = parent != null ? combine(context(parent), label(place)) : label(place);
+        entry.hasContext = true;
+        return entry.context;
+    }
+
+    /**
+     * The signature of a link: its kind and the multiset of its points.
+     */
+    private long signature(EObject link) {
+        Entry entry = entry(link);
+        if (entry.hasHash) return entry.hash;
+        long points = 0;
+        // without the root indices, the contexts do not tell whether the points are in the same root or not
+        Map<EObject, Integer> roots = isUnorderedRoots() ? new IdentityHashMap<>() : null;
+        for (EObject point : list(link, link.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_POINT))) {
+            if (isPort(point)) {
+                points += mix(combine(combine(PORT, index(point)), context(point.eContainer())));
+                if (roots != null) roots.merge(rootOf(point.eContainer()), 1, Integer::sum);
+            } else {
+                points += mix(innerNameLabel(point));
+            }
+        }
+        if (roots != null) {
+            long shape = 0;
+            for (int count : roots.values()) shape += mix(combine(ROOT, count));
+            points = combine(points, shape);
+        }
+        String name = (String) link.eGet(link.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_NAME));
+        long kind;
+        if (link.eClass().getName().equals(BigraphMetaModelConstants.CLASS_EDGE)) {
+            kind = isPrintNodeIdentifiers() ? combine(EDGE, labelHash(name)) : EDGE;
+        } else {
+            kind = isRewriteOpenLinks() && !isPrintNodeIdentifiers() ? OUTER : combine(OUTER, labelHash(name));
+        }
+        entry.hash = combine(kind, points);
+        entry.hasHash = true;
+        return entry.hash;
+    }
+
+    private long label(EObject place) {
+        String type = place.eClass().getName();
+        if (type.equals(BigraphMetaModelConstants.CLASS_ROOT)) return isUnorderedRoots() ? ROOT : mix(ROOT + index(place));
+        if (type.equals(BigraphMetaModelConstants.CLASS_SITE)) return mix(SITE + index(place));
+        return combine(NODE, labelHash(type));
+    }
+
+    private long innerNameLabel(EObject innerName) {
+        return isRewriteOpenLinks() ? INNER
+                : combine(INNER, labelHash((String) innerName.eGet(innerName.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_NAME))));
+    }
+
+    private long labelHash(String label) {
+        return labelHashes.computeIfAbsent(label, x -> CERTIFICATE.hashString(x, StandardCharsets.UTF_8).asLong());
+    }
+
+    private Entry entry(EObject object) {
+        Entry entry = (Entry) EcoreUtil.getExistingAdapter(object, Entry.class);
+        if (entry == null) {
+            entry = new Entry();
+            object.eAdapters().add(entry);
+        }
+        if (entry.mode != mode) {
+            // computed with other options of the canonical form
+            entry.mode = mode;
+            entry.hasHash = false;
+            entry.hasContext = false;
+        }
+        return entry;
+    }
+
+    /**
+     * Invalidates the subtree hashes of a place and of its ancestors.
+     */
+    private static void invalidateHash(EObject place) {
+        for (EObject each = place; each != null; each = parent(each)) {
+            Entry entry = (Entry) EcoreUtil.getExistingAdapter(each, Entry.class);
+            // if the hash is not valid, the hashes of the ancestors are neither
+            if (entry == null || !entry.hasHash) return;
+            entry.hasHash = false;
+        }
+    }
+
+    /**
+     * Invalidates the contexts of a place and of its descendants, and the signatures of their links.
+     */
+    private static void invalidateContext(EObject place) {
+        Entry entry = (Entry) EcoreUtil.getExistingAdapter(place, Entry.class);
+        if (entry == null || !entry.hasContext) return;
+        entry.hasContext = false;
+        EStructuralFeature portRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PORT);
+        if (portRef != null) {
+            for (EObject port : list(place, portRef)) {
+                EObject link = link(port);
+                if (link != null) invalidateSignature(link);
+            }
+        }
+        EStructuralFeature childRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_CHILD);
+        if (childRef != null) {
+            for (EObject child : list(place, childRef)) {
+                invalidateContext(child);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the signature of a link, and the subtree hashes of the nodes at its ports.
+     */
+    private static void invalidateSignature(EObject link) {
+        Entry entry = (Entry) EcoreUtil.getExistingAdapter(link, Entry.class);
+        if (entry == null || !entry.hasHash) return;
+        entry.hasHash = false;
+        for (EObject point : list(link, link.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_POINT))) {
+            if (isPort(point) && point.eContainer() != null) invalidateHash(point.eContainer());
+        }
+    }
+
+    private static EObject rootOf(EObject place) {
+        EObject parent;
+        while ((parent = parent(place)) != null) place = parent;
+        return place;
+    }
+
+    private static EObject parent(EObject place) {
+        EStructuralFeature parentRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PARENT);
+        return parentRef != null ? (EObject) place.eGet(parentRef) : null;
+    }
+
+    private static EObject link(EObject point) {
+        return (EObject) point.eGet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK));
+    }
+
+    private static int index(EObject object) {
+        return (int) object.eGet(object.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX));
+    }
+
+    private static boolean isPort(EObject point) {
+        return point.eClass().getName().equals(BigraphMetaModelConstants.CLASS_PORT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, EStructuralFeature reference) {
+        return (EList<EObject>) object.eGet(reference);
+    }
+
+    /**
+     * The cached values of a place (subtree hash and context) or of a link (signature in {@code hash}).
+     */
+    private static final class Entry extends AdapterImpl {
+        int mode = -1;
+        boolean hasHash;
+        long hash;
+        boolean hasContext;
+        long context;
+
+        Entry copy() {
+            Entry copy = new Entry();
+            copy.mode = mode;
+            copy.hasHash = hasHash;
+            copy.hash = hash;
+            copy.hasContext = hasContext;
+            copy.context = context;
+            return copy;
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == Entry.class;
+        }
+
+        @Override
+        public void notifyChanged(Notification msg) {
+            if (msg.isTouch() || !(msg.getFeature() instanceof EStructuralFeature feature)) return;
+            EObject target = (EObject) getTarget();
+            switch (feature.getName()) {
+                case BigraphMetaModelConstants.REFERENCE_CHILD, BigraphMetaModelConstants.REFERENCE_PORT -> invalidateHash(target);
+                case BigraphMetaModelConstants.REFERENCE_PARENT -> invalidateContext(target);
+                case BigraphMetaModelConstants.REFERENCE_POINT, BigraphMetaModelConstants.ATTRIBUTE_NAME -> {
+                    // links only, names of nodes are not part of the certificate
+                    if (target.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_POINT) != null) {
+                        invalidateSignature(target);
+                    }
+                }
+                case BigraphMetaModelConstants.ATTRIBUTE_INDEX -> {
+                    invalidateContext(target);
+                    invalidateHash(target);
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates the subtree hash of the node of a port if the port is linked to another link or its index changes.
+     * The instance is shared by all ports.
+     */
+    private static final class PortListener implements Adapter {
+        static final PortListener INSTANCE = new PortListener();
+
+        @Override
+        public void notifyChanged(Notification msg) {
+            if (!msg.isTouch() && msg.getNotifier() instanceof EObject port && port.eContainer() != null) {
+                invalidateHash(port.eContainer());
+            }
+        }
+
+        @Override
+        public Notifier getTarget() {
+            return null;
+        }
+
+        @Override
+        public void setTarget(Notifier newTarget) {
+        }
+
+        @Override
+        public boolean isAdapterForType(Object type) {
+            return type == PortListener.class;
+        }
+    }
+}
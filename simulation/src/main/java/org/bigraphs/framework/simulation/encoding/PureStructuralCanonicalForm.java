@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.encoding;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * A canonical form strategy for pure bigraphs that computes a 128-bit structural certificate instead of a canonical
+ * string.
+ * <p>
+ * The place graph is hashed bottom-up as in the AHU algorithm for unordered trees, where the children of a place
+ * are combined by a commutative multiset hash instead of sorting their encodings. The link graph is included by colour
+ * refinement: in each round, every link is coloured by the multiset of the (place graph) colours of its points
+ * and their port indices, and every node is recoloured by the colours of the links at its ports in the order of the
+ * port indices. The rounds stop as soon as the number of distinct colours does not increase anymore.
+ * Each round is linear in the size of the bigraph, and no entity lists are sorted.
+ * <p>
+ * The certificate is invariant under isomorphism by construction, and respects the options of the
+ * {@link BigraphCanonicalForm}: edge names are only part of the certificate with node identifiers, and outer and
+ * inner names are anonymous if open links are rewritten. If the roots are unordered, roots are labelled without their
+ * index, their hashes are combined as a multiset, and links are additionally coloured by the numbers of their points
+ * per root. Unlike the canonical string of {@link PureCanonicalForm},
+ * the certificate is not a complete invariant: colour refinement cannot distinguish some (regular) link graphs,
+ * and two different bigraphs can collide with a probability of about 2<sup>-64</sup>. Therefore,
+ * {@link BigraphCanonicalForm} uses the certificate only to select a bucket, in which bigraphs are compared by their
+ * canonical strings.
+ * <p>
+ * The result of {@link #compute(PureBigraph)} is the hexadecimal representation of the certificate.
+ *
+ * @author Dominik Grzelak
+ * @see BigraphCanonicalForm#setStructural(boolean)
+ */
+public class PureStructuralCanonicalForm extends BigraphCanonicalFormStrategy<PureBigraph> {
+
+    private static final HashFunction CERTIFICATE = Hashing.murmur3_128();
+
+    static final long ROOT = 0x5bd1e9955bd1e995L;
+    static final long SITE = 0x27d4eb2f165667c5L;
+    static final long NODE = 0x165667b19e3779f9L;
+    static final long EDGE = 0x85ebca77c2b2ae63L;
+    static final long OUTER = 0xc2b2ae3d27d4eb4fL;
+    static final long INNER = 0x94d049bb133111ebL;
+    static final long IDLE = 0xbf58476d1ce4e5b9L;
+
+    private final Map<String, Long> labelHashes = new ConcurrentHashMap<>();
+
+    public PureStructuralCanonicalForm(BigraphCanonicalForm bigraphCanonicalForm) {
+        super(bigraphCanonicalForm);
+    }
+
+    @Override
+    public String compute(PureBigraph bigraph) {
+        return certificate(bigraph).toString();
+    }
+
+    /**
+     * Computes the structural certificate of a pure bigraph.
+     *
+     * @param bigraph the bigraph
+     * @return the 128-bit certificate
+     */
+    public HashCode certificate(PureBigraph bigraph) {
+        getBigraphCanonicalForm().assertBigraphHasRoots(bigraph);
+        return new Encoding(bigraph).certificate();
+    }
+
+    /**
+     * Computes the subtree hashes of the roots after colour refinement, in the order of the root indices.
+     * The hash of a root does not depend on its index if the roots are unordered.
+     *
+     * @param bigraph the bigraph
+     * @return the hashes of the roots
+     */
+    long[] rootHashes(PureBigraph bigraph) {
+        getBigraphCanonicalForm().assertBigraphHasRoots(bigraph);
+        Encoding encoding = new Encoding(bigraph);
+        encoding.refine();
+        return Arrays.copyOf(encoding.up, encoding.rootCount);
+    }
+
+    /**
+     * The arrays of one computation. Places (roots, nodes and sites) are numbered in breadth-first order,
+     * so that the parent of a place always has a smaller number.
+     */
+    private class Encoding {
+        final List<EObject> places = new ArrayList<>();
+        final IdentityHashMap<EObject, Integer> linkIds = new IdentityHashMap<>();
+        final int[] parent;
+        final int[][] portIndices;
+        final int[][] portLinks;
+        final long[] links;
+        final long[] innerNames;
+        final int[] innerNameLinks;
+        final int rootCount;
+        final int nodeCount;
+        final int siteCount;
+        long[] colours;
+        long[] up;
+        long[] linkColours;
+
+        Encoding(PureBigraph bigraph) {
+            List<BigraphEntity.RootEntity> roots = new ArrayList<>(bigraph.getRoots());
+            roots.sort(Comparator.comparingInt(BigraphEntity.RootEntity::getIndex));
+            List<Integer> parents = new ArrayList<>();
+            List<Long> placeColours = new ArrayList<>();
+            for (BigraphEntity.RootEntity each : roots) {
+                places.add(each.getInstance());
+                parents.add(-1);
+                placeColours.add(isUnorderedRoots() ? ROOT : mix(ROOT + each.getIndex()));
+            }
+            this.rootCount = roots.size();
+
+            Map<EObject, String> controls = new IdentityHashMap<>();
+            bigraph.getNodes().forEach(x -> controls.put(x.getInstance(), x.getControl().getNamedType().stringValue()));
+            int nodes = 0;
+            int sites = 0;
+            for (int p = 0; p < places.size(); p++) {
+                EObject place = places.get(p);
+                EStructuralFeature childRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_CHILD);
+                if (childRef == null) continue;
+                for (EObject child : list(place, childRef)) {
+                    places.add(child);
+                    parents.add(p);
+                    String control = controls.get(child);
+                    if (control != null) {
+                        nodes++;
+                        placeColours.add(combine(NODE, labelHash(control)));
+                    } else {
+                        sites++;
+                        placeColours.add(mix(SITE + (int) child.eGet(child.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX))));
+                    }
+                }
+            }
+            this.nodeCount = nodes;
+            this.siteCount = sites;
+
+            // Links: outer names first, then edges
+            boolean printNodeIdentifiers = isPrintNodeIdentifiers();
+            boolean anonymousNames = isRewriteOpenLinks();
+            List<Long> linkColours = new ArrayList<>();
+            for (BigraphEntity.OuterName each : bigraph.getOuterNames()) {
+                linkIds.put(each.getInstance(), linkColours.size());
+                linkColours.add(anonymousNames && !printNodeIdentifiers ? OUTER : combine(OUTER, labelHash(each.getName())));
+            }
+            for (BigraphEntity.Edge each : bigraph.getEdges()) {
+                linkIds.put(each.getInstance(), linkColours.size());
+                linkColours.add(printNodeIdentifiers ? combine(EDGE, labelHash(each.getName())) : EDGE);
+            }
+            this.links = toArray(linkColours);
+
+            int n = places.size();
+            this.parent = new int[n];
+            this.colours = new long[n];
+            this.portIndices = new int[n][];
+            this.portLinks = new int[n][];
+            for (int p = 0; p < n; p++) {
+                parent[p] = parents.get(p);
+                colours[p] = placeColours.get(p);
+                EObject place = places.get(p);
+                EStructuralFeature portRef = place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PORT);
+                EList<EObject> ports = portRef != null ? list(place, portRef) : null;
+                int size = ports != null ? ports.size() : 0;
+                portIndices[p] = new int[size];
+                portLinks[p] = new int[size];
+                for (int k = 0; k < size; k++) {
+                    EObject port = ports.get(k);
+                    int index = (int) port.eGet(port.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX));
+                    int link = linkOf(port);
+                    // the port list is not ordered by index (e.g., after decoding), so insert the port at its position
+                    int j = k;
+                    for (; j > 0 && portIndices[p][j - 1] > index; j--) {
+                        portIndices[p][j] = portIndices[p][j - 1];
+                        portLinks[p][j] = portLinks[p][j - 1];
+                    }
+                    portIndices[p][j] = index;
+                    portLinks[p][j] = link;
+                }
+            }
+            if (isUnorderedRoots()) {
+                addRootShapes();
+            }
+
+            List<BigraphEntity.InnerName> inner = bigraph.getInnerNames();
+            this.innerNames = new long[inner.size()];
+            this.innerNameLinks = new int[inner.size()];
+            for (int i = 0; i < inner.size(); i++) {
+                innerNames[i] = anonymousNames ? INNER : combine(INNER, labelHash(inner.get(i).getName()));
+                innerNameLinks[i] = linkOf(inner.get(i).getInstance());
+            }
+        }
+
+        HashCode certificate() {
+            refine();
+            long linkSum = 0;
+            for (long each : linkColours) linkSum += mix(each);
+            long innerSum = 0;
+            for (int i = 0; i < innerNames.length; i++) {
+                innerSum += mix(combine(innerNames[i], innerNameLinks[i] >= 0 ? linkColours[innerNameLinks[i]] : IDLE));
+            }
+            Hasher hasher = CERTIFICATE.newHasher()
+                    .putInt(rootCount).putInt(nodeCount).putInt(siteCount)
+                    .putInt(links.length).putInt(innerNames.length);
+            if (isUnorderedRoots()) {
+                long rootSum = 0;
+                for (int r = 0; r < rootCount; r++) rootSum += mix(up[r]);
+                hasher.putLong(rootSum);
+            } else {
+                for (int r = 0; r < rootCount; r++) {
+                    hasher.putLong(up[r]);
+                }
+            }
+            return hasher.putLong(linkSum).putLong(innerSum).hash();
+        }
+
+        /**
+         * Refines the colours of places and links until the partition is stable, and computes the final subtree hashes.
+         */
+        void refine() {
+            int n = places.size();
+            up = new long[n];
+            long[] down = new long[n];
+            long[] pointSums = new long[links.length];
+            linkColours = links.clone();
+            int distinct = distinct(colours, linkColours);
+            for (int round = 0; round <= n + links.length; round++) {
+                bottomUp(up);
+                // the context of a place: the context of its parent and the subtree of its parent
+                for (int p = 0; p < n; p++) {
+                    down[p] = parent[p] < 0 ? ROOT : combine(down[parent[p]], up[parent[p]]);
+                }
+                Arrays.fill(pointSums, 0L);
+                for (int p = 0; p < n; p++) {
+                    long place = combine(up[p], down[p]);
+                    for (int k = 0; k < portLinks[p].length; k++) {
+                        if (portLinks[p][k] >= 0) pointSums[portLinks[p][k]] += mix(combine(place, portIndices[p][k]));
+                    }
+                }
+                for (int i = 0; i < innerNames.length; i++) {
+                    if (innerNameLinks[i] >= 0) pointSums[innerNameLinks[i]] += mix(innerNames[i]);
+                }
+                long[] nextLinkColours = new long[links.length];
+                for (int l = 0; l < links.length; l++) {
+                    nextLinkColours[l] = combine(linkColours[l], pointSums[l]);
+                }
+                long[] next = new long[n];
+                for (int p = 0; p < n; p++) {
+                    long colour = combine(up[p], down[p]);
+                    for (int k = 0; k < portLinks[p].length; k++) {
+                        colour = combine(colour, portIndices[p][k]);
+                        colour = combine(colour, portLinks[p][k] >= 0 ? nextLinkColours[portLinks[p][k]] : IDLE);
+                    }
+                    next[p] = colour;
+                }
+                int nextDistinct = distinct(next, nextLinkColours);
+                colours = next;
+                linkColours = nextLinkColours;
+                // refinement never merges colour classes, so the partition is stable if the number did not change
+                if (nextDistinct == distinct) break;
+                distinct = nextDistinct;
+            }
+            bottomUp(up);
+        }
+
+        /**
+         * Adds the multiset of the numbers of points per root to the colour of each link. Without the root indices,
+         * colour refinement cannot tell otherwise whether the points of a link are in the same root or not.
+         */
+        private void addRootShapes() {
+            int[] rootOf = new int[places.size()];
+            Map<Long, Integer> counts = new HashMap<>();
+            for (int p = 0; p < rootOf.length; p++) {
+                rootOf[p] = parent[p] < 0 ? p : rootOf[parent[p]];
+                for (int k = 0; k < portLinks[p].length; k++) {
+                    if (portLinks[p][k] >= 0) counts.merge((long) portLinks[p][k] * rootCount + rootOf[p], 1, Integer::sum);
+                }
+            }
+            long[] shapes = new long[links.length];
+            counts.forEach((key, count) -> shapes[(int) (key / rootCount)] += mix(combine(ROOT, count)));
+            for (int l = 0; l < links.length; l++) {
+                links[l] = combine(links[l], shapes[l]);
+            }
+        }
+
+        /**
+         * AHU-like subtree hashes: the colour of a place combined with the multiset of the subtree hashes of its children.
+         */
+        private void bottomUp(long[] up) {
+            long[] childSums = new long[up.length];
+            for (int p = up.length - 1; p >= 0; p--) {
+                up[p] = combine(colours[p], childSums[p]);
+                if (parent[p] >= 0) childSums[parent[p]] += mix(up[p]);
+            }
+        }
+
+        private int linkOf(EObject point) {
+            EObject link = (EObject) point.eGet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK));
+            Integer id = link != null ? linkIds.get(link) : null;
+            return id != null ? id : -1;
+        }
+    }
+
+    private long labelHash(String label) {
+        return labelHashes.computeIfAbsent(label, x -> CERTIFICATE.hashString(x, StandardCharsets.UTF_8).asLong());
+    }
+
+    private static int distinct(long[] places, long[] links) {
+        Set<Long> colours = new HashSet<>();
+        for (long each : places) colours.add(each);
+        int placeColours = colours.size();
+        colours.clear();
+        for (long each : links) colours.add(each);
+        return placeColours + colours.size();
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    static long combine(long hash, long value) {
+        return mix(hash * 0x9e3779b97f4a7c15L + value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, EStructuralFeature reference) {
+        return (EList<EObject>) object.eGet(reference);
+    }
+
+    private static long[] toArray(List<Long> values) {
+        long[] result = new long[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
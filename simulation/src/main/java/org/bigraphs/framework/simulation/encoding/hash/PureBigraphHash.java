@@ -14,15 +14,41 @@
  */
 package org.bigraphs.framework.simulation.encoding.hash;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.impl.BigraphEntity;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
 
 /**
+ * Computes a 64-bit structural hash of a pure bigraph that can be used as "pre-check" before two bigraphs are compared
+ * by their canonical forms.
+ * <p>
+ * The hash combines the multiset of the places, where each place is characterised by its control (or whether it is a
+ * root or a site), its depth, its number of children and the arities of the links at its ports, with the multisets of
+ * the arities of the edges, outer names and inner names. Thus, it covers the control-label multiset, the depth
+ * histogram, the degree sequence and the link arities of the bigraph. All multisets are combined by commutative sums,
+ * so that the hash is computed in a single pass over the instance model without sorting.
+ * <p>
+ * The hash is invariant under isomorphism. It does not depend on link names or on the indices of roots and sites, so
+ * that it is a valid pre-check for every option of the {@link org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm}.
+ *
  * @author Dominik Grzelak
  */
 public class PureBigraphHash implements BigraphHashFunction<PureBigraph> {
 
+    private static final long ROOT = 0x5bd1e9955bd1e995L;
+    private static final long SITE = 0x27d4eb2f165667c5L;
+    private static final long EDGE = 0x85ebca77c2b2ae63L;
+    private static final long OUTER = 0xc2b2ae3d27d4eb4fL;
+    private static final long INNER = 0x94d049bb133111ebL;
+    private static final long IDLE = 0xbf58476d1ce4e5b9L;
+
     /**
-     * Computes a "hash" for a pure bigraph by only considering the number of places, edges, inner and outer names.
+     * Computes a structural hash for a pure bigraph (see {@link PureBigraphHash}).
      * It does not compute a unique hash. However, it can be used as "pre-check" to early terminate a more complex algorithm.
      *
      * @param bigraph the bigraph
@@ -30,10 +56,89 @@ public class PureBigraphHash implements BigraphHashFunction<PureBigraph> {
      */
     @Override
     public long hash(PureBigraph bigraph) {
-        return bigraph.getAllPlaces().size() +
-                bigraph.getEdges().size() +
-                bigraph.getOuterNames().size() +
-                bigraph.getInnerNames().size()
-                ;
+        int places = 0;
+        long placeSum = 0;
+        List<EObject> level = new ArrayList<>();
+        for (BigraphEntity.RootEntity each : bigraph.getRoots()) {
+            level.add(each.getInstance());
+        }
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            List<EObject> next = new ArrayList<>();
+            for (EObject place : level) {
+                places++;
+                EList<EObject> children = list(place, BigraphMetaModelConstants.REFERENCE_CHILD);
+                int childCount = 0;
+                if (children != null) {
+                    childCount = children.size();
+                    next.addAll(children);
+                }
+                long ports = 0;
+                EList<EObject> portList = list(place, BigraphMetaModelConstants.REFERENCE_PORT);
+                if (portList != null) {
+                    for (EObject port : portList) {
+                        EObject link = linkOf(port);
+                        if (link != null) ports += mix(arity(link));
+                    }
+                }
+                placeSum += mix(combine(combine(combine(label(place), depth), childCount), ports));
+            }
+            level = next;
+        }
+
+        long linkSum = 0;
+        for (BigraphEntity.Edge each : bigraph.getEdges()) {
+            linkSum += mix(combine(EDGE, arity(each.getInstance())));
+        }
+        for (BigraphEntity.OuterName each : bigraph.getOuterNames()) {
+            linkSum += mix(combine(OUTER, arity(each.getInstance())));
+        }
+        long innerSum = 0;
+        for (BigraphEntity.InnerName each : bigraph.getInnerNames()) {
+            EObject link = linkOf(each.getInstance());
+            long kind = link == null ? IDLE : link.eClass().getName().equals(BigraphMetaModelConstants.CLASS_EDGE) ? EDGE : OUTER;
+            innerSum += mix(combine(INNER, link != null ? combine(kind, arity(link)) : kind));
+        }
+
+        long hash = combine(places, bigraph.getEdges().size());
+        hash = combine(hash, bigraph.getOuterNames().size());
+        hash = combine(hash, bigraph.getInnerNames().size());
+        hash = combine(hash, placeSum);
+        hash = combine(hash, linkSum);
+        return combine(hash, innerSum);
+    }
+
+    private static long label(EObject place) {
+        String type = place.eClass().getName();
+        if (type.equals(BigraphMetaModelConstants.CLASS_ROOT)) return ROOT;
+        if (type.equals(BigraphMetaModelConstants.CLASS_SITE)) return SITE;
+        return mix(type.hashCode());
+    }
+
+    private static int arity(EObject link) {
+        EList<EObject> points = list(link, BigraphMetaModelConstants.REFERENCE_POINT);
+        return points != null ? points.size() : 0;
+    }
+
+    private static EObject linkOf(EObject point) {
+        return (EObject) point.eGet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, String reference) {
+        EStructuralFeature feature = object.eClass().getEStructuralFeature(reference);
+        return feature != null ? (EList<EObject>) object.eGet(feature) : null;
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long combine(long hash, long value) {
+        return mix(hash * 0x9e3779b97f4a7c15L + value);
     }
 }
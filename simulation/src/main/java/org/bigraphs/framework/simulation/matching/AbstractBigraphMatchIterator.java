@@ -14,31 +14,39 @@
  */
 package org.bigraphs.framework.simulation.matching;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
-import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatchingEngine;
+import org.bigraphs.framework.simulation.matching.pure.AbstractPureBigraphMatchingEngine;
 import org.bigraphs.framework.simulation.matching.pure.PureMatchIteratorImpl;
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.factory.Lists;
 
 /**
+ * Pull-based iterator over the matches computed by a matching engine.
+ * <p>
+ * The matching is started when the first match is requested (see {@link #findMatches()}), and each further match
+ * is only computed and converted when it is requested. Thus, consuming only a prefix of the matches does not compute
+ * the remaining ones. The iteration can be stopped early via {@link #cancel()}.
  *
  * @param <B> type of the bigraph
  * @author Dominik Grzelak
  */
 public abstract class AbstractBigraphMatchIterator<B extends Bigraph<? extends Signature<?>>> implements Iterator<BigraphMatch<B>> {
 
+    /**
+     * The number of matches returned so far.
+     */
     protected int cursor = 0;
-    protected MutableList<BigraphMatch<B>> matches = Lists.mutable.empty();
+    protected Iterator<? extends BigraphMatch<B>> matches;
     protected BigraphMatchingEngine<B> matchingEngine;
+    private volatile boolean cancelled = false;
 
 
     @SuppressWarnings("unchecked")
     public static <B extends Bigraph<? extends Signature<?>>> AbstractBigraphMatchIterator<B> create(BigraphMatchingEngine<B> engine) {
-        if (engine instanceof PureBigraphMatchingEngine pure) {
+        if (engine instanceof AbstractPureBigraphMatchingEngine pure) {
             @SuppressWarnings("unchecked")
             AbstractBigraphMatchIterator<B> it =
                     (AbstractBigraphMatchIterator<B>) new PureMatchIteratorImpl(pure);
@@ -52,14 +60,31 @@ public abstract class AbstractBigraphMatchIterator<B extends Bigraph<? extends S
     }
 
     /**
-     * load matches (or compute lazily)
+     * Starts the matching and assigns the (lazy) iterator of the matches to {@link #matches}.
+     * It is called once when the first match is requested.
      */
     protected abstract void findMatches();
 
+    /**
+     * Stops the iteration. No further matches are computed, and {@link #hasNext()} returns {@code false}.
+     */
+    public void cancel() {
+        cancelled = true;
+        matchingEngine.cancel();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     @Override
     public boolean hasNext() {
-        if (matches.isEmpty()) return false;
-        return cursor != matches.size();
+        if (cancelled) return false;
+        if (matches == null) {
+            findMatches();
+            if (matches == null) matches = Collections.emptyIterator();
+        }
+        return !cancelled && matches.hasNext();
     }
 
     @Override
@@ -67,7 +92,8 @@ public abstract class AbstractBigraphMatchIterator<B extends Bigraph<? extends S
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        return matches.get(cursor++);
+        cursor++;
+        return matches.next();
     }
 
     // /////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -82,7 +108,7 @@ public abstract class AbstractBigraphMatchIterator<B extends Bigraph<? extends S
     public static abstract class FirstMatchOnly<B extends Bigraph<? extends Signature<?>>> extends AbstractBigraphMatchIterator<B> {
 
         public static <B extends Bigraph<? extends Signature<?>>> AbstractBigraphMatchIterator.FirstMatchOnly<B> create(BigraphMatchingEngine<B> engine) {
-            if (engine instanceof PureBigraphMatchingEngine pure) {
+            if (engine instanceof AbstractPureBigraphMatchingEngine pure) {
                 @SuppressWarnings("unchecked")
                 AbstractBigraphMatchIterator.FirstMatchOnly<B> it =
                         (AbstractBigraphMatchIterator.FirstMatchOnly<B>) new PureMatchIteratorImpl.FirstMatchOnly(pure);
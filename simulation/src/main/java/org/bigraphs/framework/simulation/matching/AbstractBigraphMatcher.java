@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
  * logic and driven by a dedicated matching engine {@link #instantiateEngine()} w.r.t. to the bigraph type.
  * <p>
  * The correct one, is created using the factory method {@link AbstractBigraphMatcher#create(Class)} by supplying the bigraph type as class.
+ * The matching engine can be selected via {@link AbstractBigraphMatcher#create(Class, BigraphMatchingEngine.Type)}.
  * <p>
  * The matcher needs an agent and redex to perform bigraph matching.
  *
@@ -51,11 +52,25 @@ public abstract class AbstractBigraphMatcher<B extends Bigraph<? extends Signatu
 
     }
 
-    @SuppressWarnings("unchecked")
     public static <B extends Bigraph<? extends Signature<?>>> AbstractBigraphMatcher<B> create(Class<B> bigraphClass) {
+        return create(bigraphClass, BigraphMatchingEngine.Type.JLIBBIG);
+    }
+
+    /**
+     * Creates a matcher for the given bigraph type that is driven by the specified matching engine.
+     *
+     * @param bigraphClass the bigraph type
+     * @param engineType   the matching engine to use
+     * @param <B>          type of the bigraph
+     * @return a matcher for the given bigraph type
+     */
+    @SuppressWarnings("unchecked")
+    public static <B extends Bigraph<? extends Signature<?>>> AbstractBigraphMatcher<B> create(Class<B> bigraphClass,
+                                                                                              BigraphMatchingEngine.Type engineType) {
         if (bigraphClass == PureBigraph.class) {
             try {
-                return (AbstractBigraphMatcher<B>) Class.forName(PureBigraphMatcher.class.getCanonicalName()).getConstructor().newInstance();
+                return (AbstractBigraphMatcher<B>) Class.forName(PureBigraphMatcher.class.getCanonicalName())
+                        .getConstructor(BigraphMatchingEngine.Type.class).newInstance(engineType);
             } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchMethodException |
                      InvocationTargetException e) {
                 throw new RuntimeException(e);
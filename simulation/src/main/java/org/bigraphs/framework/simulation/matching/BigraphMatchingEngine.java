@@ -29,5 +29,22 @@ import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
  */
 public interface BigraphMatchingEngine<B extends Bigraph<? extends Signature<?>>> {
 
+    /**
+     * The available matching engine implementations.
+     * <p>
+     * {@link #JLIBBIG} encodes agent and redex as jLibBig bigraphs and uses the jLibBig agent matcher.
+     * {@link #NATIVE} searches the embedding of the redex directly on the Ecore-based bigraph model.
+     */
+    enum Type {
+        JLIBBIG, NATIVE
+    }
+
     Collection<? extends BigraphMatch<B>> getMatches();
+
+    /**
+     * Requests the engine to stop the computation of further matches.
+     * The engine checks the request cooperatively, i.e., a running search step may still complete.
+     */
+    default void cancel() {
+    }
 }
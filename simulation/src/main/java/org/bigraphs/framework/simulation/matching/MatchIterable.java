@@ -16,12 +16,21 @@ package org.bigraphs.framework.simulation.matching;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
 
 /**
  * Custom iterable implementation for matches of type {@link BigraphMatch}.
+ * <p>
+ * The matches are computed lazily by the underlying iterator, i.e., only when they are requested.
+ * The iterable can be consumed only once, either by iterating over it or via the {@link #stream()} view.
+ * Short-circuiting stream operations (e.g., {@code findFirst()}, {@code limit()}, {@code anyMatch()}) do not compute
+ * the remaining matches. A running iteration can be stopped via {@link #cancel()}; closing the stream has the same effect.
  *
  * @param <T> type of the bigraph within a {@link BigraphMatch} "container" holding the match result
  * @author Dominik Grzelak
@@ -35,4 +44,24 @@ public record MatchIterable<T extends BigraphMatch<? extends Bigraph<?>>>(Iterat
     public static <B extends Bigraph<? extends Signature<?>>> MatchIterable<BigraphMatch<B>> singletonMatches(BigraphMatch<B> match) {
         return new MatchIterable<>(Collections.singleton(match).iterator());
     }
+
+    /**
+     * Returns a sequential stream view of the matches. The matches are pulled from the underlying iterator on demand.
+     *
+     * @return a stream of the matches
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::cancel);
+    }
+
+    /**
+     * Stops the computation of further matches, if the underlying iterator supports it
+     * (see {@link AbstractBigraphMatchIterator#cancel()}). Otherwise, this method has no effect.
+     */
+    public void cancel() {
+        if (iterator instanceof AbstractBigraphMatchIterator<?> matchIterator) {
+            matchIterator.cancel();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import java.util.Iterator;
+import java.util.List;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingSupport;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Common base class of all matching engines for pure bigraphs (see {@link PureBigraph}).
+ * <p>
+ * It defines the protocol that is driven by the match iterators (see {@link PureMatchIteratorImpl}):
+ * first {@link #beginMatch()} is called, and if {@link #hasMatched()} returns {@code true}, the matches are pulled
+ * one by one from {@link #matchIterator()}. Alternatively, {@link #getAllMatches()} or {@link #getSingleMatch()}
+ * collect the results in {@link #getMatches()}.
+ *
+ * @author Dominik Grzelak
+ * @see PureBigraphMatchingEngine
+ * @see NativePureBigraphMatchingEngine
+ */
+public abstract class AbstractPureBigraphMatchingEngine extends BigraphMatchingSupport implements BigraphMatchingEngine<PureBigraph> {
+
+    protected boolean hasMatched = false;
+    protected final MutableList<PureBigraphMatch> matches = Lists.mutable.empty();
+    protected volatile boolean cancelled = false;
+
+    protected ReactionRule<PureBigraph> reactionRule;
+
+    protected AbstractPureBigraphMatchingEngine(ReactionRule<PureBigraph> reactionRule) {
+        this.reactionRule = reactionRule;
+    }
+
+    @Override
+    public List<PureBigraphMatch> getMatches() {
+        return matches;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if any match could be found and also if <emph>_all_</emph> redex roots could be matched.
+     *
+     * @return {@code true}, if a correct match could be found, otherwise {@code false}
+     */
+    public boolean hasMatched() {
+        return hasMatched;
+    }
+
+    /**
+     * Prepares the matching of the redex in the agent.
+     */
+    protected abstract void beginMatch();
+
+    /**
+     * Returns a lazy iterator over the matches determined by {@link #beginMatch()}.
+     * The next match is only computed and converted when it is requested, and not stored in {@link #getMatches()}.
+     * The iterator stops after {@link #cancel()} was called.
+     *
+     * @return a lazy iterator over the matches
+     */
+    protected abstract Iterator<PureBigraphMatch> matchIterator();
+
+    /**
+     * Collects all matches that were determined by {@link #beginMatch()}.
+     */
+    protected void getAllMatches() {
+        matchIterator().forEachRemaining(matches::add);
+    }
+
+    /**
+     * Collects only the first match that was determined by {@link #beginMatch()}.
+     */
+    protected void getSingleMatch() {
+        Iterator<PureBigraphMatch> iterator = matchIterator();
+        if (iterator.hasNext()) {
+            matches.add(iterator.next());
+        }
+    }
+}
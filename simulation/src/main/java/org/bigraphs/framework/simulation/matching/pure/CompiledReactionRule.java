@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import it.uniud.mads.jlibbig.core.std.Bigraph;
+import it.uniud.mads.jlibbig.core.std.InstantiationMap;
+import it.uniud.mads.jlibbig.core.std.Signature;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+
+/**
+ * The compiled form of a reaction rule for pure bigraphs.
+ * <p>
+ * A reaction rule is immutable, so everything that the matching engines and the rewriting step derive from the rule
+ * alone is computed only once: the jLibBig encodings of redex and reactum, the instantiation map and the
+ * parameter arrays derived from it, and the matching and rewriting plans of the native matching engine.
+ * <p>
+ * Compiled rules are obtained from a {@link CompiledReactionRuleCache}.
+ * All encodings of a cache share the same jLibBig signature, which must be used to encode the agent as well.
+ *
+ * @author Dominik Grzelak
+ */
+public class CompiledReactionRule {
+
+    private final ReactionRule<PureBigraph> reactionRule;
+    private final Signature jLibSignature;
+    private final Bigraph jLibRedex;
+    private final Bigraph jLibReactum;
+    private final InstantiationMap eta;
+    private final boolean[] neededParams;
+    private final int[] paramInstances;
+    private final boolean[] clonedParams;
+    private final NativeMatchingPlan nativeMatchingPlan;
+    private final NativeRewritingPlan nativeRewritingPlan;
+
+    CompiledReactionRule(ReactionRule<PureBigraph> reactionRule, Signature jLibSignature) {
+        JLibBigBigraphEncoder encoder = new JLibBigBigraphEncoder();
+        this.reactionRule = reactionRule;
+        this.jLibSignature = jLibSignature;
+        this.jLibRedex = encoder.encode(reactionRule.getRedex(), jLibSignature);
+        this.jLibReactum = encoder.encode(reactionRule.getReactum(), jLibSignature);
+        this.eta = PureReactiveSystem.constructEta(reactionRule);
+
+        // Which parameters are used by the reactum, and which of them must be cloned because they are used more than once
+        this.neededParams = new boolean[reactionRule.getRedex().getSites().size()];
+        this.paramInstances = new int[eta.getPlaceDomain()];
+        this.clonedParams = new boolean[eta.getPlaceDomain()];
+        for (int i = 0; i < eta.getPlaceDomain(); i++) {
+            int j = eta.getPlaceInstance(i);
+            neededParams[j] = true;
+            paramInstances[i] = j;
+        }
+        for (int i = 0; i < paramInstances.length; i++) {
+            if (clonedParams[i])
+                continue;
+            for (int j = i + 1; j < paramInstances.length; j++) {
+                clonedParams[j] = clonedParams[j] || (paramInstances[i] == paramInstances[j]);
+            }
+        }
+
+        this.nativeMatchingPlan = new NativeMatchingPlan(reactionRule.getRedex());
+        this.nativeRewritingPlan = new NativeRewritingPlan(reactionRule);
+    }
+
+    public ReactionRule<PureBigraph> getReactionRule() {
+        return reactionRule;
+    }
+
+    /**
+     * Returns the jLibBig signature that was used to encode redex and reactum.
+     *
+     * @return the jLibBig signature of this compiled rule
+     */
+    public Signature getJLibSignature() {
+        return jLibSignature;
+    }
+
+    public Bigraph getJLibRedex() {
+        return jLibRedex;
+    }
+
+    /**
+     * Returns the encoded reactum. It must not be modified, and is only replicated when instantiated.
+     *
+     * @return the encoded reactum
+     */
+    public Bigraph getJLibReactum() {
+        return jLibReactum;
+    }
+
+    public InstantiationMap getEta() {
+        return eta;
+    }
+
+    /**
+     * Returns for each site of the redex whether its parameter is used by the reactum.
+     *
+     * @return the needed parameters, indexed by the site index of the redex
+     */
+    public boolean[] getNeededParams() {
+        return neededParams;
+    }
+
+    /**
+     * Returns for each site of the reactum the index of the redex site, as defined by the instantiation map.
+     *
+     * @return the parameter instances, indexed by the site index of the reactum
+     */
+    public int[] getParamInstances() {
+        return paramInstances;
+    }
+
+    /**
+     * Returns for each site of the reactum whether the parameter must be cloned because it was already used for a
+     * site with a smaller index.
+     *
+     * @return the cloned parameters, indexed by the site index of the reactum
+     */
+    public boolean[] getClonedParams() {
+        return clonedParams;
+    }
+
+    public NativeMatchingPlan getNativeMatchingPlan() {
+        return nativeMatchingPlan;
+    }
+
+    public NativeRewritingPlan getNativeRewritingPlan() {
+        return nativeRewritingPlan;
+    }
+}
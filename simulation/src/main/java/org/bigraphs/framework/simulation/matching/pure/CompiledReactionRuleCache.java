@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.uniud.mads.jlibbig.core.std.Signature;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+
+/**
+ * A cache of compiled reaction rules (see {@link CompiledReactionRule}).
+ * <p>
+ * Rules are compiled on first access and kept as long as the rule object is reachable.
+ * The cache is keyed by the identity of the reaction rule, not by equality.
+ * The jLibBig signatures are kept per signature instance and are shared by all caches, so that all compiled rules
+ * (and the agents encoded by the matching engines, see {@link PreparedAgent}) share the same jLibBig signature.
+ * <p>
+ * A {@link PureReactiveSystem} owns a cache that is invalidated whenever its rule set changes.
+ * The cache is thread-safe.
+ *
+ * @author Dominik Grzelak
+ */
+public class CompiledReactionRuleCache {
+
+    private static final Cache<DynamicSignature, Signature> JLIB_SIGNATURES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    private final Cache<ReactionRule<PureBigraph>, CompiledReactionRule> compiledRules = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Returns the compiled form of the given rule. The rule is compiled if it is not in the cache.
+     *
+     * @param reactionRule the reaction rule
+     * @return the compiled reaction rule
+     */
+    public CompiledReactionRule get(ReactionRule<PureBigraph> reactionRule) {
+        return compiledRules.asMap().computeIfAbsent(reactionRule,
+                rule -> new CompiledReactionRule(rule, getJLibSignature(rule.getRedex().getSignature())));
+    }
+
+    /**
+     * Returns the jLibBig signature for the given signature. For the same signature instance,
+     * always the same jLibBig signature is returned.
+     *
+     * @param signature the signature
+     * @return the corresponding jLibBig signature
+     */
+    public static Signature getJLibSignature(DynamicSignature signature) {
+        return JLIB_SIGNATURES.asMap().computeIfAbsent(signature, JLibBigBigraphEncoder::parseSignature);
+    }
+
+    /**
+     * Removes all compiled rules from the cache.
+     */
+    public void invalidate() {
+        compiledRules.invalidateAll();
+    }
+
+    public long size() {
+        return compiledRules.size();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+
+/**
+ * A cheap summary of a pure bigraph that is used to decide whether a redex can possibly occur in an agent,
+ * without running a matching engine.
+ * <p>
+ * It counts the nodes per control, records the arity of each control, and counts the edges and the ports that are
+ * not connected to any link. A redex can only occur in an agent if (see {@link #mayContain(ControlHistogram)}):
+ * <ul>
+ *     <li>for each control, the agent has at least as many nodes as the redex,</li>
+ *     <li>each control of the redex has the same arity in the agent,</li>
+ *     <li>the agent has at least as many edges as the redex (edges are embedded injectively).
+ *     Unconnected ports are counted as edges of the agent, because the jLibBig encoding attaches a fresh edge to them.</li>
+ * </ul>
+ * These are necessary conditions only: if they hold, the redex may still not occur in the agent.
+ *
+ * @author Dominik Grzelak
+ */
+public class ControlHistogram {
+
+    // control label -> {number of nodes, arity}
+    private final Map<String, int[]> controls = new HashMap<>();
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int unconnectedPortCount;
+
+    private ControlHistogram(PureBigraph bigraph) {
+        int unconnected = 0;
+        for (BigraphEntity.NodeEntity<DynamicControl> each : bigraph.getNodes()) {
+            int arity = each.getControl().getArity().getValue().intValue();
+            int[] entry = controls.computeIfAbsent(each.getControl().getNamedType().stringValue(), k -> new int[]{0, arity});
+            entry[0]++;
+            unconnected += Math.max(0, arity - bigraph.getPortCount(each));
+        }
+        this.nodeCount = bigraph.getNodes().size();
+        this.edgeCount = bigraph.getEdges().size();
+        this.unconnectedPortCount = unconnected;
+    }
+
+    public static ControlHistogram of(PureBigraph bigraph) {
+        return new ControlHistogram(bigraph);
+    }
+
+    /**
+     * Checks the necessary conditions for an occurrence of the redex, described by the given histogram, in the
+     * bigraph described by this histogram.
+     *
+     * @param redex the histogram of the redex
+     * @return {@code false}, if the redex cannot occur in the bigraph; {@code true}, if it may occur
+     */
+    public boolean mayContain(ControlHistogram redex) {
+        if (redex.nodeCount > nodeCount || redex.edgeCount > edgeCount + unconnectedPortCount) {
+            return false;
+        }
+        for (Map.Entry<String, int[]> each : redex.controls.entrySet()) {
+            int[] agentEntry = controls.get(each.getKey());
+            if (agentEntry == null || agentEntry[0] < each.getValue()[0] || agentEntry[1] != each.getValue()[1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNodeCount(String control) {
+        int[] entry = controls.get(control);
+        return entry == null ? 0 : entry[0];
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getUnconnectedPortCount() {
+        return unconnectedPortCount;
+    }
+}
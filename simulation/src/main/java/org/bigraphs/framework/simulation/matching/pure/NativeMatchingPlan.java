@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import java.util.*;
+import org.bigraphs.framework.core.BigraphEntityType;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * The matching plan of a redex for the {@link NativePureBigraphMatchingEngine}.
+ * <p>
+ * It contains everything of the redex that the search needs and that does not depend on the agent:
+ * the breadth-first order of the redex nodes, their labels, degrees and port links, the parent relation,
+ * and the link graph properties of the redex. The plan is immutable and computed only once per reaction rule
+ * (see {@link CompiledReactionRule}).
+ * <p>
+ * Not every redex can be matched natively: the plan is unsupported (see {@link #isSupported()}) if a site is a child
+ * of a redex root, i.e., its parameter consists of places of the context, or if a node has more than one site, i.e.,
+ * its children can be distributed among the sites in several ways. Such redexes are matched by jLibBig.
+ *
+ * @author Dominik Grzelak
+ */
+public class NativeMatchingPlan {
+
+    // Redex: nodes are numbered in breadth-first order, so that the parent of a node is always assigned first
+    final List<BigraphEntity.NodeEntity<DynamicControl>> redexNodes = new ArrayList<>();
+    final List<BigraphEntity.RootEntity> redexRoots;
+    final List<BigraphEntity.SiteEntity> redexSites;
+    final List<BigraphEntity.Link> redexLinks;
+    final String[] redexLabels;
+    final int[] redexParentNode;
+    final int[] redexParentRoot;
+    final boolean[] redexHasSite;
+    final int[] redexChildNodeCount;
+    final int[][] redexPortLinks;
+    final int[] redexDegree;
+    final int[] redexIdleRoots;
+    final boolean[] redexLinkIsEdge;
+    final boolean[] redexLinkHasInnerName;
+    final int[] redexLinkPortCount;
+    final int[] redexSiteParent;
+
+    private String unsupportedReason;
+
+    NativeMatchingPlan(PureBigraph redex) {
+        // Redex place graph in breadth-first order
+        this.redexRoots = redex.getRoots();
+        this.redexSites = redex.getSites();
+        Map<BigraphEntity<?>, Integer> redexPositions = new HashMap<>();
+        List<Integer> parentNodes = new ArrayList<>();
+        List<Integer> parentRoots = new ArrayList<>();
+        List<Integer> idleRoots = new ArrayList<>();
+        Deque<BigraphEntity<?>> queue = new ArrayDeque<>();
+        for (int r = 0; r < redexRoots.size(); r++) {
+            BigraphEntity.RootEntity eachRoot = redexRoots.get(r);
+            redexPositions.put(eachRoot, r);
+            if (redex.getChildrenOf(eachRoot).stream().noneMatch(BigraphEntityType::isNode)) {
+                idleRoots.add(r);
+            }
+            queue.add(eachRoot);
+        }
+        while (!queue.isEmpty()) {
+            BigraphEntity<?> place = queue.poll();
+            for (BigraphEntity<?> child : redex.getChildrenOf(place)) {
+                if (!BigraphEntityType.isNode(child)) continue;
+                redexPositions.put(child, redexNodes.size());
+                redexNodes.add((BigraphEntity.NodeEntity<DynamicControl>) child);
+                parentNodes.add(BigraphEntityType.isRoot(place) ? -1 : redexPositions.get(place));
+                parentRoots.add(BigraphEntityType.isRoot(place) ? redexPositions.get(place) : -1);
+                queue.add(child);
+            }
+        }
+        this.redexIdleRoots = toArray(idleRoots);
+        this.redexParentNode = toArray(parentNodes);
+        this.redexParentRoot = toArray(parentRoots);
+
+        // Redex link graph
+        this.redexLinks = redex.getAllLinks();
+        Map<BigraphEntity.Link, Integer> linkIds = new HashMap<>();
+        this.redexLinkIsEdge = new boolean[redexLinks.size()];
+        this.redexLinkHasInnerName = new boolean[redexLinks.size()];
+        this.redexLinkPortCount = new int[redexLinks.size()];
+        for (int l = 0; l < redexLinks.size(); l++) {
+            linkIds.put(redexLinks.get(l), l);
+            redexLinkIsEdge[l] = BigraphEntityType.isEdge(redexLinks.get(l));
+        }
+        for (BigraphEntity.InnerName each : redex.getInnerNames()) {
+            BigraphEntity.Link link = redex.getLinkOfPoint(each);
+            if (Objects.nonNull(link)) redexLinkHasInnerName[linkIds.get(link)] = true;
+        }
+
+        Map<EObject, BigraphEntity.Link> redexLinksByInstance = linksByInstance(redex);
+        int m = redexNodes.size();
+        this.redexLabels = new String[m];
+        this.redexHasSite = new boolean[m];
+        this.redexChildNodeCount = new int[m];
+        this.redexPortLinks = new int[m][];
+        this.redexDegree = new int[m];
+        for (int i = 0; i < m; i++) {
+            BigraphEntity.NodeEntity<DynamicControl> each = redexNodes.get(i);
+            redexLabels[i] = each.getControl().getNamedType().stringValue();
+            for (BigraphEntity<?> child : redex.getChildrenOf(each)) {
+                if (BigraphEntityType.isSite(child)) redexHasSite[i] = true;
+                else if (BigraphEntityType.isNode(child)) redexChildNodeCount[i]++;
+            }
+            BigraphEntity.Link[] links = portLinks(redex, each, redexLinksByInstance);
+            redexPortLinks[i] = new int[links.length];
+            for (int k = 0; k < links.length; k++) {
+                redexPortLinks[i][k] = Objects.nonNull(links[k]) ? linkIds.get(links[k]) : -1;
+                if (Objects.nonNull(links[k])) {
+                    redexLinkPortCount[redexPortLinks[i][k]]++;
+                }
+            }
+        }
+        // a link with a single port of the redex can also be mapped to an unlinked port of the agent
+        for (int i = 0; i < m; i++) {
+            for (int link : redexPortLinks[i]) {
+                if (link >= 0 && redexLinkPortCount[link] > 1) redexDegree[i]++;
+            }
+        }
+
+        // Each site receives the children of its parent that are not part of the redex image
+        this.redexSiteParent = new int[redexSites.size()];
+        Set<Integer> parentsWithSite = new HashSet<>();
+        for (int s = 0; s < redexSites.size(); s++) {
+            BigraphEntity<?> parent = redex.getParent(redexSites.get(s));
+            if (!BigraphEntityType.isNode(parent)) {
+                unsupported("site " + redexSites.get(s).getIndex() + " is a child of a redex root");
+                redexSiteParent[s] = -1;
+                continue;
+            }
+            redexSiteParent[s] = redexPositions.get(parent);
+            if (!parentsWithSite.add(redexSiteParent[s])) {
+                unsupported("node " + ((BigraphEntity.NodeEntity<?>) parent).getName() + " has more than one site");
+            }
+        }
+    }
+
+    public int getNodeCount() {
+        return redexNodes.size();
+    }
+
+    /**
+     * Indicates whether the redex can be matched by the {@link NativePureBigraphMatchingEngine}.
+     *
+     * @return {@code true}, if the native matching engine finds the same matches as jLibBig
+     */
+    public boolean isSupported() {
+        return Objects.isNull(unsupportedReason);
+    }
+
+    /**
+     * Returns why the redex cannot be matched natively.
+     *
+     * @return the reason, or {@code null} if the plan is supported
+     */
+    public String getUnsupportedReason() {
+        return unsupportedReason;
+    }
+
+    private void unsupported(String reason) {
+        if (Objects.isNull(unsupportedReason)) unsupportedReason = reason;
+    }
+
+    static Map<EObject, BigraphEntity.Link> linksByInstance(PureBigraph bigraph) {
+        Map<EObject, BigraphEntity.Link> result = new HashMap<>();
+        for (BigraphEntity.Link each : bigraph.getAllLinks()) {
+            result.put(each.getInstance(), each);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the links of all ports of a node, indexed by the port index.
+     * Unlinked ports are {@code null}.
+     */
+    static BigraphEntity.Link[] portLinks(PureBigraph bigraph, BigraphEntity.NodeEntity<DynamicControl> node,
+                                                  Map<EObject, BigraphEntity.Link> linksByInstance) {
+        List<BigraphEntity.Port> ports = bigraph.getPorts(node);
+        int size = node.getControl().getArity().getValue().intValue();
+        for (BigraphEntity.Port each : ports) size = Math.max(size, each.getIndex() + 1);
+        BigraphEntity.Link[] result = new BigraphEntity.Link[size];
+        for (BigraphEntity.Port each : ports) {
+            EObject instance = each.getInstance();
+            EStructuralFeature linkRef = instance.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK);
+            if (Objects.isNull(linkRef)) continue;
+            Object linkObject = instance.eGet(linkRef);
+            if (Objects.nonNull(linkObject)) {
+                result[each.getIndex()] = linksByInstance.get(linkObject);
+            }
+        }
+        return result;
+    }
+
+    static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import com.google.common.base.Stopwatch;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.core.BigraphEntityType;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.eclipse.emf.ecore.EObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Native matching algorithm for pure bigraphs (see {@link PureBigraph}) that works directly on the bigraph model,
+ * i.e., without encoding agent and redex as jLibBig bigraphs first.
+ * <p>
+ * The search grows out of the sub-hypergraph isomorphism search (see {@link SubHypergraphIsoSearch}):
+ * The redex nodes are assigned to agent nodes in breadth-first order of the redex place graph.
+ * Thus, the candidates of a redex node are restricted to the children of the image of its parent.
+ * Each candidate must first pass the label and degree condition of {@link IHSFilter#condition1}, before the remaining
+ * place graph and link graph constraints are checked.
+ * The search is driven by an explicit stack and computes the next embedding only on demand (see {@link #matchIterator()}).
+ * So, {@link #getSingleMatch()} stops after the first embedding was found, and a cancelled search stops before
+ * the next assignment step.
+ * <p>
+ * As in jLibBig, an unlinked port is treated like a port of an edge of its own: an unlinked port of the redex is
+ * only mapped to an unlinked port of the agent or to the only point of an edge, and an unlinked port of the agent is
+ * only the image of a redex port whose link has no other port in the redex. Such a link has no image in the link
+ * embedding of the match.
+ * <p>
+ * The engine only supports redexes whose sites are the only site of a node (see {@link NativeMatchingPlan#isSupported()}),
+ * so that the parameter of a site consists of all children of the image of its parent that are not part of the
+ * redex image. {@link PureBigraphMatcher} matches all other redexes with jLibBig.
+ * <p>
+ * A match is described by the node and link embedding of the redex into the agent (see {@link PureBigraphMatch#isNativeMatch()}).
+ * No jLibBig match result is available.
+ *
+ * @author Dominik Grzelak
+ * @see BigraphMatchingEngine.Type#NATIVE
+ */
+public class NativePureBigraphMatchingEngine extends AbstractPureBigraphMatchingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NativePureBigraphMatchingEngine.class);
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final IHSFilter ihsFilter;
+
+    // Agent: nodes have the ids 0..n-1 and roots the ids n..n+r-1. Both are called places here.
+    private final List<BigraphEntity.NodeEntity<DynamicControl>> agentNodes;
+    private final List<BigraphEntity.RootEntity> agentRoots;
+    private final String[] agentLabels;
+    private final int[] agentParent;
+    private final int[][] agentChildren;
+    private final BigraphEntity.Link[][] agentPortLinks;
+    private final int[] agentDegree;
+    private final int[] allAgentPlaces;
+    private final Map<String, int[]> agentNodesByLabel = new HashMap<>();
+    private final Map<BigraphEntity.Link, List<Integer>> agentNodesOfLink = new HashMap<>();
+
+    private final NativeMatchingPlan plan;
+
+    private EmbeddingIterator embeddingIterator;
+    private Stopwatch matchingTimer;
+
+    protected NativePureBigraphMatchingEngine(PureBigraph agent, CompiledReactionRule compiledRule) {
+        super(compiledRule.getReactionRule());
+        Stopwatch timer = LOGGER.isDebugEnabled() ? Stopwatch.createStarted() : null;
+        this.plan = compiledRule.getNativeMatchingPlan();
+        this.ihsFilter = new IHSFilter(compiledRule.getReactionRule().getRedex(), agent);
+
+        // Agent place graph and link graph
+        this.agentNodes = agent.getNodes();
+        this.agentRoots = agent.getRoots();
+        int n = agentNodes.size();
+        Map<BigraphEntity<?>, Integer> placeIds = new HashMap<>();
+        for (int i = 0; i < n; i++) placeIds.put(agentNodes.get(i), i);
+        for (int i = 0; i < agentRoots.size(); i++) placeIds.put(agentRoots.get(i), n + i);
+        this.allAgentPlaces = new int[n + agentRoots.size()];
+        for (int i = 0; i < allAgentPlaces.length; i++) allAgentPlaces[i] = i;
+
+        Map<EObject, BigraphEntity.Link> agentLinksByInstance = NativeMatchingPlan.linksByInstance(agent);
+        this.agentLabels = new String[n];
+        this.agentParent = new int[n];
+        this.agentPortLinks = new BigraphEntity.Link[n][];
+        this.agentDegree = new int[n];
+        List<List<Integer>> children = new ArrayList<>();
+        for (int i = 0; i < allAgentPlaces.length; i++) children.add(new ArrayList<>());
+        Map<String, List<Integer>> byLabel = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            BigraphEntity.NodeEntity<DynamicControl> each = agentNodes.get(i);
+            agentLabels[i] = ihsFilter.getLabel(each);
+            agentParent[i] = placeIds.get(agent.getParent(each));
+            children.get(agentParent[i]).add(i);
+            byLabel.computeIfAbsent(agentLabels[i], k -> new ArrayList<>()).add(i);
+            agentPortLinks[i] = NativeMatchingPlan.portLinks(agent, each, agentLinksByInstance);
+            for (BigraphEntity.Link eachLink : agentPortLinks[i]) {
+                if (Objects.nonNull(eachLink)) {
+                    agentDegree[i]++;
+                    agentNodesOfLink.computeIfAbsent(eachLink, k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        this.agentChildren = new int[allAgentPlaces.length][];
+        for (int i = 0; i < allAgentPlaces.length; i++) agentChildren[i] = NativeMatchingPlan.toArray(children.get(i));
+        byLabel.forEach((label, ids) -> agentNodesByLabel.put(label, NativeMatchingPlan.toArray(ids)));
+
+        if (LOGGER.isDebugEnabled() && Objects.nonNull(timer))
+            LOGGER.debug("Initialization time: {} (ms)", (timer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
+    }
+
+    @Override
+    protected void beginMatch() {
+        if (LOGGER.isDebugEnabled()) {
+            matchingTimer = Stopwatch.createStarted();
+        }
+        embeddingIterator = new EmbeddingIterator();
+        hasMatched = embeddingIterator.hasNext();
+        LOGGER.debug("Matches found?: {}", hasMatched());
+        if (LOGGER.isDebugEnabled() && Objects.nonNull(matchingTimer)) {
+            LOGGER.debug("Time to the first match: {} (ms)", (matchingTimer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
+        }
+    }
+
+    @Override
+    protected Iterator<PureBigraphMatch> matchIterator() {
+        return embeddingIterator;
+    }
+
+    /**
+     * Backtracking search over all embeddings of the redex in the agent.
+     * <p>
+     * The levels {@code 0..m-1} assign the redex nodes, and the remaining levels assign the places of the
+     * redex roots that have no node children (they can be placed at any place of the context).
+     */
+    private class EmbeddingIterator implements Iterator<PureBigraphMatch> {
+        private final int total = plan.redexNodes.size() + plan.redexIdleRoots.length;
+        private final int[] image = new int[plan.redexNodes.size()];
+        private final boolean[] used = new boolean[agentNodes.size()];
+        private final int[] rootPlace = new int[plan.redexRoots.size()];
+        private final int[] rootPlaceLevel = new int[plan.redexRoots.size()];
+        private final BigraphEntity.Link[] linkImage = new BigraphEntity.Link[plan.redexLinks.size()];
+        private final int[] linkLevel = new int[plan.redexLinks.size()];
+        private final Map<BigraphEntity.Link, Integer> edgeOwner = new HashMap<>();
+        private final Map<BigraphEntity.Link, Integer> nameUsage = new HashMap<>();
+        private final int[][] candidates = new int[total][];
+        private final int[] cursor = new int[total];
+        private int level = 0;
+        private boolean started = false;
+        private boolean exhausted = false;
+        private PureBigraphMatch nextMatch;
+
+        EmbeddingIterator() {
+            Arrays.fill(image, -1);
+            Arrays.fill(rootPlace, -1);
+            Arrays.fill(rootPlaceLevel, -1);
+            Arrays.fill(linkLevel, -1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (Objects.isNull(nextMatch) && !exhausted) {
+                nextMatch = findNext();
+            }
+            return Objects.nonNull(nextMatch);
+        }
+
+        @Override
+        public PureBigraphMatch next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PureBigraphMatch result = nextMatch;
+            nextMatch = null;
+            return result;
+        }
+
+        private PureBigraphMatch findNext() {
+            if (!started) {
+                started = true;
+                if (total == 0) {
+                    exhausted = true;
+                    return isValid() ? createMatch() : null;
+                }
+                candidates[0] = candidatesAt(0);
+                cursor[0] = 0;
+            } else {
+                // continue after the last reported embedding
+                undo(level);
+            }
+            while (level >= 0) {
+                if (cancelled) {
+                    exhausted = true;
+                    return null;
+                }
+                boolean assigned = false;
+                while (cursor[level] < candidates[level].length) {
+                    if (tryAssign(level, candidates[level][cursor[level]++])) {
+                        assigned = true;
+                        break;
+                    }
+                }
+                if (!assigned) {
+                    level--;
+                    if (level >= 0) undo(level);
+                    continue;
+                }
+                if (level == total - 1) {
+                    if (isValid()) {
+                        return createMatch();
+                    }
+                    undo(level);
+                    continue;
+                }
+                level++;
+                candidates[level] = candidatesAt(level);
+                cursor[level] = 0;
+            }
+            exhausted = true;
+            return null;
+        }
+
+        private int[] candidatesAt(int lvl) {
+            if (lvl >= plan.redexNodes.size()) {
+                return allAgentPlaces;
+            }
+            if (plan.redexParentNode[lvl] >= 0) {
+                return agentChildren[image[plan.redexParentNode[lvl]]];
+            }
+            int root = plan.redexParentRoot[lvl];
+            if (rootPlace[root] >= 0) {
+                return agentChildren[rootPlace[root]];
+            }
+            return agentNodesByLabel.getOrDefault(plan.redexLabels[lvl], NO_CANDIDATES);
+        }
+
+        private boolean tryAssign(int lvl, int candidate) {
+            if (lvl >= plan.redexNodes.size()) {
+                int root = plan.redexIdleRoots[lvl - plan.redexNodes.size()];
+                rootPlace[root] = candidate;
+                rootPlaceLevel[root] = lvl;
+                return true;
+            }
+            if (used[candidate] || !plan.redexLabels[lvl].equals(agentLabels[candidate]) || plan.redexDegree[lvl] > agentDegree[candidate]) {
+                return false;
+            }
+            int childCount = agentChildren[candidate].length;
+            if (plan.redexHasSite[lvl] ? childCount < plan.redexChildNodeCount[lvl] : childCount != plan.redexChildNodeCount[lvl]) {
+                return false;
+            }
+            int root = plan.redexParentRoot[lvl];
+            if (root >= 0 && rootPlace[root] < 0) {
+                rootPlace[root] = agentParent[candidate];
+                rootPlaceLevel[root] = lvl;
+            }
+            int[] ports = plan.redexPortLinks[lvl];
+            BigraphEntity.Link[] agentPorts = agentPortLinks[candidate];
+            for (int k = 0; k < Math.max(ports.length, agentPorts.length); k++) {
+                int redexLink = k < ports.length ? ports[k] : -1;
+                BigraphEntity.Link agentLink = k < agentPorts.length ? agentPorts[k] : null;
+                boolean bound;
+                if (redexLink < 0) {
+                    bound = Objects.isNull(agentLink) || isSingletonEdge(agentLink);
+                } else if (Objects.isNull(agentLink)) {
+                    bound = plan.redexLinkPortCount[redexLink] == 1;
+                } else {
+                    bound = bindLink(redexLink, agentLink, lvl);
+                }
+                if (!bound) {
+                    undo(lvl);
+                    return false;
+                }
+            }
+            used[candidate] = true;
+            image[lvl] = candidate;
+            return true;
+        }
+
+        private boolean isSingletonEdge(BigraphEntity.Link agentLink) {
+            return BigraphEntityType.isEdge(agentLink) && agentNodesOfLink.get(agentLink).size() == 1;
+        }
+
+        private boolean bindLink(int redexLink, BigraphEntity.Link agentLink, int lvl) {
+            if (Objects.nonNull(linkImage[redexLink])) {
+                return linkImage[redexLink].equals(agentLink);
+            }
+            if (edgeOwner.containsKey(agentLink)) {
+                return false;
+            }
+            if (plan.redexLinkIsEdge[redexLink]) {
+                // a closed link of the redex cannot be merged with any other link
+                if (!BigraphEntityType.isEdge(agentLink) || nameUsage.containsKey(agentLink)) return false;
+                edgeOwner.put(agentLink, redexLink);
+            } else {
+                nameUsage.merge(agentLink, 1, Integer::sum);
+            }
+            linkImage[redexLink] = agentLink;
+            linkLevel[redexLink] = lvl;
+            return true;
+        }
+
+        private void undo(int lvl) {
+            if (lvl < plan.redexNodes.size() && image[lvl] >= 0) {
+                used[image[lvl]] = false;
+                image[lvl] = -1;
+            }
+            for (int l = 0; l < linkLevel.length; l++) {
+                if (linkLevel[l] != lvl) continue;
+                if (plan.redexLinkIsEdge[l]) {
+                    edgeOwner.remove(linkImage[l]);
+                } else {
+                    nameUsage.computeIfPresent(linkImage[l], (k, v) -> v == 1 ? null : v - 1);
+                }
+                linkImage[l] = null;
+                linkLevel[l] = -1;
+            }
+            for (int r = 0; r < rootPlaceLevel.length; r++) {
+                if (rootPlaceLevel[r] == lvl) {
+                    rootPlace[r] = -1;
+                    rootPlaceLevel[r] = -1;
+                }
+            }
+        }
+
+        /**
+         * Checks the constraints that can only be decided for a complete assignment:
+         * The places of the redex roots must belong to the context, and the images of the redex edges
+         * must not have any points outside the redex image (except for the parameters via inner names).
+         */
+        private boolean isValid() {
+            for (int place : rootPlace) {
+                if (place >= 0 && isInsideRedexImage(place, true)) return false;
+            }
+            for (int l = 0; l < plan.redexLinks.size(); l++) {
+                if (!plan.redexLinkIsEdge[l] || Objects.isNull(linkImage[l])) continue;
+                int pointsInImage = 0;
+                for (int node : agentNodesOfLink.get(linkImage[l])) {
+                    if (used[node]) pointsInImage++;
+                    else if (!plan.redexLinkHasInnerName[l] || !isInsideRedexImage(node, false)) return false;
+                }
+                if (pointsInImage != plan.redexLinkPortCount[l]) return false;
+            }
+            return true;
+        }
+
+        private boolean isInsideRedexImage(int place, boolean inclusive) {
+            int current = inclusive ? place : (place < agentNodes.size() ? agentParent[place] : place);
+            while (current < agentNodes.size()) {
+                if (used[current]) return true;
+                current = agentParent[current];
+            }
+            return false;
+        }
+
+        private PureBigraphMatch createMatch() {
+            SubHypergraphIsoSearch.Embedding nodeEmbedding = new SubHypergraphIsoSearch.Embedding();
+            for (int i = 0; i < image.length; i++) {
+                nodeEmbedding.put(plan.redexNodes.get(i), agentNodes.get(image[i]));
+            }
+            Map<BigraphEntity.Link, BigraphEntity.Link> linkEmbedding = new HashMap<>();
+            for (int l = 0; l < linkImage.length; l++) {
+                if (Objects.nonNull(linkImage[l])) linkEmbedding.put(plan.redexLinks.get(l), linkImage[l]);
+            }
+            Map<BigraphEntity.RootEntity, BigraphEntity<?>> rootPlaces = new HashMap<>();
+            for (int r = 0; r < rootPlace.length; r++) {
+                rootPlaces.put(plan.redexRoots.get(r), toPlace(rootPlace[r]));
+            }
+            Map<BigraphEntity.SiteEntity, List<BigraphEntity<?>>> siteParameters = new HashMap<>();
+            for (int s = 0; s < plan.redexSites.size(); s++) {
+                List<BigraphEntity<?>> parameter = new ArrayList<>();
+                if (plan.redexSiteParent[s] >= 0) {
+                    for (int child : agentChildren[image[plan.redexSiteParent[s]]]) {
+                        if (!used[child]) parameter.add(agentNodes.get(child));
+                    }
+                }
+                siteParameters.put(plan.redexSites.get(s), parameter);
+            }
+            return new PureBigraphMatch(reactionRule.getRedex(), nodeEmbedding, linkEmbedding, rootPlaces, siteParameters);
+        }
+
+        private BigraphEntity<?> toPlace(int place) {
+            if (place < 0) return null;
+            return place < agentNodes.size() ? agentNodes.get(place) : agentRoots.get(place - agentNodes.size());
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.pure.PureBigraphMutable;
+import org.bigraphs.framework.simulation.encoding.PureIncrementalCanonicalForm;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Rewrites an agent with a match of the {@link NativePureBigraphMatchingEngine}, i.e., without encoding the agent as a
+ * jLibBig bigraph and without composing context, reactum and parameters.
+ * <p>
+ * The reactum is spliced into the instance model at the match site:
+ * The parameters are detached, the nodes of the redex image are removed, the reactum nodes are created at the
+ * places of the redex roots, and the parameters are placed at the reactum sites according to the instantiation map.
+ * The splicing is proportional to the size of the match. It is either applied to a copy of the instance model of the
+ * agent ({@link #rewrite()}), which is linear in the size of the agent and needed for every state that is kept, or to
+ * the instance model of the agent itself ({@link #rewriteInPlace()}), where every change is recorded, so that the
+ * agent is restored by {@link #undo()}. Cached subtree hashes of the {@link PureIncrementalCanonicalForm} are handed
+ * over to the copy. In both cases, the resulting {@link PureBigraph} collects the entities of the instance model
+ * (measured by {@code NativeRewritingPerformanceTests}).
+ * <p>
+ * Fresh names are chosen among the names that are not used by the agent (see {@link AgentNames}), so that both
+ * variants name the reactum in the same way.
+ * <p>
+ * Context nodes, outer names and the edges of the context keep their names and attributes. Reactum nodes that are
+ * tracked (see {@link org.bigraphs.framework.core.reactivesystem.TrackingMap}) take over the name and the attributes of
+ * the agent node of their redex node; all other reactum nodes and edges get fresh names.
+ * <p>
+ * An instance is used for a single rewriting step.
+ *
+ * @author Dominik Grzelak
+ * @see NativeRewritingPlan
+ */
+final class NativePureBigraphRewriter {
+
+    private final NativeRewritingPlan plan;
+    private final PureBigraph agent;
+    private final PureBigraphMatch match;
+    private final EPackage metaModel;
+    private final Supplier<AgentNames> agentNames;
+    private final EObject[] linkImages;
+    // the fresh names of this rewriting step
+    private final Set<String> freshNames = new HashSet<>();
+    // null if the agent is rewritten in place
+    private EcoreUtil.Copier copier;
+    // the changes of the instance model of the agent in reverse order, or null if a copy is rewritten
+    private Deque<Runnable> undoLog;
+    private final Set<EObject> matchedLinks = new HashSet<>();
+    private final Set<EObject> touchedLinks = new HashSet<>();
+    private final Set<BigraphEntity.NodeEntity<?>> trackedNodes = new HashSet<>();
+    private EObject instance;
+    private int nodeCounter = 0;
+    private int edgeCounter = 0;
+
+    NativePureBigraphRewriter(NativeRewritingPlan plan, PureBigraph agent, PureBigraphMatch match, Supplier<AgentNames> agentNames) {
+        if (!plan.isSupported()) {
+            throw new IllegalArgumentException("The reaction rule cannot be rewritten natively: " + plan.getUnsupportedReason());
+        }
+        if (!match.isNativeMatch()) {
+            throw new IllegalArgumentException("Only matches of the native matching engine can be rewritten natively");
+        }
+        this.plan = plan;
+        this.agent = agent;
+        this.match = match;
+        this.metaModel = agent.getMetaModel();
+        this.agentNames = agentNames;
+        this.linkImages = new EObject[plan.reactumLinks.size()];
+    }
+
+    /**
+     * Rewrites a copy of the agent.
+     *
+     * @return the result, which is independent of the agent
+     */
+    PureBigraphMutable rewrite() {
+        copier = new EcoreUtil.Copier();
+        instance = copier.copy(agent.getInstanceModel());
+        copier.copyReferences();
+        // before the copy is modified, so that the cached hashes are invalidated along with the changes below
+        PureIncrementalCanonicalForm.transferCache(copier);
+        return splice();
+    }
+
+    /**
+     * Rewrites the instance model of the agent itself. The result shares the instance model with the agent and is
+     * only valid until {@link #undo()} is called, which must happen before the agent is used again.
+     *
+     * @return the result
+     */
+    PureBigraphMutable rewriteInPlace() {
+        instance = agent.getInstanceModel();
+        undoLog = new ArrayDeque<>();
+        // the names must be collected before the agent is modified
+        agentNames.get();
+        return splice();
+    }
+
+    /**
+     * Restores the agent after {@link #rewriteInPlace()}, in time proportional to the number of changes.
+     */
+    void undo() {
+        while (!undoLog.isEmpty()) {
+            undoLog.pop().run();
+        }
+    }
+
+    private PureBigraphMutable splice() {
+        match.getLinkEmbedding().values().forEach(x -> matchedLinks.add(copyOf(x)));
+
+        // Detach the parameters before the redex image is removed
+        Map<BigraphEntity.SiteEntity, List<EObject>> parameters = new HashMap<>();
+        match.getSiteParameters().forEach((site, places) -> {
+            List<EObject> roots = new ArrayList<>(places.size());
+            for (BigraphEntity<?> each : places) {
+                EObject root = copyOf(each);
+                remove(root);
+                roots.add(root);
+            }
+            parameters.put(site, roots);
+        });
+        for (BigraphEntity.NodeEntity<?> each : match.getNodeEmbedding().values()) {
+            EObject node = copyOf(each);
+            for (EObject port : list(node, BigraphMetaModelConstants.REFERENCE_PORT)) {
+                unlink(port);
+            }
+            remove(node);
+        }
+
+        // Reactum
+        EObject[] created = new EObject[plan.reactumNodes.size()];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = createNode(i);
+            EObject parent = plan.parentNode[i] >= 0 ? created[plan.parentNode[i]] : rootPlace(plan.parentRoot[i]);
+            add(parent, BigraphMetaModelConstants.REFERENCE_CHILD, created[i]);
+        }
+
+        // Parameters: the first occurrence is moved, every further occurrence is a copy
+        Set<BigraphEntity.SiteEntity> placed = new HashSet<>();
+        for (int s = 0; s < plan.siteParameters.size(); s++) {
+            BigraphEntity.SiteEntity site = plan.siteParameters.get(s);
+            List<EObject> roots = parameters.getOrDefault(site, Collections.emptyList());
+            if (!placed.add(site)) {
+                roots = copyParameter(roots);
+            }
+            EObject parent = plan.siteParentNode[s] >= 0 ? created[plan.siteParentNode[s]] : rootPlace(plan.siteParentRoot[s]);
+            for (EObject root : roots) {
+                add(parent, BigraphMetaModelConstants.REFERENCE_CHILD, root);
+            }
+        }
+        for (BigraphEntity.SiteEntity each : plan.discardedParameters) {
+            for (EObject root : parameters.getOrDefault(each, Collections.emptyList())) {
+                root.eAllContents().forEachRemaining(this::unlink);
+            }
+        }
+
+        // Edges of the redex image that lost all their points
+        for (EObject each : touchedLinks) {
+            if (isEdge(each) && list(each, BigraphMetaModelConstants.REFERENCE_POINT).isEmpty()) {
+                remove(each);
+            }
+        }
+        return PureBigraphBuilder.create(agent.getSignature(), metaModel, instance).createMutable();
+    }
+
+    private EObject createNode(int i) {
+        EObject node = metaModel.getEFactoryInstance().create((EClass) metaModel.getEClassifier(plan.controlNames[i]));
+        BigraphEntity.NodeEntity<?> tracked = plan.trackedRedexNodes.get(i);
+        BigraphEntity.NodeEntity<?> trackedImage = Objects.nonNull(tracked) ? match.getNodeEmbedding().get(tracked) : null;
+        // a redex node can be tracked by several reactum nodes, but only the first one can take over the name
+        if (Objects.nonNull(trackedImage) && trackedNodes.add(trackedImage)) {
+            EObject original = copyOf(trackedImage);
+            setName(node, trackedImage.getName());
+            list(node, BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES)
+                    .addAll(EcoreUtil.copyAll(list(original, BigraphMetaModelConstants.REFERENCE_BNODE_ATTRIBUTES)));
+        } else {
+            setName(node, freshNodeName());
+        }
+        EClass portClass = (EClass) metaModel.getEClassifier(BigraphMetaModelConstants.CLASS_PORT);
+        for (int k = 0; k < plan.portIndices[i].length; k++) {
+            EObject port = metaModel.getEFactoryInstance().create(portClass);
+            port.eSet(portClass.getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX), plan.portIndices[i][k]);
+            list(node, BigraphMetaModelConstants.REFERENCE_PORT).add(port);
+            relink(port, linkImage(plan.portLinks[i][k]));
+        }
+        return node;
+    }
+
+    /**
+     * Copies a parameter that is used more than once. As in the instantiation of a parametric rule, the wiring of the
+     * parameter is applied after its discrete parts are copied, so the copy shares all links with the original,
+     * including the edges that are closed inside the parameter.
+     */
+    private List<EObject> copyParameter(List<EObject> roots) {
+        EcoreUtil.Copier parameterCopier = new EcoreUtil.Copier();
+        Collection<EObject> copies = parameterCopier.copyAll(roots);
+        parameterCopier.copyReferences();
+        for (Map.Entry<EObject, EObject> each : parameterCopier.entrySet()) {
+            if (isNode(each.getValue())) {
+                // node names must be unique
+                setName(each.getValue(), freshNodeName());
+            }
+            EObject link = link(each.getKey());
+            if (Objects.isNull(link)) continue;
+            relink(each.getValue(), link);
+        }
+        return new ArrayList<>(copies);
+    }
+
+    private EObject linkImage(int reactumLink) {
+        if (Objects.isNull(linkImages[reactumLink])) {
+            // an outer name without image was mapped to an unlinked port of the agent, i.e., an edge of its own
+            BigraphEntity.Link image = plan.reactumLinkIsEdge[reactumLink] ? null
+                    : match.getLinkEmbedding().get(plan.redexOuterNames.get(reactumLink));
+            linkImages[reactumLink] = Objects.nonNull(image) ? copyOf(image) : createEdge();
+        }
+        return linkImages[reactumLink];
+    }
+
+    private EObject createEdge() {
+        EObject edge = metaModel.getEFactoryInstance().create((EClass) metaModel.getEClassifier(BigraphMetaModelConstants.CLASS_EDGE));
+        setName(edge, freshName(agentNames.get().edges(), "e", () -> edgeCounter++));
+        add(instance, BigraphMetaModelConstants.REFERENCE_BEDGES, edge);
+        return edge;
+    }
+
+    private String freshNodeName() {
+        return freshName(agentNames.get().nodes(), "v", () -> nodeCounter++);
+    }
+
+    private EObject rootPlace(int reactumRoot) {
+        return copyOf(match.getRootPlaces().get(plan.redexRootOfReactumRoot.get(reactumRoot)));
+    }
+
+    private EObject copyOf(BigraphEntity<?> entity) {
+        return Objects.nonNull(copier) ? copier.get(entity.getInstance()) : entity.getInstance();
+    }
+
+    private void unlink(EObject point) {
+        EObject link = link(point);
+        if (Objects.nonNull(link)) {
+            touchedLinks.add(link);
+            relink(point, null);
+        }
+    }
+
+    /**
+     * Sets the link of a point. The change is recorded with the position of the point at its previous link.
+     */
+    private void relink(EObject point, EObject link) {
+        if (Objects.nonNull(undoLog)) {
+            EObject previous = link(point);
+            int index = Objects.nonNull(previous) ? list(previous, BigraphMetaModelConstants.REFERENCE_POINT).indexOf(point) : -1;
+            undoLog.push(() -> {
+                setLink(point, previous);
+                if (index >= 0) list(previous, BigraphMetaModelConstants.REFERENCE_POINT).move(index, point);
+            });
+        }
+        setLink(point, link);
+    }
+
+    /**
+     * Removes an object from its container. The change is recorded with the position of the object.
+     */
+    private void remove(EObject object) {
+        if (Objects.nonNull(undoLog)) {
+            EList<EObject> container = list(object.eContainer(), object.eContainmentFeature().getName());
+            int index = container.indexOf(object);
+            undoLog.push(() -> container.add(index, object));
+        }
+        EcoreUtil.remove(object);
+    }
+
+    private void add(EObject container, String reference, EObject object) {
+        if (Objects.nonNull(undoLog)) {
+            undoLog.push(() -> EcoreUtil.remove(object));
+        }
+        list(container, reference).add(object);
+    }
+
+    private String freshName(Set<String> usedNames, String prefix, IntSupplier counter) {
+        String name;
+        do {
+            name = prefix + counter.getAsInt();
+        } while (usedNames.contains(name) || !freshNames.add(name));
+        return name;
+    }
+
+    private static boolean isEdge(EObject link) {
+        return link.eClass().getName().equals(BigraphMetaModelConstants.CLASS_EDGE);
+    }
+
+    private static boolean isNode(EObject place) {
+        return Objects.nonNull(place.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_PORT));
+    }
+
+    private static EObject link(EObject point) {
+        EStructuralFeature linkRef = point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK);
+        return Objects.nonNull(linkRef) ? (EObject) point.eGet(linkRef) : null;
+    }
+
+    private static void setLink(EObject point, EObject link) {
+        point.eSet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK), link);
+    }
+
+    private static void setName(EObject object, String name) {
+        object.eSet(object.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_NAME), name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, String reference) {
+        return (EList<EObject>) object.eGet(object.eClass().getEStructuralFeature(reference));
+    }
+
+    /**
+     * The names of the nodes and edges of an agent. They are collected once for all rewriting steps of the agent
+     * (see {@link PureReactiveSystem}), and must be collected before the agent is rewritten in place.
+     *
+     * @param nodes the node names
+     * @param edges the edge names
+     */
+    record AgentNames(Set<String> nodes, Set<String> edges) {
+
+        static AgentNames of(PureBigraph agent) {
+            Set<String> nodes = new HashSet<>();
+            agent.getNodes().forEach(x -> nodes.add(x.getName()));
+            Set<String> edges = new HashSet<>();
+            agent.getEdges().forEach(x -> edges.add(x.getName()));
+            return new AgentNames(nodes, edges);
+        }
+    }
+}
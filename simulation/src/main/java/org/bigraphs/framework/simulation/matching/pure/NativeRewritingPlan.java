@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import java.util.*;
+import org.bigraphs.framework.core.BigraphEntityType;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicControl;
+import org.bigraphs.framework.core.reactivesystem.InstantiationMap;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.TrackingMap;
+
+/**
+ * The rewriting plan of a reaction rule for the {@link NativePureBigraphRewriter}.
+ * <p>
+ * It contains everything of the reactum that the rewriting step needs and that does not depend on the agent:
+ * the breadth-first order of the reactum nodes with their controls, parents and port links, and the parameter that is
+ * placed at each reactum site according to the instantiation map. The plan is immutable and computed only once per reaction rule (see {@link CompiledReactionRule}).
+ * <p>
+ * Not every rule can be rewritten natively: the plan is unsupported (see {@link #isSupported()}) if a link of the
+ * agent that must be connected to a reactum node cannot be located by the link embedding of the match alone.
+ *
+ * @author Dominik Grzelak
+ */
+public class NativeRewritingPlan {
+
+    // Reactum: nodes are numbered in breadth-first order, so that the parent of a node is always created first
+    final List<BigraphEntity.NodeEntity<DynamicControl>> reactumNodes = new ArrayList<>();
+    final List<BigraphEntity.RootEntity> redexRootOfReactumRoot = new ArrayList<>();
+    final String[] controlNames;
+    final int[] parentNode;
+    final int[] parentRoot;
+    final int[][] portIndices;
+    final int[][] portLinks;
+    final List<BigraphEntity.NodeEntity<?>> trackedRedexNodes = new ArrayList<>();
+
+    // Reactum sites in the order of their index, and the redex site whose parameter is placed there
+    final int[] siteParentNode;
+    final int[] siteParentRoot;
+    final List<BigraphEntity.SiteEntity> siteParameters = new ArrayList<>();
+    final List<BigraphEntity.SiteEntity> discardedParameters = new ArrayList<>();
+
+    // Reactum links: edges are created fresh, outer names are the images of the redex outer names
+    final List<BigraphEntity.Link> reactumLinks;
+    final boolean[] reactumLinkIsEdge;
+    final List<BigraphEntity.Link> redexOuterNames = new ArrayList<>();
+
+    private String unsupportedReason;
+
+    NativeRewritingPlan(ReactionRule<PureBigraph> reactionRule) {
+        PureBigraph redex = reactionRule.getRedex();
+        PureBigraph reactum = reactionRule.getReactum();
+
+        // Reactum place graph in breadth-first order
+        Map<Integer, BigraphEntity.RootEntity> redexRoots = new HashMap<>();
+        redex.getRoots().forEach(x -> redexRoots.put(x.getIndex(), x));
+        Map<BigraphEntity<?>, Integer> reactumPositions = new HashMap<>();
+        List<Integer> parentNodes = new ArrayList<>();
+        List<Integer> parentRoots = new ArrayList<>();
+        Deque<BigraphEntity<?>> queue = new ArrayDeque<>();
+        List<BigraphEntity.RootEntity> reactumRoots = reactum.getRoots();
+        for (int r = 0; r < reactumRoots.size(); r++) {
+            reactumPositions.put(reactumRoots.get(r), r);
+            redexRootOfReactumRoot.add(redexRoots.get(reactumRoots.get(r).getIndex()));
+            queue.add(reactumRoots.get(r));
+        }
+        while (!queue.isEmpty()) {
+            BigraphEntity<?> place = queue.poll();
+            for (BigraphEntity<?> child : reactum.getChildrenOf(place)) {
+                if (!BigraphEntityType.isNode(child)) continue;
+                reactumPositions.put(child, reactumNodes.size());
+                reactumNodes.add((BigraphEntity.NodeEntity<DynamicControl>) child);
+                parentNodes.add(BigraphEntityType.isRoot(place) ? -1 : reactumPositions.get(place));
+                parentRoots.add(BigraphEntityType.isRoot(place) ? reactumPositions.get(place) : -1);
+                queue.add(child);
+            }
+        }
+        this.parentNode = NativeMatchingPlan.toArray(parentNodes);
+        this.parentRoot = NativeMatchingPlan.toArray(parentRoots);
+
+        // Tracked reactum nodes keep the name of the agent node that their redex node is mapped to
+        TrackingMap trackingMap = reactionRule.getTrackingMap();
+        Map<String, BigraphEntity.NodeEntity<DynamicControl>> redexNodesByName = new HashMap<>();
+        redex.getNodes().forEach(x -> redexNodesByName.put(x.getName(), x));
+
+        // Reactum link graph
+        this.reactumLinks = reactum.getAllLinks();
+        Map<BigraphEntity.Link, Integer> linkIds = new HashMap<>();
+        this.reactumLinkIsEdge = new boolean[reactumLinks.size()];
+        boolean[] linkNeedsImage = new boolean[reactumLinks.size()];
+        for (int l = 0; l < reactumLinks.size(); l++) {
+            BigraphEntity.Link each = reactumLinks.get(l);
+            linkIds.put(each, l);
+            reactumLinkIsEdge[l] = BigraphEntityType.isEdge(each);
+            redexOuterNames.add(reactumLinkIsEdge[l] ? null : redex.getOuterNames().stream()
+                    .filter(x -> x.getName().equals(each.getName())).findFirst().orElse(null));
+        }
+
+        int m = reactumNodes.size();
+        this.controlNames = new String[m];
+        this.portIndices = new int[m][];
+        this.portLinks = new int[m][];
+        for (int i = 0; i < m; i++) {
+            BigraphEntity.NodeEntity<DynamicControl> each = reactumNodes.get(i);
+            controlNames[i] = each.getControl().getNamedType().stringValue();
+            String trackedName = Objects.nonNull(trackingMap) ? trackingMap.get(each.getName()) : null;
+            trackedRedexNodes.add(Objects.nonNull(trackedName) ? redexNodesByName.get(trackedName) : null);
+            Collection<BigraphEntity.Port> ports = reactum.getPorts(each);
+            List<Integer> indices = new ArrayList<>();
+            List<Integer> links = new ArrayList<>();
+            for (BigraphEntity.Port eachPort : ports) {
+                BigraphEntity.Link link = reactum.getLinkOfPoint(eachPort);
+                if (Objects.isNull(link)) continue;
+                indices.add(eachPort.getIndex());
+                links.add(linkIds.get(link));
+                linkNeedsImage[linkIds.get(link)] = true;
+            }
+            portIndices[i] = NativeMatchingPlan.toArray(indices);
+            portLinks[i] = NativeMatchingPlan.toArray(links);
+        }
+
+        // Parameters, as defined by the instantiation map
+        InstantiationMap eta = reactionRule.getInstantationMap();
+        Map<Integer, BigraphEntity.SiteEntity> redexSites = new HashMap<>();
+        redex.getSites().forEach(x -> redexSites.put(x.getIndex(), x));
+        List<BigraphEntity.SiteEntity> reactumSites = new ArrayList<>(reactum.getSites());
+        reactumSites.sort(Comparator.comparingInt(BigraphEntity.SiteEntity::getIndex));
+        this.siteParentNode = new int[reactumSites.size()];
+        this.siteParentRoot = new int[reactumSites.size()];
+        Set<BigraphEntity.SiteEntity> usedParameters = new HashSet<>();
+        for (int s = 0; s < reactumSites.size(); s++) {
+            BigraphEntity<?> parent = reactum.getParent(reactumSites.get(s));
+            siteParentNode[s] = BigraphEntityType.isRoot(parent) ? -1 : reactumPositions.get(parent);
+            siteParentRoot[s] = BigraphEntityType.isRoot(parent) ? reactumPositions.get(parent) : -1;
+            BigraphEntity.SiteEntity parameter = redexSites.get(eta.get(reactumSites.get(s).getIndex()).getValue());
+            siteParameters.add(parameter);
+            usedParameters.add(parameter);
+        }
+        for (BigraphEntity.SiteEntity each : redex.getSites()) {
+            if (!usedParameters.contains(each)) discardedParameters.add(each);
+        }
+
+        // The redex of a reaction rule is guarding, so the parameters are never linked through inner names
+        if (!redex.getInnerNames().isEmpty() || !reactum.getInnerNames().isEmpty()) {
+            unsupported("redex and reactum must not have inner names");
+        }
+
+        for (int l = 0; l < reactumLinks.size(); l++) {
+            if (!linkNeedsImage[l] || reactumLinkIsEdge[l]) continue;
+            BigraphEntity.Link redexOuterName = redexOuterNames.get(l);
+            if (Objects.isNull(redexOuterName) || !hasPort(redex, redexOuterName)) {
+                unsupported("the image of the outer name " + reactumLinks.get(l).getName() + " cannot be located in the agent");
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if matches of the native matching engine can be rewritten with this plan.
+     *
+     * @return {@code true} if the rule can be rewritten natively
+     */
+    public boolean isSupported() {
+        return Objects.isNull(unsupportedReason);
+    }
+
+    /**
+     * Returns the reason why the rule cannot be rewritten natively, or {@code null} if it can.
+     *
+     * @return the reason, or {@code null}
+     */
+    public String getUnsupportedReason() {
+        return unsupportedReason;
+    }
+
+    private void unsupported(String reason) {
+        if (Objects.isNull(unsupportedReason)) unsupportedReason = reason;
+    }
+
+    private static boolean hasPort(PureBigraph bigraph, BigraphEntity.Link link) {
+        return bigraph.getPointsFromLink(link).stream().anyMatch(BigraphEntityType::isPort);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching.pure;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.uniud.mads.jlibbig.core.std.Bigraph;
+import it.uniud.mads.jlibbig.core.std.Signature;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.encoding.hash.BigraphHashFunction;
+
+/**
+ * A pure bigraph (the agent of a state) together with the data that is derived from it during the processing of
+ * the state: its jLibBig encoding, its canonical string, its hash and its control histogram.
+ * Each of them is computed lazily on first access and then reused by all reaction rules, predicates and the
+ * rewriting step of the state.
+ * <p>
+ * The jLibBig encoding depends on the jLibBig signature, so one encoding is kept per jLibBig signature.
+ * Rules and predicates that use the shared signatures of {@link CompiledReactionRuleCache#getJLibSignature(org.bigraphs.framework.core.impl.signature.DynamicSignature)}
+ * therefore all share a single encoding.
+ * The canonical string is kept for each {@link BigraphCanonicalForm} instance that computed it.
+ * <p>
+ * The prepared agents are registered in a {@link Registry}, which is created for a single exploration and bound to
+ * the threads that explore the states.
+ * Model checking strategies register the agent of a state via {@link #prepare(PureBigraph)} and release it via
+ * {@link #release(PureBigraph)} when the state is processed.
+ * The matching engines and predicates acquire the prepared agent via {@link #of(PureBigraph)}, which returns a
+ * fresh, unregistered instance if the agent was not registered in the registry of the current thread.
+ * Only registered agents are shared, hence an agent must not be modified while it is registered.
+ *
+ * @author Dominik Grzelak
+ */
+public class PreparedAgent {
+
+    private final PureBigraph agent;
+    private final Map<Signature, Bigraph> encodings = new ConcurrentHashMap<>(2);
+    private final Map<BigraphCanonicalForm, String> canonicalStrings = new ConcurrentHashMap<>(2);
+    private volatile Long hash;
+    private volatile ControlHistogram controlHistogram;
+
+    private PreparedAgent(PureBigraph agent) {
+        this.agent = agent;
+    }
+
+    /**
+     * Registers the given agent in the registry of the current thread, so that all subsequent calls of
+     * {@link #of(PureBigraph)} return the same prepared agent until it is released.
+     * If no registry is bound to the current thread, a new unregistered instance is returned.
+     *
+     * @param agent the agent of a state
+     * @return the registered prepared agent
+     */
+    public static PreparedAgent prepare(PureBigraph agent) {
+        Registry registry = Registry.BOUND.get();
+        return registry != null ? registry.prepare(agent) : new PreparedAgent(agent);
+    }
+
+    /**
+     * Returns the registered prepared agent for the given agent, or a new unregistered one.
+     *
+     * @param agent the agent
+     * @return the prepared agent
+     */
+    public static PreparedAgent of(PureBigraph agent) {
+        Registry registry = Registry.BOUND.get();
+        PreparedAgent prepared = registry != null ? registry.agents.getIfPresent(agent) : null;
+        return prepared != null ? prepared : new PreparedAgent(agent);
+    }
+
+    /**
+     * Removes the given agent from the registry of the current thread.
+     *
+     * @param agent the agent of a processed state
+     */
+    public static void release(PureBigraph agent) {
+        Registry registry = Registry.BOUND.get();
+        if (registry != null && agent != null) {
+            registry.agents.invalidate(agent);
+        }
+    }
+
+    public PureBigraph getAgent() {
+        return agent;
+    }
+
+    /**
+     * Returns the jLibBig encoding of the agent with respect to the given jLibBig signature.
+     * The returned bigraph is shared and must not be modified.
+     *
+     * @param jLibSignature the jLibBig signature
+     * @return the encoded agent
+     */
+    public Bigraph getJLibBigraph(Signature jLibSignature) {
+        return encodings.computeIfAbsent(jLibSignature, sig -> new JLibBigBigraphEncoder().encode(agent, sig));
+    }
+
+    /**
+     * Returns the canonical string of the agent computed by the given canonical form instance.
+     *
+     * @param canonicalForm the canonical form instance
+     * @return the canonical string of the agent
+     */
+    public String getCanonicalString(BigraphCanonicalForm canonicalForm) {
+        return canonicalStrings.computeIfAbsent(canonicalForm, x -> x.bfcs(agent));
+    }
+
+    /**
+     * Sets the canonical string of the agent if it is already known, e.g., because it was computed for the
+     * visited-state check when the agent was created.
+     *
+     * @param canonicalForm   the canonical form instance that computed the string
+     * @param canonicalString the canonical string of the agent
+     * @return this prepared agent
+     */
+    public PreparedAgent setCanonicalString(BigraphCanonicalForm canonicalForm, String canonicalString) {
+        canonicalStrings.put(canonicalForm, canonicalString);
+        return this;
+    }
+
+    /**
+     * Returns the hash of the agent (see {@link BigraphHashFunction}).
+     *
+     * @return the hash of the agent
+     */
+    public long getHash() {
+        Long h = hash;
+        if (h == null) {
+            h = BigraphHashFunction.get(PureBigraph.class).hash(agent);
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the control histogram of the agent that is used to skip rules that cannot match (see {@link ControlHistogram}).
+     *
+     * @return the control histogram of the agent
+     */
+    public ControlHistogram getControlHistogram() {
+        ControlHistogram histogram = controlHistogram;
+        if (histogram == null) {
+            histogram = ControlHistogram.of(agent);
+            controlHistogram = histogram;
+        }
+        return histogram;
+    }
+
+    /**
+     * The prepared agents of a single exploration. The registry is bound to each thread that processes the states of
+     * the exploration, see {@link #bind()}, and the static methods of {@link PreparedAgent} use the registry of the
+     * current thread. Agents that are not released are not kept from being garbage-collected.
+     */
+    public static final class Registry {
+
+        private static final ThreadLocal<Registry> BOUND = new ThreadLocal<>();
+
+        private final Cache<PureBigraph, PreparedAgent> agents = CacheBuilder.newBuilder()
+                .weakKeys()
+                .build();
+
+        /**
+         * Binds this registry to the current thread.
+         *
+         * @return the registry that was bound to the current thread before, or {@code null}, to be passed to
+         * {@link #restore(Registry)}
+         */
+        public Registry bind() {
+            Registry previous = BOUND.get();
+            BOUND.set(this);
+            return previous;
+        }
+
+        /**
+         * Restores the registry that was bound to the current thread before {@link #bind()} was called.
+         *
+         * @param previous the result of {@link #bind()}
+         */
+        public static void restore(Registry previous) {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+
+        PreparedAgent prepare(PureBigraph agent) {
+            return agents.asMap().computeIfAbsent(agent, PreparedAgent::new);
+        }
+
+        /**
+         * Returns the number of agents that are currently registered, e.g., to check that a strategy releases its
+         * states.
+         *
+         * @return the number of registered agents
+         */
+        public long size() {
+            return agents.size();
+        }
+    }
+}
@@ -14,10 +14,12 @@
  */
 package org.bigraphs.framework.simulation.matching.pure;
 
+import com.google.common.base.Suppliers;
 import it.uniud.mads.jlibbig.core.std.Match;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
+import java.util.function.Supplier;
 import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.impl.BigraphEntity;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.impl.signature.DynamicSignature;
 import org.bigraphs.framework.core.reactivesystem.AbstractSimpleReactiveSystem;
@@ -26,22 +28,31 @@ import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
 /**
  * This class represents the result of a valid match.
  * It contains all required elements to perform the rewriting step later.
+ * <p>
+ * The context, the parameter and the redex image are only decoded when they are requested for the first time,
+ * since the rewriting step itself does not need them (see {@link #setContext(Supplier)}).
  *
  * @author Dominik Grzelak
  * @see AbstractSimpleReactiveSystem
  */
 public class PureBigraphMatch implements BigraphMatch<PureBigraph> {
 
-    private PureBigraph context;
+    private Supplier<PureBigraph> context;
     private PureBigraph redex;
-    private PureBigraph redexImage;
+    private Supplier<PureBigraph> redexImage;
     private final Collection<PureBigraph> parameters;
     private Bigraph<DynamicSignature> redexIdentity;
     private Bigraph<DynamicSignature> contextIdentity;
     private PureBigraph paramWiring;
-    private PureBigraph params;
+    private Supplier<PureBigraph> params;
     private final it.uniud.mads.jlibbig.core.std.Match jLibMatchResult;
 
+    // Populated by the native matching engine (see NativePureBigraphMatchingEngine)
+    private SubHypergraphIsoSearch.Embedding nodeEmbedding;
+    private Map<BigraphEntity.Link, BigraphEntity.Link> linkEmbedding;
+    private Map<BigraphEntity.RootEntity, BigraphEntity<?>> rootPlaces;
+    private Map<BigraphEntity.SiteEntity, List<BigraphEntity<?>>> siteParameters;
+
     public PureBigraphMatch(it.uniud.mads.jlibbig.core.std.Match jLibMatchResult,
                             PureBigraph context,
                             PureBigraph redex,
@@ -55,13 +66,61 @@ public class PureBigraphMatch implements BigraphMatch<PureBigraph> {
         this.contextIdentity = null;
         this.redexIdentity = redexIdentity;
         this.redex = redex;
-        this.context = context;
-        this.redexImage = redexImage;
+        this.context = view(context);
+        this.redexImage = view(redexImage);
         this.paramWiring = paramWiring;
         this.parameters = parameters;
         this.params = null;
     }
 
+    /**
+     * Creates a match result of the native matching engine. The result is described in terms of the entities of
+     * the redex and of the agent, respectively.
+     *
+     * @param redex          the redex
+     * @param nodeEmbedding  maps each redex node to its agent node
+     * @param linkEmbedding  maps each redex link (that has at least one port) to its agent link
+     * @param rootPlaces     maps each redex root to the agent place (root or node) the root is placed in
+     * @param siteParameters maps each redex site to the agent places of its parameter
+     */
+    public PureBigraphMatch(PureBigraph redex,
+                            SubHypergraphIsoSearch.Embedding nodeEmbedding,
+                            Map<BigraphEntity.Link, BigraphEntity.Link> linkEmbedding,
+                            Map<BigraphEntity.RootEntity, BigraphEntity<?>> rootPlaces,
+                            Map<BigraphEntity.SiteEntity, List<BigraphEntity<?>>> siteParameters) {
+        this(null, null, redex, null, null, null, new LinkedList<>());
+        this.nodeEmbedding = nodeEmbedding;
+        this.linkEmbedding = linkEmbedding;
+        this.rootPlaces = rootPlaces;
+        this.siteParameters = siteParameters;
+    }
+
+    /**
+     * Returns {@code true} if this match was computed by the native matching engine,
+     * i.e., no jLibBig match result is available but the embedding of the redex.
+     *
+     * @return {@code true} if this is a match of the native matching engine
+     */
+    public boolean isNativeMatch() {
+        return Objects.nonNull(nodeEmbedding);
+    }
+
+    public SubHypergraphIsoSearch.Embedding getNodeEmbedding() {
+        return nodeEmbedding;
+    }
+
+    public Map<BigraphEntity.Link, BigraphEntity.Link> getLinkEmbedding() {
+        return linkEmbedding;
+    }
+
+    public Map<BigraphEntity.RootEntity, BigraphEntity<?>> getRootPlaces() {
+        return rootPlaces;
+    }
+
+    public Map<BigraphEntity.SiteEntity, List<BigraphEntity<?>>> getSiteParameters() {
+        return siteParameters;
+    }
+
     public Match getJLibMatchResult() {
         return jLibMatchResult;
     }
@@ -73,12 +132,20 @@ public class PureBigraphMatch implements BigraphMatch<PureBigraph> {
 
     @Override
     public PureBigraph getParam() {
-        return params;
+        return Objects.nonNull(params) ? params.get() : null;
     }
 
-
     public void setParam(PureBigraph param) {
-        params = param;
+        params = view(param);
+    }
+
+    /**
+     * Sets the parameter as a lazy view that is materialised on the first call of {@link #getParam()}.
+     *
+     * @param param supplies the parameter, called at most once
+     */
+    public void setParam(Supplier<PureBigraph> param) {
+        params = Suppliers.memoize(param::get);
     }
 
     @Override
@@ -88,11 +155,21 @@ public class PureBigraphMatch implements BigraphMatch<PureBigraph> {
 
     @Override
     public PureBigraph getContext() {
-        return context;
+        return Objects.nonNull(context) ? context.get() : null;
     }
 
     public void setContext(PureBigraph context) {
-        this.context = context;
+        this.context = view(context);
+    }
+
+    /**
+     * Sets the context as a lazy view that is materialised on the first call of {@link #getContext()}.
+     * The supplier must not depend on objects that are modified by the rewriting step.
+     *
+     * @param context supplies the context, called at most once
+     */
+    public void setContext(Supplier<PureBigraph> context) {
+        this.context = Suppliers.memoize(context::get);
     }
 
     /**
@@ -113,15 +190,28 @@ public class PureBigraphMatch implements BigraphMatch<PureBigraph> {
 
     @Override
     public PureBigraph getRedexImage() {
-        return redexImage;
+        return Objects.nonNull(redexImage) ? redexImage.get() : null;
     }
 
     public void setRedexImage(PureBigraph redexImage) {
-        this.redexImage = redexImage;
+        this.redexImage = view(redexImage);
+    }
+
+    /**
+     * Sets the redex image as a lazy view that is materialised on the first call of {@link #getRedexImage()}.
+     *
+     * @param redexImage supplies the redex image, called at most once
+     */
+    public void setRedexImage(Supplier<PureBigraph> redexImage) {
+        this.redexImage = Suppliers.memoize(redexImage::get);
     }
 
     @Override
     public Bigraph<DynamicSignature> getRedexIdentity() {
         return redexIdentity;
     }
+
+    private static Supplier<PureBigraph> view(PureBigraph bigraph) {
+        return Objects.nonNull(bigraph) ? Suppliers.ofInstance(bigraph) : null;
+    }
 }
@@ -17,24 +17,65 @@ package org.bigraphs.framework.simulation.matching.pure;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.reactivesystem.ReactionRule;
 import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
 import org.bigraphs.framework.simulation.matching.MatchIterable;
 
 /**
  * PureBigraphMatcher is a concrete implementation of AbstractBigraphMatcher specialized for handling
  * pure bigraphs. It is responsible for executing matching operations between a pure bigraph agent
- * and a reaction rule. The matcher uses a PureBigraphMatchingEngine for processing the matches.
+ * and a reaction rule. The matcher uses a PureBigraphMatchingEngine for processing the matches, or
+ * a NativePureBigraphMatchingEngine if {@link BigraphMatchingEngine.Type#NATIVE} is selected.
+ * <p>
+ * The engine is selected per rule: the native engine is only used for rules that are matched and rewritten natively
+ * in the same way as by jLibBig (see {@link NativeMatchingPlan#isSupported()} and
+ * {@link NativeRewritingPlan#isSupported()}), so that every match can be rewritten by {@link PureReactiveSystem}.
+ * All other rules are matched by jLibBig.
  *
  * @author Dominik Grzelak
  */
 public class PureBigraphMatcher extends AbstractBigraphMatcher<PureBigraph> {
 
+    private final BigraphMatchingEngine.Type engineType;
+    private final CompiledReactionRuleCache compiledRuleCache;
+
     public PureBigraphMatcher() {
+        this(BigraphMatchingEngine.Type.JLIBBIG);
+    }
+
+    public PureBigraphMatcher(BigraphMatchingEngine.Type engineType) {
+        this(engineType, new CompiledReactionRuleCache());
+    }
+
+    /**
+     * Creates a matcher that obtains the compiled reaction rules from the given cache.
+     * Matchers of the same reactive system should share its cache (see {@link PureReactiveSystem#getCompiledRuleCache()}),
+     * so that each rule is compiled only once.
+     *
+     * @param engineType        the matching engine to use
+     * @param compiledRuleCache the cache of compiled reaction rules
+     */
+    public PureBigraphMatcher(BigraphMatchingEngine.Type engineType, CompiledReactionRuleCache compiledRuleCache) {
         super();
+        this.engineType = engineType;
+        this.compiledRuleCache = compiledRuleCache;
     }
 
     @Override
-    public PureBigraphMatchingEngine instantiateEngine() {
-        return new PureBigraphMatchingEngine(this.agent, this.rule);
+    public AbstractPureBigraphMatchingEngine instantiateEngine() {
+        CompiledReactionRule compiledRule = compiledRuleCache.get(this.rule);
+        if (engineType == BigraphMatchingEngine.Type.NATIVE && compiledRule.getNativeMatchingPlan().isSupported()
+                && compiledRule.getNativeRewritingPlan().isSupported()) {
+            return new NativePureBigraphMatchingEngine(this.agent, compiledRule);
+        }
+        return new PureBigraphMatchingEngine(this.agent, compiledRule);
+    }
+
+    public BigraphMatchingEngine.Type getEngineType() {
+        return engineType;
+    }
+
+    public CompiledReactionRuleCache getCompiledRuleCache() {
+        return compiledRuleCache;
     }
 
     @Override
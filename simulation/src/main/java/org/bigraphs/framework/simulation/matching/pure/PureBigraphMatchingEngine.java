@@ -18,13 +18,9 @@ import com.google.common.base.Stopwatch;
 import it.uniud.mads.jlibbig.core.std.*;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphDecoder;
 import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
-import org.bigraphs.framework.core.reactivesystem.ReactionRule;
-import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
-import org.bigraphs.framework.simulation.matching.BigraphMatchingSupport;
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.factory.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,17 +29,12 @@ import org.slf4j.LoggerFactory;
  *
  * @author Dominik Grzelak
  */
-public class PureBigraphMatchingEngine extends BigraphMatchingSupport implements BigraphMatchingEngine<PureBigraph> {
+public class PureBigraphMatchingEngine extends AbstractPureBigraphMatchingEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PureBigraphMatchingEngine.class);
 
     private Stopwatch matchingTimer;
 
-    protected boolean hasMatched = false;
-    protected final MutableList<PureBigraphMatch> matches = Lists.mutable.empty();
-
-    protected ReactionRule<PureBigraph> reactionRule;
-
     protected final JLibBigBigraphEncoder encoder = new JLibBigBigraphEncoder();
 
     protected it.uniud.mads.jlibbig.core.std.Bigraph jLibAgent;
@@ -53,50 +44,34 @@ public class PureBigraphMatchingEngine extends BigraphMatchingSupport implements
     protected AgentMatcher agentMatcher = new AgentMatcher();
     protected Iterable<? extends AgentMatch> jLibMatchIterator;
 
-    protected PureBigraphMatchingEngine(PureBigraph agent, ReactionRule<PureBigraph> reactionRule) {
+    protected final CompiledReactionRule compiledRule;
+
+    protected PureBigraphMatchingEngine(PureBigraph agent, CompiledReactionRule compiledRule) {
+        super(compiledRule.getReactionRule());
         Stopwatch timer = LOGGER.isDebugEnabled() ? Stopwatch.createStarted() : null;
 
-        this.reactionRule = reactionRule;
-        this.jLibAgent = encoder.encode(agent);
-        this.jLibRedex = encoder.encode(reactionRule.getRedex(), jLibAgent.getSignature());
+        // The redex was encoded only once when the rule was compiled, the agent must use the same signature.
+        // The agent is encoded only once per state and signature (see PreparedAgent)
+        this.compiledRule = compiledRule;
+        this.jLibAgent = PreparedAgent.of(agent).getJLibBigraph(compiledRule.getJLibSignature());
+        this.jLibRedex = compiledRule.getJLibRedex();
 
         if (LOGGER.isDebugEnabled() && Objects.nonNull(timer))
             LOGGER.debug("Initialization time: {} (ms)", (timer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
     }
 
-    @Override
-    public List<PureBigraphMatch> getMatches() {
-        return matches;
-    }
-
-    /**
-     * Checks if any match could be found and also if <emph>_all_</emph> redex roots could be matched.
-     *
-     * @return {@code true}, if a correct match could be found, otherwise {@code false}
-     */
-    public boolean hasMatched() {
-        return hasMatched;
-    }
-
     /**
      * Computes all matches
      * <p>
      * First, structural matching, afterward link matching
      */
+    @Override
     protected void beginMatch() {
         if (LOGGER.isDebugEnabled()) {
             matchingTimer = Stopwatch.createStarted();
         }
 
-        it.uniud.mads.jlibbig.core.std.InstantiationMap eta = PureReactiveSystem.constructEta(reactionRule);
-        int prms[] = new int[eta.getPlaceDomain()];
-        boolean[] neededParam = new boolean[reactionRule.getRedex().getSites().size()];
-        for (int i = 0; i < eta.getPlaceDomain(); i++) {
-            int j = eta.getPlaceInstance(i);
-            neededParam[j] = true;
-            prms[i] = j;
-        }
-        jLibMatchIterator = agentMatcher.match(jLibAgent, jLibRedex, neededParam);
+        jLibMatchIterator = agentMatcher.match(jLibAgent, jLibRedex, compiledRule.getNeededParams());
         // jLibMatchIterator = agentMatcher.match(jLibAgent, jLibRedex);
 
         hasMatched = true;
@@ -105,57 +80,49 @@ public class PureBigraphMatchingEngine extends BigraphMatchingSupport implements
     }
 
     /**
-     * This methods builds the actual bigraphs determined by the matching algorithm (see {@link #beginMatch()}).
+     * Returns a lazy iterator that converts the matches of jLibBig (see {@link #beginMatch()}) on demand.
+     * The jLibBig matcher itself computes the next match only when it is requested.
      */
-    protected void getAllMatches() {
-        if (LOGGER.isDebugEnabled()) {
+    @Override
+    protected Iterator<PureBigraphMatch> matchIterator() {
+        if (LOGGER.isDebugEnabled() && Objects.nonNull(matchingTimer)) {
             LOGGER.debug("Matching took: {} (ms)", (matchingTimer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
-            matchingTimer.reset().start();
         }
-        try {
-            for (Iterator<? extends AgentMatch> it = jLibMatchIterator.iterator(); it.hasNext(); ) {
-                AgentMatch each = it.next();
-                PureBigraphMatch matchResult = convert(each);
-                this.matches.add(matchResult);
+        Iterator<? extends AgentMatch> it = jLibMatchIterator.iterator();
+        return new Iterator<>() {
+            private boolean failed = false;
+            private int ordinal = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (cancelled || failed) return false;
+                try {
+                    return it.hasNext();
+                } catch (AssertionError error) {
+                    LOGGER.error("jLibBig matcher failed", error);
+                    failed = true;
+                    return false;
+                }
             }
-        } catch (AssertionError error) {
-            error.printStackTrace();
-        }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Time to build the match result: {} ms", (matchingTimer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
-        }
-    }
-
-    protected void getSingleMatch() {
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Matching took: {} (ms)", (matchingTimer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
-            matchingTimer.reset().start();
-        }
-        try {
-            for (Iterator<? extends AgentMatch> it = jLibMatchIterator.iterator(); it.hasNext(); ) {
-                AgentMatch each = it.next();
-                PureBigraphMatch matchResult = convert(each);
-                this.matches.add(matchResult);
-                break;
+            @Override
+            public PureBigraphMatch next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return convert(it.next(), ordinal++);
             }
-        } catch (AssertionError error) {
-            error.printStackTrace();
-        }
-
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Time to build the match result: {} ms", (matchingTimer.stop().elapsed(TimeUnit.NANOSECONDS) / 1e+6f));
-        }
+        };
     }
 
-    private PureBigraphMatch convert(AgentMatch each) {
+    private PureBigraphMatch convert(AgentMatch each, int ordinal) {
         PureBigraph redex = reactionRule.getRedex();
         PureBigraph context = null;
         PureBigraph redexImage = null;
         PureBigraph redexIdentity = null;
         Collection<PureBigraph> params = new LinkedList<>();
         PureBigraph paramWiring = null; //decoder.decode(each.getParamWiring());
-        return new PureBigraphMatch(
+        PureBigraphMatch match = new PureBigraphMatch(
                 each,
                 context,
                 redex,
@@ -164,5 +131,32 @@ public class PureBigraphMatchingEngine extends BigraphMatchingSupport implements
                 paramWiring,
                 params
         );
+        // The rewriting step reuses the jLibBig context of the match in its composition. Instead of copying the
+        // context for every match, the context view matches the (unmodified) agent again when it is requested.
+        Bigraph agent = jLibAgent;
+        Bigraph redexOfMatch = jLibRedex;
+        boolean[] neededParams = compiledRule.getNeededParams();
+        match.setContext(() -> new JLibBigBigraphDecoder().decode(
+                matchAgain(agent, redexOfMatch, neededParams, each, ordinal).getContext()));
+        return match;
+    }
+
+    /**
+     * Returns the match of jLibBig with the given position in the order of enumeration, which is the same for the
+     * same agent and redex objects. The node embedding must be the same as the one of the given match.
+     */
+    private static AgentMatch matchAgain(Bigraph agent, Bigraph redex, boolean[] neededParams, AgentMatch match, int ordinal) {
+        Iterator<? extends AgentMatch> it = new AgentMatcher().match(agent, redex, neededParams).iterator();
+        for (int i = 0; i < ordinal && it.hasNext(); i++) {
+            it.next();
+        }
+        if (it.hasNext()) {
+            AgentMatch result = it.next();
+            if (result.emb_nodes.size() == match.emb_nodes.size()
+                    && match.emb_nodes.keySet().stream().allMatch(x -> result.emb_nodes.get(x) == match.emb_nodes.get(x))) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("The match " + ordinal + " of the redex cannot be found again in the agent");
     }
 }
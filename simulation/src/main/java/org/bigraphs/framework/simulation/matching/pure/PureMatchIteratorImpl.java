@@ -14,63 +14,55 @@
  */
 package org.bigraphs.framework.simulation.matching.pure;
 
+import com.google.common.collect.Iterators;
+import java.util.Iterator;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.simulation.matching.AbstractBigraphMatchIterator;
-import org.eclipse.collections.impl.factory.Lists;
 
 /**
  * Iterator implementation for bigraph matching.
  * <p>
  * This iterator is created by the {@link PureBigraphMatcher} class.
+ * The matching is started when the first match is requested, and the matches are converted one by one on demand.
  *
  * @author Dominik Grzelak
  */
 public class PureMatchIteratorImpl extends AbstractBigraphMatchIterator<PureBigraph> {
 
-    public PureMatchIteratorImpl(PureBigraphMatchingEngine matchingEngine) {
+    public PureMatchIteratorImpl(AbstractPureBigraphMatchingEngine matchingEngine) {
         super(matchingEngine);
-        this.findMatches();
     }
 
     /**
+     * Starts the matching and pulls the matches lazily from the engine.
+     * <p>
      * The behavior of {@code findMatches} may vary if a subclass overrides
      * this method to provide custom matching logic.
      * <p>
      * This can be done to provide simple constraints or filters for the matches.
      */
     protected void findMatches() {
-        ((PureBigraphMatchingEngine) this.matchingEngine).beginMatch();
-        if (((PureBigraphMatchingEngine) this.matchingEngine).hasMatched()) {
-            ((PureBigraphMatchingEngine) this.matchingEngine).getAllMatches();
+        AbstractPureBigraphMatchingEngine engine = (AbstractPureBigraphMatchingEngine) this.matchingEngine;
+        engine.beginMatch();
+        if (engine.hasMatched()) {
+            this.matches = engine.matchIterator();
         }
-        this.matches = Lists.mutable.ofAll(this.matchingEngine.getMatches());
     }
 
-//    @Override
-//    public boolean hasNext() {
-//        if (matches.isEmpty()) return false;
-//        return cursor != matches.size();
-//    }
-
-//    @Override
-//    public PureBigraphMatch next() {
-//        return super.next();
-//    }
-
     public static class FirstMatchOnly extends AbstractBigraphMatchIterator.FirstMatchOnly<PureBigraph> {
 
-        public FirstMatchOnly(PureBigraphMatchingEngine matchingEngine) {
+        public FirstMatchOnly(AbstractPureBigraphMatchingEngine matchingEngine) {
             super(matchingEngine);
         }
 
         @Override
         protected void findMatches() {
-            ((PureBigraphMatchingEngine)this.matchingEngine).beginMatch();
-            if (((PureBigraphMatchingEngine)this.matchingEngine).hasMatched()) {
-                ((PureBigraphMatchingEngine)this.matchingEngine).getSingleMatch();
+            AbstractPureBigraphMatchingEngine engine = (AbstractPureBigraphMatchingEngine) this.matchingEngine;
+            engine.beginMatch();
+            if (engine.hasMatched()) {
+                Iterator<PureBigraphMatch> iterator = engine.matchIterator();
+                this.matches = iterator.hasNext() ? Iterators.singletonIterator(iterator.next()) : null;
             }
-            this.matches = Lists.mutable.ofAll(this.matchingEngine.getMatches());
-
         }
     }
 
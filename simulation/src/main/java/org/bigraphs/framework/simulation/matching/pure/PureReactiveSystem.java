@@ -14,13 +14,17 @@
  */
 package org.bigraphs.framework.simulation.matching.pure;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.uniud.mads.jlibbig.core.Owner;
 import it.uniud.mads.jlibbig.core.attachedProperties.Property;
 import it.uniud.mads.jlibbig.core.std.*;
 import it.uniud.mads.jlibbig.core.util.NameGenerator;
 import java.util.*;
+import java.util.function.Function;
 import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphDecoder;
 import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
+import org.bigraphs.framework.core.exceptions.InvalidReactionRuleException;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.reactivesystem.AbstractSimpleReactiveSystem;
 import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
@@ -33,6 +37,11 @@ import org.slf4j.LoggerFactory;
  * (see {@link PureBigraph}) and possibly later also binding bigraphs, bigraphs with sharing etc.
  * <p>
  * Uses some functionality from jLibBig.
+ * Matches of the native matching engine are rewritten natively instead (see {@link NativePureBigraphRewriter}),
+ * i.e., the reactum is spliced into a copy of the agent without the jLibBig encoding, composition and decoding.
+ * The native matching engine is only used for rules that can be rewritten natively (see {@link PureBigraphMatcher}).
+ * The result of a native match can also be inspected without copying the agent
+ * (see {@link #inspectReaction(PureBigraph, PureBigraphMatch, ReactionRule, Function)}).
  *
  * @author Dominik Grzelak
  * @see PureBigraph
@@ -41,6 +50,11 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
     private final Logger logger = LoggerFactory.getLogger(PureReactiveSystem.class);
     JLibBigBigraphDecoder decoder = new JLibBigBigraphDecoder();
     JLibBigBigraphEncoder encoder = new JLibBigBigraphEncoder();
+    private final CompiledReactionRuleCache compiledRuleCache = new CompiledReactionRuleCache();
+    // the names of the agents that were rewritten natively, which are needed for fresh names
+    private final Cache<PureBigraph, NativePureBigraphRewriter.AgentNames> agentNames = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
 
     static it.uniud.mads.jlibbig.core.std.InstantiationMap constructEta(ReactionRule<PureBigraph> reactionRule) {
         org.bigraphs.framework.core.reactivesystem.InstantiationMap instantationMap = reactionRule.getInstantationMap();
@@ -55,41 +69,53 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
         return eta;
     }
 
+    /**
+     * Returns the cache of compiled reaction rules of this reactive system.
+     * It is invalidated whenever the rule set changes.
+     *
+     * @return the cache of compiled reaction rules
+     */
+    public CompiledReactionRuleCache getCompiledRuleCache() {
+        return compiledRuleCache;
+    }
+
+    @Override
+    public synchronized boolean addReactionRule(ReactionRule<PureBigraph> reactionRule) throws InvalidReactionRuleException {
+        boolean added = super.addReactionRule(reactionRule);
+        if (added) {
+            compiledRuleCache.invalidate();
+        }
+        return added;
+    }
+
     @Override
     public PureBigraph buildGroundReaction(final PureBigraph agent, final BigraphMatch<PureBigraph> match, final ReactionRule<PureBigraph> rule) {
         try {
             // Test also "AgentRewritingRule" from jLibBig
 
             PureBigraphMatch matchResult = (PureBigraphMatch) match;
+            if (matchResult.isNativeMatch()) {
+                return nativeRewriter(agent, matchResult, rule).rewrite();
+            }
             AgentMatch jLibMatchResult = (AgentMatch) matchResult.getJLibMatchResult();
-            InstantiationMap eta = constructEta(rule);
+            CompiledReactionRule compiledRule = compiledRuleCache.get(rule);
+            InstantiationMap eta = compiledRule.getEta();
 
-            // Store params as pure bigraph object
-            PureBigraph decodedParam = null;
+            // Store params as lazy pure bigraph view (the parameters are juxtaposed below)
+            Bigraph param = null;
             try {
-                if (jLibMatchResult.getParam() != null) {
-                    decodedParam = decoder.decode(jLibMatchResult.getParam());
-                }
+                param = jLibMatchResult.getParam();
             } catch (NullPointerException ignored) {}
-            ((PureBigraphMatch) match).setParam(decodedParam);
-
-            boolean[] cloneParam = new boolean[eta.getPlaceDomain()];
-            int prms[] = new int[eta.getPlaceDomain()];
-            for (int i = 0; i < eta.getPlaceDomain(); i++) {
-                int j = eta.getPlaceInstance(i);
-                prms[i] = j;
-            }
-            for (int i = 0; i < prms.length; i++) {
-                if (cloneParam[i])
-                    continue;
-                for (int j = i + 1; j < prms.length; j++) {
-                    cloneParam[j] = cloneParam[j] || (prms[i] == prms[j]);
-                }
+            if (param != null) {
+                Bigraph jLibParam = param;
+                matchResult.setParam(() -> decoder.decode(jLibParam));
             }
 
+            boolean[] cloneParam = compiledRule.getClonedParams();
+
             BigraphBuilder bb = new BigraphBuilder(jLibMatchResult.getRedex().getSignature());
-            for (int i = eta.getPlaceDomain() - 1; 0 <= i; i--) {
-                bb.leftJuxtapose(jLibMatchResult.getParams().get(eta.getPlaceInstance(i)),
+            for (int i = 0; i < eta.getPlaceDomain(); i++) {
+                bb.rightParallelProduct(jLibMatchResult.getParams().get(eta.getPlaceInstance(i)),
                         !cloneParam[i]);
             }
 
@@ -117,9 +143,9 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
             Bigraph inreact = instantiateReactum(jLibMatchResult, rule);
             inreact = Bigraph.juxtapose(inreact, jLibMatchResult.getRedexId(), true);
 
-            // Store redexImage as pure bigraph object
-            PureBigraph decodedRdxImg = decoder.decode(jLibMatchResult.getRedex());
-            ((PureBigraphMatch) match).setRedexImage(decodedRdxImg);
+            // Store redexImage as lazy pure bigraph view (the redex of the match is not modified by the rewriting)
+            Bigraph jLibRedexImage = jLibMatchResult.getRedex();
+            matchResult.setRedexImage(() -> decoder.decode(jLibRedexImage));
 
             // Collect the reactum nodes for later when we do the relabeling
             // (they get lost after jLibBig composition)
@@ -131,10 +157,8 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
 
             bb.outerCompose(inreact, true);
 
-            // Store context as pure bigraph object
-            PureBigraph decodedContext = decoder.decode(jLibMatchResult.getContext());
-            ((PureBigraphMatch) match).setContext(decodedContext);
-
+            // The context is reused by the composition below; the lazy context view of the match does not depend
+            // on it (see PureBigraphMatchingEngine)
             bb.outerCompose(jLibMatchResult.getContext(), true);
 
             // Do relabeling only when we have tracking map. Relabeling allows tracing of nodes
@@ -198,6 +222,49 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
         }
     }
 
+    /**
+     * Rewrites the agent in place with a match of the native matching engine, applies the function to the result,
+     * and restores the agent. No copy of the agent is made, so that, e.g., the canonical string of the result can be
+     * computed before it is decided whether the result is kept (see {@link #buildGroundReaction}).
+     * <p>
+     * The result shares the instance model with the agent and must not be used after the function returns. The agent
+     * must not be used by other threads meanwhile.
+     *
+     * @param agent    the agent
+     * @param match    a match of the native matching engine
+     * @param rule     the reaction rule of the match
+     * @param function the function that is applied to the result
+     * @param <T>      the type of the value of the function
+     * @return the value of the function
+     * @throws IllegalArgumentException if the match is not native or the rule cannot be rewritten natively
+     */
+    public <T> T inspectReaction(PureBigraph agent, PureBigraphMatch match, ReactionRule<PureBigraph> rule, Function<PureBigraph, T> function) {
+        NativePureBigraphRewriter rewriter = nativeRewriter(agent, match, rule);
+        try {
+            return function.apply(rewriter.rewriteInPlace());
+        } finally {
+            rewriter.undo();
+        }
+    }
+
+    private NativePureBigraphRewriter nativeRewriter(PureBigraph agent, PureBigraphMatch match, ReactionRule<PureBigraph> rule) {
+        return new NativePureBigraphRewriter(compiledRuleCache.get(rule).getNativeRewritingPlan(), agent, match,
+                () -> agentNames.asMap().computeIfAbsent(agent, NativePureBigraphRewriter.AgentNames::of));
+    }
+
+    /**
+     * Returns the encoded reactum of the compiled rule. It is only re-encoded if the match was computed with
+     * a different jLibBig signature, e.g., by a matcher that does not use the rule cache of this reactive system.
+     * The returned reactum is only replicated, never modified.
+     */
+    private Bigraph getEncodedReactum(Match match, ReactionRule<PureBigraph> rule) {
+        CompiledReactionRule compiledRule = compiledRuleCache.get(rule);
+        if (compiledRule.getJLibSignature().equals(match.getRedex().getSignature())) {
+            return compiledRule.getJLibReactum();
+        }
+        return encoder.encode(rule.getReactum(), match.getRedex().getSignature());
+    }
+
     /**
      * Instantiates rule's reactum with respect to the given match.
      *
@@ -206,7 +273,7 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
      */
     // from RewritingRule
     protected final Bigraph instantiateReactum(Match match, ReactionRule<PureBigraph> rule) {
-        Bigraph reactum = encoder.encode(rule.getReactum(), match.getRedex().getSignature());
+        Bigraph reactum = getEncodedReactum(match, rule);
         Bigraph big = new Bigraph(reactum.getSignature());
         Owner owner = big;
         Map<Handle, EditableHandle> hnd_dic = new HashMap<>();
@@ -297,7 +364,7 @@ public class PureReactiveSystem extends AbstractSimpleReactiveSystem<PureBigraph
 
     // from AgentRewritingRule
     protected final Bigraph instantiateReactumV2(Match match, ReactionRule<PureBigraph> rule) {
-        Bigraph reactum = encoder.encode(rule.getReactum(), match.getRedex().getSignature());
+        Bigraph reactum = getEncodedReactum(match, rule);
         Bigraph big = new Bigraph(reactum.getSignature());
 //        Bigraph reactum = getReactum();
 //        Bigraph big = new Bigraph(reactum.signature);
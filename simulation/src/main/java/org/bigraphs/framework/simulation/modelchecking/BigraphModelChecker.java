@@ -19,11 +19,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.BigraphFileModelManagement;
@@ -31,7 +34,6 @@ import org.bigraphs.framework.core.EcoreBigraph;
 import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.exceptions.AgentIsNullException;
 import org.bigraphs.framework.core.exceptions.AgentNotGroundException;
-import org.bigraphs.framework.core.exceptions.AgentNotPrimeException;
 import org.bigraphs.framework.core.exceptions.ReactiveSystemException;
 import org.bigraphs.framework.core.providers.ExecutorServicePoolProvider;
 import org.bigraphs.framework.core.reactivesystem.*;
@@ -80,11 +82,16 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
     protected ModelCheckingStrategy<B> modelCheckingStrategy;
     protected SimulationStrategy.Type simulationStrategyType;
     protected BigraphModelChecker.ReactiveSystemListener<B> reactiveSystemListener;
-    protected BigraphCanonicalForm canonicalForm = BigraphCanonicalForm.createInstance(true);
+    // guarded by this, see acquireCanonicalForm()
+    private BigraphCanonicalForm canonicalForm;
     protected ModelCheckingOptions options;
 
     final ReactiveSystem<B> reactiveSystem;
     ReactionGraph<B> reactionGraph;
+    // the checkpoint directory while a simulation is resumed
+    volatile Path resumeFrom;
+    // set by cancel(), checked by the strategy before each state
+    volatile boolean cancelled;
 
     /**
      * Enum-like class that holds all kind of simulations.
@@ -191,15 +198,32 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
 
     // /////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-    public BigraphCanonicalForm acquireCanonicalForm() {
-        BigraphCanonicalForm inst;
-        if (((ModelCheckingOptions.TransitionOptions) options.get(ModelCheckingOptions.Options.TRANSITION)).allowReducibleClasses()) {
-            inst = BigraphCanonicalForm.createInstance();
-        } else {
-            inst = BigraphCanonicalForm.createInstance(true);
+    /**
+     * Returns the canonical form for the states according to the current options. The instance can be shared by
+     * all threads of the exploration (see {@link BigraphCanonicalForm#bfcs(org.bigraphs.framework.core.Bigraph)}),
+     * so it is only created anew if the options have changed since the last call.
+     * The exploration acquires it once before its workers are started and hands it on to them.
+     *
+     * @return the canonical form for the states
+     */
+    public synchronized BigraphCanonicalForm acquireCanonicalForm() {
+        ModelCheckingOptions.TransitionOptions transitionOptions = options.get(ModelCheckingOptions.Options.TRANSITION);
+        if (transitionOptions == null) {
+            transitionOptions = ModelCheckingOptions.transitionOpts().create();
         }
-        if (((ModelCheckingOptions.TransitionOptions) options.get(ModelCheckingOptions.Options.TRANSITION)).isRewriteOpenLinks()) {
-            inst.setRewriteOpenLinks(true);
+        // without node identifiers, states that only differ by a permutation of replicas have the same canonical form
+        boolean withNodeIdentifiers = !options.isSymmetryReduction() && !transitionOptions.allowReducibleClasses();
+        boolean rewriteOpenLinks = transitionOptions.isRewriteOpenLinks();
+        BigraphCanonicalForm inst = canonicalForm;
+        if (inst == null || inst.isWithNodeIdentifiers() != withNodeIdentifiers || inst.isRewriteOpenLinks() != rewriteOpenLinks ||
+                inst.isStructural() != options.isStructuralCanonicalForm() || inst.isIncremental() != options.isIncrementalCanonicalForm() ||
+                inst.isUnorderedRoots() != options.isUnorderedRoots()) {
+            inst = BigraphCanonicalForm.createInstance(withNodeIdentifiers)
+                    .setRewriteOpenLinks(rewriteOpenLinks)
+                    .setStructural(options.isStructuralCanonicalForm())
+                    .setIncremental(options.isIncrementalCanonicalForm())
+                    .setUnorderedRoots(options.isUnorderedRoots());
+            canonicalForm = inst;
         }
         return inst;
     }
@@ -244,20 +268,94 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
      */
     public void execute() throws BigraphSimulationException, ReactiveSystemException {
         assertReactionSystemValid();
+        cancelled = false;
         doWork();
         prepareOutput();
     }
 
     /**
      * Asynchronously start the simulation based on the provided reactive system and options.
+     * <p>
+     * Cancelling the returned future stops the simulation cooperatively (see {@link #cancel()}): the states that are
+     * currently expanded are completed, and the reaction graph synthesized so far remains available via
+     * {@link #getReactionGraph()} with the stop reason {@link ReactionGraphStats.StopReason#CANCELLED}.
      *
+     * @return the future of the reaction graph
      */
     public Future<ReactionGraph<B>> executeAsync() throws ReactiveSystemException {
         assertReactionSystemValid();
-        return executorService.submit(() -> {
+        cancelled = false;
+        Future<ReactionGraph<B>> task = executorService.submit(() -> {
             doWork();
             return getReactionGraph();
         });
+        return new Future<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                // the worker thread is not interrupted, since this could close the channels of spill or checkpoint files
+                BigraphModelChecker.this.cancel();
+                return task.cancel(false);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return task.isCancelled();
+            }
+
+            @Override
+            public boolean isDone() {
+                return task.isDone();
+            }
+
+            @Override
+            public ReactionGraph<B> get() throws InterruptedException, ExecutionException {
+                return task.get();
+            }
+
+            @Override
+            public ReactionGraph<B> get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+                return task.get(timeout, unit);
+            }
+        };
+    }
+
+    /**
+     * Requests a running simulation to stop. The check is made before each state is expanded, so the states that are
+     * currently expanded are completed first. The stop reason of the reaction graph is then
+     * {@link ReactionGraphStats.StopReason#CANCELLED}.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Resumes an interrupted simulation from the last checkpoint in the given directory
+     * (see {@link ModelCheckingOptions#setCheckpointing(Path, long, TimeUnit)}).
+     * <p>
+     * The reached states, the reaction graph, the worklist, the counters and the state of the strategy are restored,
+     * and the exploration continues from there. States that were expanded after the last checkpoint are expanded
+     * again. The same reactive system and options as for the interrupted run should be used.
+     *
+     * @param checkpointDirectory the directory of the checkpoint
+     * @throws BigraphSimulationException if agent is {@code null} or the simulation strategy was not selected
+     * @throws IllegalArgumentException   if the directory does not contain a checkpoint
+     */
+    public void resume(Path checkpointDirectory) throws BigraphSimulationException, ReactiveSystemException {
+        assertReactionSystemValid();
+        if (!ExplorationCheckpoint.exists(checkpointDirectory)) {
+            throw new IllegalArgumentException("No checkpoint found in " + checkpointDirectory);
+        }
+        if (!(modelCheckingStrategy instanceof ModelCheckingStrategySupport)) {
+            throw new UnsupportedOperationException("The strategy does not support checkpoints: " + modelCheckingStrategy.getClass().getName());
+        }
+        resumeFrom = checkpointDirectory;
+        cancelled = false;
+        try {
+            doWork();
+        } finally {
+            resumeFrom = null;
+        }
+        prepareOutput();
     }
 
     private void doWork() {
@@ -271,7 +369,7 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
     }
 
     /**
-     * Performs some checks if the reactive system is valid.
+     * Performs some checks if the reactive system is valid. The agent must be ground, but may have several roots.
      *
      * @throws ReactiveSystemException if the system is not valid
      */
@@ -282,9 +380,6 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
         if (!reactiveSystem.getAgent().isGround()) {
             throw new AgentNotGroundException();
         }
-        if (!reactiveSystem.getAgent().isPrime()) {
-            throw new AgentNotPrimeException();
-        }
         if (Objects.isNull(modelCheckingStrategy)) {
             throw new InvalidSimulationStrategy();
         }
@@ -310,7 +405,7 @@ public abstract class BigraphModelChecker<B extends Bigraph<? extends Signature<
         return reactionGraph;
     }
 
-    public synchronized <A> A watch(Supplier<A> function) {
+    public <A> A watch(Supplier<A> function) {
         if (options.isMeasureTime()) {
             Stopwatch timer = Stopwatch.createStarted();
             A apply = function.get();
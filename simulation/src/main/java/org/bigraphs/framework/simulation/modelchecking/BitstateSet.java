@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.hash.HashCode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Visited-state set for the bitstate (supertrace) mode: each state sets {@code k} bits in a large, fixed-size bit
+ * array, and a state counts as visited if all of its {@code k} bits are already set.
+ * <p>
+ * The bit array is allocated off-heap (direct buffers of at most 1 GiB each), so its size is only limited by the
+ * physical memory and not by the Java heap.
+ * The bit positions are derived from the 128-bit MurmurHash3 of the canonical string {@code (h1, h2)} by double
+ * hashing: {@code h1 + i * h2} for {@code i = 0..k-1}.
+ * <p>
+ * The exploration is incomplete: a new state whose bits were all set by other states is wrongly considered
+ * visited, and it and its successors may be omitted.
+ * The probability of such an omission for the next state is approximately {@code (setBits / bits)^k}, see
+ * {@link #getOmissionProbability()}.
+ * No state is ever explored twice.
+ *
+ * @author Dominik Grzelak
+ */
+public class BitstateSet implements VisitedStateSet {
+
+    // number of longs per off-heap segment (1 GiB)
+    private static final int SEGMENT_SHIFT = 27;
+
+    private final LongBuffer[] segments;
+    private final long bitMask;
+    private final int hashFunctions;
+    private long size;
+    private long setBits;
+
+    /**
+     * @param memoryInBytes the size of the bit array in bytes; it is rounded up to the next power of two (at least 8 bytes)
+     * @param hashFunctions the number of bits per state {@code k}
+     */
+    public BitstateSet(long memoryInBytes, int hashFunctions) {
+        if (memoryInBytes <= 0 || hashFunctions < 1) {
+            throw new IllegalArgumentException("The bitstate memory must be positive and at least one hash function is required");
+        }
+        long words = (memoryInBytes + 7) / 8;
+        long longs = words <= 1 ? 1 : Long.highestOneBit(words - 1) << 1;
+        this.bitMask = (longs << 6) - 1;
+        this.hashFunctions = hashFunctions;
+        int segmentLongs = (int) Math.min(longs, 1L << SEGMENT_SHIFT);
+        this.segments = new LongBuffer[(int) (longs / segmentLongs)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentLongs * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+    }
+
+    @Override
+    public boolean add(String canonicalForm) {
+        return add(hash(canonicalForm));
+    }
+
+    /**
+     * Computes the hash once for the bit positions and the label.
+     */
+    @Override
+    public Visit addIfAbsent(String canonicalForm) {
+        HashCode hashCode = hash(canonicalForm);
+        boolean added = add(hashCode);
+        return new Visit(hashCode.toString(), added);
+    }
+
+    @Override
+    public Visit addIfAbsent(HashCode fingerprint) {
+        return new Visit(fingerprint.toString(), add(fingerprint));
+    }
+
+    private synchronized boolean add(HashCode hashCode) {
+        ByteBuffer hash = ByteBuffer.wrap(hashCode.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long h1 = hash.getLong();
+        long h2 = hash.getLong() | 1;
+        boolean added = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            long index = bit >>> 6;
+            LongBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+            int offset = (int) (index & ((1L << SEGMENT_SHIFT) - 1));
+            long word = segment.get(offset);
+            long mask = 1L << (bit & 63);
+            if ((word & mask) == 0) {
+                segment.put(offset, word | mask);
+                setBits++;
+                added = true;
+            }
+        }
+        if (added) size++;
+        return added;
+    }
+
+    /**
+     * Returns the number of states that were considered new.
+     *
+     * @return the number of explored states
+     */
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * States are labeled by the hexadecimal representation of their 128-bit hash, which is only used for traces and
+     * exported states.
+     */
+    @Override
+    public String labelOf(String canonicalForm) {
+        return hash(canonicalForm).toString();
+    }
+
+    public long getBitCount() {
+        return bitMask + 1;
+    }
+
+    public synchronized long getSetBitCount() {
+        return setBits;
+    }
+
+    public int getHashFunctionCount() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the approximate probability that the next new state is wrongly considered visited, i.e., that all of
+     * its bits are already set.
+     *
+     * @return the current omission probability
+     */
+    public synchronized double getOmissionProbability() {
+        return Math.pow((double) setBits / getBitCount(), hashFunctions);
+    }
+
+    private static HashCode hash(String canonicalForm) {
+        return VisitedStateSet.fingerprint(canonicalForm);
+    }
+}
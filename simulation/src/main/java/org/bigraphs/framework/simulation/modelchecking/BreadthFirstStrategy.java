@@ -18,6 +18,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
 
 /**
  * The algorithm implemented here to synthesize the "reaction graph" is adopted from [1].
@@ -33,18 +34,39 @@ public class BreadthFirstStrategy<B extends Bigraph<? extends Signature<?>>> ext
         super(modelChecker);
     }
 
+    /**
+     * If spilling is enabled (see {@link ModelCheckingOptions#setSpillToDisk(java.nio.file.Path, int)}), the worklist
+     * is a {@link SpillingWorklist} that keeps only a part of the states on the heap.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public Collection<B> createWorklist() {
+        ModelCheckingOptions options = modelChecker.options;
+        if (options.isSpillToDisk()) {
+            return (Collection<B>) (Collection<?>) new SpillingWorklist(options.getSpillDirectory(),
+                    (DynamicSignature) modelChecker.getReactiveSystem().getSignature(), options.getInMemoryStates(),
+                    modelChecker.acquireCanonicalForm());
+        }
         return new ConcurrentLinkedDeque<>();
     }
 
     @Override
     public B removeNext(Collection<B> worklist) {
-        return ((Deque<B>) worklist).removeFirst(); // FIFO
+        return ((Queue<B>) worklist).remove(); // FIFO
     }
 
     @Override
     public void addToWorklist(Collection<B> worklist, B bigraph) {
-        ((Deque<B>) worklist).addLast(bigraph);
+        worklist.add(bigraph);
+    }
+
+    /**
+     * The worklist is a concurrent deque (or a synchronized spilling worklist), so it can be shared by several workers.
+     * In that case, the states are still taken in FIFO order from the shared worklist, but the order in which
+     * they are expanded is not deterministic anymore.
+     */
+    @Override
+    protected boolean supportsParallelExploration() {
+        return true;
     }
 }
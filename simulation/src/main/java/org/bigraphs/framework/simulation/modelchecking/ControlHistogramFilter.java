@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.ControlHistogram;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
+
+/**
+ * A reaction rule filter that rejects a rule if its redex cannot occur in the agent according to the control
+ * histograms of both (see {@link ControlHistogram#mayContain(ControlHistogram)}).
+ * The check is a necessary condition for a match, so no match is lost.
+ * <p>
+ * The histogram of an agent is computed once per state (see {@link PreparedAgent#getControlHistogram()}),
+ * and the histogram of a redex once per rule.
+ * The filter counts the rejected rules, i.e., the match calls that were avoided.
+ * <p>
+ * This filter is applied by {@link ModelCheckingStrategySupport} before any user-defined {@link ReactionRuleFilter}.
+ *
+ * @author Dominik Grzelak
+ */
+public class ControlHistogramFilter implements ReactionRuleFilter<PureBigraph> {
+
+    private final Cache<ReactionRule<PureBigraph>, ControlHistogram> redexHistograms = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    private final AtomicLong avoidedMatchCount = new AtomicLong(0);
+
+    @Override
+    public boolean accept(ReactionRule<PureBigraph> rule, PureBigraph agent) {
+        ControlHistogram redexHistogram = redexHistograms.asMap().computeIfAbsent(rule, r -> ControlHistogram.of(r.getRedex()));
+        if (PreparedAgent.of(agent).getControlHistogram().mayContain(redexHistogram)) {
+            return true;
+        }
+        avoidedMatchCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Returns the number of match calls that were avoided by this filter.
+     *
+     * @return the number of rejected rules
+     */
+    public long getAvoidedMatchCount() {
+        return avoidedMatchCount.get();
+    }
+
+    public void resetAvoidedMatchCount() {
+        avoidedMatchCount.set(0);
+    }
+}
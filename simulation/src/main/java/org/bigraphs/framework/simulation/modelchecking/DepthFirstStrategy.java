@@ -45,4 +45,14 @@ public class DepthFirstStrategy<B extends Bigraph<? extends Signature<?>>> exten
     public void addToWorklist(Collection<B> worklist, B bigraph) {
         ((Deque<B>) worklist).addLast(bigraph);
     }
+
+    /**
+     * The worklist is a concurrent deque, so it can be shared by several workers.
+     * In that case, the states are still taken in LIFO order from the shared worklist, but the order in which
+     * they are expanded is not deterministic anymore.
+     */
+    @Override
+    protected boolean supportsParallelExploration() {
+        return true;
+    }
 }
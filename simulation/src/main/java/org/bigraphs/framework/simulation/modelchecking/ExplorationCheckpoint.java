@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.hash.HashCode;
+import com.google.common.io.CountingInputStream;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryDecoder;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+
+/**
+ * A checkpoint of a state-space exploration, from which the exploration can be resumed
+ * (see {@link BigraphModelChecker#resume(Path)}).
+ * <p>
+ * A checkpoint directory contains two files:
+ * <ul>
+ *     <li>{@value #JOURNAL_FILE}: an append-only journal of all reached states (label, fingerprint of the canonical
+ *     string and the encoded bigraph) and of all transitions (source label, target label and rule label) of the
+ *     reaction graph. From it, the visited states and the reaction graph are restored.</li>
+ *     <li>{@value #CHECKPOINT_FILE}: the last commit, i.e., the length of the journal at that time, the counters, the
+ *     state of the strategy and the frontier. It is replaced atomically.</li>
+ * </ul>
+ * Only the part of the journal up to the last commit is valid.
+ * <p>
+ * The canonical strings are not journaled: a state is restored by its fingerprint (see
+ * {@link VisitedStateSet#addIfAbsent(HashCode)}), by its label if the label is the canonical string, or by the
+ * canonical string of its bigraph otherwise.
+ * <p>
+ * Reading a checkpoint only reads the counters; the journal and the frontier are streamed when the exploration is
+ * restored (see {@link #replayJournal(Consumer, Consumer)} and {@link #forEachFrontierState(Consumer)}), so that
+ * resuming does not hold a second copy of the state space.
+ * <p>
+ * All encoding and file I/O is done by the background thread of a {@link Writer}, so that the exploration is only
+ * paused to take a snapshot of the frontier.
+ *
+ * @author Dominik Grzelak
+ */
+public class ExplorationCheckpoint {
+
+    public static final String JOURNAL_FILE = "journal.bin";
+    public static final String CHECKPOINT_FILE = "checkpoint.bin";
+
+    private static final int MAGIC = 0x42524343;
+    private static final int VERSION = 2;
+    private static final byte RECORD_STATE = 1;
+    private static final byte RECORD_TRANSITION = 2;
+    private static final int FINGERPRINT_BYTES = 16;
+
+    /**
+     * A reached state.
+     *
+     * @param label          the label of the state
+     * @param canonicalLabel whether the label is the canonical string of the state
+     * @param fingerprint    the fingerprint of the canonical string (see {@link VisitedStateSet#fingerprint(String)})
+     * @param bigraph        the state, or {@code null} if the reaction graph was not retained
+     */
+    public record State(String label, boolean canonicalLabel, HashCode fingerprint, PureBigraph bigraph) {
+    }
+
+    /**
+     * A transition of the reaction graph.
+     */
+    public record Transition(String sourceLabel, String targetLabel, String ruleLabel) {
+    }
+
+    private final Path directory;
+    private final DynamicSignature signature;
+    private final long journalLength;
+    private final long stateCount;
+    private final long occurrenceCount;
+    private final long exploredTransitionCount;
+    private final byte[] strategyState;
+    private final long frontierSize;
+    // the position of the first state of the frontier in the checkpoint file
+    private final long frontierPosition;
+
+    private ExplorationCheckpoint(Path directory, DynamicSignature signature, long journalLength, long stateCount,
+                                  long occurrenceCount, long exploredTransitionCount, byte[] strategyState,
+                                  long frontierSize, long frontierPosition) {
+        this.directory = directory;
+        this.signature = signature;
+        this.journalLength = journalLength;
+        this.stateCount = stateCount;
+        this.occurrenceCount = occurrenceCount;
+        this.exploredTransitionCount = exploredTransitionCount;
+        this.strategyState = strategyState;
+        this.frontierSize = frontierSize;
+        this.frontierPosition = frontierPosition;
+    }
+
+    /**
+     * Reads the counters of the last commit of the checkpoint in the given directory.
+     * The states are read by {@link #replayJournal(Consumer, Consumer)} and {@link #forEachFrontierState(Consumer)}.
+     *
+     * @param directory the checkpoint directory
+     * @param signature the signature of the states, used to decode them
+     * @return the checkpoint
+     * @throws UncheckedIOException if the directory does not contain a valid checkpoint
+     */
+    public static ExplorationCheckpoint read(Path directory, DynamicSignature signature) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(CHECKPOINT_FILE))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a checkpoint file of a supported version: " + directory.resolve(CHECKPOINT_FILE));
+            }
+            long journalLength = in.readLong();
+            long stateCount = in.readLong();
+            long occurrenceCount = in.readLong();
+            long exploredTransitionCount = in.readLong();
+            byte[] strategyState = readBytes(in);
+            long frontierSize = in.readLong();
+            long frontierPosition = 2 * Integer.BYTES + 4 * Long.BYTES + Integer.BYTES + strategyState.length + Long.BYTES;
+            return new ExplorationCheckpoint(directory, signature, journalLength, stateCount, occurrenceCount,
+                    exploredTransitionCount, strategyState, frontierSize, frontierPosition);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks whether the given directory contains a committed checkpoint.
+     *
+     * @param directory the checkpoint directory
+     * @return {@code true}, if a checkpoint can be read from the directory
+     */
+    public static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(CHECKPOINT_FILE)) && Files.isRegularFile(directory.resolve(JOURNAL_FILE));
+    }
+
+    /**
+     * Reads the committed part of the journal and passes each record to the given actions, in the order the records
+     * were written. The first state is the initial state, and a state is always passed before the transitions that
+     * reference it.
+     *
+     * @param states      the action for the reached states
+     * @param transitions the action for the transitions
+     * @throws UncheckedIOException if the journal cannot be read
+     */
+    public void replayJournal(Consumer<State> states, Consumer<Transition> transitions) {
+        PureBigraphBinaryDecoder decoder = new PureBigraphBinaryDecoder();
+        CountingInputStream counting;
+        try {
+            counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(JOURNAL_FILE))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try (DataInputStream journal = new DataInputStream(counting)) {
+            byte[] fingerprint = new byte[FINGERPRINT_BYTES];
+            while (counting.getCount() < journalLength) {
+                byte type = journal.readByte();
+                if (type == RECORD_STATE) {
+                    String label = readString(journal);
+                    boolean canonicalLabel = journal.readBoolean();
+                    journal.readFully(fingerprint);
+                    byte[] encoded = readBytes(journal);
+                    states.accept(new State(label, canonicalLabel, HashCode.fromBytes(fingerprint),
+                            encoded.length == 0 ? null : decoder.decode(encoded, signature)));
+                } else if (type == RECORD_TRANSITION) {
+                    transitions.accept(new Transition(readString(journal), readString(journal), readString(journal)));
+                } else {
+                    throw new IOException("Corrupt checkpoint journal at position " + (counting.getCount() - 1));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the states of the worklist at the time of the commit one after another and passes them to the given
+     * action, in the order of the worklist.
+     *
+     * @param action the action
+     * @throws UncheckedIOException if the checkpoint file cannot be read
+     */
+    public void forEachFrontierState(Consumer<PureBigraph> action) {
+        PureBigraphBinaryDecoder decoder = new PureBigraphBinaryDecoder();
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(frontierPosition))))) {
+            for (long i = 0; i < frontierSize; i++) {
+                action.accept(decoder.decode(readBytes(in), signature));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of states of the worklist at the time of the commit.
+     *
+     * @return the size of the frontier
+     */
+    public long getFrontierSize() {
+        return frontierSize;
+    }
+
+    public long getJournalLength() {
+        return journalLength;
+    }
+
+    public long getStateCount() {
+        return stateCount;
+    }
+
+    public long getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public long getExploredTransitionCount() {
+        return exploredTransitionCount;
+    }
+
+    /**
+     * Returns the state of the strategy as written by {@link ModelCheckingStrategySupport#writeStrategyState(DataOutput)}.
+     *
+     * @return the serialized strategy state
+     */
+    public byte[] getStrategyState() {
+        return strategyState.clone();
+    }
+
+    /**
+     * Writes the journal and the commits of a checkpoint on a single background thread.
+     * <p>
+     * The records are handed over to the background thread in the order of the calls. The bigraphs that are passed
+     * must not be modified afterward. At most {@value #QUEUE_CAPACITY} records wait for the background thread; if the
+     * queue is full, the exploration is blocked until the background thread caught up, so that the pending records
+     * cannot exhaust the heap.
+     */
+    public static class Writer implements Closeable {
+        static final int QUEUE_CAPACITY = 1 << 12;
+
+        private final Path directory;
+        private final ThreadPoolExecutor thread = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread t = new Thread(runnable, "checkpoint-writer");
+                    t.setDaemon(true);
+                    return t;
+                },
+                (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("The checkpoint writer is closed");
+                    }
+                    try {
+                        executor.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(e);
+                    }
+                });
+        private final PureBigraphBinaryEncoder encoder = new PureBigraphBinaryEncoder();
+        private final FileChannel journalChannel;
+        private final DataOutputStream journal;
+        private Future<?> lastCommit;
+        // the first failure of the background thread; it is reported by the next commit
+        private volatile UncheckedIOException failure;
+
+        /**
+         * Opens the journal of the given directory. If {@code journalLength} is positive, the journal is truncated to
+         * that length and continued; otherwise, a new journal is started.
+         *
+         * @param directory     the checkpoint directory
+         * @param journalLength the length of the valid part of an existing journal, or {@code 0}
+         */
+        public Writer(Path directory, long journalLength) {
+            this.directory = directory;
+            try {
+                Files.createDirectories(directory);
+                this.journalChannel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                journalChannel.truncate(Math.max(0, journalLength));
+                journalChannel.position(Math.max(0, journalLength));
+                if (journalLength <= 0) {
+                    Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.journal = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(journalChannel), 1 << 16));
+        }
+
+        /**
+         * Appends a reached state to the journal. Only the fingerprint of the canonical string is written, and the
+         * canonical string is not referenced anymore after the record was written.
+         *
+         * @param label         the label of the state
+         * @param canonicalForm the canonical string of the state
+         * @param bigraph       the state, or {@code null} if the reaction graph is not retained
+         */
+        public void state(String label, String canonicalForm, PureBigraph bigraph) {
+            thread.execute(() -> write(() -> writeState(label, label.equals(canonicalForm),
+                    VisitedStateSet.fingerprint(canonicalForm), bigraph)));
+        }
+
+        /**
+         * Appends a state that was restored from another checkpoint to the journal.
+         *
+         * @param label          the label of the state
+         * @param canonicalLabel whether the label is the canonical string of the state
+         * @param fingerprint    the fingerprint of the canonical string
+         * @param bigraph        the state, or {@code null} if the reaction graph is not retained
+         */
+        public void state(String label, boolean canonicalLabel, HashCode fingerprint, PureBigraph bigraph) {
+            thread.execute(() -> write(() -> writeState(label, canonicalLabel, fingerprint, bigraph)));
+        }
+
+        private void writeState(String label, boolean canonicalLabel, HashCode fingerprint, PureBigraph bigraph) throws IOException {
+            journal.writeByte(RECORD_STATE);
+            writeString(journal, label);
+            journal.writeBoolean(canonicalLabel);
+            journal.write(fingerprint.asBytes());
+            writeBytes(journal, bigraph == null ? new byte[0] : encoder.encode(bigraph));
+        }
+
+        /**
+         * Appends a transition of the reaction graph to the journal.
+         */
+        public void transition(String sourceLabel, String targetLabel, String ruleLabel) {
+            thread.execute(() -> write(() -> {
+                journal.writeByte(RECORD_TRANSITION);
+                writeString(journal, sourceLabel);
+                writeString(journal, targetLabel);
+                writeString(journal, ruleLabel);
+            }));
+        }
+
+        /**
+         * Commits the journal written so far together with the given frontier and counters.
+         * The journal is forced to disk before the checkpoint file is replaced.
+         *
+         * @param frontier                the states of the worklist in the order of the worklist
+         * @param stateCount              the number of reached states
+         * @param occurrenceCount         the number of occurrences
+         * @param exploredTransitionCount the number of explored transitions
+         * @param strategyState           the serialized state of the strategy
+         */
+        public void commit(List<PureBigraph> frontier, long stateCount, long occurrenceCount, long exploredTransitionCount, byte[] strategyState) {
+            commit(frontier.size(), out -> {
+                for (PureBigraph each : frontier) {
+                    writeBytes(out, encoder.encode(each));
+                }
+            }, () -> {
+            }, stateCount, occurrenceCount, exploredTransitionCount, strategyState);
+        }
+
+        /**
+         * Commits the journal written so far together with a snapshot of a {@link SpillingWorklist} as frontier.
+         * The spilled states are copied as encoded records without decoding them. The snapshot is closed when the
+         * commit is written.
+         *
+         * @param frontier                the snapshot of the worklist
+         * @param stateCount              the number of reached states
+         * @param occurrenceCount         the number of occurrences
+         * @param exploredTransitionCount the number of explored transitions
+         * @param strategyState           the serialized state of the strategy
+         */
+        public void commit(SpillingWorklist.Snapshot frontier, long stateCount, long occurrenceCount, long exploredTransitionCount, byte[] strategyState) {
+            commit(frontier.getHead().size() + frontier.getSpilledCount(), out -> {
+                for (PureBigraph each : frontier.getHead()) {
+                    writeBytes(out, encoder.encode(each));
+                }
+                try {
+                    frontier.forEachSpilled(encoded -> {
+                        try {
+                            writeBytes(out, encoded);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }, frontier::close, stateCount, occurrenceCount, exploredTransitionCount, strategyState);
+        }
+
+        private void commit(long frontierSize, FrontierWriter frontier, Runnable done, long stateCount,
+                            long occurrenceCount, long exploredTransitionCount, byte[] strategyState) {
+            if (failure != null) {
+                done.run();
+                throw failure;
+            }
+            lastCommit = thread.submit(() -> {
+                try {
+                    write(() -> {
+                        journal.flush();
+                        journalChannel.force(false);
+                        Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+                        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+                            out.writeInt(MAGIC);
+                            out.writeInt(VERSION);
+                            out.writeLong(journalChannel.position());
+                            out.writeLong(stateCount);
+                            out.writeLong(occurrenceCount);
+                            out.writeLong(exploredTransitionCount);
+                            writeBytes(out, strategyState);
+                            out.writeLong(frontierSize);
+                            frontier.write(out);
+                            out.flush();
+                            channel.force(true);
+                        }
+                        Files.move(tmp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    });
+                } finally {
+                    done.run();
+                }
+            });
+        }
+
+        private interface FrontierWriter {
+            void write(DataOutput out) throws IOException;
+        }
+
+        /**
+         * Waits until the last commit is written.
+         *
+         * @throws UncheckedIOException if the commit failed
+         */
+        public void awaitCommit() {
+            if (lastCommit != null) {
+                await(lastCommit);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        /**
+         * Writes the pending records, waits for the last commit and closes the journal.
+         *
+         * @throws UncheckedIOException if writing the checkpoint failed
+         */
+        @Override
+        public void close() {
+            Future<?> closed = thread.submit(() -> {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = new UncheckedIOException(e);
+                }
+            });
+            thread.shutdown();
+            await(closed);
+            awaitCommit();
+        }
+
+        private static void await(Future<?> future) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private interface IOAction {
+            void run() throws IOException;
+        }
+
+        private void write(IOAction action) {
+            if (failure != null) return;
+            try {
+                action.run();
+            } catch (IOException e) {
+                failure = new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutput out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+
+}
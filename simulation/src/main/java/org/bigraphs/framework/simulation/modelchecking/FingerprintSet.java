@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.hash.HashCode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Visited-state set that stores a 128-bit fingerprint of the canonical form of each state instead of the canonical
+ * string itself.
+ * The fingerprints are kept in a primitive open-addressing hash table (linear probing), i.e., a visited state needs
+ * 16 bytes plus the free slots of the table, independent of the size of its canonical string.
+ * <p>
+ * The fingerprint is the 128-bit MurmurHash3 of the UTF-8 encoded canonical string.
+ * Two different states are considered equal if their fingerprints collide; such a state would be missing from the
+ * reaction graph.
+ * Assuming uniformly distributed fingerprints, the probability that any collision occurs among {@code n} distinct
+ * states is bounded by the birthday bound
+ * <pre>
+ *     P(collision) &lt;= n(n-1)/2 * 2^-128 &lt; n^2 / 2^129
+ * </pre>
+ * For example, it is below {@code 1.5 * 10^-21} for {@code 10^9} states and below {@code 2^-65} for
+ * {@code 2^32} states.
+ * <p>
+ * If {@code fingerprintLabels} is set, the states are also labeled in the reaction graph by the hexadecimal
+ * representation of their fingerprint (see {@link #labelOf(String)}), so that the full canonical strings are only
+ * kept while a state is in the worklist.
+ *
+ * @author Dominik Grzelak
+ */
+public class FingerprintSet implements VisitedStateSet {
+
+    private static final float LOAD_FACTOR = 0.7f;
+    // the table stores two longs per slot
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    private final boolean fingerprintLabels;
+    // slot i is stored at [2i] (high bits) and [2i+1] (low bits); (0, 0) marks a free slot
+    private long[] table;
+    private int mask;
+    private int threshold;
+    private long size;
+
+    public FingerprintSet() {
+        this(1 << 10, true);
+    }
+
+    /**
+     * @param expectedStates    the expected number of states
+     * @param fingerprintLabels if {@code true}, the states are labeled by their fingerprint in the reaction graph;
+     *                          otherwise, by their canonical string
+     */
+    public FingerprintSet(int expectedStates, boolean fingerprintLabels) {
+        this.fingerprintLabels = fingerprintLabels;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) Math.min(MAXIMUM_CAPACITY, expectedStates / LOAD_FACTOR)) - 1) << 1;
+        allocate(Math.min(capacity, MAXIMUM_CAPACITY));
+    }
+
+    @Override
+    public boolean add(String canonicalForm) {
+        return add(fingerprint(canonicalForm));
+    }
+
+    /**
+     * Computes the fingerprint once for the lookup and the label.
+     */
+    @Override
+    public Visit addIfAbsent(String canonicalForm) {
+        HashCode fingerprint = fingerprint(canonicalForm);
+        boolean added = add(fingerprint);
+        return new Visit(fingerprintLabels ? fingerprint.toString() : canonicalForm, added);
+    }
+
+    /**
+     * Only supported if the states are labeled by their fingerprint.
+     */
+    @Override
+    public Visit addIfAbsent(HashCode fingerprint) {
+        return fingerprintLabels ? new Visit(fingerprint.toString(), add(fingerprint)) : null;
+    }
+
+    private boolean add(HashCode fingerprint) {
+        ByteBuffer bytes = ByteBuffer.wrap(fingerprint.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        return add(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * Adds the given 128-bit fingerprint.
+     *
+     * @param high the high 64 bits of the fingerprint
+     * @param low  the low 64 bits of the fingerprint
+     * @return {@code true}, if the fingerprint was not contained before
+     */
+    public synchronized boolean add(long high, long low) {
+        if (high == 0 && low == 0) {
+            // (0, 0) is reserved for free slots
+            low = 1;
+        }
+        int slot = (int) (low ^ (low >>> 32)) & mask;
+        while (true) {
+            long h = table[slot << 1];
+            long l = table[(slot << 1) + 1];
+            if (h == 0 && l == 0) {
+                table[slot << 1] = high;
+                table[(slot << 1) + 1] = low;
+                if (++size > threshold) {
+                    grow();
+                }
+                return true;
+            }
+            if (h == high && l == low) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public String labelOf(String canonicalForm) {
+        return fingerprintLabels ? fingerprint(canonicalForm).toString() : canonicalForm;
+    }
+
+    /**
+     * Returns the number of bytes occupied by the hash table.
+     *
+     * @return the size of the hash table in bytes
+     */
+    public synchronized long getTableSizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private static HashCode fingerprint(String canonicalForm) {
+        return VisitedStateSet.fingerprint(canonicalForm);
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity << 1];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void grow() {
+        int capacity = mask + 1;
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("The fingerprint set cannot store more than " + threshold + " states");
+        }
+        long[] old = table;
+        allocate(capacity << 1);
+        size = 0;
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0 || old[i + 1] != 0) {
+                add(old[i], old[i + 1]);
+            }
+        }
+    }
+}
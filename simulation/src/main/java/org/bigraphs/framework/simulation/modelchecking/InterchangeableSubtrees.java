@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import java.util.*;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+
+/**
+ * Detects the symmetries of an agent that stem from interchangeable replicas, e.g., identical robots in a room,
+ * and identifies the rule occurrences that are redundant under these symmetries.
+ * <p>
+ * Two sibling nodes are <i>interchangeable</i> if their subtrees are isomorphic, contain no sites and all links
+ * of their nodes are edges between the ports of a single node. Swapping the subtrees of two interchangeable siblings
+ * is then an automorphism of the agent. Of each class of interchangeable siblings, the first one is the
+ * representative.
+ * <p>
+ * An occurrence is redundant if its redex image and its parameters lie within the subtree of a sibling that is not
+ * the representative of its class: the automorphism that swaps this sibling with its representative maps the
+ * occurrence to another occurrence of the same rule, and both yield isomorphic states.
+ * Thus, if all redundant occurrences are skipped, still one occurrence of each orbit is applied.
+ * <p>
+ * The occurrences are identified by the agent entities of native matches (see {@link PureBigraphMatch#isNativeMatch()});
+ * other matches are never redundant.
+ *
+ * @author Dominik Grzelak
+ * @see ModelCheckingOptions#setSymmetryReduction(boolean)
+ */
+public class InterchangeableSubtrees {
+
+    private final PureBigraph agent;
+    // the nodes that are interchangeable with a preceding sibling
+    private final Set<BigraphEntity.NodeEntity<?>> redundant = new HashSet<>();
+    private final Map<BigraphEntity<?>, Integer> depths = new HashMap<>();
+
+    public InterchangeableSubtrees(PureBigraph agent) {
+        this.agent = agent;
+        for (BigraphEntity.RootEntity each : agent.getRoots()) {
+            analyse(each, 0);
+        }
+    }
+
+    /**
+     * Returns whether the agent has interchangeable siblings at all.
+     *
+     * @return {@code true}, if some occurrences may be redundant
+     */
+    public boolean hasSymmetries() {
+        return !redundant.isEmpty();
+    }
+
+    /**
+     * Returns whether an occurrence of a rule in the agent is redundant, i.e., whether it is mapped by an automorphism
+     * of the agent to an occurrence that is not redundant.
+     *
+     * @param match an occurrence in the agent this instance was created for
+     * @return {@code true}, if the occurrence can be skipped
+     */
+    public boolean isRedundant(BigraphMatch<?> match) {
+        if (redundant.isEmpty() || !(match instanceof PureBigraphMatch pureMatch) || !pureMatch.isNativeMatch()) {
+            return false;
+        }
+        List<BigraphEntity<?>> footprint = new ArrayList<>(pureMatch.getNodeEmbedding().values());
+        pureMatch.getSiteParameters().values().forEach(footprint::addAll);
+        if (footprint.isEmpty() || !(footprint.get(0) instanceof BigraphEntity.NodeEntity<?>)) return false;
+        for (BigraphEntity<?> ancestor = footprint.get(0); ancestor instanceof BigraphEntity.NodeEntity<?>; ancestor = agent.getParent(ancestor)) {
+            if (redundant.contains(ancestor) && contains(ancestor, footprint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(BigraphEntity<?> subtree, List<BigraphEntity<?>> entities) {
+        int depth = depths.get(subtree);
+        for (BigraphEntity<?> each : entities) {
+            Integer depthOfEach = depths.get(each);
+            if (depthOfEach == null || depthOfEach < depth) return false;
+            BigraphEntity<?> ancestor = each;
+            for (int i = depthOfEach; i > depth; i--) {
+                ancestor = agent.getParent(ancestor);
+            }
+            if (ancestor != subtree) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the depths of the subtree of a place and collects its redundant nodes.
+     *
+     * @return the signature of the subtree, which equals the signature of another subtree iff they are isomorphic,
+     * or {@code null} if the place is not a node or its subtree is not interchangeable
+     */
+    private String analyse(BigraphEntity<?> place, int depth) {
+        depths.put(place, depth);
+        boolean interchangeable = place instanceof BigraphEntity.NodeEntity<?>;
+        Set<String> seen = new HashSet<>();
+        List<String> signatures = new ArrayList<>();
+        for (BigraphEntity<?> each : agent.getChildrenOf(place)) {
+            String signature = each instanceof BigraphEntity.NodeEntity<?> ? analyse(each, depth + 1) : null;
+            if (signature == null) {
+                interchangeable = false;
+                continue;
+            }
+            if (!seen.add(signature)) {
+                redundant.add((BigraphEntity.NodeEntity<?>) each);
+            }
+            signatures.add(signature);
+        }
+        if (!interchangeable) return null;
+        String links = localLinks((BigraphEntity.NodeEntity<?>) place);
+        if (links == null) return null;
+        Collections.sort(signatures);
+        return ((BigraphEntity.NodeEntity<?>) place).getControl().getNamedType().stringValue() + links + "(" + String.join(",", signatures) + ")";
+    }
+
+    /**
+     * Returns the partition of the ports of a node by their edges, or {@code null} if a port is linked to an outer
+     * name or to another node.
+     */
+    private String localLinks(BigraphEntity.NodeEntity<?> node) {
+        Map<BigraphEntity.Link, List<Integer>> ports = new HashMap<>();
+        for (BigraphEntity.Port each : agent.getPorts(node)) {
+            BigraphEntity.Link link = agent.getLinkOfPoint(each);
+            if (link == null) continue;
+            if (!(link instanceof BigraphEntity.Edge)) return null;
+            ports.computeIfAbsent(link, x -> new ArrayList<>()).add(each.getIndex());
+        }
+        List<String> groups = new ArrayList<>(ports.size());
+        for (Map.Entry<BigraphEntity.Link, List<Integer>> each : ports.entrySet()) {
+            if (agent.getPointsFromLink(each.getKey()).size() != each.getValue().size()) return null;
+            Collections.sort(each.getValue());
+            groups.add(each.getValue().toString());
+        }
+        Collections.sort(groups);
+        return String.join("", groups);
+    }
+}
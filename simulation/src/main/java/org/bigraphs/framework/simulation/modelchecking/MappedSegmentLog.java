@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only log of byte records that is stored in memory-mapped segment files.
+ * <p>
+ * Records are appended to the current segment; if a record does not fit, a new segment is created.
+ * A record is addressed by the offset returned by {@link #append(byte[])}, which encodes the segment and the
+ * position inside the segment.
+ * The operating system decides which parts of the segments are kept in memory, so the log does not occupy the
+ * Java heap.
+ * Segments that are not needed anymore can be discarded via {@link #discardBefore(long)}.
+ * The segment files are deleted when the log is closed.
+ *
+ * @author Dominik Grzelak
+ */
+public class MappedSegmentLog implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    // the end of the written records of each full segment
+    private final List<Integer> ends = new ArrayList<>();
+    private MappedByteBuffer current;
+    private long size;
+
+    /**
+     * @param directory   the directory of the segment files
+     * @param prefix      the prefix of the segment file names
+     * @param segmentSize the size of a segment in bytes
+     */
+    public MappedSegmentLog(Path directory, String prefix, int segmentSize) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param record the record
+     * @return the offset of the record
+     */
+    public synchronized long append(byte[] record) {
+        int required = record.length + Integer.BYTES;
+        if (current == null || current.remaining() < required) {
+            if (current != null) {
+                ends.add(current.position());
+            }
+            current = newSegment(Math.max(segmentSize, required));
+        }
+        long offset = ((long) (segments.size() - 1) << 32) | current.position();
+        current.putInt(record.length);
+        current.put(record);
+        size++;
+        return offset;
+    }
+
+    /**
+     * Reads the record at the given offset.
+     *
+     * @param offset the offset returned by {@link #append(byte[])}
+     * @return the record
+     */
+    public synchronized byte[] read(long offset) {
+        MappedByteBuffer segment = segments.get((int) (offset >>> 32));
+        if (segment == null) {
+            throw new IllegalStateException("The segment of the record was discarded");
+        }
+        int position = (int) offset;
+        byte[] record = new byte[segment.getInt(position)];
+        segment.get(position + Integer.BYTES, record);
+        return record;
+    }
+
+    /**
+     * Returns the offset of the record that follows the record at the given offset.
+     * This is used to read the records in the order they were appended.
+     *
+     * @param offset the offset of a record
+     * @return the offset of the next record
+     */
+    public synchronized long next(long offset) {
+        int segmentIndex = (int) (offset >>> 32);
+        int position = (int) offset;
+        MappedByteBuffer segment = segments.get(segmentIndex);
+        int end = position + Integer.BYTES + segment.getInt(position);
+        int segmentEnd = segment == current ? current.position() : ends.get(segmentIndex);
+        return end < segmentEnd ? ((long) segmentIndex << 32) | end : (long) (segmentIndex + 1) << 32;
+    }
+
+    /**
+     * Deletes all segments that only contain records before the given offset.
+     *
+     * @param offset the offset of the first record that is still needed
+     */
+    public synchronized void discardBefore(long offset) {
+        int segmentIndex = (int) (offset >>> 32);
+        for (int i = 0; i < segmentIndex && i < segments.size(); i++) {
+            if (segments.get(i) != null) {
+                segments.set(i, null);
+                delete(files.get(i));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of records that were appended.
+     *
+     * @return the number of records
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (int i = 0; i < files.size(); i++) {
+            if (segments.get(i) != null) {
+                segments.set(i, null);
+                delete(files.get(i));
+            }
+        }
+        current = null;
+    }
+
+    private MappedByteBuffer newSegment(int capacity) {
+        try {
+            Path file = Files.createTempFile(directory, prefix + "-" + segments.size() + "-", ".seg");
+            file.toFile().deleteOnExit();
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+            segments.add(segment);
+            files.add(file);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -15,11 +15,14 @@
 package org.bigraphs.framework.simulation.modelchecking;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -40,7 +43,22 @@ public class ModelCheckingOptions {
 
     private boolean measureTime = false;
     private boolean parallelRuleMatching = false;
+    private int workerThreads = 1;
+    private StateStorage stateStorage = StateStorage.CANONICAL_STRING;
+    private long bitstateMemory = 1L << 26;
+    private int bitstateHashFunctions = 3;
+    private Path spillDirectory = null;
+    private int inMemoryStates = 100_000;
+    private Path checkpointDirectory = null;
+    private long checkpointInterval = 10;
+    private TimeUnit checkpointIntervalUnit = TimeUnit.MINUTES;
     private boolean reactionGraphWithCycles = true;
+    private BigraphMatchingEngine.Type matchingEngine = null;
+    private boolean partialOrderReduction = false;
+    private boolean symmetryReduction = false;
+    private boolean structuralCanonicalForm = false;
+    private boolean incrementalCanonicalForm = false;
+    private boolean unorderedRoots = false;
 
     public enum Options {
         TRANSITION(TransitionOptions.class), EXPORT(ExportOptions.class);
@@ -56,6 +74,26 @@ public class ModelCheckingOptions {
         }
     }
 
+    /**
+     * How the model checker remembers the states that were already reached.
+     */
+    public enum StateStorage {
+        /**
+         * The full canonical string of each state is stored (exact).
+         */
+        CANONICAL_STRING,
+        /**
+         * Only a 128-bit fingerprint of the canonical string of each state is stored (see {@link FingerprintSet} for
+         * the collision probability). The bigraphs of the states are still kept by the reaction graph.
+         */
+        FINGERPRINT,
+        /**
+         * Each state only sets a few bits in a fixed-size bit array (see {@link BitstateSet}).
+         * The exploration may miss states, and the reaction graph is not retained.
+         */
+        BITSTATE
+    }
+
     ModelCheckingOptions() {
     }
 
@@ -128,6 +166,172 @@ public class ModelCheckingOptions {
         return this.parallelRuleMatching;
     }
 
+    /**
+     * Sets the number of worker threads that expand states concurrently (default: {@code 1}).
+     * <p>
+     * With more than one worker, the workers take the states from a shared worklist, deduplicate them via a shared
+     * visited set and insert them into the reaction graph concurrently.
+     * The resulting state space is the same, but the order of the states and the labels of the states may differ
+     * between runs. With one worker, the exploration is sequential and deterministic.
+     * Only strategies with a concurrent worklist support several workers (e.g., {@link BreadthFirstStrategy} and
+     * {@link DepthFirstStrategy}); other strategies fall back to a single worker.
+     * <p>
+     * The listener of the model checker, the worklist and reaction rule filters of the strategy and the predicates
+     * are called concurrently by the workers, and thus must be thread-safe.
+     *
+     * @param workerThreads the number of worker threads, at least {@code 1}
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setWorkerThreads(int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("The number of worker threads must be at least 1");
+        }
+        this.workerThreads = workerThreads;
+        return this;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Sets how the visited states are stored (default: {@link StateStorage#CANONICAL_STRING}).
+     * <p>
+     * With {@link StateStorage#FINGERPRINT}, the visited set only keeps a 128-bit fingerprint of each canonical
+     * string and the states are labeled by their fingerprint in the reaction graph.
+     * The full canonical strings are then only kept as state labels if they are exported
+     * (see {@link ExportOptions.Builder#setPrintCanonicalStateLabel(boolean)}).
+     * Two states whose fingerprints collide are treated as the same state; the probability is bounded in
+     * {@link FingerprintSet}.
+     * <p>
+     * <b>Note:</b> The fingerprints only reduce the memory of the visited set and of the labels. The reaction graph
+     * still stores the bigraph of each state, which usually dominates the memory of an exploration. To bound it as
+     * well, combine the fingerprints with {@link #setSpillToDisk(java.nio.file.Path, int)}, which keeps the states on
+     * disk, or use {@link StateStorage#BITSTATE}, which does not retain the reaction graph at all.
+     *
+     * @param stateStorage the kind of state storage
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setStateStorage(StateStorage stateStorage) {
+        this.stateStorage = Objects.requireNonNull(stateStorage);
+        return this;
+    }
+
+    public StateStorage getStateStorage() {
+        return stateStorage;
+    }
+
+    /**
+     * Configures the bitstate (supertrace) mode and enables it (see {@link StateStorage#BITSTATE}).
+     * <p>
+     * Each visited state sets {@code hashFunctions} bits in an off-heap bit array of {@code memoryInBytes} bytes.
+     * This allows to sweep state spaces that are far too large for the reaction graph, at the price of completeness:
+     * a state is skipped if all of its bits were already set by other states.
+     * The reaction graph is not retained; only the number of explored states and transitions
+     * (see {@link org.bigraphs.framework.core.reactivesystem.ReactionGraphStats#getExploredStateCount()}) and the
+     * predicate violations with their traces are reported.
+     *
+     * @param memoryInBytes the size of the bit array in bytes (default: 64 MiB)
+     * @param hashFunctions the number of bits per state (default: {@code 3})
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setBitstate(long memoryInBytes, int hashFunctions) {
+        if (memoryInBytes <= 0 || hashFunctions < 1) {
+            throw new IllegalArgumentException("The bitstate memory must be positive and at least one hash function is required");
+        }
+        this.stateStorage = StateStorage.BITSTATE;
+        this.bitstateMemory = memoryInBytes;
+        this.bitstateHashFunctions = hashFunctions;
+        return this;
+    }
+
+    public long getBitstateMemory() {
+        return bitstateMemory;
+    }
+
+    public int getBitstateHashFunctions() {
+        return bitstateHashFunctions;
+    }
+
+    /**
+     * Keeps the states outside the heap: the states of the reaction graph (see {@link SpillingStateMap}) and, for the
+     * breadth-first strategy, the states of the worklist (see {@link SpillingWorklist}) are written to memory-mapped
+     * files in the given directory. At most {@code inMemoryStates} states of each are kept on the heap.
+     * <p>
+     * The reaction graph still contains all states and transitions, but only the states themselves are stored on
+     * disk. The transition data that references the states
+     * ({@link org.bigraphs.framework.core.reactivesystem.ReactionGraph#getTransitionMap()}) is not recorded.
+     * Spilled states are restored on access. The canonical string of a spilled state of the worklist is stored with
+     * it, so that it is not computed again when the state is expanded.
+     *
+     * @param directory      the directory for the spill files
+     * @param inMemoryStates the number of states that are kept on the heap (default: {@code 100000})
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setSpillToDisk(Path directory, int inMemoryStates) {
+        if (inMemoryStates < 1) {
+            throw new IllegalArgumentException("At least one state must be kept in memory");
+        }
+        this.spillDirectory = Objects.requireNonNull(directory);
+        this.inMemoryStates = inMemoryStates;
+        return this;
+    }
+
+    public ModelCheckingOptions setSpillToDisk(File directory, int inMemoryStates) {
+        return setSpillToDisk(directory.toPath(), inMemoryStates);
+    }
+
+    public boolean isSpillToDisk() {
+        return spillDirectory != null;
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public int getInMemoryStates() {
+        return inMemoryStates;
+    }
+
+    /**
+     * Enables periodic checkpoints of the exploration in the given directory (see {@link ExplorationCheckpoint}).
+     * An interrupted exploration can then be continued via {@link BigraphModelChecker#resume(Path)}.
+     * <p>
+     * A checkpoint contains the reached states, the reaction graph, the worklist, the counters and the state of the
+     * strategy. Reached states and transitions are journaled continuously by a background thread; when a checkpoint
+     * is due, the exploration is only paused to take a snapshot of the worklist.
+     *
+     * @param directory the checkpoint directory
+     * @param interval  the time between two checkpoints (default: 10 minutes)
+     * @param unit      the time unit of the interval
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setCheckpointing(Path directory, long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+        this.checkpointDirectory = Objects.requireNonNull(directory);
+        this.checkpointInterval = interval;
+        this.checkpointIntervalUnit = Objects.requireNonNull(unit);
+        return this;
+    }
+
+    public boolean isCheckpointing() {
+        return checkpointDirectory != null;
+    }
+
+    public Path getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public TimeUnit getCheckpointIntervalUnit() {
+        return checkpointIntervalUnit;
+    }
+
     /**
      * Indicates, whether the reaction graph should permit the depiction of cycles.
      * If {@code false}, the reaction graph will visually represent a Directed Acyclic Graph (DAG).
@@ -157,6 +361,151 @@ public class ModelCheckingOptions {
         return this;
     }
 
+    /**
+     * Enables the partial-order reduction of the state space (default: {@code false}).
+     * <p>
+     * If a state has a rule occurrence that is independent of all other occurrences and invisible to the predicates,
+     * only this occurrence is applied, instead of all interleavings of independent occurrences
+     * (see {@link PartialOrderReduction} for the conditions). The reaction graph then contains fewer states and
+     * transitions, while the predicates are still evaluated on a representative of each interleaving.
+     * The conditions are only checked for matches of the native matching engine, which is therefore selected by
+     * default for the rules it supports (see {@link #getMatchingEngine()}); a state with other matches is not reduced.
+     *
+     * @param partialOrderReduction {@code true}, to explore only a representative interleaving of independent occurrences
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setPartialOrderReduction(boolean partialOrderReduction) {
+        this.partialOrderReduction = partialOrderReduction;
+        return this;
+    }
+
+    public boolean isPartialOrderReduction() {
+        return partialOrderReduction;
+    }
+
+    /**
+     * Selects the matching engine that the model checker uses to find the rule occurrences of pure bigraphs.
+     * <p>
+     * If no engine is selected, the native engine is used when the partial-order reduction or the symmetry reduction
+     * is enabled, and the jLibBig engine otherwise (see {@link #getMatchingEngine()}).
+     * In either case, the native engine only matches the rules that it can match and rewrite; the other rules are
+     * matched by the jLibBig engine (see {@link org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher}).
+     *
+     * @param matchingEngine the matching engine, or {@code null} to select it by the other options
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setMatchingEngine(BigraphMatchingEngine.Type matchingEngine) {
+        this.matchingEngine = matchingEngine;
+        return this;
+    }
+
+    /**
+     * Returns the selected matching engine. If none was selected explicitly, it is
+     * {@link BigraphMatchingEngine.Type#NATIVE} when the partial-order reduction or the symmetry reduction is enabled,
+     * because both reductions need the node embedding of the native matches, and
+     * {@link BigraphMatchingEngine.Type#JLIBBIG} otherwise. Rules that the native engine does not support are matched
+     * by the jLibBig engine in either case.
+     *
+     * @return the matching engine of the model checker
+     */
+    public BigraphMatchingEngine.Type getMatchingEngine() {
+        if (Objects.nonNull(matchingEngine)) {
+            return matchingEngine;
+        }
+        return partialOrderReduction || symmetryReduction ? BigraphMatchingEngine.Type.NATIVE : BigraphMatchingEngine.Type.JLIBBIG;
+    }
+
+    /**
+     * Enables the symmetry reduction of the state space (default: {@code false}).
+     * <p>
+     * The states are identified by their canonical form without node identifiers, so that one state per orbit of
+     * permuted replicas is explored, regardless of {@link TransitionOptions#allowReducibleClasses()}.
+     * Additionally, rule occurrences that are mapped to another occurrence by swapping interchangeable replicas are
+     * skipped before their result is built (see {@link InterchangeableSubtrees}).
+     * The number of skipped occurrences is reported by {@link ReactionGraphStats#getSymmetricOccurrenceCount()}.
+     * The redundant occurrences are only detected for matches of the native matching engine, which is therefore
+     * selected by default for the rules it supports (see {@link #getMatchingEngine()}); the matches of the other
+     * rules are all applied.
+     *
+     * @param symmetryReduction {@code true}, to explore one representative of each orbit
+     * @return the current options instance
+     */
+    public ModelCheckingOptions setSymmetryReduction(boolean symmetryReduction) {
+        this.symmetryReduction = symmetryReduction;
+        return this;
+    }
+
+    public boolean isSymmetryReduction() {
+        return symmetryReduction;
+    }
+
+    /**
+     * Identifies the states by the structural certificate of
+     * {@link org.bigraphs.framework.simulation.encoding.PureStructuralCanonicalForm} instead of the canonical string
+     * (default: {@code false}).
+     * <p>
+     * The certificate is computed in linear time per refinement round, but it is not a complete invariant. Therefore,
+     * it only selects a bucket of states: the canonical strings are computed for the states of a bucket that holds
+     * more than one state, so that non-isomorphic states with link graphs that colour refinement cannot distinguish
+     * are not merged. The labels of the states are only comparable within the same model checker.
+     *
+     * @param structuralCanonicalForm {@code true}, to use structural certificates as canonical forms
+     * @return the current options instance
+     * @see org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm#setStructural(boolean)
+     */
+    public ModelCheckingOptions setStructuralCanonicalForm(boolean structuralCanonicalForm) {
+        this.structuralCanonicalForm = structuralCanonicalForm;
+        return this;
+    }
+
+    public boolean isStructuralCanonicalForm() {
+        return structuralCanonicalForm;
+    }
+
+    /**
+     * Identifies the states by the certificate of
+     * {@link org.bigraphs.framework.simulation.encoding.PureIncrementalCanonicalForm} (default: {@code false}).
+     * <p>
+     * The subtree hashes of a state are cached at its instance model and handed over to its successors when they are
+     * rewritten natively, so that only the rewritten region of a successor is hashed again. The certificate is a weaker
+     * invariant than the structural certificate and is confirmed by the canonical strings in the same way, see
+     * {@link #setStructuralCanonicalForm(boolean)}.
+     * <p>
+     * Since the states share the cached hashes of the states they were rewritten from, the states are expanded
+     * sequentially and the rules are matched one after another, regardless of {@link #setWorkerThreads(int)} and
+     * {@link #setParallelRuleMatching(boolean)}.
+     *
+     * @param incrementalCanonicalForm {@code true}, to use incremental certificates as canonical forms
+     * @return the current options instance
+     * @see org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm#setIncremental(boolean)
+     */
+    public ModelCheckingOptions setIncrementalCanonicalForm(boolean incrementalCanonicalForm) {
+        this.incrementalCanonicalForm = incrementalCanonicalForm;
+        return this;
+    }
+
+    public boolean isIncrementalCanonicalForm() {
+        return incrementalCanonicalForm;
+    }
+
+    /**
+     * Ignores the order of the roots of the states (default: {@code false}), so that states that only differ by a
+     * permutation of their roots are merged. This is useful for agents with several roots, e.g., one root per
+     * location, whose order has no meaning for the system.
+     *
+     * @param unorderedRoots {@code true}, to identify states up to a permutation of their roots
+     * @return the current options instance
+     * @see org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm#setUnorderedRoots(boolean)
+     */
+    public ModelCheckingOptions setUnorderedRoots(boolean unorderedRoots) {
+        this.unorderedRoots = unorderedRoots;
+        return this;
+    }
+
+    public boolean isUnorderedRoots() {
+        return unorderedRoots;
+    }
+
     public <T extends Opts> T get(Options kind) {
         if (optsMap.size() == 0) {
             if (transitionOpts != null) {
@@ -190,8 +539,11 @@ public class ModelCheckingOptions {
     public static final class TransitionOptions implements Opts {
         //        @Min(1)
         private int maximumTransitions = 100;
-        private long maximumTime = 30;
+        private long maximumTime = 0;
         private TimeUnit maximumTimeUnit = TimeUnit.SECONDS;
+        private int maximumDepth = Integer.MAX_VALUE;
+        private int maximumFrontierSize = Integer.MAX_VALUE;
+        private long maximumHeapUsage = Long.MAX_VALUE;
         private boolean allowReducibleClasses;
 
         private boolean rewriteOpenLinks;
@@ -207,6 +559,14 @@ public class ModelCheckingOptions {
             this.rewriteOpenLinks = rewriteOpenLinks;
         }
 
+        TransitionOptions(int maximumTransitions, long maximumTime, TimeUnit maximumTimeUnit, int maximumDepth,
+                          int maximumFrontierSize, long maximumHeapUsage, boolean allowReducibleClasses, boolean rewriteOpenLinks) {
+            this(maximumTransitions, maximumTime, maximumTimeUnit, allowReducibleClasses, rewriteOpenLinks);
+            this.maximumDepth = maximumDepth;
+            this.maximumFrontierSize = maximumFrontierSize;
+            this.maximumHeapUsage = maximumHeapUsage;
+        }
+
         void setMaximumTransitions(int maximumTransitions) {
             this.maximumTransitions = maximumTransitions;
         }
@@ -231,10 +591,50 @@ public class ModelCheckingOptions {
             return maximumTimeUnit;
         }
 
+        /**
+         * The wall-clock time after which the exploration is stopped. A non-positive value disables the limit.
+         * <p>
+         * Default value is {@code 0}, i.e., the exploration is not limited in time.
+         *
+         * @return the maximum time in the unit {@link #getMaximumTimeUnit()}
+         */
         public long getMaximumTime() {
             return maximumTime;
         }
 
+        /**
+         * States at this distance from the initial state (in transitions) are not expanded anymore.
+         * <p>
+         * Default value is {@link Integer#MAX_VALUE}.
+         *
+         * @return the maximum depth of the exploration
+         */
+        public int getMaximumDepth() {
+            return maximumDepth;
+        }
+
+        /**
+         * The exploration is stopped if more states than this are waiting to be expanded.
+         * <p>
+         * Default value is {@link Integer#MAX_VALUE}.
+         *
+         * @return the maximum number of states in the worklist
+         */
+        public int getMaximumFrontierSize() {
+            return maximumFrontierSize;
+        }
+
+        /**
+         * The exploration is stopped if the used heap exceeds this number of bytes after a state was expanded.
+         * <p>
+         * Default value is {@link Long#MAX_VALUE}.
+         *
+         * @return the maximum heap usage in bytes
+         */
+        public long getMaximumHeapUsage() {
+            return maximumHeapUsage;
+        }
+
         /**
          * Flag that denotes whether to exploit the symmetries of the reaction graph or not.
          * <p>
@@ -260,19 +660,26 @@ public class ModelCheckingOptions {
                     .rewriteOpenLinks(this.rewriteOpenLinks)
                     .allowReducibleClasses(this.allowReducibleClasses)
                     .setMaximumTransitions(this.maximumTransitions)
-                    .setMaximumTime(this.maximumTime, this.maximumTimeUnit);
+                    .setMaximumTime(this.maximumTime, this.maximumTimeUnit)
+                    .setMaximumDepth(this.maximumDepth)
+                    .setMaximumFrontierSize(this.maximumFrontierSize)
+                    .setMaximumHeapUsage(this.maximumHeapUsage);
         }
 
         /**
          * Default values: <br>
          * <ul>
          *     <li>allow reducible classes: {@code false}</li>
+         *     <li>maximum time: {@code 0}, i.e., unlimited</li>
          * </ul>
          */
         public static class Builder {
             private int maximumTransitions;
             private TimeUnit maximumTimeUnit = TimeUnit.SECONDS;
-            private long maximumTime = 60;
+            private long maximumTime = 0;
+            private int maximumDepth = Integer.MAX_VALUE;
+            private int maximumFrontierSize = Integer.MAX_VALUE;
+            private long maximumHeapUsage = Long.MAX_VALUE;
             private boolean reduceStates = true;
             private boolean rewriteOpenLinks = false;
 
@@ -292,6 +699,27 @@ public class ModelCheckingOptions {
                 return this;
             }
 
+            public Builder setMaximumDepth(int maximumDepth) {
+                this.maximumDepth = maximumDepth;
+                return this;
+            }
+
+            public Builder setMaximumFrontierSize(int maximumFrontierSize) {
+                this.maximumFrontierSize = maximumFrontierSize;
+                return this;
+            }
+
+            /**
+             * Sets the heap high-water mark of the exploration.
+             *
+             * @param maximumHeapUsage the maximum used heap in bytes
+             * @return this builder
+             */
+            public Builder setMaximumHeapUsage(long maximumHeapUsage) {
+                this.maximumHeapUsage = maximumHeapUsage;
+                return this;
+            }
+
             /**
              * Flag to set whether to allow reducible classes for the reaction graph.
              *
@@ -309,7 +737,8 @@ public class ModelCheckingOptions {
             }
 
             public ModelCheckingOptions.TransitionOptions create() {
-                return new ModelCheckingOptions.TransitionOptions(maximumTransitions, maximumTime, maximumTimeUnit, reduceStates, rewriteOpenLinks);
+                return new ModelCheckingOptions.TransitionOptions(maximumTransitions, maximumTime, maximumTimeUnit,
+                        maximumDepth, maximumFrontierSize, maximumHeapUsage, reduceStates, rewriteOpenLinks);
             }
         }
     }
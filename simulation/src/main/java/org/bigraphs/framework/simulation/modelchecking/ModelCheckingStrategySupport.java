@@ -14,22 +14,38 @@
  */
 package org.bigraphs.framework.simulation.modelchecking;
 
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphDecoder;
 import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
 import org.bigraphs.framework.core.reactivesystem.*;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
 import org.bigraphs.framework.simulation.matching.MatchIterable;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
 import org.bigraphs.framework.simulation.modelchecking.predicates.PredicateChecker;
 import org.bigraphs.framework.simulation.modelchecking.predicates.SubBigraphMatchPredicate;
+import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.alg.shortestpath.BFSShortestPath;
+import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.graph.builder.GraphTypeBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,14 +66,18 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
 
     protected BigraphModelChecker<B> modelChecker;
     protected PredicateChecker<B> predicateChecker;
-    protected int occurrenceCounter = 0;
+    protected final AtomicInteger occurrenceCounter = new AtomicInteger(0);
     protected JLibBigBigraphDecoder decoder = new JLibBigBigraphDecoder();
     protected JLibBigBigraphEncoder encoder = new JLibBigBigraphEncoder();
 
     protected BigraphFilter<B> worklistFilter = BigraphFilter.noop();
     protected ReactionRuleFilter<B> reactionRuleFilter = ReactionRuleFilter.alwaysAccept();
+    protected final ControlHistogramFilter controlHistogramFilter = new ControlHistogramFilter();
 
-    protected boolean isRunning = true;
+    protected volatile boolean isRunning = true;
+    // only one run of synthesizeTransitionSystem() at a time; the monitor of the strategy is not held by the run, so
+    // that the workers can call synchronized methods of the strategy
+    private final ReentrantLock synthesisLock = new ReentrantLock();
 
     public ModelCheckingStrategySupport() {
     }
@@ -73,11 +93,11 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
     public abstract void addToWorklist(Collection<B> worklist, B bigraph);
 
     protected void resetOccurrenceCounter() {
-        occurrenceCounter = 0;
+        occurrenceCounter.set(0);
     }
 
     int getOccurrenceCount() {
-        return occurrenceCounter;
+        return occurrenceCounter.get();
     }
 
     ReactiveSystem<B> getReactiveSystem() {
@@ -100,99 +120,895 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
         return new MatchResult<>(reactionRule, next, bigraphRewritten, bfcfOfInitialBigraph, occurrenceCount);
     }
 
+    /**
+     * Creates a match result whose rewritten bigraph is only built when it is requested.
+     *
+     * @param reaction builds the rewritten bigraph
+     * @see #createMatchResult(ReactionRule, BigraphMatch, Bigraph, String, int)
+     */
+    MatchResult<B> createMatchResult(ReactionRule<B> reactionRule, BigraphMatch<B> next, Supplier<B> reaction, String bfcfOfInitialBigraph, int occurrenceCount) {
+        return MatchResult.lazy(reactionRule, next, reaction, bfcfOfInitialBigraph, occurrenceCount);
+    }
+
     /**
      * Main method for model checking.
      * The mode of traversal can be changed
      * by implementing the {@link #createWorklist()} and {@link #removeNext(Collection)} methods.
      * <p>
+     * If more than one worker thread is configured (see {@link ModelCheckingOptions#setWorkerThreads(int)}) and the
+     * strategy supports it (see {@link #supportsParallelExploration()}), the states are expanded by several workers
+     * that share the worklist, the visited set and the reaction graph. Otherwise, the states are expanded one after
+     * another in a deterministic order.
+     * <p>
+     * <b>Note:</b> With several workers, the listener of the model checker, the worklist filter
+     * (see {@link #setWorklistFilter(BigraphFilter)}), the reaction rule filter
+     * (see {@link #setReactionRuleFilter(ReactionRuleFilter)}) and the predicates of the reactive system are called
+     * concurrently by the workers, and thus must be thread-safe.
+     * <p>
      * Alternatively, the #synthesizeTransitionSystem() method can be simply overridden.
      */
-    public synchronized void synthesizeTransitionSystem() {
-        Collection<B> worklist = createWorklist();
-        Set<String> visitedStates = Collections.newSetFromMap(new ConcurrentHashMap<>());
-        AtomicInteger iterationCounter = new AtomicInteger(0);
+    public void synthesizeTransitionSystem() {
+        synthesisLock.lock();
+        try {
+            synthesize();
+        } finally {
+            synthesisLock.unlock();
+        }
+    }
 
+    private void synthesize() {
+        // the prepared agents are only shared within this exploration
+        PreparedAgent.Registry preparedAgents = new PreparedAgent.Registry();
+        PreparedAgent.Registry previous = preparedAgents.bind();
+        try {
+            synthesize(preparedAgents);
+        } finally {
+            PreparedAgent.Registry.restore(previous);
+        }
+    }
+
+    private void synthesize(PreparedAgent.Registry preparedAgents) {
         this.predicateChecker = new PredicateChecker<>(modelChecker.getReactiveSystem().getPredicates());
         ModelCheckingOptions options = modelChecker.options;
-        ModelCheckingOptions.TransitionOptions transitionOptions = options.get(ModelCheckingOptions.Options.TRANSITION);
-        boolean reactionGraphWithCycles = options.isReactionGraphWithCycles();
 
         modelChecker.getReactionGraph().reset();
+        setUpStateStorage(options);
 
         B initialAgent = modelChecker.getReactiveSystem().getAgent();
         it.uniud.mads.jlibbig.core.std.Bigraph encoded = encoder.encode((PureBigraph) initialAgent);
         initialAgent = (B) decoder.decode(encoded);
-        String rootBfcs = modelChecker.acquireCanonicalForm().bfcs(initialAgent);
-
-        addToWorklist(worklist, initialAgent);
-        visitedStates.add(rootBfcs);
         resetOccurrenceCounter();
+        controlHistogramFilter.resetAvoidedMatchCount();
+        Exploration exploration = new Exploration(options, modelChecker.acquireCanonicalForm(), preparedAgents, initialAgent, modelChecker.resumeFrom);
+
+        int workerThreads = options.getWorkerThreads();
+        if (workerThreads > 1 && supportsParallelExploration() && !exploration.canonicalForm.isIncremental()) {
+            exploreInParallel(exploration, workerThreads);
+        } else {
+            if (workerThreads > 1 && exploration.canonicalForm.isIncremental()) {
+                // the states share the cached subtree hashes of the agent they were rewritten from
+                logger.warn("The incremental canonical form does not support parallel exploration, the states are expanded sequentially");
+            } else if (workerThreads > 1) {
+                logger.warn("{} does not support parallel exploration, the states are expanded sequentially", getClass().getSimpleName());
+            }
+            exploreSequentially(exploration);
+        }
+        ReactionGraphStats.StopReason stopReason = exploration.getStopReason();
+        if (exploration.checkpointWriter != null) {
+            exploration.checkpoint();
+            exploration.checkpointWriter.close();
+        }
+        if (exploration.worklist instanceof SpillingWorklist spillingWorklist) {
+            spillingWorklist.close();
+        } else {
+            exploration.worklist.forEach(each -> PreparedAgent.release((PureBigraph) each));
+        }
+        exploration.canonicalForm.release();
+        if (!exploration.retainReactionGraph) {
+            modelChecker.getReactionGraph().getGraphStats()
+                    .setExploredCount(exploration.visitedStates.size(), exploration.exploredTransitions.get());
+        }
+        modelChecker.getReactionGraph().getGraphStats().setStopReason(stopReason);
+        modelChecker.getReactionGraph().getGraphStats().setSymmetricOccurrenceCount(exploration.symmetricOccurrences.get());
+        if (exploration.visitedStates instanceof BitstateSet bitstate) {
+            logger.debug("Bitstate: {} of {} bits set, omission probability {}", bitstate.getSetBitCount(), bitstate.getBitCount(), bitstate.getOmissionProbability());
+        }
+
+        logger.debug("Stop reason: {}", stopReason);
+        logger.debug("Total States: {}", exploration.iterationCounter.get());
+        logger.debug("Total Transitions: {}", modelChecker.getReactionGraph().getGraph().edgeSet().size());
+        logger.debug("Total Occurrences: {}", getOccurrenceCount());
+        logger.debug("Avoided match calls: {}", controlHistogramFilter.getAvoidedMatchCount());
+        if (exploration.partialOrderReduction != null) {
+            logger.debug("Reduced expansions: {}", exploration.reducedExpansions.get());
+        }
+        if (exploration.symmetryReduction) {
+            logger.debug("Symmetric occurrences: {} (reduction factor {})", exploration.symmetricOccurrences.get(),
+                    modelChecker.getReactionGraph().getGraphStats().getSymmetryReductionFactor());
+        }
+    }
 
+    /**
+     * Indicates whether the worklist of this strategy can be shared by several worker threads, i.e., whether
+     * {@link #createWorklist()} returns a concurrent collection and {@link #removeNext(Collection)} and
+     * {@link #addToWorklist(Collection, Bigraph)} may be called concurrently.
+     *
+     * @return {@code true}, if the strategy supports the parallel exploration of the state space
+     */
+    protected boolean supportsParallelExploration() {
+        return false;
+    }
+
+    /**
+     * Removes the next bigraph from a worklist that is shared by several workers.
+     *
+     * @param worklist the worklist
+     * @return the next bigraph, or {@code null} if the worklist is currently empty
+     */
+    protected B pollNext(Collection<B> worklist) {
+        try {
+            return worklist.isEmpty() ? null : removeNext(worklist);
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private void exploreSequentially(Exploration exploration) {
         while (
                 isRunning &&
-                        !worklist.isEmpty() &&
-                        iterationCounter.get() < transitionOptions.getMaximumTransitions()
+                        !exploration.worklist.isEmpty() &&
+                        exploration.iterationCounter.get() < exploration.maximumTransitions &&
+                        exploration.withinBudget()
         ) {
-            B theAgent = worklistFilter.apply(removeNext(worklist));
-            if (theAgent == null) continue;
+            exploration.expand(removeNext(exploration.worklist));
+            exploration.checkpointIfDue();
+        }
+    }
 
-            // String encoding for hashing and iso check
-            String bfcfOfW = modelChecker.acquireCanonicalForm().bfcs(theAgent);
+    /**
+     * Expands the states with several workers. Each worker takes the next state from the shared worklist and
+     * expands it. The exploration terminates when no state is left in the worklist and no worker is expanding a
+     * state anymore, because only these workers can add new states. A worker that finds the worklist empty while
+     * other workers are still expanding states waits until a new state is added or the exploration terminates.
+     */
+    private void exploreInParallel(Exploration exploration, int workerThreads) {
+        AtomicInteger pending = exploration.pending;
+        pending.set(exploration.worklist.size());
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < workerThreads; i++) {
+                tasks.add(() -> {
+                    PreparedAgent.Registry previous = exploration.preparedAgents.bind();
+                    try {
+                        work(exploration);
+                    } finally {
+                        PreparedAgent.Registry.restore(previous);
+                    }
+                    return null;
+                });
+            }
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> each : tasks) {
+                futures.add(workers.submit(each));
+            }
+            boolean interrupted = false;
+            for (Future<Void> each : futures) {
+                try {
+                    each.get();
+                } catch (InterruptedException e) {
+                    // the workers stop after their current state, then the exploration is finished regularly
+                    interrupted = true;
+                    exploration.stop(ReactionGraphStats.StopReason.CANCELLED);
+                    Uninterruptibles.getUninterruptibly(each);
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
 
-            // Predicate checking (unchanged)
-            evaluatePredicates(theAgent, bfcfOfW, rootBfcs);
+    /**
+     * Takes the next state from the shared worklist and expands it until the exploration terminates.
+     */
+    private void work(Exploration exploration) {
+        AtomicInteger pending = exploration.pending;
+        while (isRunning && exploration.iterationCounter.get() < exploration.maximumTransitions && exploration.withinBudget()) {
+            // a state is taken and expanded under the read lock, so that a checkpoint never misses it
+            if (exploration.checkpointLock != null) exploration.checkpointLock.readLock().lock();
+            B next;
+            try {
+                next = pollNext(exploration.worklist);
+                if (next != null) {
+                    try {
+                        exploration.expand(next);
+                    } finally {
+                        if (pending.decrementAndGet() == 0) exploration.signalWork(true);
+                    }
+                }
+            } finally {
+                if (exploration.checkpointLock != null) exploration.checkpointLock.readLock().unlock();
+            }
+            if (next == null) {
+                if (pending.get() == 0) break;
+                exploration.awaitWork();
+                continue;
+            }
+            exploration.checkpointIfDue();
+        }
+    }
 
-            Queue<MatchResult<B>> reactionResults = new ConcurrentLinkedQueue<>();
+    // the maximum time an idle worker waits before it checks the budgets of the exploration again
+    private static final long IDLE_WAIT_MILLIS = 10;
+
+    /**
+     * The state of a single run of {@link #synthesizeTransitionSystem()} that is shared by all workers.
+     */
+    private class Exploration {
+        final Collection<B> worklist = createWorklist();
+        final VisitedStateSet visitedStates;
+        final AtomicInteger iterationCounter = new AtomicInteger(0);
+        final AtomicLong exploredTransitions = new AtomicLong(0);
+        // number of states in the worklist or currently expanded (only maintained by the parallel exploration)
+        final AtomicInteger pending = new AtomicInteger(0);
+        // the workers that wait for a new state in awaitWork()
+        final AtomicInteger idleWorkers = new AtomicInteger(0);
+        final Object idleMonitor = new Object();
+        // number of states in the worklist
+        final AtomicInteger frontierSize = new AtomicInteger(0);
+        final List<ReactionRule<B>> sortedRules;
+        final BigraphCanonicalForm canonicalForm;
+        // bound to all threads that expand the states of this exploration
+        final PreparedAgent.Registry preparedAgents;
+        final String rootLabel;
+        final int maximumTransitions;
+        final int maximumDepth;
+        final int maximumFrontierSize;
+        final long maximumHeapUsage;
+        // System.nanoTime() at which the time budget is exhausted
+        final long deadline;
+        final boolean reactionGraphWithCycles;
+        final boolean parallelRuleMatching;
+        final boolean concurrent;
+        // false in the bitstate mode: the states are not added to the reaction graph
+        final boolean retainReactionGraph;
+        // the parent pointers of the states in the worklist, by their label; the chains of the expanded states are
+        // only reachable from their descendants in the worklist
+        final Map<String, StateTrace> traces = new ConcurrentHashMap<>();
+        // null if checkpointing is disabled
+        final ExplorationCheckpoint.Writer checkpointWriter;
+        final ReadWriteLock checkpointLock;
+        final long checkpointInterval;
+        volatile long nextCheckpoint;
+        // the first budget that was exceeded, or null
+        volatile ReactionGraphStats.StopReason stopReason;
+        // whether a state was not expanded because of the maximum depth
+        volatile boolean depthBoundReached;
+        // null if the partial-order reduction is disabled
+        final PartialOrderReduction partialOrderReduction;
+        // number of states that were expanded by a single occurrence
+        final AtomicLong reducedExpansions = new AtomicLong(0);
+        final boolean symmetryReduction;
+        // number of occurrences that were skipped because they are symmetric to another occurrence
+        final AtomicLong symmetricOccurrences = new AtomicLong(0);
+        // whether the results of native matches are only built for new states (see canonicalStringOf)
+        final boolean inPlaceReactions;
+
+        Exploration(ModelCheckingOptions options, BigraphCanonicalForm canonicalForm, PreparedAgent.Registry preparedAgents,
+                    B initialAgent, Path resumeFrom) {
+            ModelCheckingOptions.TransitionOptions transitionOptions = options.get(ModelCheckingOptions.Options.TRANSITION);
+            this.maximumTransitions = transitionOptions.getMaximumTransitions();
+            this.maximumDepth = transitionOptions.getMaximumDepth();
+            this.maximumFrontierSize = transitionOptions.getMaximumFrontierSize();
+            this.maximumHeapUsage = transitionOptions.getMaximumHeapUsage();
+            this.deadline = transitionOptions.getMaximumTime() > 0
+                    ? System.nanoTime() + transitionOptions.getMaximumTimeUnit().toNanos(transitionOptions.getMaximumTime())
+                    : Long.MAX_VALUE;
+            this.reactionGraphWithCycles = options.isReactionGraphWithCycles();
+            // the rewritten states share the cached subtree hashes of the agent with the incremental canonical form
+            this.parallelRuleMatching = options.isParallelRuleMatching() && !canonicalForm.isIncremental();
+            this.concurrent = options.getWorkerThreads() > 1;
+            this.canonicalForm = canonicalForm;
+            this.preparedAgents = preparedAgents;
+            this.visitedStates = createVisitedStateSet(options);
+            this.retainReactionGraph = options.getStateStorage() != ModelCheckingOptions.StateStorage.BITSTATE;
 
-            // Reaction Rules
-            // AbstractReactionRuleSupplier<B> inOrder = AbstractReactionRuleSupplier.createInOrder(modelChecker.getReactiveSystem().getReactionRules());
-            Stream<ReactionRule<B>> rrStream; // = Stream.generate(inOrder);
             // Sort by priority
-            List<ReactionRule<B>> sortedRules = new ArrayList<>(modelChecker.getReactiveSystem().getReactionRules());
-            sortedRules.sort(Comparator.comparingLong(HasPriority::getPriority));
-            rrStream = sortedRules.stream();
+            this.sortedRules = new ArrayList<>(modelChecker.getReactiveSystem().getReactionRules());
+            this.sortedRules.sort(Comparator.comparingLong(HasPriority::getPriority));
+            this.partialOrderReduction = options.isPartialOrderReduction() && initialAgent instanceof PureBigraph
+                    ? createPartialOrderReduction() : null;
+            this.symmetryReduction = options.isSymmetryReduction() && initialAgent instanceof PureBigraph;
+
+            ExplorationCheckpoint checkpoint = resumeFrom == null ? null
+                    : ExplorationCheckpoint.read(resumeFrom, (DynamicSignature) initialAgent.getSignature());
+            // the journal is continued if the exploration is resumed from the same directory
+            boolean continueJournal = checkpoint != null && options.isCheckpointing()
+                    && resumeFrom.toAbsolutePath().normalize().equals(options.getCheckpointDirectory().toAbsolutePath().normalize());
+            if (options.isCheckpointing()) {
+                this.checkpointWriter = new ExplorationCheckpoint.Writer(options.getCheckpointDirectory(), continueJournal ? checkpoint.getJournalLength() : 0);
+                this.checkpointLock = new ReentrantReadWriteLock();
+                this.checkpointInterval = options.getCheckpointIntervalUnit().toNanos(options.getCheckpointInterval());
+                this.nextCheckpoint = System.nanoTime() + checkpointInterval;
+            } else {
+                this.checkpointWriter = null;
+                this.checkpointLock = null;
+                this.checkpointInterval = 0;
+            }
+            // the agent is rewritten in place, unless another thread may read it meanwhile (the checkpoint writer or
+            // the spilling state storage), or the canonical form keeps the labelled bigraphs (certificate buckets)
+            this.inPlaceReactions = checkpointWriter == null && !options.isSpillToDisk() && !canonicalForm.usesCertificates()
+                    && modelChecker.getReactiveSystem() instanceof PureReactiveSystem;
+
+            if (checkpoint != null) {
+                this.rootLabel = restore(checkpoint, checkpointWriter != null && !continueJournal);
+            } else {
+                String rootBfcs = canonicalForm.bfcs(initialAgent);
+                this.rootLabel = visitedStates.addIfAbsent(rootBfcs).label();
+                traces.put(rootLabel, new StateTrace(rootLabel, null, null));
+                enqueue(initialAgent, rootBfcs);
+                frontierSize.incrementAndGet();
+                if (checkpointWriter != null) {
+                    checkpointWriter.state(rootLabel, rootBfcs, retainReactionGraph ? (PureBigraph) initialAgent : null);
+                }
+            }
+            if (checkpointWriter != null) {
+                checkpoint();
+            }
+        }
 
-            if (options.isParallelRuleMatching()) rrStream = rrStream.parallel();
+        /**
+         * Restores the visited states, the reaction graph, the worklist, the counters and the strategy state from a
+         * checkpoint. The states are labeled anew, since the state storage may differ from the one of the checkpoint.
+         * The journal and the frontier are streamed, so only the labels of the relabeled states are kept aside.
+         *
+         * @param checkpoint the checkpoint
+         * @param journal    whether the restored states and transitions are written to the new journal
+         * @return the label of the initial state
+         */
+        @SuppressWarnings("unchecked")
+        private String restore(ExplorationCheckpoint checkpoint, boolean journal) {
+            ReactionGraph<B> reactionGraph = modelChecker.getReactionGraph();
+            ReactiveSystem<B> reactiveSystem = modelChecker.getReactiveSystem();
+            // the new labels of the states whose label changed
+            Map<String, String> labels = new HashMap<>();
+            // the states that are not part of the reaction graph yet, i.e., until their first transition is replayed
+            Map<String, B> unconnected = new HashMap<>();
+            String[] rootLabel = new String[1];
+            checkpoint.replayJournal(state -> {
+                VisitedStateSet.Visit visit = visitedStates.addIfAbsent(state.fingerprint());
+                boolean canonicalLabel = false;
+                if (visit == null) {
+                    // labels that are derived from certificates are only comparable within the same instance
+                    String bfcs = state.canonicalLabel() && !canonicalForm.usesCertificates() ? state.label() : canonicalStringOf(state);
+                    visit = visitedStates.addIfAbsent(bfcs);
+                    canonicalLabel = visit.label().equals(bfcs);
+                }
+                String label = visit.label();
+                if (!label.equals(state.label())) labels.put(state.label(), label);
+                if (rootLabel[0] == null) rootLabel[0] = label;
+                if (retainReactionGraph && state.bigraph() != null) unconnected.put(label, (B) state.bigraph());
+                if (journal) checkpointWriter.state(label, canonicalLabel, state.fingerprint(), retainReactionGraph ? state.bigraph() : null);
+            }, transition -> {
+                if (!retainReactionGraph) return;
+                String sourceLabel = labels.getOrDefault(transition.sourceLabel(), transition.sourceLabel());
+                String targetLabel = labels.getOrDefault(transition.targetLabel(), transition.targetLabel());
+                B source = unconnected.containsKey(sourceLabel) ? unconnected.remove(sourceLabel) : reactionGraph.getStateByLabel(sourceLabel).orElse(null);
+                B target = unconnected.containsKey(targetLabel) ? unconnected.remove(targetLabel) : reactionGraph.getStateByLabel(targetLabel).orElse(null);
+                if (source == null || target == null) return;
+                // the match is not part of the checkpoint
+                MatchResult<B> reaction = createMatchResult(reactiveSystem.getReactionRulesMap().get(transition.ruleLabel()),
+                        null, target, sourceLabel, 0);
+                reactionGraph.addEdge(source, sourceLabel, target, targetLabel, reaction, transition.ruleLabel());
+                if (journal) checkpointWriter.transition(sourceLabel, targetLabel, transition.ruleLabel());
+            });
+            Map<String, StateTrace> restoredTraces = retainReactionGraph ? breadthFirstTraces(rootLabel[0]) : Map.of();
+            checkpoint.forEachFrontierState(each -> {
+                String bfcs = canonicalForm.bfcs(each);
+                String label = visitedStates.labelOf(bfcs);
+                // without the reaction graph, the traces of the frontier states start at the states themselves
+                traces.put(label, restoredTraces.getOrDefault(label, new StateTrace(label, null, null)));
+                enqueue((B) each, bfcs);
+                frontierSize.incrementAndGet();
+            });
+            iterationCounter.set((int) checkpoint.getStateCount());
+            exploredTransitions.set(checkpoint.getExploredTransitionCount());
+            occurrenceCounter.set((int) checkpoint.getOccurrenceCount());
+            try {
+                readStrategyState(new DataInputStream(new ByteArrayInputStream(checkpoint.getStrategyState())));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rootLabel[0];
+        }
+
+        /**
+         * Computes the canonical string of a journaled state for a visited-state set that needs the canonical strings.
+         */
+        private String canonicalStringOf(ExplorationCheckpoint.State state) {
+            if (state.bigraph() == null) {
+                throw new IllegalStateException("The checkpoint contains no bigraphs, its states can only be restored " +
+                        "into a state storage that labels the states by their fingerprint");
+            }
+            return canonicalForm.bfcs(state.bigraph());
+        }
+
+        /**
+         * Computes the parent pointers of the restored reaction graph by a breadth-first search from the initial state.
+         *
+         * @param rootLabel the label of the initial state
+         * @return the trace of each reachable state by its label
+         */
+        private Map<String, StateTrace> breadthFirstTraces(String rootLabel) {
+            Graph<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> graph = modelChecker.getReactionGraph().getGraph();
+            Optional<ReactionGraph.LabeledNode> root = modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(rootLabel);
+            Map<String, StateTrace> result = new HashMap<>();
+            if (root.isEmpty()) return result;
+            Deque<ReactionGraph.LabeledNode> queue = new ArrayDeque<>();
+            result.put(rootLabel, new StateTrace(rootLabel, null, null));
+            queue.add(root.get());
+            while (!queue.isEmpty()) {
+                ReactionGraph.LabeledNode node = queue.poll();
+                StateTrace parent = result.get(node.getCanonicalForm());
+                for (ReactionGraph.LabeledEdge edge : graph.outgoingEdgesOf(node)) {
+                    ReactionGraph.LabeledNode target = graph.getEdgeTarget(edge);
+                    if (!result.containsKey(target.getCanonicalForm())) {
+                        result.put(target.getCanonicalForm(), new StateTrace(target.getCanonicalForm(), edge.getLabel(), parent));
+                        queue.add(target);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Checks the budgets of the exploration and whether it was cancelled. It is called before a state is taken
+         * from the worklist.
+         *
+         * @return {@code false}, if the exploration must stop
+         */
+        boolean withinBudget() {
+            if (stopReason != null) return false;
+            if (modelChecker.cancelled || Thread.currentThread().isInterrupted()) {
+                stop(ReactionGraphStats.StopReason.CANCELLED);
+            } else if (System.nanoTime() - deadline >= 0 && deadline != Long.MAX_VALUE) {
+                stop(ReactionGraphStats.StopReason.MAXIMUM_TIME);
+            } else if (frontierSize.get() > maximumFrontierSize) {
+                stop(ReactionGraphStats.StopReason.MAXIMUM_FRONTIER);
+            } else if (maximumHeapUsage != Long.MAX_VALUE && usedHeap() > maximumHeapUsage) {
+                stop(ReactionGraphStats.StopReason.MAXIMUM_HEAP);
+            }
+            return stopReason == null;
+        }
+
+        void stop(ReactionGraphStats.StopReason reason) {
+            synchronized (this) {
+                if (stopReason == null) stopReason = reason;
+            }
+            signalWork(true);
+        }
+
+        /**
+         * Blocks an idle worker until a state is added to the worklist, the exploration terminates, or a short
+         * timeout elapses, after which the worker checks the budgets again.
+         */
+        void awaitWork() {
+            synchronized (idleMonitor) {
+                // registered before the worklist is checked, so that a state added meanwhile signals this worker
+                idleWorkers.incrementAndGet();
+                try {
+                    if (worklist.isEmpty() && pending.get() > 0 && stopReason == null) {
+                        idleMonitor.wait(IDLE_WAIT_MILLIS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    idleWorkers.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Wakes up idle workers after a state was added to the worklist, or all of them if the exploration
+         * terminates.
+         *
+         * @param all whether all idle workers are woken up
+         */
+        void signalWork(boolean all) {
+            if (idleWorkers.get() == 0) return;
+            synchronized (idleMonitor) {
+                if (all) {
+                    idleMonitor.notifyAll();
+                } else {
+                    idleMonitor.notify();
+                }
+            }
+        }
+
+        /**
+         * Returns why the exploration stopped. Must be called before the worklist is released.
+         */
+        ReactionGraphStats.StopReason getStopReason() {
+            if (stopReason != null) return stopReason;
+            if (!isRunning) return ReactionGraphStats.StopReason.STOPPED;
+            if (!worklist.isEmpty()) return ReactionGraphStats.StopReason.MAXIMUM_TRANSITIONS;
+            if (depthBoundReached) return ReactionGraphStats.StopReason.MAXIMUM_DEPTH;
+            return ReactionGraphStats.StopReason.COMPLETED;
+        }
+
+        private long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        /**
+         * Writes a checkpoint if the checkpoint interval has elapsed.
+         */
+        void checkpointIfDue() {
+            if (checkpointWriter == null || System.nanoTime() < nextCheckpoint) return;
+            // waits until the states that are currently expanded are done
+            checkpointLock.writeLock().lock();
+            try {
+                if (System.nanoTime() < nextCheckpoint) return;
+                checkpoint();
+            } finally {
+                checkpointLock.writeLock().unlock();
+            }
+        }
 
-            rrStream
-                    .limit(modelChecker.getReactiveSystem().getReactionRules().size())
+        /**
+         * Commits a checkpoint. Only a snapshot of the worklist and the strategy state are taken here;
+         * the encoding and writing is done by the background thread of the checkpoint writer.
+         * Of a {@link SpillingWorklist}, only the states on the heap are copied.
+         * Must not be called while states are expanded.
+         */
+        @SuppressWarnings("unchecked")
+        void checkpoint() {
+            ByteArrayOutputStream strategyState = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(strategyState)) {
+                writeStrategyState(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (worklist instanceof SpillingWorklist spillingWorklist) {
+                // the spilled states are copied by the writer without decoding them
+                checkpointWriter.commit(spillingWorklist.snapshot(), iterationCounter.get(),
+                        occurrenceCounter.get(), exploredTransitions.get(), strategyState.toByteArray());
+            } else {
+                checkpointWriter.commit(new ArrayList<>((Collection<PureBigraph>) worklist), iterationCounter.get(),
+                        occurrenceCounter.get(), exploredTransitions.get(), strategyState.toByteArray());
+            }
+            nextCheckpoint = System.nanoTime() + checkpointInterval;
+        }
+
+        void expand(B next) {
+            // a strategy may yield no state, e.g., when it stops itself
+            if (next == null) return;
+            // the label is taken from the state that was added to the worklist, a filter may replace the agent
+            String labelOfNext = visitedStates.labelOf(PreparedAgent.prepare((PureBigraph) next).getCanonicalString(canonicalForm));
+            StateTrace trace = traces.remove(labelOfNext);
+            frontierSize.decrementAndGet();
+            B theAgent = worklistFilter.apply(next);
+            if (theAgent != next) PreparedAgent.release((PureBigraph) next);
+            if (theAgent == null) return;
+
+            // The agent is encoded at most once for all rules, predicates and the rewriting step of this state.
+            // Its canonical string was already computed when it was reached.
+            PreparedAgent preparedAgent = PreparedAgent.prepare((PureBigraph) theAgent);
+            String labelOfW = theAgent == next ? labelOfNext : visitedStates.labelOf(preparedAgent.getCanonicalString(canonicalForm));
+
+            // the trace is only reconstructed if a predicate is violated
+            Supplier<GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge>> counterExampleTrace =
+                    () -> Objects.requireNonNull(trace, "No trace available for the state").toGraphPath(this::nodeOf);
+            evaluatePredicates(theAgent, labelOfW, counterExampleTrace);
+
+            if (trace != null && trace.depth >= maximumDepth) {
+                depthBoundReached = true;
+                PreparedAgent.release((PureBigraph) theAgent);
+                return;
+            }
+
+            InterchangeableSubtrees symmetries = symmetryReduction ? new InterchangeableSubtrees((PureBigraph) theAgent) : null;
+
+            // Reaction Rules
+            Stream<ReactionRule<B>> rrStream = sortedRules.stream();
+            if (parallelRuleMatching) rrStream = rrStream.parallel();
+
+            List<MatchResult<B>> results = rrStream
                     .peek(rule -> getListener().onCheckingReactionRule(rule))
+                    .filter(rule -> mayMatch(rule, theAgent))
                     .filter(rule -> reactionRuleFilter.accept(rule, theAgent))
                     .flatMap(rule -> {
-                        MatchIterable<BigraphMatch<B>> matches = getBigraphMatches(rule, theAgent);
-                        for (BigraphMatch<B> match : matches) {
-                            occurrenceCounter++;
-                            B reaction = (theAgent.getSites().isEmpty() || match.getParameters().isEmpty())
-                                    ? getReactiveSystem().buildGroundReaction(theAgent, match, rule)
-                                    : getReactiveSystem().buildParametricReaction(theAgent, match, rule);
-
-                            if (reaction != null)
-                                reactionResults.add(createMatchResult(rule, match, reaction, bfcfOfW, getOccurrenceCount()));
-                            else
-                                getListener().onReactionIsNull();
+                        // the rules may be matched by the threads of the common pool
+                        PreparedAgent.Registry previous = preparedAgents.bind();
+                        try {
+                            return match(rule, theAgent, labelOfW, symmetries).stream();
+                        } finally {
+                            PreparedAgent.Registry.restore(previous);
                         }
-                        return reactionResults.stream();
                     })
-                    .forEachOrdered(matchResult -> {
-                        String bfcf = modelChecker.acquireCanonicalForm().bfcs(matchResult.getBigraph());
-                        String ruleLabel = modelChecker.getReactiveSystem().getReactionRulesMap().inverse().get(matchResult.getReactionRule());
-
-                        if (!visitedStates.contains(bfcf)) {
-                            modelChecker.getReactionGraph().addEdge(theAgent, bfcfOfW, matchResult.getBigraph(), bfcf, matchResult, ruleLabel);
-                            addToWorklist(worklist, matchResult.getBigraph());
-                            visitedStates.add(bfcf);
-                            getListener().onUpdateReactionRuleApplies(theAgent, matchResult.getReactionRule(), matchResult.getMatch());
-                            modelChecker.exportState(matchResult.getBigraph(), bfcf, String.valueOf(matchResult.getOccurrenceCount()));
-                            iterationCounter.incrementAndGet();
-                        } else if (reactionGraphWithCycles) {
-                            modelChecker.getReactionGraph().addEdge(theAgent, bfcfOfW, matchResult.getBigraph(), bfcf, matchResult, ruleLabel);
-                        }
-                    });
+                    .toList();
+
+            int ample = partialOrderReduction == null ? -1
+                    : partialOrderReduction.selectAmple((PureBigraph) theAgent, (List<? extends BMatchResult<PureBigraph>>) (List<?>) results);
+            String bfcfOfAmple = null;
+            VisitedStateSet.Visit ampleVisit = null;
+            if (ample >= 0) {
+                bfcfOfAmple = canonicalStringOf(theAgent, results.get(ample));
+                ampleVisit = visitedStates.addIfAbsent(bfcfOfAmple);
+                // cycle proviso: the state is only reduced if the selected occurrence leads to a new state,
+                // otherwise, the occurrences of a cycle could be postponed forever
+                if (ampleVisit.isNew()) {
+                    reducedExpansions.incrementAndGet();
+                    process(theAgent, labelOfW, trace, results.get(ample), bfcfOfAmple, ampleVisit);
+                    PreparedAgent.release((PureBigraph) theAgent);
+                    return;
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                MatchResult<B> matchResult = results.get(i);
+                if (i == ample) {
+                    process(theAgent, labelOfW, trace, matchResult, bfcfOfAmple, ampleVisit);
+                } else {
+                    String bfcf = canonicalStringOf(theAgent, matchResult);
+                    process(theAgent, labelOfW, trace, matchResult, bfcf, visitedStates.addIfAbsent(bfcf));
+                }
+            }
+            PreparedAgent.release((PureBigraph) theAgent);
         }
 
-        logger.debug("Total States: {}", iterationCounter.get());
-        logger.debug("Total Transitions: {}", modelChecker.getReactionGraph().getGraph().edgeSet().size());
-        logger.debug("Total Occurrences: {}", getOccurrenceCount());
+        private List<MatchResult<B>> match(ReactionRule<B> rule, B theAgent, String labelOfW, InterchangeableSubtrees symmetries) {
+            List<MatchResult<B>> reactionResults = new ArrayList<>();
+            MatchIterable<BigraphMatch<B>> matches = getBigraphMatches(rule, theAgent);
+            for (BigraphMatch<B> match : matches) {
+                if (symmetries != null && symmetries.isRedundant(match)) {
+                    symmetricOccurrences.incrementAndGet();
+                    continue;
+                }
+                int occurrenceCount = occurrenceCounter.incrementAndGet();
+                if (inPlaceReactions && ((PureBigraphMatch) match).isNativeMatch()) {
+                    reactionResults.add(createMatchResult(rule, match,
+                            () -> getReactiveSystem().buildGroundReaction(theAgent, match, rule), labelOfW, occurrenceCount));
+                    continue;
+                }
+                B reaction = (theAgent.getSites().isEmpty() || match.getParameters().isEmpty())
+                        ? getReactiveSystem().buildGroundReaction(theAgent, match, rule)
+                        : getReactiveSystem().buildParametricReaction(theAgent, match, rule);
+
+                if (reaction != null)
+                    reactionResults.add(createMatchResult(rule, match, reaction, labelOfW, occurrenceCount));
+                else
+                    getListener().onReactionIsNull();
+            }
+            return reactionResults;
+        }
+
+        /**
+         * Returns the canonical string of the result of an occurrence. The result of a native match that was not
+         * built yet is computed on the agent in place (see {@link PureReactiveSystem#inspectReaction}), so that the
+         * agent is only copied if the result is a new state.
+         */
+        @SuppressWarnings("unchecked")
+        private String canonicalStringOf(B theAgent, MatchResult<B> matchResult) {
+            if (matchResult.isBuilt()) {
+                return canonicalForm.bfcs(matchResult.getBigraph());
+            }
+            return ((PureReactiveSystem) modelChecker.getReactiveSystem()).inspectReaction((PureBigraph) theAgent,
+                    (PureBigraphMatch) matchResult.getMatch(), (ReactionRule<PureBigraph>) matchResult.getReactionRule(),
+                    canonicalForm::bfcs);
+        }
+
+        /**
+         * Adds the transition of an occurrence to the reaction graph and its result to the worklist, if it is a new
+         * state.
+         *
+         * @param bfcf  the canonical string of the result
+         * @param visit the label of the result and whether it was added to the visited states by the caller
+         */
+        private void process(B theAgent, String labelOfW, StateTrace trace, MatchResult<B> matchResult, String bfcf, VisitedStateSet.Visit visit) {
+            String label = visit.label();
+            String ruleLabel = modelChecker.getReactiveSystem().getReactionRulesMap().inverse().get(matchResult.getReactionRule());
+
+            exploredTransitions.incrementAndGet();
+            if (visit.isNew()) {
+                if (checkpointWriter != null) {
+                    checkpointWriter.state(label, bfcf, retainReactionGraph ? (PureBigraph) matchResult.getBigraph() : null);
+                }
+                if (retainReactionGraph) {
+                    modelChecker.getReactionGraph().addEdge(theAgent, labelOfW, matchResult.getBigraph(), label, matchResult, ruleLabel);
+                    if (checkpointWriter != null) checkpointWriter.transition(labelOfW, label, ruleLabel);
+                }
+                traces.put(label, new StateTrace(label, ruleLabel, trace));
+                if (concurrent) pending.incrementAndGet();
+                frontierSize.incrementAndGet();
+                enqueue(matchResult.getBigraph(), bfcf);
+                if (concurrent) signalWork(false);
+                getListener().onUpdateReactionRuleApplies(theAgent, matchResult.getReactionRule(), matchResult.getMatch());
+                modelChecker.exportState(matchResult.getBigraph(), label, String.valueOf(matchResult.getOccurrenceCount()));
+                iterationCounter.incrementAndGet();
+            } else if (retainReactionGraph && reactionGraphWithCycles) {
+                // the result is a known state, so it is only built if the reaction graph does not hold the state yet
+                B target = matchResult.isBuilt() ? matchResult.getBigraph()
+                        : modelChecker.getReactionGraph().getStateByLabel(label).orElseGet(matchResult::getBigraph);
+                modelChecker.getReactionGraph().addEdge(theAgent, labelOfW, target, label, matchResult, ruleLabel);
+                if (checkpointWriter != null) checkpointWriter.transition(labelOfW, label, ruleLabel);
+            }
+        }
+
+        /**
+         * Adds a new state to the worklist. The state is registered as {@link PreparedAgent} with its canonical
+         * string, so that it is not computed again when the state is expanded. A {@link SpillingWorklist} only
+         * registers the states that it keeps on the heap.
+         *
+         * @param state the new state
+         * @param bfcs  the canonical string of the state
+         */
+        void enqueue(B state, String bfcs) {
+            if (worklist instanceof SpillingWorklist spillingWorklist) {
+                spillingWorklist.offer((PureBigraph) state, bfcs);
+            } else {
+                PreparedAgent.prepare((PureBigraph) state).setCanonicalString(canonicalForm, bfcs);
+                addToWorklist(worklist, state);
+            }
+        }
+
+        PartialOrderReduction createPartialOrderReduction() {
+            PartialOrderReduction reduction = new PartialOrderReduction(
+                    (Collection<ReactionRule<PureBigraph>>) (Collection<?>) sortedRules,
+                    (Collection<ReactiveSystemPredicate<PureBigraph>>) (Collection<?>) modelChecker.getReactiveSystem().getPredicates());
+            if (!reduction.isApplicable()) {
+                logger.warn("Partial-order reduction is disabled: it requires linear rules and predicates that match a pattern");
+                return null;
+            }
+            return reduction;
+        }
+
+        /**
+         * Returns the node of a state in the reaction graph, or a new node if the reaction graph is not retained.
+         */
+        ReactionGraph.LabeledNode nodeOf(String label) {
+            if (retainReactionGraph) {
+                Optional<ReactionGraph.LabeledNode> node = modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(label);
+                if (node.isPresent()) return node.get();
+            }
+            return new ReactionGraph.DefaultLabeledNode(label, label);
+        }
+    }
+
+    /**
+     * The path from the initial state to a state in the worklist, as a chain of parent pointers: each state of the
+     * chain references the state from which it was discovered first and the rule that led to it.
+     * A chain is only reachable as long as one of its states (or a successor) is in the worklist.
+     * The trace is reconstructed in time linear to the depth of the state.
+     */
+    private static final class StateTrace {
+        final String label;
+        final String ruleLabel;
+        final StateTrace parent;
+        // the number of transitions from the initial state
+        final int depth;
+
+        StateTrace(String label, String ruleLabel, StateTrace parent) {
+            this.label = label;
+            this.ruleLabel = ruleLabel;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        /**
+         * Returns the trace from the initial state to this state.
+         *
+         * @param nodes provides the node of a state by its label
+         */
+        GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> toGraphPath(Function<String, ReactionGraph.LabeledNode> nodes) {
+            Deque<StateTrace> chain = new ArrayDeque<>();
+            for (StateTrace each = this; each != null; each = each.parent) {
+                chain.addFirst(each);
+            }
+            Graph<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> path = GraphTypeBuilder.<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge>directed()
+                    .allowingMultipleEdges(true)
+                    .allowingSelfLoops(true)
+                    .buildGraph();
+            List<ReactionGraph.LabeledNode> vertices = new ArrayList<>(chain.size());
+            for (StateTrace each : chain) {
+                ReactionGraph.LabeledNode node = nodes.apply(each.label);
+                path.addVertex(node);
+                if (!vertices.isEmpty()) {
+                    path.addEdge(vertices.get(vertices.size() - 1), node, new ReactionGraph.LabeledEdge(each.ruleLabel));
+                }
+                vertices.add(node);
+            }
+            return new GraphWalk<>(path, vertices, vertices.size() - 1);
+        }
+    }
+
+    /**
+     * Writes the state of the strategy that is needed to resume an exploration from a checkpoint, e.g., the state of
+     * a random number generator. It is called between the expansion of two states.
+     * The default implementation writes nothing.
+     *
+     * @param out the output of the strategy state
+     * @throws IOException if the state cannot be written
+     * @see ModelCheckingOptions#setCheckpointing(Path, long, java.util.concurrent.TimeUnit)
+     */
+    protected void writeStrategyState(DataOutput out) throws IOException {
+    }
+
+    /**
+     * Restores the state of the strategy that was written by {@link #writeStrategyState(DataOutput)}.
+     * It is called after the worklist was restored.
+     *
+     * @param in the input of the strategy state
+     * @throws IOException if the state cannot be read
+     */
+    protected void readStrategyState(DataInput in) throws IOException {
+    }
+
+    /**
+     * Creates the set of visited states of a run according to {@link ModelCheckingOptions#getStateStorage()}.
+     * The states are labeled by their fingerprint in the reaction graph, unless the canonical state labels are
+     * exported.
+     *
+     * @param options the model checking options
+     * @return an empty visited-state set
+     */
+    protected VisitedStateSet createVisitedStateSet(ModelCheckingOptions options) {
+        if (options.getStateStorage() == ModelCheckingOptions.StateStorage.BITSTATE) {
+            return new BitstateSet(options.getBitstateMemory(), options.getBitstateHashFunctions());
+        }
+        if (options.getStateStorage() == ModelCheckingOptions.StateStorage.FINGERPRINT) {
+            ModelCheckingOptions.ExportOptions exportOptions = options.get(ModelCheckingOptions.Options.EXPORT);
+            boolean canonicalLabels = exportOptions != null && Boolean.TRUE.equals(exportOptions.getPrintCanonicalStateLabel());
+            return new FingerprintSet(1 << 10, !canonicalLabels);
+        }
+        return VisitedStateSet.canonicalStrings();
+    }
+
+    /**
+     * Stores the states of the reaction graph on disk if spilling is enabled (see
+     * {@link ModelCheckingOptions#setSpillToDisk(java.nio.file.Path, int)}). The spill files of a previous run are
+     * deleted.
+     *
+     * @param options the model checking options
+     */
+    @SuppressWarnings("unchecked")
+    protected void setUpStateStorage(ModelCheckingOptions options) {
+        ReactionGraph<B> reactionGraph = modelChecker.getReactionGraph();
+        if (reactionGraph.getStateMap() instanceof SpillingStateMap previous) {
+            previous.close();
+            reactionGraph.setStateStorage(null);
+        }
+        if (options.isSpillToDisk()) {
+            SpillingStateMap stateStorage = new SpillingStateMap(options.getSpillDirectory(),
+                    (DynamicSignature) modelChecker.getReactiveSystem().getSignature(), options.getInMemoryStates());
+            reactionGraph.setStateStorage((Map<String, B>) (Map<String, ?>) stateStorage);
+        }
+    }
+
+    /**
+     * Cheap necessary condition for an occurrence of the rule's redex in the agent (see {@link ControlHistogramFilter}).
+     * It is checked before any matching engine is instantiated.
+     *
+     * @param rule     the reaction rule
+     * @param theAgent the agent
+     * @return {@code false}, if the rule cannot match the agent
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean mayMatch(ReactionRule<B> rule, B theAgent) {
+        return controlHistogramFilter.accept((ReactionRule<PureBigraph>) (ReactionRule<?>) rule, (PureBigraph) theAgent);
+    }
+
+    /**
+     * Returns the built-in filter that skips rules whose redex cannot occur in the agent.
+     * It also counts the avoided match calls of the last run.
+     *
+     * @return the control histogram filter
+     */
+    public ControlHistogramFilter getControlHistogramFilter() {
+        return controlHistogramFilter;
     }
 
     /**
@@ -254,10 +1070,31 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
         return reactionRuleFilter;
     }
 
+    /**
+     * Evaluates all predicates for the given agent. The counterexample trace of a violated predicate is the shortest
+     * path from the initial state to the agent in the reaction graph.
+     *
+     * @param agent     the agent
+     * @param canonical the label of the agent in the reaction graph
+     * @param root      the label of the initial state in the reaction graph
+     */
     protected void evaluatePredicates(B agent, String canonical, String root) {
+        evaluatePredicates(agent, canonical, () -> findTrace(root, canonical));
+    }
+
+    /**
+     * Evaluates all predicates for the given agent and notifies the listener.
+     *
+     * @param agent               the agent
+     * @param canonical           the label of the agent in the reaction graph
+     * @param counterExampleTrace supplies the trace that is reported if a predicate is violated
+     */
+    protected void evaluatePredicates(B agent, String canonical, Supplier<GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge>> counterExampleTrace) {
         if (predicateChecker.getPredicates().isEmpty()) return;
 
-        if (predicateChecker.checkAll(agent)) {
+        // the results of this call, since the workers evaluate the predicates concurrently
+        Map<ReactiveSystemPredicate<B>, Boolean> checked = predicateChecker.evaluate(agent);
+        if (predicateChecker.checkIfAllChecksAreTrue(checked)) {
             Optional<ReactionGraph.LabeledNode> tmp = modelChecker.reactionGraph.getLabeledNodeByCanonicalForm(canonical);
             String label = tmp.map(ReactionGraph.LabeledNode::getLabel)
                     .orElse(String.format("state-%s", modelChecker.reactionGraph.getGraph().vertexSet().size()));
@@ -266,15 +1103,10 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
                     .ifPresent(node -> predicateChecker.getPredicates()
                             .forEach(p -> modelChecker.getReactionGraph().addPredicateMatchToNode(node, p)));
         } else {
-            predicateChecker.getChecked().forEach((pred, passed) -> {
+            checked.forEach((pred, passed) -> {
                 if (!passed) {
                     try {
-                        GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> trace =
-                                DijkstraShortestPath.findPathBetween(
-                                        modelChecker.getReactionGraph().getGraph(),
-                                        modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(canonical).get(),
-                                        modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(root).get());
-                        getListener().onPredicateViolated(agent, pred, trace);
+                        getListener().onPredicateViolated(agent, pred, counterExampleTrace.get());
                     } catch (Exception e) {
                         getListener().onError(e);
                     }
@@ -295,10 +1127,19 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
         }
     }
 
+    private GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> findTrace(String root, String canonical) {
+        return BFSShortestPath.findPathBetween(
+                modelChecker.getReactionGraph().getGraph(),
+                modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(root).get(),
+                modelChecker.getReactionGraph().getLabeledNodeByCanonicalForm(canonical).get());
+    }
+
     public static class MatchResult<B extends Bigraph<? extends Signature<?>>> implements BMatchResult<B> {
         private final ReactionRule<B> reactionRule;
         private final BigraphMatch<B> next;
-        private final B bigraph;
+        private B bigraph;
+        // builds the bigraph on the first request, or null if it was built
+        private Supplier<B> reaction;
         private final int occurrenceCount;
         /**
          * The canonical encoding of the agent
@@ -313,6 +1154,16 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
             this.canonicalStringOfResult = bfcf;
         }
 
+        /**
+         * Creates a match result whose rewritten bigraph is built on the first request (see {@link #getBigraph()}).
+         */
+        static <B extends Bigraph<? extends Signature<?>>> MatchResult<B> lazy(ReactionRule<B> reactionRule, BigraphMatch<B> next,
+                                                                               Supplier<B> reaction, String bfcf, int occurrenceCount) {
+            MatchResult<B> result = new MatchResult<>(reactionRule, next, null, bfcf, occurrenceCount);
+            result.reaction = reaction;
+            return result;
+        }
+
         public ReactionRule<B> getReactionRule() {
             return reactionRule;
         }
@@ -325,9 +1176,23 @@ public abstract class ModelCheckingStrategySupport<B extends Bigraph<? extends S
          * This stores the rewritten bigraph for reference
          */
         public B getBigraph() {
+            if (reaction != null) {
+                bigraph = reaction.get();
+                reaction = null;
+            }
             return bigraph;
         }
 
+        /**
+         * Indicates whether the rewritten bigraph was built, i.e., whether {@link #getBigraph()} returns it without
+         * rewriting the agent.
+         *
+         * @return {@code true}, if the rewritten bigraph was built
+         */
+        public boolean isBuilt() {
+            return reaction == null;
+        }
+
         public int getOccurrenceCount() {
             return occurrenceCount;
         }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import java.util.*;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.BMatchResult;
+import org.bigraphs.framework.core.reactivesystem.InstantiationMap;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.modelchecking.predicates.AndPredicate;
+import org.bigraphs.framework.simulation.modelchecking.predicates.OrPredicate;
+import org.bigraphs.framework.simulation.modelchecking.predicates.SubBigraphMatchPredicate;
+
+/**
+ * Ample-set partial-order reduction for pure bigraphical reactive systems.
+ * <p>
+ * For each state, {@link #selectAmple(PureBigraph, List)} looks for a single rule occurrence that can be applied
+ * instead of all enabled occurrences. The <i>footprint</i> of an occurrence consists of the nodes of the redex image,
+ * the nodes of its parameters and the links of these nodes. An occurrence {@code a} is selected if
+ * <ol>
+ *     <li>its footprint is disjoint from the footprint of every other enabled occurrence,</li>
+ *     <li>all points of its links belong to its footprint, so no other occurrence can observe its links,</li>
+ *     <li>no redex or predicate pattern contains the control of the node {@code a} is placed in, and no redex or
+ *     pattern with several roots or several top-level nodes contains a control of its footprint, so no occurrence
+ *     that depends on {@code a} can be enabled by other occurrences, and</li>
+ *     <li>no predicate pattern contains a control of its footprint or of the reactum, so {@code a} does not change
+ *     the value of a predicate (invisibility).</li>
+ * </ol>
+ * The reduction is only applicable if all rules are linear (each parameter is kept exactly once), so that
+ * occurrences within the parameters commute with the rule, and if all predicates are (conjunctions or disjunctions
+ * of) {@link SubBigraphMatchPredicate}s, whose observed controls are known.
+ * The cycle proviso (the selected occurrence must lead to a new state) is checked by the model checking strategy.
+ * <p>
+ * The footprints are derived from the matches of the native matching engine (see
+ * {@link PureBigraphMatch#isNativeMatch()}); for other matches no occurrence is selected, i.e., the state is
+ * fully expanded.
+ *
+ * @author Dominik Grzelak
+ * @see ModelCheckingOptions#setPartialOrderReduction(boolean)
+ */
+public class PartialOrderReduction {
+
+    // controls that occur in a redex or predicate pattern
+    private final Set<String> observedControls = new HashSet<>();
+    // controls that occur in a redex or predicate pattern with several roots or top-level nodes
+    private final Set<String> nonLocalControls = new HashSet<>();
+    // controls that occur in a predicate pattern
+    private final Set<String> visibleControls = new HashSet<>();
+    private final Map<ReactionRule<PureBigraph>, Set<String>> reactumControls = new HashMap<>();
+    private final boolean applicable;
+
+    public PartialOrderReduction(Collection<ReactionRule<PureBigraph>> rules, Collection<ReactiveSystemPredicate<PureBigraph>> predicates) {
+        boolean applicable = true;
+        for (ReactionRule<PureBigraph> each : rules) {
+            applicable &= isLinear(each);
+            addPattern(each.getRedex());
+            reactumControls.put(each, controlsOf(each.getReactum()));
+        }
+        for (ReactiveSystemPredicate<PureBigraph> each : predicates) {
+            applicable &= addPredicate(each);
+        }
+        this.applicable = applicable;
+    }
+
+    /**
+     * Returns whether the reduction can be applied to the reactive system at all.
+     *
+     * @return {@code false}, if a rule is not linear or a predicate observes more than a pattern
+     */
+    public boolean isApplicable() {
+        return applicable;
+    }
+
+    /**
+     * Selects an occurrence that represents all interleavings of the enabled occurrences of a state.
+     *
+     * @param agent       the state
+     * @param occurrences the enabled occurrences of the state
+     * @return the index of the selected occurrence, or {@code -1} if the state must be fully expanded
+     */
+    public int selectAmple(PureBigraph agent, List<? extends BMatchResult<PureBigraph>> occurrences) {
+        if (!applicable || occurrences.size() < 2) return -1;
+        List<Footprint> footprints = new ArrayList<>(occurrences.size());
+        Map<BigraphEntity<?>, Integer> nodeUsage = new HashMap<>();
+        Map<BigraphEntity.Link, Integer> linkUsage = new HashMap<>();
+        for (BMatchResult<PureBigraph> each : occurrences) {
+            if (!(each.getMatch() instanceof PureBigraphMatch match) || !match.isNativeMatch()) return -1;
+            Footprint footprint = new Footprint(agent, match);
+            footprint.nodes.forEach(node -> nodeUsage.merge(node, 1, Integer::sum));
+            footprint.links.forEach(link -> linkUsage.merge(link, 1, Integer::sum));
+            footprints.add(footprint);
+        }
+        for (int i = 0; i < footprints.size(); i++) {
+            Footprint footprint = footprints.get(i);
+            if (footprint.nodes.stream().allMatch(node -> nodeUsage.get(node) == 1)
+                    && footprint.links.stream().allMatch(link -> linkUsage.get(link) == 1)
+                    && isIsolated(agent, footprint)
+                    && isInvisible(footprint, occurrences.get(i).getReactionRule())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isIsolated(PureBigraph agent, Footprint footprint) {
+        for (BigraphEntity<?> each : footprint.parents) {
+            if (each instanceof BigraphEntity.NodeEntity<?> node && observedControls.contains(controlOf(node))) return false;
+        }
+        for (BigraphEntity.NodeEntity<?> each : footprint.nodes) {
+            if (nonLocalControls.contains(controlOf(each))) return false;
+        }
+        for (BigraphEntity.Link each : footprint.links) {
+            for (BigraphEntity<?> point : agent.getPointsFromLink(each)) {
+                if (!(point instanceof BigraphEntity.Port port) || !footprint.nodes.contains(agent.getNodeOfPort(port))) return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInvisible(Footprint footprint, ReactionRule<PureBigraph> rule) {
+        if (visibleControls.isEmpty()) return true;
+        for (BigraphEntity.NodeEntity<?> each : footprint.nodes) {
+            if (visibleControls.contains(controlOf(each))) return false;
+        }
+        Set<String> created = reactumControls.get(rule);
+        return created != null && Collections.disjoint(created, visibleControls);
+    }
+
+    private boolean addPredicate(ReactiveSystemPredicate<PureBigraph> predicate) {
+        if (predicate instanceof SubBigraphMatchPredicate<PureBigraph> subBigraphMatch) {
+            addPattern(subBigraphMatch.getBigraph());
+            visibleControls.addAll(controlsOf(subBigraphMatch.getBigraph()));
+            return true;
+        }
+        if (predicate instanceof AndPredicate<PureBigraph> and) {
+            return and.getPredicates().stream().allMatch(this::addPredicate);
+        }
+        if (predicate instanceof OrPredicate<PureBigraph> or) {
+            return or.getPredicates().stream().allMatch(this::addPredicate);
+        }
+        return false;
+    }
+
+    private void addPattern(PureBigraph pattern) {
+        Set<String> controls = controlsOf(pattern);
+        observedControls.addAll(controls);
+        if (!isLocal(pattern)) {
+            nonLocalControls.addAll(controls);
+        }
+    }
+
+    /**
+     * A pattern is local if it has one root with exactly one node as child.
+     */
+    private static boolean isLocal(Bigraph<?> pattern) {
+        if (pattern.getRoots().size() != 1) return false;
+        BigraphEntity.RootEntity root = pattern.getRoots().iterator().next();
+        return pattern.getChildrenOf(root).stream().filter(BigraphEntity.NodeEntity.class::isInstance).count() == 1;
+    }
+
+    /**
+     * A rule is linear if each parameter of the redex is kept exactly once in the reactum.
+     */
+    private static boolean isLinear(ReactionRule<PureBigraph> rule) {
+        int sites = rule.getRedex().getSites().size();
+        if (rule.getReactum().getSites().size() != sites) return false;
+        InstantiationMap instantiationMap = rule.getInstantationMap();
+        if (instantiationMap.domainSize() != sites) return false;
+        Set<Integer> images = new HashSet<>();
+        for (int i = 0; i < sites; i++) {
+            if (instantiationMap.get(i) == null || !images.add(instantiationMap.get(i).getValue())) return false;
+        }
+        return true;
+    }
+
+    private static Set<String> controlsOf(Bigraph<?> bigraph) {
+        Set<String> controls = new HashSet<>();
+        for (BigraphEntity.NodeEntity<?> each : bigraph.getNodes()) {
+            controls.add(controlOf(each));
+        }
+        return controls;
+    }
+
+    private static String controlOf(BigraphEntity.NodeEntity<?> node) {
+        return node.getControl().getNamedType().stringValue();
+    }
+
+    /**
+     * The agent entities that are read or changed by an occurrence.
+     */
+    private static final class Footprint {
+        final Set<BigraphEntity.NodeEntity<?>> nodes = new HashSet<>();
+        final Set<BigraphEntity.Link> links = new HashSet<>();
+        // the places the redex roots are placed in
+        final Collection<BigraphEntity<?>> parents;
+
+        Footprint(PureBigraph agent, PureBigraphMatch match) {
+            nodes.addAll(match.getNodeEmbedding().values());
+            Deque<BigraphEntity<?>> parameters = new ArrayDeque<>();
+            match.getSiteParameters().values().forEach(parameters::addAll);
+            while (!parameters.isEmpty()) {
+                BigraphEntity<?> next = parameters.pop();
+                if (next instanceof BigraphEntity.NodeEntity<?> node && nodes.add(node)) {
+                    parameters.addAll(agent.getChildrenOf(node));
+                }
+            }
+            for (BigraphEntity.NodeEntity<?> each : nodes) {
+                for (BigraphEntity.Port port : agent.getPorts(each)) {
+                    BigraphEntity.Link link = agent.getLinkOfPoint(port);
+                    if (link != null) links.add(link);
+                }
+            }
+            parents = match.getRootPlaces().values();
+        }
+    }
+}
@@ -16,6 +16,9 @@ package org.bigraphs.framework.simulation.modelchecking;
 
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.reactivesystem.ReactiveSystem;
+import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,4 +48,20 @@ public class PureBigraphModelChecker extends BigraphModelChecker<PureBigraph> {
     public PureBigraphModelChecker(ReactiveSystem<PureBigraph> reactiveSystem, SimulationStrategy.Type simulationStrategyType, ModelCheckingOptions options) {
         super(reactiveSystem, simulationStrategyType, options);
     }
+
+    /**
+     * Returns a matcher that shares the cache of compiled reaction rules with the reactive system,
+     * if it is a {@link PureReactiveSystem}.
+     * The matching engine is selected by {@link ModelCheckingOptions#getMatchingEngine()}. The native engine is only
+     * used for the rules that it supports (see {@link PureBigraphMatcher}).
+     *
+     * @return a matcher for pure bigraphs
+     */
+    @Override
+    public AbstractBigraphMatcher<PureBigraph> getMatcher() {
+        if (reactiveSystem instanceof PureReactiveSystem pureReactiveSystem) {
+            return new PureBigraphMatcher(options.getMatchingEngine(), pureReactiveSystem.getCompiledRuleCache());
+        }
+        return super.getMatcher();
+    }
 }
@@ -14,6 +14,7 @@
  */
 package org.bigraphs.framework.simulation.modelchecking;
 
+import java.io.*;
 import java.util.*;
 import org.bigraphs.framework.core.Bigraph;
 import org.bigraphs.framework.core.Signature;
@@ -27,7 +28,7 @@ import org.bigraphs.framework.core.Signature;
  */
 public class RandomAgentModelCheckingStrategy<B extends Bigraph<? extends Signature<?>>> extends ModelCheckingStrategySupport<B> {
 
-    private final Random rnd = new Random();
+    private Random rnd = new Random();
 
     public RandomAgentModelCheckingStrategy(BigraphModelChecker<B> modelChecker) {
         super(modelChecker);
@@ -50,4 +51,29 @@ public class RandomAgentModelCheckingStrategy<B extends Bigraph<? extends Signat
     public void addToWorklist(Collection<B> worklist, B bigraph) {
         worklist.add(bigraph);
     }
+
+    /**
+     * The random number generator is serialized, so that a resumed exploration continues with the same random
+     * sequence. Writing the state does not advance the generator, so checkpoints do not change the exploration.
+     */
+    @Override
+    protected void writeStrategyState(DataOutput out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+            objects.writeObject(rnd);
+        }
+        out.writeInt(bytes.size());
+        out.write(bytes.toByteArray());
+    }
+
+    @Override
+    protected void readStrategyState(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            rnd = (Random) objects.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
 }
@@ -14,6 +14,9 @@
  */
 package org.bigraphs.framework.simulation.modelchecking;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ThreadLocalRandom;
@@ -209,6 +212,28 @@ public abstract class SimulatedAnnealingFrontierStrategy<B extends Bigraph<? ext
         return chosen;
     }
 
+    /**
+     * Writes the temperature and the counters of the annealing schedule.
+     * The energies are computed again after resuming; the random choices are not reproduced.
+     */
+    @Override
+    protected void writeStrategyState(DataOutput out) throws IOException {
+        out.writeDouble(temperature);
+        out.writeInt(iterationInEpoch);
+        out.writeInt(currentEpoch);
+        out.writeInt(fairnessCounter);
+        out.writeBoolean(internalStop);
+    }
+
+    @Override
+    protected void readStrategyState(DataInput in) throws IOException {
+        temperature = in.readDouble();
+        iterationInEpoch = in.readInt();
+        currentEpoch = in.readInt();
+        fairnessCounter = in.readInt();
+        internalStop = in.readBoolean();
+    }
+
     protected void stopProcedure(B chosen) {
         internalStop = true;
     }
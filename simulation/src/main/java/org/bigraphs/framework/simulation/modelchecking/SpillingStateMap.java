@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryDecoder;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+
+/**
+ * A map of states (label to bigraph) that keeps the states on disk instead of the heap.
+ * It can be used as the state storage of a reaction graph (see
+ * {@link org.bigraphs.framework.core.reactivesystem.ReactionGraph#setStateStorage(Map)}).
+ * <p>
+ * Each state is encoded by {@link PureBigraphBinaryEncoder} and appended to a {@link MappedSegmentLog}; the heap
+ * only holds the offset of each state and a bounded cache of the most recently used states.
+ * A state that is not in the cache is decoded again on access, so it is an equal but not the same object.
+ * <p>
+ * States cannot be replaced: {@link #put(String, PureBigraph)} always appends the state and returns {@code null}.
+ *
+ * @author Dominik Grzelak
+ */
+public class SpillingStateMap extends AbstractMap<String, PureBigraph> implements Closeable {
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+    private final Cache<String, PureBigraph> hotStates;
+    private final MappedSegmentLog log;
+    private final DynamicSignature signature;
+    private final PureBigraphBinaryEncoder encoder = new PureBigraphBinaryEncoder();
+    private final PureBigraphBinaryDecoder decoder = new PureBigraphBinaryDecoder();
+
+    /**
+     * @param directory      the directory of the segment files
+     * @param signature      the signature of the states, used to decode them
+     * @param inMemoryStates the maximum number of states that are kept on the heap
+     */
+    public SpillingStateMap(Path directory, DynamicSignature signature, int inMemoryStates) {
+        this.log = new MappedSegmentLog(directory, "states", MappedSegmentLog.DEFAULT_SEGMENT_SIZE);
+        this.signature = signature;
+        this.hotStates = CacheBuilder.newBuilder()
+                .maximumSize(inMemoryStates)
+                .build();
+    }
+
+    @Override
+    public PureBigraph put(String label, PureBigraph state) {
+        offsets.put(label, log.append(encoder.encode(state)));
+        hotStates.put(label, state);
+        return null;
+    }
+
+    @Override
+    public PureBigraph get(Object label) {
+        PureBigraph state = hotStates.getIfPresent(label);
+        if (state != null) {
+            return state;
+        }
+        Long offset = offsets.get(label);
+        if (offset == null) {
+            return null;
+        }
+        state = decoder.decode(log.read(offset), signature);
+        hotStates.put((String) label, state);
+        return state;
+    }
+
+    @Override
+    public boolean containsKey(Object label) {
+        return offsets.containsKey(label);
+    }
+
+    @Override
+    public PureBigraph remove(Object label) {
+        PureBigraph state = get(label);
+        offsets.remove(label);
+        hotStates.invalidate(label);
+        return state;
+    }
+
+    @Override
+    public void clear() {
+        offsets.clear();
+        hotStates.invalidateAll();
+    }
+
+    @Override
+    public int size() {
+        return offsets.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(offsets.keySet());
+    }
+
+    /**
+     * The states of the entries are decoded when they are accessed.
+     */
+    @Override
+    public Set<Entry<String, PureBigraph>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, PureBigraph>> iterator() {
+                Iterator<String> labels = offsets.keySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return labels.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, PureBigraph> next() {
+                        String label = labels.next();
+                        return new SimpleImmutableEntry<>(label, get(label));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return offsets.size();
+            }
+        };
+    }
+
+    /**
+     * Deletes the segment files. The map must not be used afterward.
+     */
+    @Override
+    public void close() {
+        clear();
+        log.close();
+    }
+}
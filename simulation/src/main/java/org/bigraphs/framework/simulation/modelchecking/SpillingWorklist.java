@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryDecoder;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
+
+/**
+ * A FIFO worklist that keeps at most a fixed number of states on the heap and spills the remaining states to disk.
+ * <p>
+ * The head of the queue is kept in memory. As soon as it is full, new states are encoded by
+ * {@link PureBigraphBinaryEncoder} and appended to a {@link MappedSegmentLog}. When the head runs empty, it is refilled
+ * from the log in the order the states were appended, and the segments that were read completely are deleted.
+ * Thus, the FIFO order is preserved.
+ * <p>
+ * States that are offered together with their canonical string (see {@link #offer(PureBigraph, String)}) are
+ * registered as {@link PreparedAgent} only while they are in the head. A spilled state is not registered, so that no
+ * reference to it is left on the heap; its canonical string is written into the spill record instead and set at the
+ * prepared agent of the decoded state when the state is moved to the head again.
+ * <p>
+ * A {@link Snapshot} of the worklist, e.g., for a checkpoint, copies the head and keeps the segments of the spilled
+ * states until it is closed, so that the spilled states are read as encoded records instead of being decoded.
+ * <p>
+ * States that were spilled are decoded again, so they are equal but not the same objects as the offered ones.
+ * All methods are synchronized, so the worklist can be shared by several workers.
+ *
+ * @author Dominik Grzelak
+ */
+public class SpillingWorklist extends AbstractQueue<PureBigraph> implements Closeable {
+
+    private final ArrayDeque<PureBigraph> head = new ArrayDeque<>();
+    private final int inMemoryStates;
+    private final MappedSegmentLog log;
+    private final DynamicSignature signature;
+    // the canonical form that computed the canonical strings of the offered states, or null
+    private final BigraphCanonicalForm canonicalForm;
+    private final PureBigraphBinaryEncoder encoder = new PureBigraphBinaryEncoder();
+    private final PureBigraphBinaryDecoder decoder = new PureBigraphBinaryDecoder();
+    // the offset of the oldest spilled state
+    private long readOffset = 0;
+    private long spilledCount = 0;
+    // the offsets of the oldest spilled states of the open snapshots, in the order the snapshots were taken
+    private final ArrayDeque<Long> pinnedOffsets = new ArrayDeque<>();
+
+    /**
+     * @param directory      the directory of the segment files
+     * @param signature      the signature of the states, used to decode them
+     * @param inMemoryStates the maximum number of states that are kept on the heap
+     */
+    public SpillingWorklist(Path directory, DynamicSignature signature, int inMemoryStates) {
+        this(directory, signature, inMemoryStates, null);
+    }
+
+    /**
+     * @param directory      the directory of the segment files
+     * @param signature      the signature of the states, used to decode them
+     * @param inMemoryStates the maximum number of states that are kept on the heap
+     * @param canonicalForm  the canonical form that computes the canonical strings passed to
+     *                       {@link #offer(PureBigraph, String)}, or {@code null}
+     */
+    public SpillingWorklist(Path directory, DynamicSignature signature, int inMemoryStates, BigraphCanonicalForm canonicalForm) {
+        this.log = new MappedSegmentLog(directory, "worklist", MappedSegmentLog.DEFAULT_SEGMENT_SIZE);
+        this.signature = signature;
+        this.inMemoryStates = Math.max(1, inMemoryStates);
+        this.canonicalForm = canonicalForm;
+    }
+
+    @Override
+    public synchronized boolean offer(PureBigraph state) {
+        return offer(state, null);
+    }
+
+    /**
+     * Adds a state together with its canonical string. If the state is kept in the head, it is registered as
+     * {@link PreparedAgent} with the canonical string; otherwise, it is spilled without being registered.
+     *
+     * @param state           the state
+     * @param canonicalString the canonical string of the state computed by the canonical form of this worklist, or
+     *                        {@code null}
+     * @return {@code true}
+     */
+    public synchronized boolean offer(PureBigraph state, String canonicalString) {
+        // once a state was spilled, all later states must be spilled too to keep the FIFO order
+        if (spilledCount == 0 && head.size() < inMemoryStates) {
+            prepare(state, canonicalString);
+            head.addLast(state);
+        } else {
+            long offset = log.append(encodeRecord(state, canonicalString));
+            if (spilledCount == 0) {
+                readOffset = offset;
+            }
+            spilledCount++;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized PureBigraph poll() {
+        if (head.isEmpty()) {
+            refill();
+        }
+        return head.pollFirst();
+    }
+
+    @Override
+    public synchronized PureBigraph peek() {
+        if (head.isEmpty()) {
+            refill();
+        }
+        return head.peekFirst();
+    }
+
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(Integer.MAX_VALUE, head.size() + spilledCount);
+    }
+
+    /**
+     * Returns the number of states that are currently spilled to disk.
+     *
+     * @return the number of spilled states
+     */
+    public synchronized long getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Returns the number of states that are currently kept on the heap.
+     *
+     * @return the number of states in the head of the queue
+     */
+    public synchronized int getInMemoryCount() {
+        return head.size();
+    }
+
+    /**
+     * Iterates over a snapshot of the worklist. Spilled states are decoded while iterating, but not registered.
+     */
+    @Override
+    public synchronized Iterator<PureBigraph> iterator() {
+        Iterator<PureBigraph> inMemory = new ArrayDeque<>(head).iterator();
+        long[] remaining = {spilledCount};
+        long[] offset = {readOffset};
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return inMemory.hasNext() || remaining[0] > 0;
+            }
+
+            @Override
+            public PureBigraph next() {
+                if (inMemory.hasNext()) {
+                    return inMemory.next();
+                }
+                if (remaining[0] == 0) {
+                    throw new NoSuchElementException();
+                }
+                synchronized (SpillingWorklist.this) {
+                    byte[] record = log.read(offset[0]);
+                    offset[0] = log.next(offset[0]);
+                    remaining[0]--;
+                    return decodeState(record);
+                }
+            }
+        };
+    }
+
+    /**
+     * Takes a snapshot of the worklist. The segments of the spilled states are not deleted until the snapshot is
+     * closed.
+     *
+     * @return the snapshot
+     */
+    public synchronized Snapshot snapshot() {
+        if (spilledCount > 0) {
+            pinnedOffsets.addLast(readOffset);
+        }
+        return new Snapshot(new ArrayList<>(head), readOffset, spilledCount);
+    }
+
+    /**
+     * The states of a {@link SpillingWorklist} at the time the snapshot was taken.
+     */
+    public final class Snapshot implements Closeable {
+        private final List<PureBigraph> head;
+        private final long offset;
+        private final long spilledCount;
+        private boolean closed;
+
+        private Snapshot(List<PureBigraph> head, long offset, long spilledCount) {
+            this.head = head;
+            this.offset = offset;
+            this.spilledCount = spilledCount;
+        }
+
+        /**
+         * Returns the states that were kept on the heap, in the order of the worklist.
+         *
+         * @return the head of the worklist
+         */
+        public List<PureBigraph> getHead() {
+            return Collections.unmodifiableList(head);
+        }
+
+        public long getSpilledCount() {
+            return spilledCount;
+        }
+
+        /**
+         * Passes the binary encoding of each spilled state to the given action, in the order of the worklist.
+         * The states are not decoded.
+         *
+         * @param action the action
+         */
+        public void forEachSpilled(Consumer<byte[]> action) {
+            long next = offset;
+            for (long i = 0; i < spilledCount; i++) {
+                byte[] record;
+                synchronized (SpillingWorklist.this) {
+                    if (closed) throw new IllegalStateException("The snapshot is closed");
+                    record = log.read(next);
+                    next = i + 1 < spilledCount ? log.next(next) : next;
+                }
+                action.accept(encodedState(record));
+            }
+        }
+
+        /**
+         * Releases the segments of the spilled states.
+         */
+        @Override
+        public void close() {
+            synchronized (SpillingWorklist.this) {
+                if (closed) return;
+                closed = true;
+                if (spilledCount > 0) {
+                    pinnedOffsets.removeFirstOccurrence(offset);
+                    log.discardBefore(discardableOffset());
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the states of the head and deletes the segment files. The worklist must not be used afterward.
+     */
+    @Override
+    public synchronized void close() {
+        head.forEach(PreparedAgent::release);
+        head.clear();
+        spilledCount = 0;
+        log.close();
+    }
+
+    private void refill() {
+        while (spilledCount > 0 && head.size() < inMemoryStates) {
+            byte[] record = log.read(readOffset);
+            PureBigraph state = decodeState(record);
+            prepare(state, decodeCanonicalString(record));
+            head.addLast(state);
+            spilledCount--;
+            readOffset = spilledCount > 0 ? log.next(readOffset) : readOffset;
+        }
+        log.discardBefore(discardableOffset());
+    }
+
+    private long discardableOffset() {
+        return pinnedOffsets.isEmpty() ? readOffset : Math.min(readOffset, pinnedOffsets.peekFirst());
+    }
+
+    private void prepare(PureBigraph state, String canonicalString) {
+        if (canonicalString != null && canonicalForm != null) {
+            PreparedAgent.prepare(state).setCanonicalString(canonicalForm, canonicalString);
+        }
+    }
+
+    /**
+     * A record consists of the length of the UTF-8 encoded canonical string ({@code -1} if there is none), the
+     * canonical string and the binary encoding of the state.
+     */
+    private byte[] encodeRecord(PureBigraph state, String canonicalString) {
+        byte[] encoded = encoder.encode(state);
+        byte[] canonical = canonicalString != null ? canonicalString.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ByteBuffer.allocate(Integer.BYTES + canonical.length + encoded.length)
+                .putInt(canonicalString != null ? canonical.length : -1)
+                .put(canonical)
+                .put(encoded)
+                .array();
+    }
+
+    private PureBigraph decodeState(byte[] record) {
+        return decoder.decode(encodedState(record), signature);
+    }
+
+    private static byte[] encodedState(byte[] record) {
+        int length = Math.max(0, ByteBuffer.wrap(record).getInt());
+        return Arrays.copyOfRange(record, Integer.BYTES + length, record.length);
+    }
+
+    private static String decodeCanonicalString(byte[] record) {
+        int length = ByteBuffer.wrap(record).getInt();
+        return length < 0 ? null : new String(record, Integer.BYTES, length, StandardCharsets.UTF_8);
+    }
+}
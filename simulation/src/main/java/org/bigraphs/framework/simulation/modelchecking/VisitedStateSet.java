@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The set of states that were already reached by {@link ModelCheckingStrategySupport}.
+ * A state is identified by its canonical form.
+ * <p>
+ * Besides deduplicating the states, a visited-state set decides how a state is labeled in the reaction graph
+ * (see {@link #labelOf(String)}): either by its full canonical string, or by a shorter key that is derived from it.
+ * <p>
+ * Implementations must support concurrent calls, because several workers may share one set
+ * (see {@link ModelCheckingOptions#setWorkerThreads(int)}).
+ *
+ * @author Dominik Grzelak
+ * @see FingerprintSet
+ */
+public interface VisitedStateSet {
+
+    /**
+     * Adds the state with the given canonical form.
+     *
+     * @param canonicalForm the canonical form of the state
+     * @return {@code true}, if the state was not visited before
+     */
+    boolean add(String canonicalForm);
+
+    /**
+     * Returns the number of visited states.
+     *
+     * @return the number of visited states
+     */
+    long size();
+
+    /**
+     * Returns the label under which the state is stored in the reaction graph.
+     * By default, this is the canonical form itself.
+     *
+     * @param canonicalForm the canonical form of the state
+     * @return the label of the state in the reaction graph
+     */
+    default String labelOf(String canonicalForm) {
+        return canonicalForm;
+    }
+
+    /**
+     * Adds the state with the given canonical form and returns its label (see {@link #labelOf(String)}).
+     * Implementations that derive the label from a hash of the canonical form compute the hash only once.
+     *
+     * @param canonicalForm the canonical form of the state
+     * @return the label of the state and whether the state was not visited before
+     */
+    default Visit addIfAbsent(String canonicalForm) {
+        boolean added = add(canonicalForm);
+        return new Visit(labelOf(canonicalForm), added);
+    }
+
+    /**
+     * Adds the state with the given fingerprint (see {@link #fingerprint(String)}), if neither the set nor the labels
+     * of the states need the canonical form. It is used to restore the set from a checkpoint without the canonical
+     * strings (see {@link ExplorationCheckpoint}).
+     *
+     * @param fingerprint the fingerprint of the canonical form of the state
+     * @return the label of the state and whether the state was not visited before, or {@code null} if the set needs
+     * the canonical form
+     */
+    default Visit addIfAbsent(HashCode fingerprint) {
+        return null;
+    }
+
+    /**
+     * Returns the 128-bit MurmurHash3 of the UTF-8 encoded canonical form, which is the fingerprint of the
+     * {@link FingerprintSet} and the hash of the {@link BitstateSet}.
+     *
+     * @param canonicalForm the canonical form of a state
+     * @return the fingerprint of the state
+     */
+    static HashCode fingerprint(String canonicalForm) {
+        return Hashing.murmur3_128().hashString(canonicalForm, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The result of {@link #addIfAbsent(String)}.
+     *
+     * @param label the label of the state in the reaction graph
+     * @param isNew {@code true}, if the state was not visited before
+     */
+    record Visit(String label, boolean isNew) {
+    }
+
+    /**
+     * Visited-state set that keeps the full canonical strings. This is exact but needs the most memory.
+     */
+    static VisitedStateSet canonicalStrings() {
+        Set<String> states = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        return new VisitedStateSet() {
+            @Override
+            public boolean add(String canonicalForm) {
+                return states.add(canonicalForm);
+            }
+
+            @Override
+            public long size() {
+                return states.size();
+            }
+        };
+    }
+}
@@ -53,6 +53,15 @@ public class AndPredicate<B extends Bigraph<? extends Signature<?>>> extends Rea
         return null;
     }
 
+    /**
+     * Returns the predicates that are combined by this predicate.
+     *
+     * @return an unmodifiable view of the predicates
+     */
+    public List<ReactiveSystemPredicate<B>> getPredicates() {
+        return Collections.unmodifiableList(predicates);
+    }
+
     /**
      * Concatenates all given predicates with the <i>and</i> operator of the {@link ReactiveSystemPredicate} class and
      * evaluates them together.
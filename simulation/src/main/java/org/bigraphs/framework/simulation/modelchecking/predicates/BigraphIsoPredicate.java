@@ -22,6 +22,7 @@ import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
 import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
 import org.bigraphs.framework.simulation.encoding.hash.BigraphHashFunction;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
 
 /**
  * Predicate implementation that returns {@code true} if two bigraphs are isomorphic (i.e., structurally equivalent).
@@ -30,6 +31,8 @@ import org.bigraphs.framework.simulation.encoding.hash.BigraphHashFunction;
  * A predicate can be created by using the static methods the class provides.
  * <p>
  * Bigraph isomorphism is checked using the canonical string encoding.
+ * The hash and the canonical string of the agent are obtained from its {@link PreparedAgent}, so that they are
+ * computed only once per state.
  *
  * @see SubBigraphMatchPredicate
  * @author Dominik Grzelak
@@ -39,6 +42,7 @@ public class BigraphIsoPredicate<B extends Bigraph<? extends Signature<?>>> exte
     private final B bigraphToMatch;
     private BigraphCanonicalForm canonicalForm;
     private final String bigraphEncoded;
+    private final long bigraphToMatchHash;
     private BigraphHashFunction<B> hashFunction;
 
     private BigraphIsoPredicate(B bigraphToMatch) {
@@ -53,6 +57,7 @@ public class BigraphIsoPredicate<B extends Bigraph<? extends Signature<?>>> exte
         this.canonicalForm = BigraphCanonicalForm.createInstance();
         this.hashFunction = (BigraphHashFunction<B>) BigraphHashFunction.get(bigraphToMatch.getClass());
         this.bigraphEncoded = this.canonicalForm.bfcs(this.bigraphToMatch);
+        this.bigraphToMatchHash = this.hashFunction.hash(this.bigraphToMatch);
     }
 
     public static <B extends Bigraph<? extends Signature<?>>> BigraphIsoPredicate<B> create(B bigraphToMatch) {
@@ -70,13 +75,11 @@ public class BigraphIsoPredicate<B extends Bigraph<? extends Signature<?>>> exte
 
     @Override
     public boolean test(B agent) {
-        B decodedAgent = (B) new JLibBigBigraphDecoder().decode(new JLibBigBigraphEncoder().encode((PureBigraph) agent));
-        if (this.hashFunction.hash(decodedAgent) !=
-                this.hashFunction.hash(this.bigraphToMatch)) {
+        PreparedAgent preparedAgent = PreparedAgent.of((PureBigraph) agent);
+        if (preparedAgent.getHash() != bigraphToMatchHash) {
             return false;
         }
-        String bfcs = this.canonicalForm.bfcs(decodedAgent);
-        return bigraphEncoded.equals(bfcs);
+        return bigraphEncoded.equals(preparedAgent.getCanonicalString(this.canonicalForm));
     }
 
     public B getBigraphToMatch() {
@@ -15,6 +15,7 @@
 package org.bigraphs.framework.simulation.modelchecking.predicates;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -56,6 +57,15 @@ public class OrPredicate<B extends Bigraph<? extends Signature<?>>> extends Reac
         return null;
     }
 
+    /**
+     * Returns the predicates that are combined by this predicate.
+     *
+     * @return an unmodifiable view of the predicates
+     */
+    public List<ReactiveSystemPredicate<B>> getPredicates() {
+        return Collections.unmodifiableList(predicates);
+    }
+
     /**
      * Concatenates all given predicates with the <i>or</i> operator of the {@link ReactiveSystemPredicate} class and
      * evaluates them together.
@@ -25,7 +25,8 @@ import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
  * <p>
  * After evaluation, a map can be acquired to see which predicates evaluated to {@code true} or {@code false}.
  * <p>
- * This class is thread-safe.
+ * This class is thread-safe. The method {@link #evaluate(Bigraph)} returns the results of each call and does not lock,
+ * so that several workers can check their states concurrently.
  *
  * @author Dominik Grzelak
  */
@@ -52,17 +53,36 @@ public class PredicateChecker<B extends Bigraph<? extends Signature<?>>> {
      */
     public synchronized boolean checkAll(B agent) {
         checked.clear();
+        checked.putAll(evaluate(agent));
+        return checkIfAllChecksAreTrue(checked); //checked.values().stream().allMatch(x -> x);
+    }
+
+    /**
+     * Checks all predicates passed via the constructor before, without storing the results in this instance.
+     * The predicates themselves must be safe to be tested concurrently if this method is called concurrently.
+     *
+     * @param agent the bigraph agent to use for the predicate checking
+     * @return the evaluation result of each predicate, in the order of the predicates
+     */
+    public Map<ReactiveSystemPredicate<B>, Boolean> evaluate(B agent) {
+        Map<ReactiveSystemPredicate<B>, Boolean> results = new LinkedHashMap<>();
         for (ReactiveSystemPredicate<B> each : predicates) {
             if (each.isNegate()) {
-                checked.put(each, each.negate().test(agent));
+                results.put(each, each.negate().test(agent));
             } else {
-                checked.put(each, each.test(agent));
+                results.put(each, each.test(agent));
             }
         }
-        return checkIfAllChecksAreTrue(checked); //checked.values().stream().allMatch(x -> x);
+        return results;
     }
 
-    private boolean checkIfAllChecksAreTrue(Map<ReactiveSystemPredicate<B>, Boolean> checks) {
+    /**
+     * Returns whether all predicates evaluated to {@code true}.
+     *
+     * @param checks the evaluation results, see {@link #evaluate(Bigraph)}
+     * @return {@code true}, if all predicates evaluated to {@code true}, otherwise {@code false}
+     */
+    public boolean checkIfAllChecksAreTrue(Map<ReactiveSystemPredicate<B>, Boolean> checks) {
         for (boolean b : checks.values()) {
             if (!b) return false;
         }
@@ -84,7 +104,7 @@ public class PredicateChecker<B extends Bigraph<? extends Signature<?>>> {
      *
      * @return set of predicates
      */
-    public synchronized List<ReactiveSystemPredicate<B>> getPredicates() {
+    public List<ReactiveSystemPredicate<B>> getPredicates() {
         return predicates;
     }
 }
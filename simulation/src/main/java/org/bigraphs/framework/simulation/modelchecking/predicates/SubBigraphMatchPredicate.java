@@ -23,6 +23,8 @@ import org.bigraphs.framework.core.Signature;
 import org.bigraphs.framework.core.impl.pure.PureBigraph;
 import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
 import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.pure.CompiledReactionRuleCache;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
 
 /**
  * Simple predicate implementation that returns true if one bigraph is contained in another (subbigraph matching problem).
@@ -33,6 +35,10 @@ import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
  * This predicate internally creates a bigraph matcher instance for the concrete bigraph kind automatically.
  * Therefore, {@link AbstractBigraphMatcher} is used. The class member {@code matcher} is used inside the
  * {@link SubBigraphMatchPredicate#test(Bigraph)} method.
+ * The agent is encoded via its {@link PreparedAgent}, so that the encoding is shared with the matching of the reaction rules.
+ * <p>
+ * The results of the last successful test (e.g., {@link #getContextBigraphResult()}) are kept per thread, so that the
+ * predicate can be tested by several workers concurrently.
  *
  * @author Dominik Grzelak
  * @see BigraphIsoPredicate
@@ -44,10 +50,8 @@ public class SubBigraphMatchPredicate<B extends Bigraph<? extends Signature<?>>>
     private AbstractBigraphMatcher<B> matcher;
     private final JLibBigBigraphEncoder enc = new JLibBigBigraphEncoder();
 
-    private B subBigraphResult;
-    private B subBigraphParamResult;
-    private B contextBigraphResult;
-    private B subRedexResult;
+    // the results of the last successful test of the current thread
+    private final ThreadLocal<MatchResults<B>> results = new ThreadLocal<>();
 
     private SubBigraphMatchPredicate(B bigraphToMatch) {
         this(bigraphToMatch, false);
@@ -57,7 +61,8 @@ public class SubBigraphMatchPredicate<B extends Bigraph<? extends Signature<?>>>
         this.bigraphToMatch = bigraphToMatch;
         super.negate = negate;
         this.matcher = AbstractBigraphMatcher.create((Class<B>) bigraphToMatch.getClass());
-        this.jBigraphToMatch = enc.encode((PureBigraph) bigraphToMatch);
+        PureBigraph pattern = (PureBigraph) bigraphToMatch;
+        this.jBigraphToMatch = enc.encode(pattern, CompiledReactionRuleCache.getJLibSignature(pattern.getSignature()));
     }
 
     public static <B extends Bigraph<? extends Signature<?>>> SubBigraphMatchPredicate<B> create(B bigraphToMatch) {
@@ -76,16 +81,14 @@ public class SubBigraphMatchPredicate<B extends Bigraph<? extends Signature<?>>>
     @Override
     public boolean test(B agent) {
         AgentMatcher matcher = new AgentMatcher();
-        it.uniud.mads.jlibbig.core.std.Bigraph a = enc.encode((PureBigraph) agent, jBigraphToMatch.getSignature());
+        it.uniud.mads.jlibbig.core.std.Bigraph a = PreparedAgent.of((PureBigraph) agent).getJLibBigraph(jBigraphToMatch.getSignature());
         Iterable<? extends AgentMatch> match = matcher.match(a, jBigraphToMatch);
         if (match.iterator().hasNext()) {
             AgentMatch next = match.iterator().next();
             it.uniud.mads.jlibbig.core.std.Bigraph compose = it.uniud.mads.jlibbig.core.std.Bigraph.compose(next.getRedex(), next.getParam());
             JLibBigBigraphDecoder decoder = new JLibBigBigraphDecoder();
-            subBigraphResult = (B) decoder.decode(compose);
-            subRedexResult = (B) decoder.decode(next.getRedex());
-            subBigraphParamResult = (B) decoder.decode(next.getParam());
-            contextBigraphResult = (B) decoder.decode(next.getContext());
+            results.set(new MatchResults<>((B) decoder.decode(compose), (B) decoder.decode(next.getParam()),
+                    (B) decoder.decode(next.getContext()), (B) decoder.decode(next.getRedex())));
             return true;
         } else {
             return false;
@@ -93,11 +96,13 @@ public class SubBigraphMatchPredicate<B extends Bigraph<? extends Signature<?>>>
     }
 
     public B getSubBigraphResult() {
-        return subBigraphResult;
+        MatchResults<B> last = results.get();
+        return last != null ? last.subBigraph() : null;
     }
 
     public B getSubBigraphParamResult() {
-        return subBigraphParamResult;
+        MatchResults<B> last = results.get();
+        return last != null ? last.param() : null;
     }
 
     public B getBigraphToMatch() {
@@ -105,10 +110,15 @@ public class SubBigraphMatchPredicate<B extends Bigraph<? extends Signature<?>>>
     }
 
     public B getContextBigraphResult() {
-        return contextBigraphResult;
+        MatchResults<B> last = results.get();
+        return last != null ? last.context() : null;
     }
 
     public B getSubRedexResult() {
-        return subRedexResult;
+        MatchResults<B> last = results.get();
+        return last != null ? last.redex() : null;
+    }
+
+    private record MatchResults<B>(B subBigraph, B param, B context, B redex) {
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.*;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+
+/**
+ * A generalized Büchi automaton that accepts the runs satisfying an LTL formula, constructed by the tableau of
+ * Gerth, Peled, Vardi and Wolper [1].
+ * <p>
+ * The automaton is state-labelled: a run of the system is read by entering a node whose literals hold in the current
+ * state. A run is accepted if it visits each acceptance set (one per until-subformula) infinitely often.
+ * <p>
+ * <b>References</b>
+ * <p>
+ * [1] Gerth, R., Peled, D., Vardi, M.Y., Wolper, P.: Simple on-the-fly automatic verification of linear temporal
+ * logic. In: Protocol Specification, Testing and Verification XV. pp. 3–18. Springer (1996).
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ */
+final class BuchiAutomaton<B extends Bigraph<? extends Signature<?>>> {
+
+    private static final int INIT = -1;
+
+    private final List<Node<B>> nodes = new ArrayList<>();
+    private final List<LtlFormula<B>> untils = new ArrayList<>();
+    private int[][] successors;
+    private int[] initialNodes;
+    // acceptance set -> node -> member
+    private boolean[][] accepting;
+
+    BuchiAutomaton(LtlFormula<B> formula) {
+        LtlFormula<B> nnf = formula.toNegationNormalForm();
+        collectUntils(nnf, new HashSet<>());
+        Node<B> init = new Node<>();
+        init.incoming.add(INIT);
+        init.pending.add(nnf);
+        expand(init);
+        build();
+    }
+
+    int getNodeCount() {
+        return nodes.size();
+    }
+
+    int[] getInitialNodes() {
+        return initialNodes;
+    }
+
+    int[] getSuccessors(int node) {
+        return successors[node];
+    }
+
+    /**
+     * Returns the literals (atomic propositions and their negations) that must hold in a state to enter a node.
+     */
+    List<LtlFormula<B>> getLiterals(int node) {
+        return nodes.get(node).literals;
+    }
+
+    int getAcceptanceSetCount() {
+        return untils.size();
+    }
+
+    boolean isAccepting(int acceptanceSet, int node) {
+        return accepting[acceptanceSet][node];
+    }
+
+    private void collectUntils(LtlFormula<B> formula, Set<LtlFormula<B>> seen) {
+        if (formula == null) return;
+        if (formula.getOperator() == LtlFormula.Operator.UNTIL && seen.add(formula)) {
+            untils.add(formula);
+        }
+        collectUntils(formula.getLeft(), seen);
+        collectUntils(formula.getRight(), seen);
+    }
+
+    private void expand(Node<B> node) {
+        if (node.pending.isEmpty()) {
+            for (Node<B> each : nodes) {
+                if (each.old.equals(node.old) && each.next.equals(node.next)) {
+                    each.incoming.addAll(node.incoming);
+                    return;
+                }
+            }
+            node.id = nodes.size();
+            nodes.add(node);
+            Node<B> successor = new Node<>();
+            successor.incoming.add(node.id);
+            successor.pending.addAll(node.next);
+            expand(successor);
+            return;
+        }
+        LtlFormula<B> eta = node.pending.iterator().next();
+        node.pending.remove(eta);
+        if (node.old.contains(eta)) {
+            expand(node);
+            return;
+        }
+        switch (eta.getOperator()) {
+            case FALSE -> {
+                // contradiction: the node is discarded
+            }
+            case TRUE -> expand(node);
+            case ATOM, NOT -> {
+                LtlFormula<B> complement = eta.getOperator() == LtlFormula.Operator.ATOM ? LtlFormula.not(eta) : eta.getLeft();
+                if (node.old.contains(complement)) return;
+                node.old.add(eta);
+                expand(node);
+            }
+            case AND -> {
+                node.old.add(eta);
+                addPending(node, eta.getLeft());
+                addPending(node, eta.getRight());
+                expand(node);
+            }
+            case NEXT -> {
+                node.old.add(eta);
+                node.next.add(eta.getLeft());
+                expand(node);
+            }
+            case OR, UNTIL, RELEASE -> {
+                Node<B> first = node.copy();
+                Node<B> second = node.copy();
+                first.old.add(eta);
+                second.old.add(eta);
+                switch (eta.getOperator()) {
+                    case OR -> {
+                        addPending(first, eta.getLeft());
+                        addPending(second, eta.getRight());
+                    }
+                    case UNTIL -> {
+                        addPending(first, eta.getLeft());
+                        first.next.add(eta);
+                        addPending(second, eta.getRight());
+                    }
+                    default -> {
+                        addPending(first, eta.getRight());
+                        first.next.add(eta);
+                        addPending(second, eta.getLeft());
+                        addPending(second, eta.getRight());
+                    }
+                }
+                expand(first);
+                expand(second);
+            }
+        }
+    }
+
+    private static <B extends Bigraph<? extends Signature<?>>> void addPending(Node<B> node, LtlFormula<B> formula) {
+        if (!node.old.contains(formula)) node.pending.add(formula);
+    }
+
+    private void build() {
+        List<List<Integer>> edges = new ArrayList<>();
+        List<Integer> initial = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) edges.add(new ArrayList<>());
+        for (Node<B> each : nodes) {
+            for (int source : each.incoming) {
+                if (source == INIT) initial.add(each.id);
+                else edges.get(source).add(each.id);
+            }
+            for (LtlFormula<B> formula : each.old) {
+                if (formula.isLiteral() && formula.getOperator() != LtlFormula.Operator.TRUE) each.literals.add(formula);
+            }
+        }
+        successors = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            successors[i] = edges.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        initialNodes = initial.stream().mapToInt(Integer::intValue).toArray();
+        accepting = new boolean[untils.size()][nodes.size()];
+        for (int u = 0; u < untils.size(); u++) {
+            LtlFormula<B> until = untils.get(u);
+            for (Node<B> each : nodes) {
+                accepting[u][each.id] = !each.old.contains(until) || each.old.contains(until.getRight());
+            }
+        }
+    }
+
+    private static final class Node<B extends Bigraph<? extends Signature<?>>> {
+        int id = -1;
+        final Set<Integer> incoming = new LinkedHashSet<>();
+        final Set<LtlFormula<B>> pending = new LinkedHashSet<>();
+        final Set<LtlFormula<B>> old = new HashSet<>();
+        final Set<LtlFormula<B>> next = new HashSet<>();
+        final List<LtlFormula<B>> literals = new ArrayList<>();
+
+        Node<B> copy() {
+            Node<B> copy = new Node<>();
+            copy.incoming.addAll(incoming);
+            copy.pending.addAll(pending);
+            copy.old.addAll(old);
+            copy.next.addAll(next);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.CompactReactionGraph;
+
+/**
+ * The state space of an already synthesized reaction graph. The states are the state IDs of the
+ * {@link CompactReactionGraph}.
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ */
+public class CompactReactionGraphStateSpace<B extends Bigraph<? extends Signature<?>>> implements StateSpace<Integer, B> {
+
+    private final CompactReactionGraph<B> reactionGraph;
+    private final int initialState;
+
+    /**
+     * Creates the state space of a reaction graph. The first initial state of the reaction graph is the initial state,
+     * or the first state if the reaction graph has no initial states.
+     *
+     * @param reactionGraph the reaction graph
+     */
+    public CompactReactionGraphStateSpace(CompactReactionGraph<B> reactionGraph) {
+        this(reactionGraph, initialStateOf(reactionGraph));
+    }
+
+    public CompactReactionGraphStateSpace(CompactReactionGraph<B> reactionGraph, int initialState) {
+        if (initialState < 0 || initialState >= reactionGraph.getStateCount()) {
+            throw new IllegalArgumentException("The reaction graph has no state " + initialState);
+        }
+        this.reactionGraph = reactionGraph;
+        this.initialState = initialState;
+    }
+
+    static int initialStateOf(CompactReactionGraph<?> reactionGraph) {
+        int[] initialStates = reactionGraph.getInitialStates();
+        return initialStates.length > 0 ? initialStates[0] : 0;
+    }
+
+    @Override
+    public Integer getInitialState() {
+        return initialState;
+    }
+
+    @Override
+    public String getLabel(Integer state) {
+        return reactionGraph.getStateLabel(state);
+    }
+
+    @Override
+    public Collection<Integer> getSuccessors(Integer state) {
+        return Arrays.stream(reactionGraph.getSuccessors(state)).distinct().boxed().toList();
+    }
+
+    @Override
+    public B getBigraph(Integer state) {
+        B bigraph = reactionGraph.getState(state);
+        if (bigraph == null) {
+            throw new IllegalStateException("The bigraph of the state " + getLabel(state) + " is not available");
+        }
+        return bigraph;
+    }
+}
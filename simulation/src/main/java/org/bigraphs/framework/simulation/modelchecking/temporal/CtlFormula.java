@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.Objects;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+
+/**
+ * A formula of the computation tree logic (CTL) over the states of a reaction graph.
+ * The atomic propositions are {@link ReactiveSystemPredicate}s.
+ * <p>
+ * The formulas are built from the existential operators {@code EX}, {@code EU} and {@code EG}; the other operators
+ * are provided as derived forms by the static factory methods.
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ * @see CtlModelChecker
+ */
+public final class CtlFormula<B extends Bigraph<? extends Signature<?>>> {
+
+    public enum Operator {
+        TRUE, ATOM, NOT, AND, OR, EX, EU, EG
+    }
+
+    private final Operator operator;
+    private final ReactiveSystemPredicate<B> predicate;
+    private final CtlFormula<B> left;
+    private final CtlFormula<B> right;
+
+    private CtlFormula(Operator operator, ReactiveSystemPredicate<B> predicate, CtlFormula<B> left, CtlFormula<B> right) {
+        this.operator = operator;
+        this.predicate = predicate;
+        this.left = left;
+        this.right = right;
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> tt() {
+        return new CtlFormula<>(Operator.TRUE, null, null, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> ff() {
+        return not(tt());
+    }
+
+    /**
+     * Creates an atomic proposition that holds in a state if the predicate holds. A negated predicate (see
+     * {@link ReactiveSystemPredicate#isNegate()}) holds if its test fails.
+     *
+     * @param predicate the predicate
+     * @param <B>       type of the bigraph
+     * @return the atomic proposition
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> atom(ReactiveSystemPredicate<B> predicate) {
+        return new CtlFormula<>(Operator.ATOM, Objects.requireNonNull(predicate), null, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> not(CtlFormula<B> formula) {
+        return new CtlFormula<>(Operator.NOT, null, formula, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> and(CtlFormula<B> left, CtlFormula<B> right) {
+        return new CtlFormula<>(Operator.AND, null, left, right);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> or(CtlFormula<B> left, CtlFormula<B> right) {
+        return new CtlFormula<>(Operator.OR, null, left, right);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> implies(CtlFormula<B> left, CtlFormula<B> right) {
+        return or(not(left), right);
+    }
+
+    /**
+     * {@code EX formula}: some successor satisfies the formula.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> ex(CtlFormula<B> formula) {
+        return new CtlFormula<>(Operator.EX, null, formula, null);
+    }
+
+    /**
+     * {@code E[left U right]}: on some path, {@code right} eventually holds and {@code left} holds until then.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> eu(CtlFormula<B> left, CtlFormula<B> right) {
+        return new CtlFormula<>(Operator.EU, null, left, right);
+    }
+
+    /**
+     * {@code EG formula}: on some path, the formula holds in all states.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> eg(CtlFormula<B> formula) {
+        return new CtlFormula<>(Operator.EG, null, formula, null);
+    }
+
+    /**
+     * {@code EF formula}: some path eventually reaches a state that satisfies the formula.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> ef(CtlFormula<B> formula) {
+        return eu(tt(), formula);
+    }
+
+    /**
+     * {@code AX formula}: all successors satisfy the formula.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> ax(CtlFormula<B> formula) {
+        return not(ex(not(formula)));
+    }
+
+    /**
+     * {@code AF formula}: all paths eventually reach a state that satisfies the formula.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> af(CtlFormula<B> formula) {
+        return not(eg(not(formula)));
+    }
+
+    /**
+     * {@code AG formula}: all reachable states satisfy the formula.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> ag(CtlFormula<B> formula) {
+        return not(ef(not(formula)));
+    }
+
+    /**
+     * {@code A[left U right]}: on all paths, {@code right} eventually holds and {@code left} holds until then.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> CtlFormula<B> au(CtlFormula<B> left, CtlFormula<B> right) {
+        return not(or(eu(not(right), and(not(left), not(right))), eg(not(right))));
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public ReactiveSystemPredicate<B> getPredicate() {
+        return predicate;
+    }
+
+    public CtlFormula<B> getLeft() {
+        return left;
+    }
+
+    public CtlFormula<B> getRight() {
+        return right;
+    }
+
+    @Override
+    public String toString() {
+        return switch (operator) {
+            case TRUE -> "true";
+            case ATOM -> predicate.getLabel() != null ? predicate.getLabel() : predicate.getClass().getSimpleName();
+            case NOT -> "!" + left;
+            case AND -> "(" + left + " & " + right + ")";
+            case OR -> "(" + left + " | " + right + ")";
+            case EX -> "EX " + left;
+            case EU -> "E[" + left + " U " + right + "]";
+            case EG -> "EG " + left;
+        };
+    }
+}
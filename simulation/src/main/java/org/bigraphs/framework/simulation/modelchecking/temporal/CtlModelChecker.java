@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.*;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.CompactReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+
+/**
+ * Model checker for CTL formulas over a synthesized reaction graph.
+ * <p>
+ * The satisfying states of each subformula are computed bottom-up by the usual fixpoint characterisations:
+ * {@code E[a U b]} by a backward search from the {@code b}-states through {@code a}-states, and {@code EG a} by
+ * removing the {@code a}-states without a successor in the set until the set is stable. Both run in time linear to the
+ * size of the reaction graph, using the successor and predecessor arrays of the {@link CompactReactionGraph}.
+ * <p>
+ * The formulas are interpreted over infinite paths: a deadlock state is treated as if it had a self-loop.
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ * @see CtlFormula
+ */
+public class CtlModelChecker<B extends Bigraph<? extends Signature<?>>> {
+
+    private final CompactReactionGraph<B> reactionGraph;
+    private final int initialState;
+    private final Map<CtlFormula<B>, BitSet> results = new IdentityHashMap<>();
+    private final Map<ReactiveSystemPredicate<B>, BitSet> valuations = new IdentityHashMap<>();
+
+    public CtlModelChecker(ReactionGraph<B> reactionGraph) {
+        this(reactionGraph.compact());
+    }
+
+    /**
+     * Creates a model checker for a reaction graph. The formulas are checked in the first initial state of the reaction
+     * graph, or in the first state if the reaction graph has no initial states.
+     *
+     * @param reactionGraph the reaction graph
+     */
+    public CtlModelChecker(CompactReactionGraph<B> reactionGraph) {
+        if (reactionGraph.getStateCount() == 0) {
+            throw new IllegalArgumentException("The reaction graph is empty");
+        }
+        this.reactionGraph = reactionGraph;
+        this.initialState = CompactReactionGraphStateSpace.initialStateOf(reactionGraph);
+    }
+
+    /**
+     * Checks whether the formula holds in the initial state.
+     *
+     * @param formula the formula
+     * @return {@code true}, if the initial state satisfies the formula
+     */
+    public boolean holds(CtlFormula<B> formula) {
+        return evaluate(formula).get(initialState);
+    }
+
+    /**
+     * Returns the labels of all states that satisfy the formula.
+     *
+     * @param formula the formula
+     * @return the labels of the satisfying states
+     */
+    public Set<String> getSatisfyingStates(CtlFormula<B> formula) {
+        BitSet states = evaluate(formula);
+        Set<String> labels = new LinkedHashSet<>();
+        for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+            labels.add(reactionGraph.getStateLabel(i));
+        }
+        return labels;
+    }
+
+    /**
+     * Returns the IDs of the states in the {@link CompactReactionGraph} that satisfy the formula.
+     * The results of all subformulas are cached by this model checker.
+     *
+     * @param formula the formula
+     * @return the satisfying states, must not be modified
+     */
+    public BitSet evaluate(CtlFormula<B> formula) {
+        BitSet result = results.get(formula);
+        if (result == null) {
+            result = compute(formula);
+            results.put(formula, result);
+        }
+        return result;
+    }
+
+    private BitSet compute(CtlFormula<B> formula) {
+        int n = reactionGraph.getStateCount();
+        return switch (formula.getOperator()) {
+            case TRUE -> {
+                BitSet all = new BitSet(n);
+                all.set(0, n);
+                yield all;
+            }
+            case ATOM -> atom(formula.getPredicate());
+            case NOT -> {
+                BitSet complement = (BitSet) evaluate(formula.getLeft()).clone();
+                complement.flip(0, n);
+                yield complement;
+            }
+            case AND -> {
+                BitSet and = (BitSet) evaluate(formula.getLeft()).clone();
+                and.and(evaluate(formula.getRight()));
+                yield and;
+            }
+            case OR -> {
+                BitSet or = (BitSet) evaluate(formula.getLeft()).clone();
+                or.or(evaluate(formula.getRight()));
+                yield or;
+            }
+            case EX -> existsNext(evaluate(formula.getLeft()));
+            case EU -> existsUntil(evaluate(formula.getLeft()), evaluate(formula.getRight()));
+            case EG -> existsGlobally(evaluate(formula.getLeft()));
+        };
+    }
+
+    private BitSet atom(ReactiveSystemPredicate<B> predicate) {
+        BitSet result = valuations.get(predicate);
+        if (result == null) {
+            result = new BitSet(reactionGraph.getStateCount());
+            for (int i = 0; i < reactionGraph.getStateCount(); i++) {
+                B state = reactionGraph.getState(i);
+                if (state == null) {
+                    throw new IllegalStateException("The bigraph of the state " + reactionGraph.getStateLabel(i) + " is not available");
+                }
+                if (predicate.isNegate() != predicate.test(state)) result.set(i);
+            }
+            valuations.put(predicate, result);
+        }
+        return result;
+    }
+
+    private BitSet existsNext(BitSet target) {
+        BitSet result = new BitSet(reactionGraph.getStateCount());
+        for (int i = 0; i < reactionGraph.getStateCount(); i++) {
+            if (reactionGraph.getOutDegree(i) == 0) {
+                if (target.get(i)) result.set(i);
+                continue;
+            }
+            int end = reactionGraph.getFirstTransition(i + 1);
+            for (int t = reactionGraph.getFirstTransition(i); t < end; t++) {
+                if (target.get(reactionGraph.getTarget(t))) {
+                    result.set(i);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private BitSet existsUntil(BitSet left, BitSet right) {
+        BitSet result = (BitSet) right.clone();
+        Deque<Integer> worklist = new ArrayDeque<>();
+        for (int i = right.nextSetBit(0); i >= 0; i = right.nextSetBit(i + 1)) {
+            worklist.add(i);
+        }
+        while (!worklist.isEmpty()) {
+            int state = worklist.poll();
+            for (int predecessor : reactionGraph.getPredecessors(state)) {
+                if (!result.get(predecessor) && left.get(predecessor)) {
+                    result.set(predecessor);
+                    worklist.add(predecessor);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BitSet existsGlobally(BitSet invariant) {
+        BitSet result = (BitSet) invariant.clone();
+        int[] successorsInResult = new int[reactionGraph.getStateCount()];
+        Deque<Integer> worklist = new ArrayDeque<>();
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            if (reactionGraph.getOutDegree(i) == 0) {
+                // the self-loop of a deadlock
+                successorsInResult[i] = 1;
+                continue;
+            }
+            int end = reactionGraph.getFirstTransition(i + 1);
+            for (int t = reactionGraph.getFirstTransition(i); t < end; t++) {
+                if (result.get(reactionGraph.getTarget(t))) successorsInResult[i]++;
+            }
+            if (successorsInResult[i] == 0) worklist.add(i);
+        }
+        while (!worklist.isEmpty()) {
+            int state = worklist.poll();
+            if (!result.get(state)) continue;
+            result.clear(state);
+            for (int predecessor : reactionGraph.getPredecessors(state)) {
+                if (result.get(predecessor) && --successorsInResult[predecessor] == 0) {
+                    worklist.add(predecessor);
+                }
+            }
+        }
+        return result;
+    }
+}
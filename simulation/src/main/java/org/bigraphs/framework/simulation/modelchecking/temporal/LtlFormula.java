@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.Objects;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+
+/**
+ * A formula of the linear temporal logic (LTL) over the states of a reactive system.
+ * The atomic propositions are {@link ReactiveSystemPredicate}s, e.g., a
+ * {@link org.bigraphs.framework.simulation.modelchecking.predicates.SubBigraphMatchPredicate} or a
+ * {@link org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate}.
+ * <p>
+ * Formulas are created by the static factory methods and are immutable. Two formulas are equal if they have the same
+ * structure and the same (identical) predicates.
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ * @see LtlModelChecker
+ */
+public final class LtlFormula<B extends Bigraph<? extends Signature<?>>> {
+
+    public enum Operator {
+        TRUE, FALSE, ATOM, NOT, AND, OR, NEXT, UNTIL, RELEASE
+    }
+
+    private final Operator operator;
+    private final ReactiveSystemPredicate<B> predicate;
+    private final LtlFormula<B> left;
+    private final LtlFormula<B> right;
+    private final int hashCode;
+
+    private LtlFormula(Operator operator, ReactiveSystemPredicate<B> predicate, LtlFormula<B> left, LtlFormula<B> right) {
+        this.operator = operator;
+        this.predicate = predicate;
+        this.left = left;
+        this.right = right;
+        this.hashCode = Objects.hash(operator, predicate == null ? 0 : System.identityHashCode(predicate), left, right);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> tt() {
+        return new LtlFormula<>(Operator.TRUE, null, null, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> ff() {
+        return new LtlFormula<>(Operator.FALSE, null, null, null);
+    }
+
+    /**
+     * Creates an atomic proposition that holds in a state if the predicate holds. A negated predicate (see
+     * {@link ReactiveSystemPredicate#isNegate()}) holds if its test fails.
+     *
+     * @param predicate the predicate
+     * @param <B>       type of the bigraph
+     * @return the atomic proposition
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> atom(ReactiveSystemPredicate<B> predicate) {
+        return new LtlFormula<>(Operator.ATOM, Objects.requireNonNull(predicate), null, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> not(LtlFormula<B> formula) {
+        return new LtlFormula<>(Operator.NOT, null, formula, null);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> and(LtlFormula<B> left, LtlFormula<B> right) {
+        return new LtlFormula<>(Operator.AND, null, left, right);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> or(LtlFormula<B> left, LtlFormula<B> right) {
+        return new LtlFormula<>(Operator.OR, null, left, right);
+    }
+
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> implies(LtlFormula<B> left, LtlFormula<B> right) {
+        return or(not(left), right);
+    }
+
+    /**
+     * {@code X formula}: the formula holds in the next state.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> next(LtlFormula<B> formula) {
+        return new LtlFormula<>(Operator.NEXT, null, formula, null);
+    }
+
+    /**
+     * {@code left U right}: {@code right} eventually holds, and {@code left} holds until then.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> until(LtlFormula<B> left, LtlFormula<B> right) {
+        return new LtlFormula<>(Operator.UNTIL, null, left, right);
+    }
+
+    /**
+     * {@code left R right}: {@code right} holds until and including the state in which {@code left} holds first, or
+     * forever.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> release(LtlFormula<B> left, LtlFormula<B> right) {
+        return new LtlFormula<>(Operator.RELEASE, null, left, right);
+    }
+
+    /**
+     * {@code F formula}: the formula holds eventually.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> eventually(LtlFormula<B> formula) {
+        return until(tt(), formula);
+    }
+
+    /**
+     * {@code G formula}: the formula holds in all states.
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlFormula<B> globally(LtlFormula<B> formula) {
+        return release(ff(), formula);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public ReactiveSystemPredicate<B> getPredicate() {
+        return predicate;
+    }
+
+    public LtlFormula<B> getLeft() {
+        return left;
+    }
+
+    public LtlFormula<B> getRight() {
+        return right;
+    }
+
+    /**
+     * Returns the equivalent formula in negation normal form, i.e., negations only occur directly in front of atomic
+     * propositions.
+     *
+     * @return the formula in negation normal form
+     */
+    public LtlFormula<B> toNegationNormalForm() {
+        return switch (operator) {
+            case TRUE, FALSE, ATOM -> this;
+            case NOT -> left.negated();
+            case AND -> and(left.toNegationNormalForm(), right.toNegationNormalForm());
+            case OR -> or(left.toNegationNormalForm(), right.toNegationNormalForm());
+            case NEXT -> next(left.toNegationNormalForm());
+            case UNTIL -> until(left.toNegationNormalForm(), right.toNegationNormalForm());
+            case RELEASE -> release(left.toNegationNormalForm(), right.toNegationNormalForm());
+        };
+    }
+
+    /**
+     * Returns the negation of this formula in negation normal form.
+     */
+    private LtlFormula<B> negated() {
+        return switch (operator) {
+            case TRUE -> ff();
+            case FALSE -> tt();
+            case ATOM -> not(this);
+            case NOT -> left.toNegationNormalForm();
+            case AND -> or(left.negated(), right.negated());
+            case OR -> and(left.negated(), right.negated());
+            case NEXT -> next(left.negated());
+            case UNTIL -> release(left.negated(), right.negated());
+            case RELEASE -> until(left.negated(), right.negated());
+        };
+    }
+
+    boolean isLiteral() {
+        return operator == Operator.TRUE || operator == Operator.FALSE || operator == Operator.ATOM
+                || (operator == Operator.NOT && left.operator == Operator.ATOM);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LtlFormula<?> that)) return false;
+        return hashCode == that.hashCode && operator == that.operator && predicate == that.predicate
+                && Objects.equals(left, that.left) && Objects.equals(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return switch (operator) {
+            case TRUE -> "true";
+            case FALSE -> "false";
+            case ATOM -> predicate.getLabel() != null ? predicate.getLabel() : predicate.getClass().getSimpleName();
+            case NOT -> "!" + left;
+            case AND -> "(" + left + " & " + right + ")";
+            case OR -> "(" + left + " | " + right + ")";
+            case NEXT -> "X " + left;
+            case UNTIL -> "(" + left + " U " + right + ")";
+            case RELEASE -> "(" + left + " R " + right + ")";
+        };
+    }
+}
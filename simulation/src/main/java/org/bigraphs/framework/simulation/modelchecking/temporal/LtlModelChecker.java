@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.*;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+
+/**
+ * On-the-fly model checker for LTL formulas.
+ * <p>
+ * The negation of the formula is translated into a Büchi automaton (see {@link BuchiAutomaton}). The product of the
+ * state space and the automaton is searched for an accepting cycle by a nested depth-first search [1], while the
+ * states are generated: the state space is never materialised, only the labels of the visited states and the
+ * valuations of the atomic propositions are kept. The search stops at the first counterexample.
+ * <p>
+ * The formulas are interpreted over infinite paths: a deadlock state is treated as if it had a self-loop.
+ * <p>
+ * <b>References</b>
+ * <p>
+ * [1] Courcoubetis, C., Vardi, M., Wolper, P., Yannakakis, M.: Memory-efficient algorithms for the verification of
+ * temporal properties. Formal Methods in System Design. 1, 275–288 (1992).
+ *
+ * @param <S> type of the states
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ * @see LtlFormula
+ */
+public class LtlModelChecker<S, B extends Bigraph<? extends Signature<?>>> {
+
+    private static final int SUCCESSOR_CACHE_SIZE = 1024;
+
+    private final StateSpace<S, B> stateSpace;
+    private long maximumStates = Long.MAX_VALUE;
+
+    public LtlModelChecker(StateSpace<S, B> stateSpace) {
+        this.stateSpace = stateSpace;
+    }
+
+    /**
+     * Creates a model checker that explores the reactive system of the given model checker on the fly.
+     *
+     * @param modelChecker the model checker providing the reactive system, the matcher and the canonical form
+     * @param <B>          type of the bigraph
+     * @return the LTL model checker
+     */
+    public static <B extends Bigraph<? extends Signature<?>>> LtlModelChecker<B, B> of(BigraphModelChecker<B> modelChecker) {
+        return new LtlModelChecker<>(new ReactiveSystemStateSpace<>(modelChecker));
+    }
+
+    /**
+     * Limits the number of distinct states that are generated. If the limit is reached without finding a
+     * counterexample, the result is not exhaustive (see {@link Result#isExhaustive()}).
+     *
+     * @param maximumStates the maximum number of states
+     * @return this model checker
+     */
+    public LtlModelChecker<S, B> setMaximumStates(long maximumStates) {
+        this.maximumStates = maximumStates;
+        return this;
+    }
+
+    /**
+     * Checks whether all paths from the initial state satisfy the formula.
+     *
+     * @param formula the formula
+     * @return the result, with a counterexample if the formula is violated
+     */
+    public Result<B> check(LtlFormula<B> formula) {
+        return new Search(new BuchiAutomaton<>(LtlFormula.not(formula))).run();
+    }
+
+    /**
+     * The result of checking an LTL formula.
+     *
+     * @param <B> type of the bigraph
+     */
+    public static final class Result<B extends Bigraph<? extends Signature<?>>> {
+        private final boolean holds;
+        private final boolean exhaustive;
+        private final long stateCount;
+        private final List<B> prefix;
+        private final List<String> prefixLabels;
+        private final List<B> cycle;
+        private final List<String> cycleLabels;
+
+        Result(boolean holds, boolean exhaustive, long stateCount, List<B> prefix, List<String> prefixLabels, List<B> cycle, List<String> cycleLabels) {
+            this.holds = holds;
+            this.exhaustive = exhaustive;
+            this.stateCount = stateCount;
+            this.prefix = prefix;
+            this.prefixLabels = prefixLabels;
+            this.cycle = cycle;
+            this.cycleLabels = cycleLabels;
+        }
+
+        /**
+         * Returns whether the formula holds. If the search was not exhaustive, it only holds for the explored states.
+         *
+         * @return {@code false}, if a counterexample was found
+         */
+        public boolean holds() {
+            return holds;
+        }
+
+        /**
+         * Returns whether all reachable states were explored, or a counterexample was found.
+         *
+         * @return {@code false}, if the search was stopped by the maximum number of states
+         */
+        public boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        public long getStateCount() {
+            return stateCount;
+        }
+
+        /**
+         * Returns the states of the counterexample from the initial state to the first state of the cycle
+         * (exclusive).
+         *
+         * @return the prefix of the counterexample, empty if the formula holds
+         */
+        public List<B> getPrefix() {
+            return prefix;
+        }
+
+        public List<String> getPrefixLabels() {
+            return prefixLabels;
+        }
+
+        /**
+         * Returns the states of the cycle of the counterexample, which is repeated infinitely. The last state
+         * reaches the first one by a reaction (or is a deadlock and equals the first one).
+         *
+         * @return the cycle of the counterexample, empty if the formula holds
+         */
+        public List<B> getCycle() {
+            return cycle;
+        }
+
+        public List<String> getCycleLabels() {
+            return cycleLabels;
+        }
+    }
+
+    private record Key(String label, int node, int level) {
+    }
+
+    private final class ProductState {
+        final S state;
+        final Key key;
+
+        ProductState(S state, String label, int node, int level) {
+            this.state = state;
+            this.key = new Key(label, node, level);
+        }
+    }
+
+    private final class Search {
+        final BuchiAutomaton<B> automaton;
+        final List<ReactiveSystemPredicate<B>> atoms = new ArrayList<>();
+        // the valuations of the atomic propositions, by the label of the states
+        final Map<String, boolean[]> valuations = new HashMap<>();
+        final Map<String, List<S>> successorCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<S>> eldest) {
+                return size() > SUCCESSOR_CACHE_SIZE;
+            }
+        };
+        final Set<Key> outerVisited = new HashSet<>();
+        final Set<Key> innerVisited = new HashSet<>();
+        final Deque<Frame> outerStack = new ArrayDeque<>();
+        final Set<Key> onOuterStack = new HashSet<>();
+        boolean exhausted;
+
+        /**
+         * A state on a search stack with its remaining successors.
+         */
+        final class Frame {
+            final ProductState state;
+            final Iterator<ProductState> successors;
+
+            Frame(ProductState state) {
+                this.state = state;
+                this.successors = successorsOf(state).iterator();
+            }
+        }
+
+        Search(BuchiAutomaton<B> automaton) {
+            this.automaton = automaton;
+            for (int i = 0; i < automaton.getNodeCount(); i++) {
+                for (LtlFormula<B> each : automaton.getLiterals(i)) {
+                    ReactiveSystemPredicate<B> predicate = each.getOperator() == LtlFormula.Operator.ATOM
+                            ? each.getPredicate() : each.getLeft().getPredicate();
+                    if (predicate != null && atoms.stream().noneMatch(x -> x == predicate)) atoms.add(predicate);
+                }
+            }
+        }
+
+        Result<B> run() {
+            S initial = stateSpace.getInitialState();
+            String label = stateSpace.getLabel(initial);
+            for (int node : automaton.getInitialNodes()) {
+                if (!enabled(initial, label, node)) continue;
+                ProductState start = new ProductState(initial, label, node, 0);
+                if (outerVisited.contains(start.key)) continue;
+                Result<B> counterexample = outerSearch(start);
+                if (counterexample != null) return counterexample;
+                if (exhausted) break;
+            }
+            return new Result<>(true, !exhausted, valuations.size(), List.of(), List.of(), List.of(), List.of());
+        }
+
+        Result<B> outerSearch(ProductState start) {
+            push(start);
+            while (!outerStack.isEmpty()) {
+                Frame top = outerStack.peek();
+                if (top.successors.hasNext()) {
+                    ProductState next = top.successors.next();
+                    if (exhausted) return null;
+                    if (!outerVisited.contains(next.key)) push(next);
+                    continue;
+                }
+                if (isAccepting(top.state)) {
+                    Deque<ProductState> innerPath = innerSearch(top.state);
+                    if (innerPath != null) return counterexample(innerPath);
+                }
+                outerStack.pop();
+                onOuterStack.remove(top.state.key);
+            }
+            return null;
+        }
+
+        void push(ProductState state) {
+            outerVisited.add(state.key);
+            onOuterStack.add(state.key);
+            outerStack.push(new Frame(state));
+        }
+
+        /**
+         * Searches a cycle through the seed by looking for a state on the outer stack.
+         *
+         * @return the path from the seed (exclusive) to a state on the outer stack (inclusive), or {@code null}
+         */
+        Deque<ProductState> innerSearch(ProductState seed) {
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(new Frame(seed));
+            while (!stack.isEmpty()) {
+                Frame top = stack.peek();
+                if (!top.successors.hasNext()) {
+                    stack.pop();
+                    continue;
+                }
+                ProductState next = top.successors.next();
+                if (exhausted) return null;
+                if (onOuterStack.contains(next.key)) {
+                    Deque<ProductState> path = new ArrayDeque<>();
+                    path.addFirst(next);
+                    for (Frame each : stack) {
+                        if (each.state != seed) path.addFirst(each.state);
+                    }
+                    return path;
+                }
+                if (innerVisited.add(next.key)) {
+                    stack.push(new Frame(next));
+                }
+            }
+            return null;
+        }
+
+        Result<B> counterexample(Deque<ProductState> innerPath) {
+            // the outer stack from the initial state to the seed
+            List<ProductState> outerPath = new ArrayList<>();
+            outerStack.descendingIterator().forEachRemaining(each -> outerPath.add(each.state));
+            Key cycleStart = innerPath.getLast().key;
+            int start = 0;
+            while (!outerPath.get(start).key.equals(cycleStart)) start++;
+            List<ProductState> cycle = new ArrayList<>(outerPath.subList(start, outerPath.size()));
+            innerPath.removeLast();
+            cycle.addAll(innerPath);
+            List<ProductState> prefix = new ArrayList<>(outerPath.subList(0, start));
+            // the lasso is shortened on the states of the system, which may repeat in the product
+            while (!prefix.isEmpty() && prefix.get(prefix.size() - 1).key.label().equals(cycle.get(cycle.size() - 1).key.label())) {
+                cycle.add(0, prefix.remove(prefix.size() - 1));
+                cycle.remove(cycle.size() - 1);
+            }
+            cycle = cycle.subList(0, period(cycle));
+            return new Result<>(false, true, valuations.size(),
+                    prefix.stream().map(x -> stateSpace.getBigraph(x.state)).toList(), prefix.stream().map(x -> x.key.label()).toList(),
+                    cycle.stream().map(x -> stateSpace.getBigraph(x.state)).toList(), cycle.stream().map(x -> x.key.label()).toList());
+        }
+
+        /**
+         * Returns the length of the shortest sequence of states whose repetition yields the cycle.
+         */
+        int period(List<ProductState> cycle) {
+            int n = cycle.size();
+            for (int length = 1; length < n; length++) {
+                if (n % length != 0) continue;
+                boolean repeats = true;
+                for (int i = length; i < n && repeats; i++) {
+                    repeats = cycle.get(i).key.label().equals(cycle.get(i - length).key.label());
+                }
+                if (repeats) return length;
+            }
+            return n;
+        }
+
+        boolean isAccepting(ProductState state) {
+            return automaton.getAcceptanceSetCount() == 0
+                    || (state.key.level() == 0 && automaton.isAccepting(0, state.key.node()));
+        }
+
+        List<ProductState> successorsOf(ProductState state) {
+            List<S> successors = successorCache.get(state.key.label());
+            if (successors == null) {
+                successors = new ArrayList<>(stateSpace.getSuccessors(state.state));
+                // a deadlock is extended to an infinite path by a self-loop
+                if (successors.isEmpty()) successors.add(state.state);
+                successorCache.put(state.key.label(), successors);
+            }
+            int level = state.key.level();
+            if (automaton.getAcceptanceSetCount() > 0 && automaton.isAccepting(level, state.key.node())) {
+                level = (level + 1) % automaton.getAcceptanceSetCount();
+            }
+            List<ProductState> result = new ArrayList<>();
+            for (S each : successors) {
+                String label = each == state.state ? state.key.label() : stateSpace.getLabel(each);
+                for (int node : automaton.getSuccessors(state.key.node())) {
+                    if (enabled(each, label, node)) result.add(new ProductState(each, label, node, level));
+                }
+                if (exhausted) break;
+            }
+            return result;
+        }
+
+        /**
+         * Returns whether the literals of an automaton node hold in a state.
+         */
+        boolean enabled(S state, String label, int node) {
+            boolean[] valuation = valuations.get(label);
+            if (valuation == null) {
+                if (valuations.size() >= maximumStates) {
+                    exhausted = true;
+                    return false;
+                }
+                B bigraph = stateSpace.getBigraph(state);
+                valuation = new boolean[atoms.size()];
+                for (int i = 0; i < atoms.size(); i++) {
+                    ReactiveSystemPredicate<B> atom = atoms.get(i);
+                    valuation[i] = atom.isNegate() != atom.test(bigraph);
+                }
+                valuations.put(label, valuation);
+            }
+            for (LtlFormula<B> literal : automaton.getLiterals(node)) {
+                if (literal.getOperator() == LtlFormula.Operator.FALSE) return false;
+                boolean positive = literal.getOperator() == LtlFormula.Operator.ATOM;
+                ReactiveSystemPredicate<B> predicate = positive ? literal.getPredicate() : literal.getLeft().getPredicate();
+                if (valuation[indexOf(predicate)] != positive) return false;
+            }
+            return true;
+        }
+
+        int indexOf(ReactiveSystemPredicate<B> predicate) {
+            for (int i = 0; i < atoms.size(); i++) {
+                if (atoms.get(i) == predicate) return i;
+            }
+            throw new IllegalStateException("Unknown atomic proposition " + predicate);
+        }
+    }
+}
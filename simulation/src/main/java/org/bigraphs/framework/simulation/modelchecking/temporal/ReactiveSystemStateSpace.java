@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystem;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+
+/**
+ * The state space of a reactive system that is computed on demand: the successors of a state are the results of all
+ * occurrences of all reaction rules. The states are labelled by their canonical form.
+ * <p>
+ * The reactive system, the matcher and the canonical form are taken from a model checker, so that both produce the
+ * same states.
+ *
+ * @param <B> type of the bigraph
+ * @author Dominik Grzelak
+ */
+public class ReactiveSystemStateSpace<B extends Bigraph<? extends Signature<?>>> implements StateSpace<B, B> {
+
+    private final ReactiveSystem<B> reactiveSystem;
+    private final AbstractBigraphMatcher<B> matcher;
+    private final BigraphCanonicalForm canonicalForm;
+
+    public ReactiveSystemStateSpace(BigraphModelChecker<B> modelChecker) {
+        this.reactiveSystem = modelChecker.getReactiveSystem();
+        this.matcher = modelChecker.getMatcher();
+        this.canonicalForm = modelChecker.acquireCanonicalForm();
+    }
+
+    @Override
+    public B getInitialState() {
+        return reactiveSystem.getAgent();
+    }
+
+    @Override
+    public String getLabel(B state) {
+        return canonicalForm.bfcs(state);
+    }
+
+    @Override
+    public Collection<B> getSuccessors(B state) {
+        List<B> successors = new ArrayList<>();
+        for (ReactionRule<B> rule : reactiveSystem.getReactionRules()) {
+            for (BigraphMatch<B> match : matcher.matchAll(state, rule)) {
+                B reaction = (state.getSites().isEmpty() || match.getParameters().isEmpty())
+                        ? reactiveSystem.buildGroundReaction(state, match, rule)
+                        : reactiveSystem.buildParametricReaction(state, match, rule);
+                if (reaction != null) successors.add(reaction);
+            }
+        }
+        return successors;
+    }
+
+    @Override
+    public B getBigraph(B state) {
+        return state;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.modelchecking.temporal;
+
+import java.util.Collection;
+import org.bigraphs.framework.core.Bigraph;
+import org.bigraphs.framework.core.Signature;
+
+/**
+ * The state space of a reactive system as seen by the {@link LtlModelChecker}: the successors of a state are only
+ * computed when they are requested, so that the state space is explored on the fly.
+ *
+ * @param <S> type of the states
+ * @param <B> type of the bigraph of a state
+ * @author Dominik Grzelak
+ * @see ReactiveSystemStateSpace
+ * @see CompactReactionGraphStateSpace
+ */
+public interface StateSpace<S, B extends Bigraph<? extends Signature<?>>> {
+
+    S getInitialState();
+
+    /**
+     * Returns the label of a state. States with the same label are considered equal.
+     *
+     * @param state the state
+     * @return the label of the state, e.g., its canonical form
+     */
+    String getLabel(S state);
+
+    /**
+     * Returns the states that are reachable by one reaction from the given state.
+     *
+     * @param state the state
+     * @return the successors of the state, an empty collection if the state is a deadlock
+     */
+    Collection<S> getSuccessors(S state);
+
+    /**
+     * Returns the bigraph of a state, which is used to evaluate the atomic propositions.
+     *
+     * @param state the state
+     * @return the bigraph of the state
+     */
+    B getBigraph(S state);
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.simulation.modelchecking.BitstateSet;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the bitstate (supertrace) mode.
+ *
+ * @author Dominik Grzelak
+ */
+public class BitstateSetUnitTest {
+
+    @Test
+    @DisplayName("Bitstate set sets k bits per state and recognizes visited states")
+    void add_and_omission_probability() {
+        BitstateSet set = new BitstateSet(1 << 20, 3);
+        assertEquals(1L << 23, set.getBitCount());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add("state-" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(set.add("state-" + i));
+        }
+        assertEquals(1000, set.size());
+        assertTrue(set.getSetBitCount() <= 3000);
+        assertTrue(set.getOmissionProbability() < 1e-9);
+
+        assertEquals(64, new BitstateSet(1, 1).getBitCount());
+    }
+
+    @Test
+    @DisplayName("The memory of the bitstate set is fixed, independent of the number of states")
+    void fixed_memory() {
+        BitstateSet set = new BitstateSet(1 << 10, 3);
+        long bits = set.getBitCount();
+        for (int i = 0; i < 100_000; i++) {
+            set.add("state-" + i);
+        }
+        assertEquals(bits, set.getBitCount());
+        assertTrue(set.getSetBitCount() <= bits);
+        // the set is saturated: most states are omitted, and the omission probability reflects it
+        assertTrue(set.size() < 100_000);
+        assertTrue(set.getOmissionProbability() > 0.5);
+    }
+
+    @Test
+    @DisplayName("Bitstate mode explores the state space without retaining the reaction graph or the states")
+    void bitstate_mode() throws Exception {
+        ReactionGraph<PureBigraph> exact = explore(ModelCheckingOptions.create());
+        ReactionGraph<PureBigraph> bitstate = explore(ModelCheckingOptions.create().setBitstate(1 << 20, 3));
+
+        assertTrue(bitstate.isEmpty());
+        assertTrue(bitstate.getStateMap().isEmpty());
+        assertEquals(ModelCheckingOptions.StateStorage.BITSTATE, ModelCheckingOptions.create().setBitstate(8, 1).getStateStorage());
+        assertEquals(multisets(4, 2), exact.getGraph().vertexSet().size());
+        assertEquals(exact.getGraph().vertexSet().size(), bitstate.getGraphStats().getExploredStateCount());
+        assertEquals(exact.getGraphStats().getStateCount(), exact.getGraphStats().getExploredStateCount());
+    }
+
+    private ReactionGraph<PureBigraph> explore(ModelCheckingOptions opts) throws Exception {
+        return agent(4, "A").rule("A", "B").options(opts).explore();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions.transitionOpts;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats.StopReason;
+import org.bigraphs.framework.simulation.modelchecking.ExplorationCheckpoint;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests checkpointing an exploration and resuming it.
+ *
+ * @author Dominik Grzelak
+ */
+public class CheckpointResumeUnitTest {
+
+    @TempDir
+    Path checkpointDirectory;
+
+    @Test
+    @DisplayName("A resumed exploration yields the same reaction graph as an uninterrupted one")
+    void resume_from_checkpoint() throws Exception {
+        PureBigraphModelChecker full = createModelChecker(1000, ModelCheckingOptions.create());
+        full.execute();
+
+        PureBigraphModelChecker interrupted = createModelChecker(2,
+                ModelCheckingOptions.create().setCheckpointing(checkpointDirectory, 1, TimeUnit.HOURS));
+        interrupted.execute();
+        assertEquals(StopReason.MAXIMUM_TRANSITIONS, interrupted.getReactionGraph().getGraphStats().getStopReason());
+        assertTrue(ExplorationCheckpoint.exists(checkpointDirectory));
+        assertTrue(interrupted.getReactionGraph().getGraph().vertexSet().size() < full.getReactionGraph().getGraph().vertexSet().size());
+
+        PureBigraphModelChecker resumed = createModelChecker(1000,
+                ModelCheckingOptions.create().setCheckpointing(checkpointDirectory, 1, TimeUnit.HOURS));
+        resumed.resume(checkpointDirectory);
+
+        ReactionGraph<PureBigraph> expected = full.getReactionGraph();
+        ReactionGraph<PureBigraph> actual = resumed.getReactionGraph();
+        assertEquals(StopReason.COMPLETED, actual.getGraphStats().getStopReason());
+        assertEquals(multisets(4, 3), actual.getGraph().vertexSet().size());
+        assertEquals(states(expected), states(actual));
+        assertEquals(transitions(expected), transitions(actual));
+        assertEquals(expected.getGraphStats().getOccurrenceCount(), actual.getGraphStats().getOccurrenceCount());
+
+        ExplorationCheckpoint last = ExplorationCheckpoint.read(checkpointDirectory, SIGNATURE);
+        List<ExplorationCheckpoint.State> journaled = new ArrayList<>();
+        last.replayJournal(journaled::add, transition -> {
+        });
+        assertEquals(expected.getGraph().vertexSet().size(), journaled.size());
+        assertTrue(journaled.stream().allMatch(ExplorationCheckpoint.State::canonicalLabel));
+        assertEquals(0, last.getFrontierSize());
+    }
+
+    @Test
+    @DisplayName("A spilled frontier and fingerprint labels are restored from a checkpoint")
+    void resume_spilled_frontier_with_fingerprints(@TempDir Path spillDirectory) throws Exception {
+        PureBigraphModelChecker full = createModelChecker(1000, fingerprintOptions(spillDirectory));
+        full.execute();
+
+        PureBigraphModelChecker interrupted = createModelChecker(3,
+                fingerprintOptions(spillDirectory).setCheckpointing(checkpointDirectory, 1, TimeUnit.HOURS));
+        interrupted.execute();
+        ExplorationCheckpoint checkpoint = ExplorationCheckpoint.read(checkpointDirectory, SIGNATURE);
+        assertTrue(checkpoint.getFrontierSize() > 1);
+        List<PureBigraph> frontier = new ArrayList<>();
+        checkpoint.forEachFrontierState(frontier::add);
+        assertEquals(checkpoint.getFrontierSize(), frontier.size());
+        // the journal keeps the fingerprints instead of the canonical strings
+        checkpoint.replayJournal(state -> assertFalse(state.canonicalLabel()), transition -> {
+        });
+
+        PureBigraphModelChecker resumed = createModelChecker(1000,
+                fingerprintOptions(spillDirectory).setCheckpointing(checkpointDirectory, 1, TimeUnit.HOURS));
+        resumed.resume(checkpointDirectory);
+        ReactionGraph<PureBigraph> actual = resumed.getReactionGraph();
+        assertEquals(StopReason.COMPLETED, actual.getGraphStats().getStopReason());
+        assertEquals(states(full.getReactionGraph()), states(actual));
+        assertEquals(transitions(full.getReactionGraph()), transitions(actual));
+    }
+
+    @Test
+    @DisplayName("Resuming requires a checkpoint")
+    void resume_without_checkpoint() throws Exception {
+        PureBigraphModelChecker modelChecker = createModelChecker(1000, ModelCheckingOptions.create());
+        assertThrows(IllegalArgumentException.class, () -> modelChecker.resume(checkpointDirectory));
+    }
+
+    private static ModelCheckingOptions fingerprintOptions(Path spillDirectory) {
+        return ModelCheckingOptions.create()
+                .setStateStorage(ModelCheckingOptions.StateStorage.FINGERPRINT)
+                .setSpillToDisk(spillDirectory, 1);
+    }
+
+    private PureBigraphModelChecker createModelChecker(int maximumTransitions, ModelCheckingOptions opts) throws Exception {
+        return agent(4, "A").rule("A", "B").rule("A", "C")
+                .options(opts)
+                .transitions(transitionOpts().setMaximumTransitions(maximumTransitions))
+                .modelChecker();
+    }
+}
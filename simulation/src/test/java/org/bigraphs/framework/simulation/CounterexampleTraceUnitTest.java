@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate;
+import org.jgrapht.GraphPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the counterexample traces that are reported for violated predicates.
+ *
+ * @author Dominik Grzelak
+ */
+public class CounterexampleTraceUnitTest {
+
+    @Test
+    @DisplayName("The trace of a violating state leads from the initial state to the state along a shortest path")
+    void trace_from_initial_state() throws Exception {
+        List<Violation> violations = new ArrayList<>();
+        PureBigraphModelChecker modelChecker = createModelChecker(ModelCheckingOptions.create(), violations);
+        modelChecker.execute();
+
+        ReactionGraph<PureBigraph> reactionGraph = modelChecker.getReactionGraph();
+        // all states but the one with three B nodes violate the predicate
+        assertEquals(reactionGraph.getGraph().vertexSet().size() - 1, violations.size());
+        for (Violation each : violations) {
+            GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> trace = each.trace();
+            assertEquals(each.depth(), trace.getLength());
+            // the trace starts at the initial state and ends at the violating state
+            assertEquals(3, count(reactionGraph.getStateMap().get(trace.getStartVertex().getCanonicalForm()), "A"));
+            assertEquals(each.depth(), count(reactionGraph.getStateMap().get(trace.getEndVertex().getCanonicalForm()), "B"));
+            // each step of the trace is a transition of the reaction graph
+            List<ReactionGraph.LabeledNode> vertices = trace.getVertexList();
+            for (int i = 0; i < trace.getLength(); i++) {
+                String rule = trace.getEdgeList().get(i).getLabel();
+                assertEquals("r0", rule);
+                assertTrue(reactionGraph.getGraph().getAllEdges(vertices.get(i), vertices.get(i + 1)).stream()
+                        .anyMatch(edge -> edge.getLabel().equals(rule)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Traces are also available in the bitstate mode")
+    void trace_in_bitstate_mode() throws Exception {
+        List<Violation> violations = new ArrayList<>();
+        createModelChecker(ModelCheckingOptions.create().setBitstate(1 << 20, 3), violations).execute();
+
+        assertEquals(3, violations.size());
+        for (Violation each : violations) {
+            GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> trace = each.trace();
+            assertEquals(each.depth(), trace.getLength());
+            assertEquals(each.depth(), trace.getVertexList().stream().distinct().count() - 1);
+            trace.getEdgeList().forEach(edge -> assertEquals("r0", edge.getLabel()));
+        }
+    }
+
+    private PureBigraphModelChecker createModelChecker(ModelCheckingOptions opts, List<Violation> violations) throws Exception {
+        PureBigraphModelChecker modelChecker = agent(3, "A").rule("A", "B")
+                .predicate(BigraphIsoPredicate.create(state("B", "B", "B")))
+                .options(opts)
+                .modelChecker();
+        modelChecker.setReactiveSystemListener(new BigraphModelChecker.ReactiveSystemListener<>() {
+            @Override
+            public void onPredicateViolated(PureBigraph currentAgent, ReactiveSystemPredicate<PureBigraph> predicate,
+                                            GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> counterExampleTrace) {
+                violations.add(new Violation((int) count(currentAgent, "B"), counterExampleTrace));
+            }
+        });
+        return modelChecker;
+    }
+
+    private record Violation(int depth, GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> trace) {
+    }
+}
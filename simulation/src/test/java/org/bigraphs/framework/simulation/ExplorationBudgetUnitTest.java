@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions.transitionOpts;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.BigraphMatch;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats.StopReason;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the budgets of an exploration and the reported stop reasons.
+ *
+ * @author Dominik Grzelak
+ */
+public class ExplorationBudgetUnitTest {
+
+    @Test
+    @DisplayName("A complete exploration and the transition limit are reported")
+    void completed_and_maximum_transitions() throws Exception {
+        ReactionGraph<PureBigraph> complete = explore(transitionOpts().setMaximumTransitions(1000));
+        assertEquals(StopReason.COMPLETED, complete.getGraphStats().getStopReason());
+        assertEquals(multisets(3, 3), complete.getGraph().vertexSet().size());
+
+        ReactionGraph<PureBigraph> bounded = explore(transitionOpts().setMaximumTransitions(2));
+        assertEquals(StopReason.MAXIMUM_TRANSITIONS, bounded.getGraphStats().getStopReason());
+        // the exploration stops after the expansion of the initial state that found two states
+        assertEquals(3, bounded.getGraph().vertexSet().size());
+    }
+
+    @Test
+    @DisplayName("A model checker that is executed again explores a reset reaction graph")
+    void execute_again() throws Exception {
+        PureBigraphModelChecker modelChecker = agent(3, "A").rule("A", "B").rule("B", "C").modelChecker();
+        modelChecker.execute();
+        ReactionGraph<PureBigraph> reactionGraph = modelChecker.getReactionGraph();
+        PureBigraph firstState = reactionGraph.getStateMap().values().iterator().next();
+        int transitions = reactionGraph.getTransitionMap().values().stream().mapToInt(List::size).sum();
+
+        modelChecker.execute();
+        assertEquals(multisets(3, 3), reactionGraph.getGraph().vertexSet().size());
+        // only the states and transitions of the second exploration are kept
+        assertEquals(states(reactionGraph), reactionGraph.getStateMap().keySet());
+        assertEquals(transitions, reactionGraph.getTransitionMap().values().stream().mapToInt(List::size).sum());
+        assertTrue(reactionGraph.getLabelByState(firstState).isEmpty());
+    }
+
+    @Test
+    @DisplayName("States beyond the maximum depth are not expanded")
+    void maximum_depth() throws Exception {
+        ReactionGraph<PureBigraph> complete = explore(transitionOpts().setMaximumTransitions(1000));
+        ReactionGraph<PureBigraph> bounded = explore(transitionOpts().setMaximumTransitions(1000).setMaximumDepth(1));
+
+        assertEquals(StopReason.MAXIMUM_DEPTH, bounded.getGraphStats().getStopReason());
+        // the initial state and its two successors
+        assertEquals(3, bounded.getGraph().vertexSet().size());
+        assertTrue(complete.getGraph().vertexSet().size() > 3);
+    }
+
+    @Test
+    @DisplayName("Time, heap and frontier budgets stop the exploration")
+    void time_heap_and_frontier() throws Exception {
+        assertEquals(StopReason.MAXIMUM_TIME, explore(transitionOpts().setMaximumTransitions(1000)
+                .setMaximumTime(1, TimeUnit.NANOSECONDS)).getGraphStats().getStopReason());
+        assertEquals(StopReason.MAXIMUM_HEAP, explore(transitionOpts().setMaximumTransitions(1000)
+                .setMaximumHeapUsage(1)).getGraphStats().getStopReason());
+        ReactionGraph<PureBigraph> frontier = explore(transitionOpts().setMaximumTransitions(1000).setMaximumFrontierSize(1));
+        assertEquals(StopReason.MAXIMUM_FRONTIER, frontier.getGraphStats().getStopReason());
+        assertEquals(3, frontier.getGraph().vertexSet().size());
+    }
+
+    @Test
+    @DisplayName("A cancelled exploration stops after the current state")
+    void cancel() throws Exception {
+        PureBigraphModelChecker modelChecker = createModelChecker(transitionOpts().setMaximumTransitions(1000));
+        modelChecker.setReactiveSystemListener(new BigraphModelChecker.ReactiveSystemListener<>() {
+            @Override
+            public void onUpdateReactionRuleApplies(PureBigraph agent, ReactionRule<PureBigraph> reactionRule, BigraphMatch<PureBigraph> matchResult) {
+                modelChecker.cancel();
+            }
+        });
+        modelChecker.execute();
+        assertEquals(StopReason.CANCELLED, modelChecker.getReactionGraph().getGraphStats().getStopReason());
+        assertEquals(3, modelChecker.getReactionGraph().getGraph().vertexSet().size());
+
+        PureBigraphModelChecker asyncModelChecker = createModelChecker(transitionOpts().setMaximumTransitions(1000));
+        Future<ReactionGraph<PureBigraph>> future = asyncModelChecker.executeAsync();
+        future.cancel(true);
+        assertTrue(future.isCancelled());
+    }
+
+    private ReactionGraph<PureBigraph> explore(ModelCheckingOptions.TransitionOptions.Builder transitionOptions) throws Exception {
+        PureBigraphModelChecker modelChecker = createModelChecker(transitionOptions);
+        modelChecker.execute();
+        return modelChecker.getReactionGraph();
+    }
+
+    private PureBigraphModelChecker createModelChecker(ModelCheckingOptions.TransitionOptions.Builder transitionOptions) throws Exception {
+        return agent(3, "A").rule("A", "B").rule("A", "C").transitions(transitionOptions).modelChecker();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions.transitionOpts;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bigraphs.framework.core.exceptions.InvalidReactionRuleException;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+
+/**
+ * Shared fixture of the exploration tests. The agent is a single root with a number of nodes without ports, and each
+ * rule replaces one node by a node of another control. Thus, the states are multisets of controls, and the size of
+ * the state space is known in advance.
+ *
+ * @author Dominik Grzelak
+ */
+public final class ExplorationTestSupport {
+
+    public static final DynamicSignature SIGNATURE = pureSignatureBuilder()
+            .add("A", 0).add("B", 0).add("C", 0).add("L", 2)
+            .create();
+
+    private final PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+    private BigraphModelChecker.SimulationStrategy.Type strategy = BigraphModelChecker.SimulationStrategy.Type.BFS;
+    private ModelCheckingOptions options = ModelCheckingOptions.create();
+    private ModelCheckingOptions.TransitionOptions.Builder transitionOptions = transitionOpts().setMaximumTransitions(1000);
+
+    private ExplorationTestSupport(PureBigraph agent) {
+        reactiveSystem.setAgent(agent);
+    }
+
+    /**
+     * Creates the fixture with an agent that consists of one root with {@code count} nodes of the given control.
+     */
+    public static ExplorationTestSupport agent(int count, String control) {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(SIGNATURE);
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = builder.root();
+        for (int i = 0; i < count; i++) {
+            root.child(control);
+        }
+        return new ExplorationTestSupport(builder.create());
+    }
+
+    /**
+     * Creates the fixture with the given agent, e.g., a {@link #state(String...)} with nodes of different controls.
+     */
+    public static ExplorationTestSupport agent(PureBigraph agent) {
+        return new ExplorationTestSupport(agent);
+    }
+
+    /**
+     * Adds a rule that replaces one node of control {@code from} by a node of control {@code to}.
+     */
+    public ExplorationTestSupport rule(String from, String to) throws InvalidReactionRuleException {
+        reactiveSystem.addReactionRule(new ParametricReactionRule<>(
+                pureBuilder(SIGNATURE).root().child(from).create(),
+                pureBuilder(SIGNATURE).root().child(to).create()));
+        return this;
+    }
+
+    public ExplorationTestSupport rule(ReactionRule<PureBigraph> rule) throws InvalidReactionRuleException {
+        reactiveSystem.addReactionRule(rule);
+        return this;
+    }
+
+    public ExplorationTestSupport predicate(ReactiveSystemPredicate<PureBigraph> predicate) {
+        reactiveSystem.addPredicate(predicate);
+        return this;
+    }
+
+    public ExplorationTestSupport strategy(BigraphModelChecker.SimulationStrategy.Type strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    public ExplorationTestSupport options(ModelCheckingOptions options) {
+        this.options = options;
+        return this;
+    }
+
+    /**
+     * Replaces the transition options. By default, only the maximum number of transitions is bounded (1000).
+     */
+    public ExplorationTestSupport transitions(ModelCheckingOptions.TransitionOptions.Builder transitionOptions) {
+        this.transitionOptions = transitionOptions;
+        return this;
+    }
+
+    public PureBigraphModelChecker modelChecker() {
+        return new PureBigraphModelChecker(reactiveSystem, strategy, options.and(transitionOptions.create()));
+    }
+
+    /**
+     * Executes a new model checker and returns its reaction graph.
+     */
+    public ReactionGraph<PureBigraph> explore() throws Exception {
+        PureBigraphModelChecker modelChecker = modelChecker();
+        modelChecker.execute();
+        return modelChecker.getReactionGraph();
+    }
+
+    /**
+     * Returns a bigraph of the fixture's signature with one root and the given nodes.
+     */
+    public static PureBigraph state(String... controls) {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(SIGNATURE);
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = builder.root();
+        for (String each : controls) {
+            root.child(each);
+        }
+        return builder.create();
+    }
+
+    /**
+     * Returns the number of states of an agent with {@code n} nodes and {@code k} controls, i.e., the number of
+     * multisets of size {@code n} over {@code k} elements.
+     */
+    public static int multisets(int n, int k) {
+        long result = 1;
+        for (int i = 1; i < k; i++) {
+            result = result * (n + i) / i;
+        }
+        return (int) result;
+    }
+
+    public static long count(PureBigraph bigraph, String control) {
+        return bigraph.getNodes().stream()
+                .filter(node -> node.getControl().getNamedType().stringValue().equals(control))
+                .count();
+    }
+
+    /**
+     * Returns the labels of the states of a reaction graph.
+     */
+    public static Set<String> states(ReactionGraph<PureBigraph> reactionGraph) {
+        return reactionGraph.getGraph().vertexSet().stream()
+                .map(ReactionGraph.LabeledNode::getCanonicalForm)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the transitions of a reaction graph as triples of the source label, the rule label and the target label.
+     */
+    public static Set<List<String>> transitions(ReactionGraph<PureBigraph> reactionGraph) {
+        return reactionGraph.getGraph().edgeSet().stream()
+                .map(edge -> List.of(
+                        reactionGraph.getGraph().getEdgeSource(edge).getCanonicalForm(),
+                        edge.getLabel(),
+                        reactionGraph.getGraph().getEdgeTarget(edge).getCanonicalForm()))
+                .collect(Collectors.toSet());
+    }
+}
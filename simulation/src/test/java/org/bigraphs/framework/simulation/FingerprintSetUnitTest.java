@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.simulation.modelchecking.FingerprintSet;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the fingerprint-based visited-state set.
+ *
+ * @author Dominik Grzelak
+ */
+public class FingerprintSetUnitTest {
+
+    @Test
+    @DisplayName("Fingerprint set deduplicates states and grows beyond its initial capacity")
+    void add_and_grow() {
+        FingerprintSet set = new FingerprintSet(16, true);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.add("state-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(set.add("state-" + i));
+        }
+        assertEquals(10_000, set.size());
+        assertTrue(set.add(0L, 0L));
+        assertFalse(set.add(0L, 0L));
+
+        assertEquals(32, set.labelOf("state-0").length());
+        assertEquals(set.labelOf("state-0"), set.labelOf("state-0"));
+        assertEquals("state-0", new FingerprintSet(16, false).labelOf("state-0"));
+    }
+
+    @Test
+    @DisplayName("The memory of the fingerprint set does not depend on the length of the canonical strings")
+    void memory_independent_of_canonical_strings() {
+        FingerprintSet set = new FingerprintSet(16, true);
+        String suffix = "x".repeat(1000);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.add(i + suffix));
+        }
+        // 16 bytes per state and the free slots of the table
+        assertTrue(set.getTableSizeInBytes() <= 64L * set.size());
+        assertTrue(set.getTableSizeInBytes() < 10_000L * suffix.length());
+    }
+
+    @Test
+    @DisplayName("Fingerprint storage finds the same states as the canonical string storage, labeled by their fingerprints")
+    void same_state_space() throws Exception {
+        ReactionGraph<PureBigraph> exact = explore(ModelCheckingOptions.StateStorage.CANONICAL_STRING);
+        ReactionGraph<PureBigraph> fingerprints = explore(ModelCheckingOptions.StateStorage.FINGERPRINT);
+
+        FingerprintSet labels = new FingerprintSet(16, true);
+        Set<String> expected = states(exact).stream().map(labels::labelOf).collect(Collectors.toSet());
+        assertEquals(multisets(4, 2), expected.size());
+        assertEquals(expected, states(fingerprints));
+        assertEquals(exact.getGraph().edgeSet().size(), fingerprints.getGraph().edgeSet().size());
+    }
+
+    private ReactionGraph<PureBigraph> explore(ModelCheckingOptions.StateStorage storage) throws Exception {
+        return agent(4, "A").rule("A", "B").rule("B", "A")
+                .options(ModelCheckingOptions.create().setStateStorage(storage))
+                .explore();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher;
+import org.bigraphs.framework.simulation.modelchecking.InterchangeableSubtrees;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the detection of occurrences that are redundant under the symmetries of an agent.
+ *
+ * @author Dominik Grzelak
+ */
+public class InterchangeableSubtreesUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder().add("Room", 0).add("A", 0).add("B", 0).add("L", 1).create();
+
+    @Test
+    @DisplayName("Occurrences in identical rooms are redundant except in the first room")
+    void identical_replicas() throws Exception {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        builder.root().child("Room").down().child("A").up()
+                .child("Room").down().child("A").up()
+                .child("Room").down().child("A").up();
+        PureBigraph agent = builder.create();
+
+        InterchangeableSubtrees symmetries = new InterchangeableSubtrees(agent);
+        assertTrue(symmetries.hasSymmetries());
+        assertEquals(1, countNotRedundant(symmetries, agent, ruleAtoB()));
+    }
+
+    @Test
+    @DisplayName("Rooms with different contents are not interchangeable")
+    void different_replicas() throws Exception {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        builder.root().child("Room").down().child("A").up()
+                .child("Room").down().child("A").child("B").up();
+        PureBigraph agent = builder.create();
+
+        InterchangeableSubtrees symmetries = new InterchangeableSubtrees(agent);
+        assertFalse(symmetries.hasSymmetries());
+        assertEquals(2, countNotRedundant(symmetries, agent, ruleAtoB()));
+    }
+
+    @Test
+    @DisplayName("Rooms that are linked to each other are not interchangeable")
+    void linked_replicas() throws Exception {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        builder.root().child("Room").down().child("A").child("L").linkInner("x").up()
+                .child("Room").down().child("A").child("L").linkInner("x").up()
+                .child("Room").down().child("A").child("L").linkInner("y").up();
+        builder.closeInner();
+        PureBigraph agent = builder.create();
+        assertEquals(2, agent.getEdges().size());
+
+        // only the single L of the third room has a local edge, the first two rooms are linked
+        InterchangeableSubtrees symmetries = new InterchangeableSubtrees(agent);
+        assertFalse(symmetries.hasSymmetries());
+        assertEquals(3, countNotRedundant(symmetries, agent, ruleAtoB()));
+    }
+
+    @Test
+    @DisplayName("The model checker skips symmetric occurrences and explores the same states")
+    void model_checking_with_reduction() throws Exception {
+        ModelCheckingOptions options = ModelCheckingOptions.create().setSymmetryReduction(true);
+        assertEquals(BigraphMatchingEngine.Type.NATIVE, options.getMatchingEngine());
+
+        PureBigraphModelChecker full = fixture(ModelCheckingOptions.create());
+        full.execute();
+        PureBigraphModelChecker reduced = fixture(options);
+        reduced.execute();
+
+        ReactionGraphStats<PureBigraph> stats = reduced.getReactionGraph().getGraphStats();
+        assertTrue(stats.getSymmetricOccurrenceCount() > 0);
+        assertTrue(stats.getOccurrenceCount() < full.getReactionGraph().getGraphStats().getOccurrenceCount());
+        assertEquals(ExplorationTestSupport.multisets(4, 3), ExplorationTestSupport.states(reduced.getReactionGraph()).size());
+        assertEquals(ExplorationTestSupport.states(full.getReactionGraph()), ExplorationTestSupport.states(reduced.getReactionGraph()));
+    }
+
+    private static PureBigraphModelChecker fixture(ModelCheckingOptions options) throws Exception {
+        return ExplorationTestSupport.agent(4, "A").rule("A", "B").rule("B", "C")
+                .options(options)
+                .modelChecker();
+    }
+
+    private ReactionRule<PureBigraph> ruleAtoB() throws Exception {
+        return new ParametricReactionRule<>(
+                pureBuilder(sig).root().child("A").create(),
+                pureBuilder(sig).root().child("B").create());
+    }
+
+    private static int countNotRedundant(InterchangeableSubtrees symmetries, PureBigraph agent, ReactionRule<PureBigraph> rule) {
+        int count = 0;
+        for (PureBigraphMatch each : new PureBigraphMatcher(BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule)) {
+            if (!symmetries.isRedundant(each)) count++;
+        }
+        return count;
+    }
+}
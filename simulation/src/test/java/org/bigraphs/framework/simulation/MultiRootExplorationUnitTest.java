@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions.transitionOpts;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats.StopReason;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Explores agents with several roots, which are accepted by the model checker, with both matching engines.
+ *
+ * @author Dominik Grzelak
+ */
+public class MultiRootExplorationUnitTest {
+
+    private static final int NUMBER_OF_ROOTS = 3;
+
+    @Test
+    @DisplayName("Agents with several roots are matched and rewritten in every root")
+    void several_roots() throws Exception {
+        for (BigraphMatchingEngine.Type engine : List.of(BigraphMatchingEngine.Type.JLIBBIG, BigraphMatchingEngine.Type.NATIVE)) {
+            // every root is rewritten on its own: each of the roots holds an A or a B
+            ReactionGraph<PureBigraph> ordered = explore(engine, false);
+            assertEquals(1 << NUMBER_OF_ROOTS, ordered.getGraph().vertexSet().size(), engine.name());
+            assertEquals(NUMBER_OF_ROOTS << (NUMBER_OF_ROOTS - 1), ordered.getGraph().edgeSet().size(), engine.name());
+
+            // with unordered roots, only the number of B's counts
+            ReactionGraph<PureBigraph> unordered = explore(engine, true);
+            assertEquals(multisets(NUMBER_OF_ROOTS, 2), unordered.getGraph().vertexSet().size(), engine.name());
+
+            // both explorations reach the state where every root holds a B
+            assertEquals(StopReason.COMPLETED, ordered.getGraphStats().getStopReason(), engine.name());
+            assertEquals(StopReason.COMPLETED, unordered.getGraphStats().getStopReason(), engine.name());
+            assertTrue(ordered.getLabeledNodeByCanonicalForm(
+                    BigraphCanonicalForm.createInstance().bfcs(roots("B"))).isPresent(), engine.name());
+            assertTrue(unordered.getLabeledNodeByCanonicalForm(
+                    BigraphCanonicalForm.createInstance().setUnorderedRoots(true).bfcs(roots("B"))).isPresent(), engine.name());
+        }
+    }
+
+    private static ReactionGraph<PureBigraph> explore(BigraphMatchingEngine.Type engine, boolean unorderedRoots) throws Exception {
+        return agent(roots("A")).rule("A", "B")
+                .options(ModelCheckingOptions.create().setMatchingEngine(engine).setUnorderedRoots(unorderedRoots))
+                .transitions(transitionOpts().setMaximumTransitions(1000).allowReducibleClasses(true))
+                .explore();
+    }
+
+    /**
+     * Returns a bigraph with {@link #NUMBER_OF_ROOTS} roots, each of which holds a node of the given control.
+     */
+    private static PureBigraph roots(String control) {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(SIGNATURE);
+        for (int i = 0; i < NUMBER_OF_ROOTS; i++) {
+            builder.root().child(control);
+        }
+        return builder.create();
+    }
+}
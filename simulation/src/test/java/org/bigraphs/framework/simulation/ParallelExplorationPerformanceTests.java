@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions.transitionOpts;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the speedup of the parallel exploration over the sequential exploration.
+ *
+ * @author Dominik Grzelak
+ */
+@Disabled
+public class ParallelExplorationPerformanceTests {
+
+    private static final int NUMBER_OF_NODES = 30;
+    private static final int REPETITIONS = 5;
+
+    @Test
+    @DisplayName("Wall-clock time of the exploration with 1, 2, 4 and 8 workers")
+    void scaling() throws Exception {
+        int expected = multisets(NUMBER_OF_NODES, 3);
+        // warm-up
+        explore(1);
+        explore(4);
+
+        long sequential = 0;
+        System.out.println("workers;states;millis;speedup");
+        for (int workers : new int[]{1, 2, 4, 8}) {
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < REPETITIONS; i++) {
+                long start = System.nanoTime();
+                ReactionGraph<PureBigraph> reactionGraph = explore(workers);
+                best = Math.min(best, System.nanoTime() - start);
+                assertEquals(expected, reactionGraph.getGraph().vertexSet().size());
+            }
+            if (workers == 1) sequential = best;
+            System.out.printf("%d;%d;%.1f;%.2f%n", workers, expected, best / 1e6, (double) sequential / best);
+        }
+    }
+
+    private ReactionGraph<PureBigraph> explore(int workers) throws Exception {
+        return agent(NUMBER_OF_NODES, "A").rule("A", "B").rule("B", "C")
+                .predicate(BigraphIsoPredicate.create(state("C")))
+                .options(ModelCheckingOptions.create().setWorkerThreads(workers))
+                .transitions(transitionOpts().setMaximumTransitions(Integer.MAX_VALUE))
+                .explore();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats.StopReason;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate;
+import org.bigraphs.framework.simulation.modelchecking.predicates.SubBigraphMatchPredicate;
+import org.jgrapht.GraphPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the exploration with several worker threads synthesizes the same state space as the sequential
+ * exploration, and that the predicates are evaluated correctly by concurrent workers.
+ *
+ * @author Dominik Grzelak
+ */
+public class ParallelExplorationUnitTest {
+
+    private static final int NUMBER_OF_NODES = 6;
+
+    @Test
+    @DisplayName("Parallel exploration finds the same states as the sequential exploration")
+    void parallel_exploration_same_states() throws Exception {
+        // Each state is a multiset of A, B and C nodes of size NUMBER_OF_NODES
+        int expected = multisets(NUMBER_OF_NODES, 3);
+        for (BigraphModelChecker.SimulationStrategy.Type type : List.of(BigraphModelChecker.SimulationStrategy.Type.BFS, BigraphModelChecker.SimulationStrategy.Type.DFS)) {
+            ReactionGraph<PureBigraph> sequential = fixture().strategy(type).explore();
+            ReactionGraph<PureBigraph> parallel = fixture().strategy(type)
+                    .options(ModelCheckingOptions.create().setWorkerThreads(4))
+                    .explore();
+
+            assertEquals(expected, sequential.getGraph().vertexSet().size());
+            assertEquals(states(sequential), states(parallel));
+            assertEquals(transitions(sequential), transitions(parallel));
+            assertEquals(StopReason.COMPLETED, parallel.getGraphStats().getStopReason());
+        }
+    }
+
+    @Test
+    @DisplayName("With the incremental canonical form, the states are expanded sequentially")
+    void incremental_canonical_form() throws Exception {
+        ReactionGraph<PureBigraph> sequential = fixture().explore();
+        ReactionGraph<PureBigraph> incremental = fixture()
+                .options(ModelCheckingOptions.create().setWorkerThreads(4).setParallelRuleMatching(true)
+                        .setMatchingEngine(BigraphMatchingEngine.Type.NATIVE).setIncrementalCanonicalForm(true))
+                .explore();
+
+        assertEquals(sequential.getGraph().vertexSet().size(), incremental.getGraph().vertexSet().size());
+        assertEquals(sequential.getGraph().edgeSet().size(), incremental.getGraph().edgeSet().size());
+        assertEquals(StopReason.COMPLETED, incremental.getGraphStats().getStopReason());
+    }
+
+    @Test
+    @DisplayName("Concurrent workers evaluate the predicates of each state with their own results")
+    void parallel_predicate_evaluation() throws Exception {
+        Queue<GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge>> violations = new ConcurrentLinkedQueue<>();
+        Queue<PureBigraph[]> subMatches = new ConcurrentLinkedQueue<>();
+        PureBigraphModelChecker modelChecker = fixture()
+                .predicate(BigraphIsoPredicate.create(state("C", "C", "C", "C", "C", "C")))
+                .predicate(SubBigraphMatchPredicate.create(state("C")))
+                .options(ModelCheckingOptions.create().setWorkerThreads(4))
+                .modelChecker();
+        modelChecker.setReactiveSystemListener(new BigraphModelChecker.ReactiveSystemListener<>() {
+            @Override
+            public void onPredicateViolated(PureBigraph currentAgent, ReactiveSystemPredicate<PureBigraph> predicate,
+                                            GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> counterExampleTrace) {
+                if (predicate instanceof BigraphIsoPredicate) violations.add(counterExampleTrace);
+            }
+
+            @Override
+            public void onSubPredicateMatched(PureBigraph currentAgent, ReactiveSystemPredicate<PureBigraph> predicate,
+                                              PureBigraph context, PureBigraph subBigraph, PureBigraph redexOnly, PureBigraph paramsOnly) {
+                subMatches.add(new PureBigraph[]{currentAgent, context, redexOnly});
+            }
+        });
+        modelChecker.execute();
+
+        // all states but the one with six C nodes violate the first predicate
+        int states = multisets(NUMBER_OF_NODES, 3);
+        assertEquals(states - 1, violations.size());
+        violations.forEach(trace -> assertTrue(trace.getLength() <= 2 * NUMBER_OF_NODES));
+        // the second predicate holds in all states with a C node, except for the one where both predicates hold
+        assertEquals(states - multisets(NUMBER_OF_NODES, 2) - 1, subMatches.size());
+        for (PureBigraph[] each : subMatches) {
+            assertTrue(count(each[0], "C") > 0);
+            assertNotNull(each[1]);
+            assertEquals(1, count(each[2], "C"));
+        }
+    }
+
+    private ExplorationTestSupport fixture() throws Exception {
+        return agent(NUMBER_OF_NODES, "A").rule("A", "B").rule("B", "C");
+    }
+}
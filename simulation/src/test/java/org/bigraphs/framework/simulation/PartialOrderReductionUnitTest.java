@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraphStats;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingStrategySupport;
+import org.bigraphs.framework.simulation.modelchecking.PartialOrderReduction;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate;
+import org.bigraphs.framework.simulation.modelchecking.predicates.SubBigraphMatchPredicate;
+import org.jgrapht.GraphPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the selection of independent rule occurrences by the partial-order reduction.
+ *
+ * @author Dominik Grzelak
+ */
+public class PartialOrderReductionUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder().add("Room", 0).add("A", 0).add("B", 0).create();
+
+    private final ReactionRule<PureBigraph> switchRule = rule(
+            pureBuilder(sig).root().child("A").create(),
+            pureBuilder(sig).root().child("B").create());
+
+    @Test
+    @DisplayName("Occurrences in different rooms are independent")
+    void independent_occurrences() {
+        PartialOrderReduction reduction = new PartialOrderReduction(List.of(switchRule), List.of());
+        assertTrue(reduction.isApplicable());
+
+        PureBigraph agent = roomsWithA(3);
+        List<ModelCheckingStrategySupport.MatchResult<PureBigraph>> occurrences = occurrences(agent, switchRule);
+        assertEquals(3, occurrences.size());
+        assertEquals(0, reduction.selectAmple(agent, occurrences));
+        assertEquals(-1, reduction.selectAmple(agent, occurrences.subList(0, 1)));
+    }
+
+    @Test
+    @DisplayName("Occurrences that change a predicate are not reduced")
+    void visible_occurrences() {
+        List<ReactiveSystemPredicate<PureBigraph>> predicates = List.of(
+                SubBigraphMatchPredicate.create(pureBuilder(sig).root().child("B").create()));
+        PartialOrderReduction reduction = new PartialOrderReduction(List.of(switchRule), predicates);
+        assertTrue(reduction.isApplicable());
+
+        PureBigraph agent = roomsWithA(3);
+        assertEquals(-1, reduction.selectAmple(agent, occurrences(agent, switchRule)));
+
+        PartialOrderReduction withIsoPredicate = new PartialOrderReduction(List.of(switchRule),
+                List.of(BigraphIsoPredicate.create(roomsWithA(1))));
+        assertFalse(withIsoPredicate.isApplicable());
+    }
+
+    @Test
+    @DisplayName("Overlapping occurrences are not reduced")
+    void overlapping_occurrences() {
+        ReactionRule<PureBigraph> roomRule = rule(
+                pureBuilder(sig).root().child("Room").down().site().create(),
+                pureBuilder(sig).root().child("Room").down().site().create());
+        PartialOrderReduction reduction = new PartialOrderReduction(List.of(switchRule, roomRule), List.of());
+        assertTrue(reduction.isApplicable());
+
+        PureBigraph agent = roomsWithA(2);
+        List<ModelCheckingStrategySupport.MatchResult<PureBigraph>> occurrences = new ArrayList<>(occurrences(agent, switchRule));
+        occurrences.addAll(occurrences(agent, roomRule));
+        assertEquals(4, occurrences.size());
+        assertEquals(-1, reduction.selectAmple(agent, occurrences));
+    }
+
+    @Test
+    @DisplayName("The model checker explores fewer states with the reduction and reaches the same verdict")
+    void model_checking_with_reduction() throws Exception {
+        ModelCheckingOptions options = ModelCheckingOptions.create().setPartialOrderReduction(true);
+        assertEquals(BigraphMatchingEngine.Type.NATIVE, options.getMatchingEngine());
+        assertEquals(BigraphMatchingEngine.Type.JLIBBIG, ModelCheckingOptions.create().getMatchingEngine());
+
+        List<Integer> violations = new ArrayList<>();
+        List<ReactionGraph<PureBigraph>> reactionGraphs = new ArrayList<>();
+        for (ModelCheckingOptions each : List.of(ModelCheckingOptions.create(), options)) {
+            // A and C nodes are switched independently; the predicate observes only the L node, which is never changed
+            PureBigraphModelChecker modelChecker = ExplorationTestSupport.agent(ExplorationTestSupport.state("A", "A", "C", "C", "L"))
+                    .rule("A", "B").rule("C", "B")
+                    .predicate(SubBigraphMatchPredicate.create(ExplorationTestSupport.state("L")))
+                    .options(each)
+                    .modelChecker();
+            int[] violated = new int[1];
+            modelChecker.setReactiveSystemListener(new BigraphModelChecker.ReactiveSystemListener<>() {
+                @Override
+                public void onPredicateViolated(PureBigraph currentAgent, ReactiveSystemPredicate<PureBigraph> predicate,
+                                                GraphPath<ReactionGraph.LabeledNode, ReactionGraph.LabeledEdge> counterExampleTrace) {
+                    violated[0]++;
+                }
+            });
+            modelChecker.execute();
+            assertEquals(ReactionGraphStats.StopReason.COMPLETED, modelChecker.getReactionGraph().getGraphStats().getStopReason());
+            violations.add(violated[0]);
+            reactionGraphs.add(modelChecker.getReactionGraph());
+        }
+
+        Set<String> full = ExplorationTestSupport.states(reactionGraphs.get(0));
+        Set<String> reduced = ExplorationTestSupport.states(reactionGraphs.get(1));
+        assertEquals(9, full.size());
+        assertTrue(reduced.size() < full.size());
+        assertTrue(full.containsAll(reduced));
+        // both explorations reach the final state, i.e., the only state where neither rule applies
+        for (ReactionGraph<PureBigraph> each : reactionGraphs) {
+            Set<String> finalStates = each.getGraph().vertexSet().stream()
+                    .filter(x -> each.getGraph().outDegreeOf(x) == 0)
+                    .map(ReactionGraph.LabeledNode::getCanonicalForm)
+                    .collect(Collectors.toSet());
+            assertEquals(1, finalStates.size());
+            assertTrue(finalStates.iterator().next().startsWith("r0$BBBBL"));
+        }
+        assertEquals(List.of(0, 0), violations);
+    }
+
+    @Test
+    @DisplayName("The reductions keep the jLibBig engine for rules that the native engine does not support")
+    void unsupported_rules_with_reductions() throws Exception {
+        // the outer name of the redex is idle, so its image cannot be located by the native rewriting
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(ExplorationTestSupport.SIGNATURE);
+        redex.root().child("C");
+        redex.createOuter("x");
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(ExplorationTestSupport.SIGNATURE);
+        reactum.root().child("L", "x");
+        ReactionRule<PureBigraph> unsupported = rule(redex.create(), reactum.create());
+        PureBigraphBuilder<DynamicSignature> agent = pureBuilder(ExplorationTestSupport.SIGNATURE);
+        agent.root().child("A").child("A").child("C").child("L", "x");
+        PureBigraph theAgent = agent.create();
+
+        for (PureBigraphMatch each : new PureBigraphMatcher(BigraphMatchingEngine.Type.NATIVE).matchAll(theAgent, unsupported)) {
+            assertFalse(each.isNativeMatch());
+        }
+        Set<String> full = ExplorationTestSupport.states(explore(theAgent, unsupported,
+                ModelCheckingOptions.create().setMatchingEngine(BigraphMatchingEngine.Type.JLIBBIG)));
+        Set<String> reduced = ExplorationTestSupport.states(explore(theAgent, unsupported,
+                ModelCheckingOptions.create().setPartialOrderReduction(true)));
+        assertEquals(6, full.size());
+        assertFalse(reduced.isEmpty());
+        assertTrue(full.containsAll(reduced));
+
+        ReactionGraph<PureBigraph> symmetric = explore(theAgent, unsupported, ModelCheckingOptions.create().setSymmetryReduction(true));
+        assertEquals(ReactionGraphStats.StopReason.COMPLETED, symmetric.getGraphStats().getStopReason());
+        assertEquals(6, symmetric.getGraph().vertexSet().size());
+    }
+
+    private ReactionGraph<PureBigraph> explore(PureBigraph agent, ReactionRule<PureBigraph> rule, ModelCheckingOptions options) throws Exception {
+        return ExplorationTestSupport.agent(agent).rule("A", "B").rule(rule).options(options).explore();
+    }
+
+    private PureBigraph roomsWithA(int rooms) {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = builder.root();
+        for (int i = 0; i < rooms; i++) {
+            root.child("Room").down().child("A").up();
+        }
+        return builder.create();
+    }
+
+    private static List<ModelCheckingStrategySupport.MatchResult<PureBigraph>> occurrences(PureBigraph agent, ReactionRule<PureBigraph> rule) {
+        List<ModelCheckingStrategySupport.MatchResult<PureBigraph>> occurrences = new ArrayList<>();
+        for (PureBigraphMatch each : new PureBigraphMatcher(BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule)) {
+            assertTrue(each.isNativeMatch());
+            occurrences.add(new ModelCheckingStrategySupport.MatchResult<>(rule, each, null, "", occurrences.size()));
+        }
+        return occurrences;
+    }
+
+    private static ReactionRule<PureBigraph> rule(PureBigraph redex, PureBigraph reactum) {
+        try {
+            return new ParametricReactionRule<>(redex, reactum);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
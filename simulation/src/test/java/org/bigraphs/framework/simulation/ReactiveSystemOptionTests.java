@@ -52,4 +52,11 @@ class ReactiveSystemOptionTests {
         assertEquals(opts1.getMaximumTimeUnit(), TimeUnit.MILLISECONDS);
         assertEquals(opts1.getMaximumTime(), 30);
     }
+
+    @Test
+    @DisplayName("The exploration is not limited in time by default")
+    void maximum_time_default() {
+        assertEquals(0, transitionOpts().create().getMaximumTime());
+        assertEquals(0, transitionOpts().create().toBuilder().create().getMaximumTime());
+    }
 }
\ No newline at end of file
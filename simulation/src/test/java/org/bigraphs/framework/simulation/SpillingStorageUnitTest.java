@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.simulation.ExplorationTestSupport.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryDecoder;
+import org.bigraphs.framework.converter.binary.PureBigraphBinaryEncoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ReactionGraph;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
+import org.bigraphs.framework.simulation.modelchecking.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the binary bigraph encoding and the storage of states on disk.
+ *
+ * @author Dominik Grzelak
+ */
+public class SpillingStorageUnitTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private final DynamicSignature sig = SIGNATURE;
+
+    @Test
+    @DisplayName("Binary encoding restores a bigraph with the same canonical form")
+    void binary_round_trip() throws Exception {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        builder.root().child("L").linkOuter("x").linkOuter("y").down().child("A").site().up().child("B");
+        builder.root().child("L").linkOuter("y").linkOuter("e");
+        builder.createInner("z");
+        builder.closeOuter("e", false);
+        PureBigraph bigraph = builder.create();
+
+        byte[] encoded = new PureBigraphBinaryEncoder().encode(bigraph);
+        PureBigraph decoded = new PureBigraphBinaryDecoder().decode(encoded, sig);
+
+        assertEquals(BigraphCanonicalForm.createInstance().bfcs(bigraph), BigraphCanonicalForm.createInstance().bfcs(decoded));
+        assertArrayEquals(encoded, new PureBigraphBinaryEncoder().encode(decoded));
+        assertEquals(2, new PureBigraphBinaryDecoder().decode(encoded).getRoots().size());
+    }
+
+    @Test
+    @DisplayName("Segment log reads records in order across segments and deletes its files")
+    void segment_log() throws Exception {
+        MappedSegmentLog log = new MappedSegmentLog(spillDirectory, "test", 64);
+        long first = log.append("record-0".getBytes(StandardCharsets.UTF_8));
+        for (int i = 1; i < 100; i++) {
+            log.append(("record-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(100, log.size());
+        long offset = first;
+        for (int i = 0; i < 100; i++) {
+            assertEquals("record-" + i, new String(log.read(offset), StandardCharsets.UTF_8));
+            offset = log.next(offset);
+        }
+        log.close();
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Spilling worklist keeps the FIFO order")
+    void spilling_worklist() {
+        SpillingWorklist worklist = new SpillingWorklist(spillDirectory, sig, 2);
+        for (int i = 0; i < 10; i++) {
+            PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+            for (int j = 0; j < i; j++) builder.root().child("A");
+            worklist.add(builder.create());
+        }
+        assertEquals(10, worklist.size());
+        assertEquals(8, worklist.getSpilledCount());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, worklist.remove().getNodes().size());
+        }
+        assertTrue(worklist.isEmpty());
+        worklist.close();
+    }
+
+    @Test
+    @DisplayName("A snapshot of the spilling worklist reads the spilled states after they were polled")
+    void spilling_worklist_snapshot() {
+        SpillingWorklist worklist = new SpillingWorklist(spillDirectory, sig, 2);
+        for (int i = 0; i < 10; i++) {
+            worklist.add(state(Collections.nCopies(i, "A").toArray(String[]::new)));
+        }
+        SpillingWorklist.Snapshot snapshot = worklist.snapshot();
+        while (!worklist.isEmpty()) {
+            worklist.remove();
+        }
+        assertEquals(List.of(0, 1), snapshot.getHead().stream().map(each -> each.getNodes().size()).toList());
+        assertEquals(8, snapshot.getSpilledCount());
+        List<Integer> spilled = new ArrayList<>();
+        snapshot.forEachSpilled(encoded -> spilled.add(new PureBigraphBinaryDecoder().decode(encoded, sig).getNodes().size()));
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9), spilled);
+        snapshot.close();
+        assertThrows(IllegalStateException.class, () -> snapshot.forEachSpilled(encoded -> {
+        }));
+        worklist.close();
+    }
+
+    @Test
+    @DisplayName("Spilled states are not registered, and their canonical strings are restored from the spill record")
+    void spilled_states_are_not_registered() {
+        BigraphCanonicalForm canonicalForm = BigraphCanonicalForm.createInstance();
+        PreparedAgent.Registry registry = new PreparedAgent.Registry();
+        PreparedAgent.Registry previous = registry.bind();
+        try {
+            SpillingWorklist worklist = new SpillingWorklist(spillDirectory, sig, 2, canonicalForm);
+            for (int i = 0; i < 1000; i++) {
+                // a state must not be modified while it is registered, thus, a new state is offered each time
+                worklist.offer(state("A", "B"), "state-" + i);
+                assertTrue(worklist.getInMemoryCount() <= 2);
+                assertTrue(registry.size() <= 2);
+            }
+            assertEquals(998, worklist.getSpilledCount());
+
+            for (int i = 0; i < 500; i++) {
+                PureBigraph next = worklist.poll();
+                // the canonical string was not computed again, otherwise, it would be the one of the state
+                assertEquals("state-" + i, PreparedAgent.of(next).getCanonicalString(canonicalForm));
+                PreparedAgent.release(next);
+                assertTrue(registry.size() <= 2);
+            }
+            // the states of the head are released when the worklist is closed
+            PureBigraph last = worklist.poll();
+            assertEquals(2, registry.size());
+            worklist.close();
+            assertEquals(1, registry.size());
+            PreparedAgent.release(last);
+            assertEquals(0, registry.size());
+        } finally {
+            PreparedAgent.Registry.restore(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Spilling states to disk yields the same reaction graph")
+    void spill_to_disk() throws Exception {
+        ReactionGraph<PureBigraph> inMemory = explore(ModelCheckingOptions.create());
+        ReactionGraph<PureBigraph> spilled = explore(ModelCheckingOptions.create().setSpillToDisk(spillDirectory, 2));
+
+        assertEquals(multisets(5, 2), spilled.getGraph().vertexSet().size());
+        assertEquals(states(inMemory), states(spilled));
+        assertEquals(transitions(inMemory), transitions(spilled));
+        assertInstanceOf(SpillingStateMap.class, spilled.getStateMap());
+        assertEquals(spilled.getGraph().vertexSet().size(), spilled.getStateMap().size());
+        for (String label : spilled.getStateMap().keySet()) {
+            assertEquals(inMemory.getStateMap().get(label).getNodes().size(), spilled.getStateMap().get(label).getNodes().size());
+        }
+    }
+
+    private ReactionGraph<PureBigraph> explore(ModelCheckingOptions opts) throws Exception {
+        return agent(5, "A").rule("A", "B").options(opts).explore();
+    }
+}
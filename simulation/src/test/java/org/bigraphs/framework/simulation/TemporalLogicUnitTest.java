@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.bigraphs.framework.simulation.modelchecking.temporal.CtlFormula.*;
+import static org.bigraphs.framework.simulation.modelchecking.temporal.LtlFormula.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.CompactReactionGraph;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactiveSystemPredicate;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.bigraphs.framework.simulation.modelchecking.BigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.ModelCheckingOptions;
+import org.bigraphs.framework.simulation.modelchecking.PureBigraphModelChecker;
+import org.bigraphs.framework.simulation.modelchecking.predicates.BigraphIsoPredicate;
+import org.bigraphs.framework.simulation.modelchecking.temporal.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the LTL and CTL model checkers.
+ * <p>
+ * Most tests use the following reaction graph, where {@code si} contains {@code i} nodes:
+ * {@code s0 -> s1 -> s2 -> s1} and {@code s0 -> s3}, where {@code s3} is a deadlock.
+ *
+ * @author Dominik Grzelak
+ */
+public class TemporalLogicUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder().add("Container", 0).add("Item", 0).create();
+
+    private final CompactReactionGraph<PureBigraph> reactionGraph = createReactionGraph();
+
+    @Test
+    @DisplayName("LTL: safety and liveness properties with counterexamples")
+    void ltl_properties() {
+        LtlModelChecker<Integer, PureBigraph> checker = new LtlModelChecker<>(new CompactReactionGraphStateSpace<>(reactionGraph));
+
+        LtlModelChecker.Result<PureBigraph> safety = checker.check(globally(LtlFormula.atom(lessThan(3))));
+        assertFalse(safety.holds());
+        assertEquals(List.of("s0"), safety.getPrefixLabels());
+        assertEquals(List.of("s3"), safety.getCycleLabels());
+
+        LtlModelChecker.Result<PureBigraph> liveness = checker.check(eventually(LtlFormula.atom(atLeast(1))));
+        assertTrue(liveness.holds());
+        assertTrue(liveness.isExhaustive());
+        // s2 is never generated, since no path violating the formula passes s1
+        assertEquals(3, liveness.getStateCount());
+
+        LtlModelChecker.Result<PureBigraph> stability = checker.check(eventually(globally(LtlFormula.atom(exactly(2)))));
+        assertFalse(stability.holds());
+        assertTrue(stability.getCycleLabels().containsAll(List.of("s1", "s2")) || stability.getCycleLabels().equals(List.of("s3")));
+
+        LtlModelChecker.Result<PureBigraph> response = checker.check(globally(LtlFormula.implies(
+                LtlFormula.atom(exactly(1)), next(LtlFormula.atom(exactly(2))))));
+        assertTrue(response.holds());
+
+        LtlModelChecker.Result<PureBigraph> until = checker.check(until(LtlFormula.atom(lessThan(3)), LtlFormula.atom(exactly(3))));
+        assertFalse(until.holds());
+        assertTrue(until.getCycleLabels().containsAll(List.of("s1", "s2")));
+    }
+
+    @Test
+    @DisplayName("LTL: the search stops at the maximum number of states")
+    void ltl_bounded() {
+        LtlModelChecker<Integer, PureBigraph> checker = new LtlModelChecker<>(new CompactReactionGraphStateSpace<>(reactionGraph))
+                .setMaximumStates(1);
+        LtlModelChecker.Result<PureBigraph> result = checker.check(globally(LtlFormula.atom(lessThan(3))));
+        assertTrue(result.holds());
+        assertFalse(result.isExhaustive());
+    }
+
+    @Test
+    @DisplayName("CTL: fixpoint operators")
+    void ctl_properties() {
+        CtlModelChecker<PureBigraph> checker = new CtlModelChecker<>(reactionGraph);
+
+        assertTrue(checker.holds(eg(CtlFormula.atom(lessThan(3)))));
+        assertFalse(checker.holds(af(CtlFormula.atom(exactly(3)))));
+        assertTrue(checker.holds(ef(CtlFormula.atom(exactly(3)))));
+        assertTrue(checker.holds(ex(CtlFormula.atom(exactly(3)))));
+        assertTrue(checker.holds(ax(CtlFormula.atom(atLeast(1)))));
+        assertTrue(checker.holds(ag(ef(CtlFormula.atom(atLeast(1))))));
+        assertFalse(checker.holds(au(CtlFormula.atom(lessThan(3)), CtlFormula.atom(exactly(3)))));
+        assertTrue(checker.holds(au(CtlFormula.atom(exactly(0)), CtlFormula.atom(atLeast(1)))));
+
+        assertEquals(Set.of("s1", "s2"), checker.getSatisfyingStates(eg(CtlFormula.atom(between(1, 2)))));
+        // the deadlock s3 has an infinite path by its self-loop
+        assertEquals(Set.of("s3"), checker.getSatisfyingStates(eg(CtlFormula.atom(exactly(3)))));
+        assertEquals(Set.of("s0", "s2"), checker.getSatisfyingStates(ex(CtlFormula.atom(exactly(1)))));
+    }
+
+    @Test
+    @DisplayName("LTL: on-the-fly exploration of a reactive system")
+    void ltl_on_the_fly() throws Exception {
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.setAgent(container(3));
+        reactiveSystem.addReactionRule(new ParametricReactionRule<>(
+                pureBuilder(sig).root().child("Container").down().child("Item").site().create(),
+                pureBuilder(sig).root().child("Container").down().site().create()));
+        PureBigraphModelChecker modelChecker = new PureBigraphModelChecker(reactiveSystem,
+                BigraphModelChecker.SimulationStrategy.Type.BFS, ModelCheckingOptions.create());
+
+        LtlModelChecker<PureBigraph, PureBigraph> checker = LtlModelChecker.of(modelChecker);
+        BigraphIsoPredicate<PureBigraph> empty = BigraphIsoPredicate.create(container(0));
+
+        assertTrue(checker.check(eventually(LtlFormula.atom(empty))).holds());
+        LtlModelChecker.Result<PureBigraph> result = checker.check(globally(not(LtlFormula.atom(empty))));
+        assertFalse(result.holds());
+        assertEquals(3, result.getPrefix().size());
+        assertEquals(1, result.getCycle().size());
+        assertTrue(empty.test(result.getCycle().get(0)));
+    }
+
+    private PureBigraph container(int items) {
+        PureBigraphBuilder<DynamicSignature>.Hierarchy container = pureBuilder(sig).root().child("Container").down();
+        for (int i = 0; i < items; i++) {
+            container.child("Item");
+        }
+        return container.create();
+    }
+
+    private CompactReactionGraph<PureBigraph> createReactionGraph() {
+        Map<String, PureBigraph> states = new HashMap<>();
+        CompactReactionGraph.Builder<PureBigraph> builder = new CompactReactionGraph.Builder<>();
+        for (int i = 0; i < 4; i++) {
+            states.put("s" + i, container(i));
+            builder.addState("s" + i);
+        }
+        builder.addInitialState("s0")
+                .addTransition(0, 1, "r")
+                .addTransition(1, 2, "r")
+                .addTransition(2, 1, "r")
+                .addTransition(0, 3, "r");
+        return builder.build(states::get);
+    }
+
+    private ReactiveSystemPredicate<PureBigraph> exactly(int items) {
+        return between(items, items);
+    }
+
+    private ReactiveSystemPredicate<PureBigraph> lessThan(int items) {
+        return between(0, items - 1);
+    }
+
+    private ReactiveSystemPredicate<PureBigraph> atLeast(int items) {
+        return between(items, Integer.MAX_VALUE);
+    }
+
+    private static ReactiveSystemPredicate<PureBigraph> between(int min, int max) {
+        return new ReactiveSystemPredicate<>() {
+            @Override
+            public PureBigraph getBigraph() {
+                return null;
+            }
+
+            @Override
+            public boolean test(PureBigraph agent) {
+                long items = agent.getNodes().stream().filter(x -> x.getControl().getNamedType().stringValue().equals("Item")).count();
+                return items >= min && items <= max;
+            }
+        };
+    }
+}
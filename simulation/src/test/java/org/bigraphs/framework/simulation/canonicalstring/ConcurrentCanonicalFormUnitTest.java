@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.canonicalstring;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.bigraphs.framework.core.alg.generators.PureBigraphGenerator;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Computes canonical forms with a shared {@link BigraphCanonicalForm} instance from several threads.
+ *
+ * @author Dominik Grzelak
+ */
+public class ConcurrentCanonicalFormUnitTest {
+
+    @Test
+    @DisplayName("Concurrent computations with a shared instance yield the sequential results")
+    void shared_instance() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 1).add("B", 2).add("C", 0).add("D", 1).create();
+        List<PureBigraph> bigraphs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            bigraphs.add(new PureBigraphGenerator(sig).generate(1 + i % 3, 5 + i % 10, 0.7f));
+        }
+        for (BigraphCanonicalForm canonicalForm : List.of(
+                BigraphCanonicalForm.createInstance(),
+                BigraphCanonicalForm.createInstance(true),
+                BigraphCanonicalForm.createInstance().setRewriteOpenLinks(true),
+                BigraphCanonicalForm.createInstance().setStructural(true))) {
+            List<String> expected = bigraphs.stream().map(canonicalForm::bfcs).toList();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<String>>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    futures.add(executor.submit(() -> bigraphs.stream().map(canonicalForm::bfcs).toList()));
+                }
+                for (Future<List<String>> each : futures) {
+                    assertEquals(expected, each.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+            // the borrowed strategies can be dropped and are created anew
+            canonicalForm.release();
+            assertEquals(expected, bigraphs.stream().map(canonicalForm::bfcs).toList());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.canonicalstring;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.alg.generators.PureBigraphGenerator;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.encoding.PureIncrementalCanonicalForm;
+import org.bigraphs.framework.simulation.matching.AbstractBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.BigraphMatchingEngine;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the cached subtree hashes of {@link PureIncrementalCanonicalForm} are invalidated by changes of the
+ * instance model, by comparing the certificates with the certificates of fresh copies without cached values.
+ *
+ * @author Dominik Grzelak
+ */
+public class IncrementalCanonicalFormUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder()
+            .add("Room", 0)
+            .add("User", 1)
+            .add("Job", 1)
+            .add("Door", 2)
+            .add("A", 1)
+            .add("B", 1)
+            .create();
+    private final BigraphCanonicalForm canonicalForm = BigraphCanonicalForm.createInstance().setIncremental(true);
+
+    @Test
+    @DisplayName("Certificates are invariant under isomorphism and distinguish the paper bigraphs")
+    void isomorphism_invariance() throws Exception {
+        CanonicalFormPureBigraphsUnitTests fixtures = new CanonicalFormPureBigraphsUnitTests();
+        assertNotEquals(canonicalForm.bfcs(fixtures.createBigraph_a()), canonicalForm.bfcs(fixtures.createBigraph_b()));
+        assertNotEquals(canonicalForm.bfcs(fixtures.createBigraph_c()), canonicalForm.bfcs(fixtures.createBigraph_d()));
+
+        DynamicSignature randomSig = pureSignatureBuilder().add("A", 1).add("B", 1).add("C", 2).add("D", 0).create();
+        for (int i = 0; i < 20; i++) {
+            PureBigraph bigraph = new PureBigraphGenerator(randomSig).generate(1, 4 + i % 8, 0.8f);
+            assertEquals(canonicalForm.bfcs(bigraph), canonicalForm.bfcs(permutedCopy(bigraph)));
+        }
+    }
+
+    @Test
+    @DisplayName("Changes of the instance model invalidate the cached hashes")
+    void changes_invalidate_cache() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("User", "u").child("Job", "j").child("Room").down().child("Door", "d");
+        b.root().child("Room").down().child("Job", "u").child("Room");
+        PureBigraph bigraph = b.create();
+        EObject instance = bigraph.getInstanceModel();
+        assertCertificateOfFreshCopy(bigraph);
+        // the values are cached at the instance model
+        assertFalse(bigraph.getRoots().get(0).getInstance().eAdapters().isEmpty());
+
+        // move the inner room (and its door) into the room of the second root
+        EObject firstRoom = list(rootOf(instance, 0), BigraphMetaModelConstants.REFERENCE_CHILD).get(0);
+        EObject secondRoom = list(rootOf(instance, 1), BigraphMetaModelConstants.REFERENCE_CHILD).get(0);
+        EObject innerRoom = nodeOf(firstRoom, "Room");
+        list(secondRoom, BigraphMetaModelConstants.REFERENCE_CHILD).add(innerRoom);
+        String moved = assertCertificateOfFreshCopy(wrap(bigraph));
+
+        // link the job of the first room to the door
+        EObject job = nodeOf(firstRoom, "Job");
+        EObject door = nodeOf(innerRoom, "Door");
+        setLink(ports(job).get(0), link(ports(door).get(0)));
+        String relinked = assertCertificateOfFreshCopy(wrap(bigraph));
+        assertNotEquals(moved, relinked);
+
+        // add a user to the inner room and remove the user of the first room
+        EObject user = nodeOf(firstRoom, "User");
+        EObject newUser = EcoreUtil.copy(user);
+        setLink(ports(newUser).get(0), link(ports(user).get(0)));
+        list(innerRoom, BigraphMetaModelConstants.REFERENCE_CHILD).add(newUser);
+        setLink(ports(user).get(0), null);
+        EcoreUtil.remove(user);
+        String replaced = assertCertificateOfFreshCopy(wrap(bigraph));
+        assertNotEquals(relinked, replaced);
+    }
+
+    @Test
+    @DisplayName("The cached hashes of the agent are handed over to the natively rewritten successor")
+    void native_rewriting() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("User", "u").child("Job", "j").up()
+                .child("Room").down().child("Room").down().child("Door", "d");
+        PureBigraph agent = b.create();
+        String before = canonicalForm.bfcs(agent);
+
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().child("User", "x").site();
+        redex.root().child("Room").down().site();
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().site();
+        reactum.root().child("Room").down().child("User", "x").site();
+        ParametricReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex.create(), reactum.create());
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.setAgent(agent);
+        reactiveSystem.addReactionRule(rule);
+
+        List<String> results = new ArrayList<>();
+        for (Object each : AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule)) {
+            PureBigraph result = reactiveSystem.buildGroundReaction(agent, (PureBigraphMatch) each, rule);
+            assertFalse(result.getRoots().get(0).getInstance().eAdapters().isEmpty());
+            results.add(assertCertificateOfFreshCopy(result));
+        }
+        assertFalse(results.isEmpty());
+        assertFalse(results.contains(before));
+        assertEquals(before, canonicalForm.bfcs(agent));
+    }
+
+    @Test
+    @DisplayName("Bigraphs with the same certificate are told apart by the canonical strings")
+    void certificate_collision() throws Exception {
+        // each A is linked to its own B, or to the B of the other A
+        PureBigraph own = linkedPairs(false);
+        PureBigraph crossed = linkedPairs(true);
+        PureIncrementalCanonicalForm incrementalForm = new PureIncrementalCanonicalForm(BigraphCanonicalForm.createInstance());
+        assertEquals(incrementalForm.compute(own), incrementalForm.compute(crossed));
+
+        assertNotEquals(canonicalForm.bfcs(own), canonicalForm.bfcs(crossed));
+        assertEquals(canonicalForm.bfcs(own), canonicalForm.bfcs(permutedCopy(own)));
+        assertEquals(canonicalForm.bfcs(crossed), canonicalForm.bfcs(permutedCopy(crossed)));
+        assertEquals(canonicalForm.bfcs(crossed), canonicalForm.bfcs(linkedPairs(true)));
+    }
+
+    private PureBigraph linkedPairs(boolean crossed) throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A").linkInner("x").down().child("B").linkInner(crossed ? "y" : "x").up()
+                .child("A").linkInner("y").down().child("B").linkInner(crossed ? "x" : "y");
+        b.closeInner();
+        PureBigraph bigraph = b.create();
+        assertEquals(2, bigraph.getEdges().size());
+        return bigraph;
+    }
+
+    private String assertCertificateOfFreshCopy(PureBigraph bigraph) {
+        String certificate = canonicalForm.bfcs(bigraph);
+        PureBigraph copy = PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(),
+                EcoreUtil.copy(bigraph.getInstanceModel())).create();
+        assertEquals(BigraphCanonicalForm.createInstance().setIncremental(true).bfcs(copy), certificate);
+        return certificate;
+    }
+
+    private PureBigraph wrap(PureBigraph bigraph) {
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), bigraph.getInstanceModel()).create();
+    }
+
+    /**
+     * Returns an isomorphic copy of the bigraph, where the order of all children and edges is reversed.
+     */
+    private PureBigraph permutedCopy(PureBigraph bigraph) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        ECollections.reverse(list(copy, BigraphMetaModelConstants.REFERENCE_BEDGES));
+        copy.eAllContents().forEachRemaining(x -> {
+            if (x.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_CHILD) != null) {
+                ECollections.reverse(list(x, BigraphMetaModelConstants.REFERENCE_CHILD));
+            }
+        });
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    private static EObject rootOf(EObject instance, int index) {
+        return list(instance, BigraphMetaModelConstants.REFERENCE_BROOTS).stream()
+                .filter(x -> (int) x.eGet(x.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX)) == index)
+                .findFirst().orElseThrow();
+    }
+
+    private static EObject nodeOf(EObject parent, String control) {
+        return list(parent, BigraphMetaModelConstants.REFERENCE_CHILD).stream()
+                .filter(x -> x.eClass().getName().equals(control))
+                .findFirst().orElseThrow();
+    }
+
+    private static EList<EObject> ports(EObject node) {
+        return list(node, BigraphMetaModelConstants.REFERENCE_PORT);
+    }
+
+    private static EObject link(EObject point) {
+        return (EObject) point.eGet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK));
+    }
+
+    private static void setLink(EObject point, EObject link) {
+        point.eSet(point.eClass().getEStructuralFeature(BigraphMetaModelConstants.REFERENCE_LINK), link);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, String reference) {
+        EStructuralFeature feature = object.eClass().getEStructuralFeature(reference);
+        return (EList<EObject>) object.eGet(feature);
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.canonicalstring;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.alg.generators.PureBigraphGenerator;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Canonical forms of bigraphs with several roots, with ordered and unordered roots.
+ *
+ * @author Dominik Grzelak
+ */
+public class MultiRootCanonicalFormUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder()
+            .add("A", 1).add("B", 2).add("C", 0).add("D", 1)
+            .create();
+
+    private static List<BigraphCanonicalForm> canonicalForms(boolean unorderedRoots) {
+        return List.of(
+                BigraphCanonicalForm.createInstance().setUnorderedRoots(unorderedRoots),
+                BigraphCanonicalForm.createInstance().setStructural(true).setUnorderedRoots(unorderedRoots),
+                BigraphCanonicalForm.createInstance().setIncremental(true).setUnorderedRoots(unorderedRoots));
+    }
+
+    @Test
+    @DisplayName("Swapped roots are distinguished, unless the roots are unordered")
+    void swapped_roots() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A", "x").down().child("B", "x").child("C");
+        b.root().child("D", "x").child("C");
+        b.root().child("C").down().child("C");
+        PureBigraph bigraph = b.create();
+
+        b = pureBuilder(sig);
+        b.root().child("C").down().child("C");
+        b.root().child("D", "x").child("C");
+        b.root().child("A", "x").down().child("B", "x").child("C");
+        PureBigraph swapped = b.create();
+
+        for (BigraphCanonicalForm each : canonicalForms(false)) {
+            assertNotEquals(each.bfcs(bigraph), each.bfcs(swapped));
+        }
+        for (BigraphCanonicalForm each : canonicalForms(true)) {
+            assertEquals(each.bfcs(bigraph), each.bfcs(swapped));
+            assertEquals(each.bfcs(bigraph), each.bfcs(reversedRoots(swapped)));
+        }
+        assertEquals(BigraphCanonicalForm.createInstance().bfcs(bigraph),
+                BigraphCanonicalForm.createInstance().bfcs(reversedRoots(swapped)));
+    }
+
+    @Test
+    @DisplayName("Unordered roots: links within a root and across roots are distinguished")
+    void links_across_roots() throws Exception {
+        // two roots with the same content: the A's are linked within or across the roots
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A").linkInner("e1").child("A").linkInner("e1");
+        b.root().child("A").linkInner("e2").child("A").linkInner("e2");
+        b.closeInner();
+        PureBigraph within = b.create();
+
+        b = pureBuilder(sig);
+        b.root().child("A").linkInner("e1").child("A").linkInner("e2");
+        b.root().child("A").linkInner("e1").child("A").linkInner("e2");
+        b.closeInner();
+        PureBigraph across = b.create();
+
+        for (BigraphCanonicalForm each : canonicalForms(true)) {
+            assertNotEquals(each.bfcs(within), each.bfcs(across));
+            // roots with the same hash are permuted
+            assertEquals(each.bfcs(across), each.bfcs(reversedRoots(across)));
+        }
+    }
+
+    @Test
+    @DisplayName("Unordered roots: sites and inner names keep their indices and names")
+    void sites_and_inner_names() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A", "x").down().site();
+        b.root().child("C").down().site();
+        PureBigraph bigraph = b.create();
+
+        // the same roots in the other order, with the same sites
+        b = pureBuilder(sig);
+        b.root().child("C").down().site();
+        b.root().child("A", "x").down().site();
+        PureBigraph swapped = reindexedSites(b.create());
+
+        // the sites are exchanged instead of the roots
+        b = pureBuilder(sig);
+        b.root().child("A", "x").down().site();
+        b.root().child("C").down().site();
+        PureBigraph swappedSites = reindexedSites(b.create());
+
+        for (BigraphCanonicalForm each : canonicalForms(true)) {
+            assertEquals(each.bfcs(bigraph), each.bfcs(swapped));
+            assertNotEquals(each.bfcs(bigraph), each.bfcs(swappedSites));
+        }
+
+        // an inner name that is linked to a node in the first and in the second root, respectively
+        b = pureBuilder(sig);
+        b.linkInnerToOuter(b.createInner("i"), b.createOuter("x"));
+        b.root().child("D", "x").child("C");
+        b.root().child("D", "y");
+        PureBigraph first = b.create();
+
+        b = pureBuilder(sig);
+        b.linkInnerToOuter(b.createInner("i"), b.createOuter("x"));
+        b.root().child("D", "y");
+        b.root().child("D", "x").child("C");
+        PureBigraph second = b.create();
+
+        b = pureBuilder(sig);
+        b.linkInnerToOuter(b.createInner("i"), b.createOuter("x"));
+        b.root().child("D", "x");
+        b.root().child("D", "y").child("C");
+        PureBigraph other = b.create();
+
+        for (BigraphCanonicalForm each : canonicalForms(true)) {
+            assertEquals(each.bfcs(first), each.bfcs(second));
+            assertNotEquals(each.bfcs(first), each.bfcs(other));
+        }
+    }
+
+    @Test
+    @DisplayName("Random bigraphs: canonical forms with unordered roots are invariant under permutations of the roots")
+    void random_bigraphs() {
+        for (int i = 0; i < 20; i++) {
+            PureBigraph bigraph = new PureBigraphGenerator(sig).generate(2 + i % 3, 6 + i % 8, 0.7f);
+            PureBigraph copy = reversedRoots(bigraph);
+            for (BigraphCanonicalForm each : canonicalForms(true)) {
+                assertEquals(each.bfcs(bigraph), each.bfcs(copy));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Unordered roots: more equal roots than root orders that are encoded")
+    void many_equal_roots() throws Exception {
+        // seven roots with a closed edge each, which are interchangeable, and another root
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        for (int i = 0; i < 7; i++) {
+            b.root().child("A").linkInner("e" + i).child("B").linkInner("e" + i);
+        }
+        b.root().child("C");
+        b.closeInner();
+        PureBigraph closed = b.create();
+
+        // six roots that are linked to a ring, and six roots that are linked to two rings of three roots
+        PureBigraph ring = rings(6);
+        PureBigraph twoRings = rings(3, 3);
+
+        Random random = new Random(7);
+        for (BigraphCanonicalForm each : canonicalForms(true)) {
+            for (PureBigraph bigraph : List.of(closed, ring, twoRings)) {
+                String expected = each.bfcs(bigraph);
+                assertEquals(expected, each.bfcs(reversedRoots(bigraph)));
+                for (int i = 0; i < 5; i++) {
+                    assertEquals(expected, each.bfcs(shuffledRoots(bigraph, random)));
+                }
+            }
+        }
+        // colour refinement cannot tell the rings apart, but the canonical string can
+        BigraphCanonicalForm canonicalForm = BigraphCanonicalForm.createInstance().setUnorderedRoots(true);
+        assertNotEquals(canonicalForm.bfcs(ring), canonicalForm.bfcs(twoRings));
+        assertNotEquals(canonicalForm.bfcs(ring), canonicalForm.bfcs(shuffledRoots(twoRings, random)));
+    }
+
+    /**
+     * Returns a bigraph with one root per element of the rings, where the D node of each root is linked to the A node
+     * of the next root in the same ring.
+     */
+    private PureBigraph rings(int... sizes) throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        int offset = 0;
+        for (int size : sizes) {
+            for (int i = 0; i < size; i++) {
+                b.root().child("D").linkInner("e" + (offset + i)).child("A").linkInner("e" + (offset + (i + size - 1) % size));
+            }
+            offset += size;
+        }
+        b.closeInner();
+        return b.create();
+    }
+
+    /**
+     * Returns a copy of the bigraph, where the indices and the order of the roots are permuted randomly.
+     */
+    private static PureBigraph shuffledRoots(PureBigraph bigraph, Random random) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        EList<EObject> roots = list(copy, BigraphMetaModelConstants.REFERENCE_BROOTS);
+        List<EObject> order = new ArrayList<>(roots);
+        Collections.shuffle(order, random);
+        for (int i = 0; i < order.size(); i++) {
+            EObject each = order.get(i);
+            each.eSet(each.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX), i);
+        }
+        ECollections.setEList(roots, order);
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    /**
+     * Returns a copy of the bigraph, where the indices and the order of the roots are reversed.
+     */
+    private static PureBigraph reversedRoots(PureBigraph bigraph) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        EList<EObject> roots = list(copy, BigraphMetaModelConstants.REFERENCE_BROOTS);
+        for (EObject each : roots) {
+            EStructuralFeature index = each.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX);
+            each.eSet(index, roots.size() - 1 - (int) each.eGet(index));
+        }
+        ECollections.reverse(roots);
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    /**
+     * Returns a copy of the bigraph with two sites, where the indices of the sites are exchanged.
+     */
+    private static PureBigraph reindexedSites(PureBigraph bigraph) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        copy.eAllContents().forEachRemaining(x -> {
+            if (x.eClass().getName().equals(BigraphMetaModelConstants.CLASS_SITE)) {
+                EStructuralFeature index = x.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_INDEX);
+                x.eSet(index, 1 - (int) x.eGet(index));
+            }
+        });
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EList<EObject> list(EObject object, String reference) {
+        return (EList<EObject>) object.eGet(object.eClass().getEStructuralFeature(reference));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.canonicalstring;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.alg.generators.PureBigraphGenerator;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.hash.BigraphHashFunction;
+import org.bigraphs.framework.simulation.encoding.hash.PureBigraphHash;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the hash of {@link PureBigraphHash} is invariant under isomorphism, and that it distinguishes bigraphs
+ * with the same numbers of places and links.
+ *
+ * @author Dominik Grzelak
+ */
+public class PureBigraphHashUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder()
+            .add("A", 1).add("B", 2).add("C", 0).add("D", 1)
+            .create();
+    private final BigraphHashFunction<PureBigraph> hashFunction = BigraphHashFunction.get(PureBigraph.class);
+
+    @Test
+    @DisplayName("Isomorphic bigraphs have the same hash")
+    void isomorphism_invariance() throws Exception {
+        CanonicalFormPureBigraphsUnitTests fixtures = new CanonicalFormPureBigraphsUnitTests();
+        List<PureBigraph> bigraphs = new ArrayList<>(List.of(fixtures.createBigraph_a(), fixtures.createBigraph_b(),
+                fixtures.createBigraph_c(), fixtures.createBigraph_d()));
+        for (int i = 0; i < 30; i++) {
+            bigraphs.add(new PureBigraphGenerator(sig).generate(1 + i % 2, 4 + i % 10, 0.7f));
+        }
+        for (PureBigraph each : bigraphs) {
+            assertEquals(hashFunction.hash(each), hashFunction.hash(permutedCopy(each)));
+        }
+        assertNotEquals(hashFunction.hash(bigraphs.get(0)), hashFunction.hash(bigraphs.get(1)));
+    }
+
+    @Test
+    @DisplayName("Bigraphs with the same numbers of places and links are distinguished")
+    void same_counts() throws Exception {
+        // nesting
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A", "x").down().child("C").up().child("C");
+        PureBigraph first = b.create();
+        b = pureBuilder(sig);
+        b.root().child("A", "x").down().child("C").child("C");
+        PureBigraph second = b.create();
+        b = pureBuilder(sig);
+        b.root().child("C").down().child("A", "x").child("C");
+        PureBigraph third = b.create();
+        assertDistinct(first, second, third);
+
+        // linking
+        b = pureBuilder(sig);
+        b.root().child("A", "x").child("D", "x").child("D", "y");
+        PureBigraph shared = b.create();
+        b = pureBuilder(sig);
+        b.root().child("A", "x").child("D", "y").child("D", "y");
+        PureBigraph other = b.create();
+        b = pureBuilder(sig);
+        b.root().child("A", "x").child("D", "x").child("D", "x");
+        b.createOuter("y");
+        PureBigraph idle = b.create();
+        assertDistinct(shared, other, idle);
+    }
+
+    private void assertDistinct(PureBigraph... bigraphs) {
+        Set<Long> hashes = new HashSet<>();
+        for (PureBigraph each : bigraphs) {
+            hashes.add(hashFunction.hash(each));
+        }
+        assertEquals(bigraphs.length, hashes.size());
+    }
+
+    /**
+     * Returns an isomorphic copy of the bigraph, where the order of all children and edges is reversed.
+     */
+    private static PureBigraph permutedCopy(PureBigraph bigraph) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        reverse(copy, BigraphMetaModelConstants.REFERENCE_BEDGES);
+        copy.eAllContents().forEachRemaining(x -> reverse(x, BigraphMetaModelConstants.REFERENCE_CHILD));
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void reverse(EObject object, String reference) {
+        EStructuralFeature feature = object.eClass().getEStructuralFeature(reference);
+        if (feature != null) {
+            ECollections.reverse((EList<EObject>) object.eGet(feature));
+        }
+    }
+}
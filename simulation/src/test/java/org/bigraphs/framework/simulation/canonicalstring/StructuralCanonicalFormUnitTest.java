@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.canonicalstring;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.core.BigraphMetaModelConstants;
+import org.bigraphs.framework.core.alg.generators.PureBigraphGenerator;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.encoding.PureStructuralCanonicalForm;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cross-checks the structural certificates of {@link PureStructuralCanonicalForm} against the canonical strings
+ * computed by {@link BigraphCanonicalForm#bfcs}.
+ *
+ * @author Dominik Grzelak
+ */
+public class StructuralCanonicalFormUnitTest {
+
+    private final BigraphCanonicalForm strings = BigraphCanonicalForm.createInstance();
+    private final BigraphCanonicalForm certificates = BigraphCanonicalForm.createInstance().setStructural(true);
+
+    @Test
+    @DisplayName("Paper bigraphs: certificates distinguish the same bigraphs as the canonical strings")
+    void paper_bigraphs() throws Exception {
+        CanonicalFormPureBigraphsUnitTests fixtures = new CanonicalFormPureBigraphsUnitTests();
+        List<PureBigraph> bigraphs = List.of(fixtures.createBigraph_a(), fixtures.createBigraph_b(),
+                fixtures.createBigraph_c(), fixtures.createBigraph_d(), fixtures.createSubbigraph_b());
+        assertNotEquals(certificates.bfcs(bigraphs.get(0)), certificates.bfcs(bigraphs.get(1)));
+        assertNotEquals(certificates.bfcs(bigraphs.get(2)), certificates.bfcs(bigraphs.get(3)));
+        assertAgreement(bigraphs);
+        for (PureBigraph each : bigraphs) {
+            assertEquals(certificates.bfcs(each), certificates.bfcs(permutedCopy(each)));
+        }
+    }
+
+    @Test
+    @DisplayName("Random bigraphs: certificates are invariant under isomorphism and agree with the canonical strings")
+    void random_bigraphs() {
+        DynamicSignature sig = pureSignatureBuilder()
+                .add("A", 1).add("B", 1).add("C", 2).add("D", 0).add("E", 0)
+                .create();
+        List<PureBigraph> bigraphs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            PureBigraph bigraph = new PureBigraphGenerator(sig).generate(1, 4 + i % 8, 0.8f);
+            bigraphs.add(bigraph);
+            PureBigraph copy = permutedCopy(bigraph);
+            bigraphs.add(copy);
+            assertEquals(certificates.bfcs(bigraph), certificates.bfcs(copy));
+        }
+        assertAgreement(bigraphs);
+    }
+
+    @Test
+    @DisplayName("Options: names, roots and sites")
+    void options() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 1).add("B", 0).create();
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A", "x").child("B").down().site();
+        b.root().child("B");
+        PureBigraph bigraph = b.create();
+
+        b = pureBuilder(sig);
+        b.root().child("A", "y").child("B").down().site();
+        b.root().child("B");
+        PureBigraph renamed = b.create();
+
+        b = pureBuilder(sig);
+        b.root().child("B");
+        b.root().child("A", "x").child("B").down().site();
+        PureBigraph swappedRoots = b.create();
+
+        assertNotEquals(certificates.bfcs(bigraph), certificates.bfcs(renamed));
+        assertNotEquals(certificates.bfcs(bigraph), certificates.bfcs(swappedRoots));
+        BigraphCanonicalForm anonymous = BigraphCanonicalForm.createInstance().setStructural(true).setRewriteOpenLinks(true);
+        assertEquals(anonymous.bfcs(bigraph), anonymous.bfcs(renamed));
+        assertEquals(32, certificates.bfcs(bigraph).length());
+    }
+
+    @Test
+    @DisplayName("Regular link graphs with the same certificate are told apart by the canonical strings")
+    void regular_link_graphs() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("L", 2).create();
+        // colour refinement cannot tell a cycle of six nodes from two cycles of three nodes
+        PureBigraph hexagon = cycles(sig, 6);
+        PureBigraph triangles = cycles(sig, 3, 3);
+        PureStructuralCanonicalForm structuralForm = new PureStructuralCanonicalForm(BigraphCanonicalForm.createInstance());
+        assertEquals(structuralForm.compute(hexagon), structuralForm.compute(triangles));
+
+        assertNotEquals(certificates.bfcs(hexagon), certificates.bfcs(triangles));
+        assertEquals(certificates.bfcs(hexagon), certificates.bfcs(permutedCopy(hexagon)));
+        assertEquals(certificates.bfcs(triangles), certificates.bfcs(permutedCopy(triangles)));
+        assertAgreement(List.of(hexagon, triangles, permutedCopy(triangles), permutedCopy(hexagon)));
+    }
+
+    @Test
+    @DisplayName("Node identifiers: the names of the edges are respected")
+    void node_identifiers() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("A", 1).create();
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("A").linkInner("x");
+        b.closeInner();
+        PureBigraph bigraph = b.create();
+        PureBigraph renamed = permutedCopy(bigraph);
+        EObject edge = renamed.getEdges().get(0).getInstance();
+        edge.eSet(edge.eClass().getEStructuralFeature(BigraphMetaModelConstants.ATTRIBUTE_NAME), "renamed");
+
+        BigraphCanonicalForm withNodeIdentifiers = BigraphCanonicalForm.createInstance().setWithNodeIdentifiers(true);
+        BigraphCanonicalForm certificatesWithNodeIdentifiers = BigraphCanonicalForm.createInstance().setStructural(true)
+                .setWithNodeIdentifiers(true);
+        assertNotEquals(withNodeIdentifiers.bfcs(bigraph), withNodeIdentifiers.bfcs(renamed));
+        assertNotEquals(certificatesWithNodeIdentifiers.bfcs(bigraph), certificatesWithNodeIdentifiers.bfcs(renamed));
+        assertEquals(certificates.bfcs(bigraph), certificates.bfcs(renamed));
+    }
+
+    /**
+     * Returns a bigraph with one root that holds cycles of the given lengths, where the second port of each node is
+     * linked by an edge to the first port of the next node of its cycle.
+     */
+    private static PureBigraph cycles(DynamicSignature sig, int... lengths) throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = b.root();
+        int offset = 0;
+        for (int length : lengths) {
+            for (int i = 0; i < length; i++) {
+                root.child("L").linkInner("e" + (offset + i)).linkInner("e" + (offset + (i + 1) % length));
+            }
+            offset += length;
+        }
+        b.closeInner();
+        PureBigraph bigraph = b.create();
+        assertEquals(offset, bigraph.getEdges().size());
+        return bigraph;
+    }
+
+    private void assertAgreement(List<PureBigraph> bigraphs) {
+        List<String> bfcs = bigraphs.stream().map(strings::bfcs).toList();
+        List<String> certs = bigraphs.stream().map(certificates::bfcs).toList();
+        for (int i = 0; i < bigraphs.size(); i++) {
+            for (int j = i + 1; j < bigraphs.size(); j++) {
+                assertEquals(bfcs.get(i).equals(bfcs.get(j)), certs.get(i).equals(certs.get(j)),
+                        "Disagreement for " + bfcs.get(i) + " and " + bfcs.get(j));
+            }
+        }
+    }
+
+    /**
+     * Returns an isomorphic copy of the bigraph, where the order of all children, ports and edges is
+     * reversed.
+     */
+    private PureBigraph permutedCopy(PureBigraph bigraph) {
+        EObject copy = EcoreUtil.copy(bigraph.getInstanceModel());
+        reverse(copy, BigraphMetaModelConstants.REFERENCE_BEDGES);
+        copy.eAllContents().forEachRemaining(x -> {
+            reverse(x, BigraphMetaModelConstants.REFERENCE_CHILD);
+            reverse(x, BigraphMetaModelConstants.REFERENCE_PORT);
+        });
+        return PureBigraphBuilder.create(bigraph.getSignature(), bigraph.getMetaModel(), copy).create();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void reverse(EObject object, String reference) {
+        EStructuralFeature feature = object.eClass().getEStructuralFeature(reference);
+        if (feature != null) {
+            ECollections.reverse((EList<EObject>) object.eGet(feature));
+        }
+    }
+}
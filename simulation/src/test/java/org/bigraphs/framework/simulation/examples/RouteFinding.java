@@ -157,7 +157,7 @@ public class RouteFinding implements BigraphModelChecker.ReactiveSystemListener<
         return opts;
     }
 
-    private PureBigraph createMap(int fuelLevel) throws InvalidConnectionException, TypeNotExistsException {
+    public static PureBigraph createMap(int fuelLevel) throws InvalidConnectionException, TypeNotExistsException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
 
         BigraphEntity.OuterName p0 = builder.createOuter("p0");
@@ -120,7 +120,7 @@ public class BuildingRoomOccurrenceUnitTest implements BigraphUnitTestSupport {
     /**
      * Create the initial bigraph with three rooms.
      */
-    private PureBigraph agent_00() {
+    PureBigraph agent_00() {
         DynamicSignature signature = sig();
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(signature);
 
@@ -134,7 +134,7 @@ public class BuildingRoomOccurrenceUnitTest implements BigraphUnitTestSupport {
     /**
      * A bigraph with one root and 1 room.
      */
-    private PureBigraph redex_1() {
+    PureBigraph redex_1() {
         DynamicSignature signature = sig();
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(signature);
         builder.root().child("Room").down().site();
@@ -145,7 +145,7 @@ public class BuildingRoomOccurrenceUnitTest implements BigraphUnitTestSupport {
     /**
      * A bigraph with one root and 2 rooms.
      */
-    private PureBigraph redex_2() {
+    PureBigraph redex_2() {
         DynamicSignature signature = sig();
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(signature);
         builder.root().child("Room").down().site()
@@ -157,7 +157,7 @@ public class BuildingRoomOccurrenceUnitTest implements BigraphUnitTestSupport {
     /**
      * Create a bigraph with two roots and 2 rooms.
      */
-    private PureBigraph redex_3() {
+    PureBigraph redex_3() {
         DynamicSignature signature = sig();
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(signature);
         builder.root().child("Room").down().site();
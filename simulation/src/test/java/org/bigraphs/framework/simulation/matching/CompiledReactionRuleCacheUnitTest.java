@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.CompiledReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dominik Grzelak
+ */
+public class CompiledReactionRuleCacheUnitTest {
+
+    @Test
+    void rule_is_compiled_once_and_cache_is_invalidated_on_new_rules() throws Exception {
+        DynamicSignature sig = pureSignatureBuilder().add("Room", 1).add("User", 1).create();
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().site();
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().site().child("User");
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex.create(), reactum.create());
+
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.addReactionRule(rule);
+        CompiledReactionRule compiled = reactiveSystem.getCompiledRuleCache().get(rule);
+        assertSame(compiled, reactiveSystem.getCompiledRuleCache().get(rule));
+        assertSame(compiled.getJLibRedex().getSignature(), compiled.getJLibReactum().getSignature());
+        assertArrayEquals(new boolean[]{true}, compiled.getNeededParams());
+        assertEquals(1, reactiveSystem.getCompiledRuleCache().size());
+
+        PureBigraphBuilder<DynamicSignature> redex2 = pureBuilder(sig);
+        redex2.root().child("User");
+        reactiveSystem.addReactionRule(new ParametricReactionRule<>(redex2.create(), redex2.create()));
+        assertEquals(0, reactiveSystem.getCompiledRuleCache().size());
+        assertNotSame(compiled, reactiveSystem.getCompiledRuleCache().get(rule));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.ControlHistogram;
+import org.bigraphs.framework.simulation.modelchecking.ControlHistogramFilter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dominik Grzelak
+ */
+public class ControlHistogramUnitTest {
+
+    private DynamicSignature sig() {
+        return pureSignatureBuilder().add("Room", 1).add("User", 1).add("Door", 0).create();
+    }
+
+    @Test
+    void histogram_rejects_only_impossible_redexes() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig());
+        b.root().child("Room").down().child("User").child("User");
+        PureBigraph agent = b.create();
+        ControlHistogram histogram = ControlHistogram.of(agent);
+        assertEquals(2, histogram.getNodeCount("User"));
+        assertEquals(3, histogram.getUnconnectedPortCount());
+
+        PureBigraphBuilder<DynamicSignature> possible = pureBuilder(sig());
+        possible.root().child("User").child("User");
+        PureBigraphBuilder<DynamicSignature> tooManyUsers = pureBuilder(sig());
+        tooManyUsers.root().child("User").child("User").child("User");
+        PureBigraphBuilder<DynamicSignature> missingControl = pureBuilder(sig());
+        missingControl.root().child("Door");
+        assertTrue(histogram.mayContain(ControlHistogram.of(possible.create())));
+        assertFalse(histogram.mayContain(ControlHistogram.of(tooManyUsers.create())));
+        assertFalse(histogram.mayContain(ControlHistogram.of(missingControl.create())));
+
+        ControlHistogramFilter filter = new ControlHistogramFilter();
+        PureBigraph redex = missingControl.create();
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex, redex);
+        assertFalse(filter.accept(rule, agent));
+        assertFalse(AbstractBigraphMatcher.create(PureBigraph.class).matchAll(agent, rule).iterator().hasNext());
+        assertEquals(1, filter.getAvoidedMatchCount());
+    }
+}
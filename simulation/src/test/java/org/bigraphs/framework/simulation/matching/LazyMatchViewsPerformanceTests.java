@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphDecoder;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.examples.FruitBasketExampleTest;
+import org.bigraphs.framework.simulation.examples.RouteFinding;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the rewriting of all jLibBig matches of the examples with lazy match views, and with the views decoded
+ * for every match, as it was done before the views were lazy.
+ *
+ * @author Dominik Grzelak
+ */
+@Disabled
+public class LazyMatchViewsPerformanceTests {
+
+    private static final int REPETITIONS = 20;
+
+    private final JLibBigBigraphDecoder decoder = new JLibBigBigraphDecoder();
+
+    @Test
+    @DisplayName("Wall-clock time of the rewriting step with lazy and with decoded match views")
+    void rewriting_step() throws Exception {
+        System.out.println("example;matches;lazyMicros;decodedMicros");
+        measure("FruitBasket", FruitBasketExampleTest.createAgent(), List.of(FruitBasketExampleTest.createRR1(),
+                FruitBasketExampleTest.createRR2(), FruitBasketExampleTest.createRR3(), FruitBasketExampleTest.createRR4()));
+        measure("RouteFinding", RouteFinding.createMap(3), List.of(RouteFinding.createReactionRule()));
+    }
+
+    private void measure(String example, PureBigraph agent, List<ReactionRule<PureBigraph>> rules) throws Exception {
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        for (ReactionRule<PureBigraph> each : rules) reactiveSystem.addReactionRule(each);
+
+        long lazy = Long.MAX_VALUE;
+        long decoded = Long.MAX_VALUE;
+        int matches = 0;
+        // the first half of the repetitions is the warm-up
+        for (int i = 0; i < 2 * REPETITIONS; i++) {
+            // the rewriting step reuses the jLibBig objects of a match, so each repetition needs new matches
+            List<Runnable> lazySteps = new ArrayList<>();
+            List<Runnable> decodedSteps = new ArrayList<>();
+            for (ReactionRule<PureBigraph> rule : rules) {
+                for (PureBigraphMatch each : matches(reactiveSystem, agent, rule)) {
+                    lazySteps.add(() -> assertNotNull(reactiveSystem.buildGroundReaction(agent, each, rule)));
+                }
+                for (PureBigraphMatch each : matches(reactiveSystem, agent, rule)) {
+                    decodedSteps.add(() -> {
+                        PureBigraph context = decoder.decode(each.getJLibMatchResult().getContext());
+                        assertNotNull(reactiveSystem.buildGroundReaction(agent, each, rule));
+                        assertNotNull(context);
+                        each.getParam();
+                        assertNotNull(each.getRedexImage());
+                    });
+                }
+            }
+            assertFalse(lazySteps.isEmpty());
+            matches = lazySteps.size();
+
+            long start = System.nanoTime();
+            lazySteps.forEach(Runnable::run);
+            long lazyTime = System.nanoTime() - start;
+            start = System.nanoTime();
+            decodedSteps.forEach(Runnable::run);
+            long decodedTime = System.nanoTime() - start;
+            if (i >= REPETITIONS) {
+                lazy = Math.min(lazy, lazyTime);
+                decoded = Math.min(decoded, decodedTime);
+            }
+        }
+        System.out.printf("%s;%d;%.1f;%.1f%n", example, matches, lazy / 1e3, decoded / 1e3);
+    }
+
+    private static List<PureBigraphMatch> matches(PureReactiveSystem reactiveSystem, PureBigraph agent, ReactionRule<PureBigraph> rule) {
+        List<PureBigraphMatch> result = new ArrayList<>();
+        new PureBigraphMatcher(BigraphMatchingEngine.Type.JLIBBIG, reactiveSystem.getCompiledRuleCache())
+                .matchAll(agent, rule).forEach(result::add);
+        return result;
+    }
+}
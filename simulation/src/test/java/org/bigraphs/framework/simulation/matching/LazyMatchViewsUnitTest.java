@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that context, parameter and redex image of a {@link PureBigraphMatch} are only decoded on demand.
+ *
+ * @author Dominik Grzelak
+ */
+public class LazyMatchViewsUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder().add("Room", 0).add("User", 0).create();
+
+    @Test
+    @DisplayName("Lazy views are materialised once, on the first access")
+    void lazy_views_materialised_once() {
+        PureBigraph bigraph = pureBuilder(sig).root().child("Room").create();
+        PureBigraphMatch match = new PureBigraphMatch(null, null, bigraph, null, null, null, List.of());
+        assertFalse(match.wasRewritten());
+
+        AtomicInteger decoded = new AtomicInteger();
+        match.setContext(() -> {
+            decoded.incrementAndGet();
+            return bigraph;
+        });
+        match.setParam(() -> {
+            decoded.incrementAndGet();
+            return bigraph;
+        });
+        match.setRedexImage(() -> {
+            decoded.incrementAndGet();
+            return bigraph;
+        });
+        assertTrue(match.wasRewritten());
+        assertEquals(0, decoded.get());
+
+        assertSame(bigraph, match.getContext());
+        assertSame(bigraph, match.getContext());
+        assertEquals(1, decoded.get());
+        assertSame(bigraph, match.getRedexImage());
+        assertSame(bigraph, match.getParam());
+        assertEquals(3, decoded.get());
+    }
+
+    @Test
+    @DisplayName("The views of a rewritten jLibBig match are decoded on demand")
+    void views_of_rewritten_match() throws Exception {
+        PureBigraph agent = pureBuilder(sig).root().child("Room").down().child("User").child("User").up().child("Room").create();
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(
+                pureBuilder(sig).root().child("Room").down().child("User").site().create(),
+                pureBuilder(sig).root().child("Room").down().site().create());
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.setAgent(agent);
+        reactiveSystem.addReactionRule(rule);
+
+        int matches = 0;
+        for (Object each : AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.JLIBBIG).matchAll(agent, rule)) {
+            PureBigraphMatch match = (PureBigraphMatch) each;
+            PureBigraph result = reactiveSystem.buildGroundReaction(agent, match, rule);
+            assertEquals(3, result.getNodes().size());
+
+            // the views are still valid after the rewriting step reused the jLibBig objects of the match
+            assertEquals(1, users(match.getRedexImage()));
+            assertEquals(1, match.getParam().getNodes().size());
+            assertEquals(1, users(match.getParam()));
+            assertEquals(1, match.getContext().getNodes().size());
+            assertEquals(0, users(match.getContext()));
+            matches++;
+        }
+        assertEquals(2, matches);
+    }
+
+    private static long users(PureBigraph bigraph) {
+        return bigraph.getNodes().stream()
+                .filter(x -> x.getControl().getNamedType().stringValue().equals("User"))
+                .count();
+    }
+}
@@ -119,7 +119,7 @@ public class LinkGraphMatchingTests implements org.bigraphs.testing.BigraphUnitT
         }
     }
 
-    private PureBigraph createQueryLinkGraph_1() throws InvalidConnectionException, TypeNotExistsException {
+    PureBigraph createQueryLinkGraph_1() throws InvalidConnectionException, TypeNotExistsException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
 
         BigraphEntity.InnerName x1 = builder.createInner("x1");
@@ -145,7 +145,7 @@ public class LinkGraphMatchingTests implements org.bigraphs.testing.BigraphUnitT
         return bigraph;
     }
 
-    private PureBigraph createQueryLinkGraph_2() throws InvalidConnectionException {
+    PureBigraph createQueryLinkGraph_2() throws InvalidConnectionException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
 
         builder.root().connectByEdge("C", "C", "B");
@@ -154,7 +154,7 @@ public class LinkGraphMatchingTests implements org.bigraphs.testing.BigraphUnitT
         return bigraph;
     }
 
-    private PureBigraph createQueryLinkGraph_3() throws InvalidConnectionException {
+    PureBigraph createQueryLinkGraph_3() throws InvalidConnectionException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
 
         builder.root().child("B", "x1")
@@ -164,7 +164,7 @@ public class LinkGraphMatchingTests implements org.bigraphs.testing.BigraphUnitT
         return bigraph;
     }
 
-    private PureBigraph createQueryLinkGraph_4() throws InvalidConnectionException, TypeNotExistsException {
+    PureBigraph createQueryLinkGraph_4() throws InvalidConnectionException, TypeNotExistsException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
 
         builder.root().child("B", "x1").linkOuter("x2").linkOuter("x3")
@@ -174,7 +174,7 @@ public class LinkGraphMatchingTests implements org.bigraphs.testing.BigraphUnitT
         return bigraph;
     }
 
-    private PureBigraph createDataLinkGraph() throws InvalidConnectionException, TypeNotExistsException {
+    PureBigraph createDataLinkGraph() throws InvalidConnectionException, TypeNotExistsException {
         PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
         BigraphEntity.InnerName x1 = builder.createInner("x1");
         BigraphEntity.InnerName x2 = builder.createInner("x2");
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import it.uniud.mads.jlibbig.core.std.AgentMatch;
+import java.util.*;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphDecoder;
+import org.bigraphs.framework.converter.jlibbig.JLibBigBigraphEncoder;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.encoding.PureStructuralCanonicalForm;
+import org.bigraphs.framework.simulation.examples.FruitBasketExampleTest;
+import org.bigraphs.framework.simulation.examples.RouteFinding;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatcher;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the matches of the native matching engine with the matches of jLibBig over the agents and rules of the
+ * matching tests and examples: both engines must find the same node and link embeddings, and the matches must be
+ * rewritten to the same successor states.
+ *
+ * @author Dominik Grzelak
+ */
+public class NativeMatchingCorpusUnitTest {
+
+    private static final int DEPTH = 2;
+
+    private final PureStructuralCanonicalForm certificates = new PureStructuralCanonicalForm(BigraphCanonicalForm.createInstance());
+    private final JLibBigBigraphEncoder encoder = new JLibBigBigraphEncoder();
+    private final JLibBigBigraphDecoder decoder = new JLibBigBigraphDecoder();
+
+    @Test
+    @DisplayName("Fruit basket: the engines find the same matches and successors")
+    void fruit_basket() throws Exception {
+        assertSameMatches(List.of(FruitBasketExampleTest.createAgent(), FruitBasketExampleTest.createAgent2()),
+                List.of(FruitBasketExampleTest.createRR1(), FruitBasketExampleTest.createRR2(),
+                        FruitBasketExampleTest.createRR3(), FruitBasketExampleTest.createRR4(),
+                        FruitBasketExampleTest.createRR5_noop(), FruitBasketExampleTest.createRR6_noop()));
+    }
+
+    @Test
+    @DisplayName("Route finding: the engines find the same matches and successors")
+    void route_finding() throws Exception {
+        assertSameMatches(List.of(RouteFinding.createMap(3)), List.of(RouteFinding.createReactionRule()));
+    }
+
+    @Test
+    @DisplayName("Building and link graph fixtures: the engines find the same matches and successors")
+    void fixtures() throws Exception {
+        BuildingRoomOccurrenceUnitTest building = new BuildingRoomOccurrenceUnitTest();
+        assertSameMatches(List.of(building.agent_00()), List.of(identity(building.redex_1()),
+                identity(building.redex_2()), identity(building.redex_3())));
+
+        LinkGraphMatchingTests linkGraphs = new LinkGraphMatchingTests();
+        assertSameMatches(List.of(linkGraphs.createDataLinkGraph()), List.of(identity(linkGraphs.createQueryLinkGraph_1()),
+                identity(linkGraphs.createQueryLinkGraph_2()), identity(linkGraphs.createQueryLinkGraph_3()),
+                identity(linkGraphs.createQueryLinkGraph_4())));
+    }
+
+    @Test
+    @DisplayName("Redexes outside of the supported form are matched with jLibBig")
+    void unsupported_redexes() throws Exception {
+        BuildingRoomOccurrenceUnitTest building = new BuildingRoomOccurrenceUnitTest();
+        PureBigraph agent = building.agent_00();
+        DynamicSignature sig = agent.getSignature();
+
+        // the parameter of a site under a root consists of places of the context (the redex is not guarding)
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().site().up().site();
+        PureBigraph notGuarding = b.create();
+        ReactionRule<PureBigraph> siteUnderRoot = unchecked(notGuarding);
+        // the children of a node with two sites can be distributed among them in several ways
+        b = pureBuilder(sig);
+        b.root().child("Room").down().site().site();
+        ReactionRule<PureBigraph> twoSites = unchecked(b.create());
+
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        for (ReactionRule<PureBigraph> each : List.of(siteUnderRoot, twoSites)) {
+            reactiveSystem.addReactionRule(each);
+            assertFalse(reactiveSystem.getCompiledRuleCache().get(each).getNativeMatchingPlan().isSupported());
+            List<PureBigraphMatch> matches = matches(BigraphMatchingEngine.Type.NATIVE, reactiveSystem, agent, each);
+            assertFalse(matches.isEmpty());
+            matches.forEach(match -> assertFalse(match.isNativeMatch()));
+        }
+        assertSameMatches(List.of(agent), List.of(siteUnderRoot, twoSites));
+    }
+
+    /**
+     * Compares the matches of the engines for each rule in the given agents and in their successors up to
+     * {@link #DEPTH} reaction steps.
+     */
+    private void assertSameMatches(List<PureBigraph> agents, List<ReactionRule<PureBigraph>> rules) throws Exception {
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        for (ReactionRule<PureBigraph> each : rules) reactiveSystem.addReactionRule(each);
+
+        Map<String, PureBigraph> states = new LinkedHashMap<>();
+        agents.forEach(x -> states.putIfAbsent(certificateOf(x), x));
+        List<PureBigraph> frontier = new ArrayList<>(states.values());
+        int comparedMatches = 0;
+        for (int depth = 0; depth <= DEPTH && !frontier.isEmpty(); depth++) {
+            List<PureBigraph> next = new ArrayList<>();
+            for (PureBigraph agent : frontier) {
+                for (ReactionRule<PureBigraph> rule : rules) {
+                    List<PureBigraphMatch> jLibBigMatches = matches(BigraphMatchingEngine.Type.JLIBBIG, reactiveSystem, agent, rule);
+                    List<PureBigraphMatch> nativeMatches = matches(BigraphMatchingEngine.Type.NATIVE, reactiveSystem, agent, rule);
+                    Map<String, PureBigraph> successors = new HashMap<>();
+                    List<String> expected = describe(reactiveSystem, agent, rule, jLibBigMatches, successors);
+                    List<String> actual = describe(reactiveSystem, agent, rule, nativeMatches, new HashMap<>());
+                    assertEquals(expected, actual, "Matches of " + rule + " in " + certificateOf(agent));
+                    comparedMatches += nativeMatches.size();
+
+                    successors.forEach((label, result) -> {
+                        if (states.putIfAbsent(label, result) == null) next.add(result);
+                    });
+                }
+            }
+            frontier = next;
+        }
+        assertTrue(comparedMatches > 0);
+    }
+
+    private List<PureBigraphMatch> matches(BigraphMatchingEngine.Type engine, PureReactiveSystem reactiveSystem,
+                                           PureBigraph agent, ReactionRule<PureBigraph> rule) {
+        List<PureBigraphMatch> result = new ArrayList<>();
+        new PureBigraphMatcher(engine, reactiveSystem.getCompiledRuleCache()).matchAll(agent, rule).forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Describes each match by its node embedding, its link embedding and the canonical string of its successor, and
+     * returns the sorted descriptions. The successors are added to the given map by their canonical string.
+     */
+    private List<String> describe(PureReactiveSystem reactiveSystem, PureBigraph agent, ReactionRule<PureBigraph> rule,
+                                  List<PureBigraphMatch> matches, Map<String, PureBigraph> successors) {
+        PureBigraph redex = rule.getRedex();
+        List<String> result = new ArrayList<>();
+        for (PureBigraphMatch each : matches) {
+            Map<String, String> nodeEmbedding = new TreeMap<>();
+            if (each.isNativeMatch()) {
+                each.getNodeEmbedding().forEach((redexNode, agentNode) -> nodeEmbedding.put(redexNode.getName(), agentNode.getName()));
+            } else {
+                ((AgentMatch) each.getJLibMatchResult()).emb_nodes.forEach((redexNode, agentNode) ->
+                        nodeEmbedding.put(redexNode.getEditable().getName(), agentNode.getEditable().getName()));
+            }
+            assertEquals(redex.getNodes().size(), nodeEmbedding.size());
+
+            // the links of the agent at the ports of the node images
+            Map<String, String> linkEmbedding = new TreeMap<>();
+            for (BigraphEntity.NodeEntity<?> redexNode : redex.getNodes()) {
+                BigraphEntity.NodeEntity<?> agentNode = agent.getNodes().stream()
+                        .filter(x -> x.getName().equals(nodeEmbedding.get(redexNode.getName())))
+                        .findFirst().orElseThrow();
+                for (BigraphEntity.Port port : redex.getPorts(redexNode)) {
+                    // an unlinked port of the agent is a port of an edge of its own, which has no name
+                    String agentLink = agent.getPorts(agentNode).stream()
+                            .filter(x -> x.getIndex() == port.getIndex() && agent.getLinkOfPoint(x) != null)
+                            .map(x -> agent.getLinkOfPoint(x).getName())
+                            .findFirst().orElse("");
+                    linkEmbedding.put(redex.getLinkOfPoint(port).getName(), agentLink);
+                }
+            }
+            if (each.isNativeMatch()) {
+                Map<String, String> nativeLinkEmbedding = new TreeMap<>();
+                each.getLinkEmbedding().forEach((redexLink, agentLink) -> nativeLinkEmbedding.put(redexLink.getName(), agentLink.getName()));
+                linkEmbedding.forEach((redexLink, agentLink) -> assertEquals(agentLink, nativeLinkEmbedding.getOrDefault(redexLink, "")));
+            }
+
+            PureBigraph successor = reactiveSystem.buildGroundReaction(agent, each, rule);
+            String label = certificateOf(successor);
+            successors.put(label, successor);
+            result.add(nodeEmbedding + " " + linkEmbedding + " " + label);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the structural certificate of the bigraph after encoding it for jLibBig and decoding it again, since
+     * jLibBig links every unlinked port of a node to an edge of its own. The certificate is invariant under
+     * isomorphism (see {@link PureStructuralCanonicalForm}).
+     */
+    private String certificateOf(PureBigraph bigraph) {
+        return certificates.compute(decoder.decode(encoder.encode(bigraph)));
+    }
+
+    private static ReactionRule<PureBigraph> identity(PureBigraph redex) throws Exception {
+        return new ParametricReactionRule<>(redex, redex);
+    }
+
+    /**
+     * Returns a rule whose redex is not checked to be simple.
+     */
+    private static ReactionRule<PureBigraph> unchecked(PureBigraph redex) throws Exception {
+        return new ParametricReactionRule<>(redex, redex) {
+            @Override
+            public boolean isRedexSimple() {
+                return true;
+            }
+        };
+    }
+}
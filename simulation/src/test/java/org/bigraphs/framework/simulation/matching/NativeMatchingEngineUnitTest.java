@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bigraphs.framework.core.exceptions.InvalidConnectionException;
+import org.bigraphs.framework.core.exceptions.InvalidReactionRuleException;
+import org.bigraphs.framework.core.exceptions.builder.LinkTypeNotExistsException;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validates the native matching engine against the jLibBig-based matching engine by comparing the number of
+ * matches for a set of agent-redex pairs.
+ *
+ * @author Dominik Grzelak
+ */
+public class NativeMatchingEngineUnitTest {
+
+    private DynamicSignature sig() {
+        return pureSignatureBuilder()
+                .add("Building", 0)
+                .add("Room", 1)
+                .add("User", 1)
+                .add("A", 1)
+                .add("B", 1)
+                .add("C", 1)
+                .create();
+    }
+
+    @Test
+    @DisplayName("Place graph matching: native engine and jLibBig agree on the number of matches")
+    void compare_place_graph_matches() throws Exception {
+        PureBigraph agent = buildingAgent();
+
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig());
+        b.root().child("Room").down().site();
+        assertSameMatches(agent, b.create(), 3);
+
+        b = pureBuilder(sig());
+        b.root().child("Room").down().site().up().child("Room").down().site();
+        assertSameMatches(agent, b.create(), 2);
+
+        b = pureBuilder(sig());
+        b.root().child("Room").down().site();
+        b.root().child("Room").down().site();
+        assertSameMatches(agent, b.create(), 4);
+
+        b = pureBuilder(sig());
+        b.root().child("Room").down().child("User");
+        assertSameMatches(agent, b.create(), 2);
+
+        b = pureBuilder(sig());
+        b.root().child("Building").down().child("Room").down().child("User");
+        assertSameMatches(agent, b.create(), 0);
+    }
+
+    @Test
+    @DisplayName("Link graph matching: native engine and jLibBig agree on the number of matches")
+    void compare_link_graph_matches() throws Exception {
+        PureBigraph agent = linkedAgent(false);
+        PureBigraph agentWithThirdPoint = linkedAgent(true);
+
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig());
+        b.root().child("A", "y");
+        assertSameMatches(agent, b.create(), 1);
+
+        b = pureBuilder(sig());
+        b.root().child("A", "y").child("B", "y");
+        assertSameMatches(agent, b.create(), 1);
+
+        b = pureBuilder(sig());
+        b.root().child("A", "y").child("B", "z");
+        assertSameMatches(agent, b.create(), 1);
+
+        PureBigraph closedRedex = closedEdgeRedex();
+        assertSameMatches(agent, closedRedex, 1);
+        assertSameMatches(agentWithThirdPoint, closedRedex, 0);
+    }
+
+    @Test
+    @DisplayName("First match only: native engine stops after the first embedding")
+    void first_match_only() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig());
+        b.root().child("Room").down().site();
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(b.create(), b.create());
+
+        AbstractBigraphMatcher<PureBigraph> matcher = AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE);
+        List<PureBigraphMatch> matches = toList(matcher.matchFirst(buildingAgent(), rule));
+        assertEquals(1, matches.size());
+        assertTrue(matches.get(0).isNativeMatch());
+        assertNull(matches.get(0).getJLibMatchResult());
+    }
+
+    @Test
+    @DisplayName("Lazy match iterable: stream view, short-circuiting and cancellation")
+    void lazy_match_iterable() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig());
+        b.root().child("Room").down().site();
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(b.create(), b.create());
+
+        for (BigraphMatchingEngine.Type type : BigraphMatchingEngine.Type.values()) {
+            AbstractBigraphMatcher<PureBigraph> matcher = AbstractBigraphMatcher.create(PureBigraph.class, type);
+            assertEquals(3, matcher.matchAll(buildingAgent(), rule).stream().count());
+            assertEquals(1, matcher.matchAll(buildingAgent(), rule).stream().limit(1).count());
+
+            MatchIterable<?> matches = matcher.matchAll(buildingAgent(), rule);
+            assertTrue(matches.iterator().hasNext());
+            matches.iterator().next();
+            matches.cancel();
+            assertFalse(matches.iterator().hasNext());
+        }
+    }
+
+    private void assertSameMatches(PureBigraph agent, PureBigraph redex, int expected) throws InvalidReactionRuleException {
+        ReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex, redex);
+        List<PureBigraphMatch> jLibBigMatches = toList(AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.JLIBBIG).matchAll(agent, rule));
+        List<PureBigraphMatch> nativeMatches = toList(AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule));
+        assertEquals(jLibBigMatches.size(), nativeMatches.size());
+        assertEquals(expected, nativeMatches.size());
+        nativeMatches.forEach(each -> assertEquals(redex.getNodes().size(), each.getNodeEmbedding().size()));
+    }
+
+    private List<PureBigraphMatch> toList(MatchIterable<?> matches) {
+        List<PureBigraphMatch> result = new ArrayList<>();
+        for (Object each : matches) {
+            result.add((PureBigraphMatch) each);
+        }
+        return result;
+    }
+
+    private PureBigraph buildingAgent() {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
+        builder.root()
+                .child("Building")
+                .down().child("Room").down().child("Room").down().child("User").up().up()
+                .child("Room").down().child("User");
+        return builder.create();
+    }
+
+    private PureBigraph linkedAgent(boolean withThirdPoint) throws InvalidConnectionException, LinkTypeNotExistsException {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = builder.root()
+                .child("A").linkInner("e")
+                .child("B").linkInner("e");
+        if (withThirdPoint) {
+            root.child("C").linkInner("e");
+        }
+        builder.closeInner();
+        return builder.create();
+    }
+
+    private PureBigraph closedEdgeRedex() throws InvalidConnectionException, LinkTypeNotExistsException {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig());
+        builder.root().child("A").linkInner("e").child("B").linkInner("e");
+        builder.closeInner();
+        return builder.create();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the native rewriting step for growing agents: the copy of the agent, the rewriting of a copy, and the
+ * rewriting in place including the undo (see {@link PureReactiveSystem#inspectReaction}).
+ *
+ * @author Dominik Grzelak
+ */
+@Disabled
+public class NativeRewritingPerformanceTests {
+
+    private static final int REPETITIONS = 20;
+
+    private final DynamicSignature sig = pureSignatureBuilder()
+            .add("Room", 0).add("A", 0).add("B", 0)
+            .create();
+
+    @Test
+    @DisplayName("Wall-clock time of the copy, of the rewriting of a copy, and of the rewriting in place")
+    void rewriting_step() throws Exception {
+        ParametricReactionRule<PureBigraph> rule = new ParametricReactionRule<>(
+                pureBuilder(sig).root().child("A").create(),
+                pureBuilder(sig).root().child("B").create());
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.addReactionRule(rule);
+
+        System.out.println("nodes;copyMicros;rewriteMicros;inPlaceMicros");
+        for (int rooms : new int[]{100, 1_000, 10_000, 50_000}) {
+            PureBigraph agent = rooms(rooms);
+            PureBigraphMatch match = (PureBigraphMatch) AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE)
+                    .matchFirst(agent, rule).iterator().next();
+            // warm-up
+            for (int i = 0; i < REPETITIONS; i++) {
+                assertNotNull(reactiveSystem.buildGroundReaction(agent, match, rule));
+                assertNotNull(reactiveSystem.inspectReaction(agent, match, rule, x -> x));
+                EcoreUtil.copy(agent.getInstanceModel());
+            }
+            long copy = Long.MAX_VALUE;
+            long rewrite = Long.MAX_VALUE;
+            long inPlace = Long.MAX_VALUE;
+            for (int i = 0; i < REPETITIONS; i++) {
+                long start = System.nanoTime();
+                EcoreUtil.copy(agent.getInstanceModel());
+                copy = Math.min(copy, System.nanoTime() - start);
+                start = System.nanoTime();
+                reactiveSystem.buildGroundReaction(agent, match, rule);
+                rewrite = Math.min(rewrite, System.nanoTime() - start);
+                start = System.nanoTime();
+                reactiveSystem.inspectReaction(agent, match, rule, x -> x);
+                inPlace = Math.min(inPlace, System.nanoTime() - start);
+            }
+            System.out.printf("%d;%.1f;%.1f;%.1f%n", agent.getNodes().size(), copy / 1e3, rewrite / 1e3, inPlace / 1e3);
+        }
+    }
+
+    private PureBigraph rooms(int rooms) {
+        PureBigraphBuilder<DynamicSignature> builder = pureBuilder(sig);
+        PureBigraphBuilder<DynamicSignature>.Hierarchy root = builder.root();
+        for (int i = 0; i < rooms; i++) {
+            root.child("Room").down().child("A").up();
+        }
+        return builder.create();
+    }
+}
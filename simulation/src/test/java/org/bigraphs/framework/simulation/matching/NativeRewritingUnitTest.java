@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.bigraphs.framework.core.impl.BigraphEntity;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.core.reactivesystem.InstantiationMap;
+import org.bigraphs.framework.core.reactivesystem.ParametricReactionRule;
+import org.bigraphs.framework.core.reactivesystem.ReactionRule;
+import org.bigraphs.framework.core.reactivesystem.TrackingMap;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.pure.PureBigraphMatch;
+import org.bigraphs.framework.simulation.matching.pure.PureReactiveSystem;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validates the native rewriting of matches of the native matching engine against the jLibBig-based rewriting
+ * by comparing the canonical forms of all results.
+ *
+ * @author Dominik Grzelak
+ */
+public class NativeRewritingUnitTest {
+
+    private final DynamicSignature sig = pureSignatureBuilder()
+            .add("Room", 0)
+            .add("Door", 1)
+            .add("Job", 1)
+            .add("User", 1)
+            .create();
+
+    @Test
+    @DisplayName("Moving a parameter between two roots")
+    void move_parameter() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("Job", "j").child("User", "u");
+        b.root().child("Room");
+        PureBigraph agent = b.create();
+        String before = canonical(agent);
+
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().child("User", "u").site();
+        redex.root().child("Room").down().site();
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().site();
+        reactum.root().child("Room").down().child("User", "u").site();
+        ParametricReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex.create(), reactum.create());
+
+        List<PureBigraph> results = assertSameResults(agent, rule, 1);
+        assertEquals(agent.getNodes().size(), results.get(0).getNodes().size());
+        // the agent itself is not modified
+        assertEquals(before, canonical(agent));
+    }
+
+    @Test
+    @DisplayName("Duplicating and discarding a parameter")
+    void duplicate_and_discard_parameter() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down()
+                .child("Job", "j")
+                .child("Door").linkInner("e")
+                .child("Door").linkInner("e");
+        b.closeInner();
+        PureBigraph agent = b.create();
+
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().site();
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().site().up().child("Room").down().site();
+        ParametricReactionRule<PureBigraph> duplicate = new ParametricReactionRule<>(redex.create(), reactum.create(),
+                InstantiationMap.create(2).map(0, 0).map(1, 0));
+
+        PureBigraph result = assertSameResults(agent, duplicate, 1).get(0);
+        assertEquals(8, result.getNodes().size());
+        // the wiring of the parameter is applied once, so both copies share the edge closed inside the parameter
+        assertEquals(1, result.getEdges().size());
+        assertEquals(4, result.getPointsFromLink(result.getEdges().get(0)).size());
+
+        redex = pureBuilder(sig);
+        redex.root().child("Room").down().site();
+        reactum = pureBuilder(sig);
+        reactum.root().child("Room");
+        ParametricReactionRule<PureBigraph> discard = new ParametricReactionRule<>(redex.create(), reactum.create(),
+                InstantiationMap.create(0));
+
+        result = assertSameResults(agent, discard, 1).get(0);
+        assertEquals(1, result.getNodes().size());
+        assertTrue(result.getEdges().isEmpty());
+        assertEquals(1, result.getOuterNames().size());
+    }
+
+    @Test
+    @DisplayName("Rules that cannot be rewritten natively are matched and rewritten with jLibBig")
+    void unsupported_rewriting_plan() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("Job", "x");
+        b.root().child("Room");
+        PureBigraph agent = b.create();
+
+        // the outer name of the redex is idle, so its image cannot be located by the link embedding
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().site();
+        redex.createOuter("x");
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().site().child("User", "x");
+        ParametricReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex.create(), reactum.create());
+
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.addReactionRule(rule);
+        assertFalse(reactiveSystem.getCompiledRuleCache().get(rule).getNativeRewritingPlan().isSupported());
+
+        int occurrences = 0;
+        for (Object each : AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule)) {
+            assertFalse(((PureBigraphMatch) each).isNativeMatch());
+            PureBigraph result = reactiveSystem.buildGroundReaction(agent, (PureBigraphMatch) each, rule);
+            assertEquals(1, result.getNodes().stream()
+                    .filter(x -> x.getControl().getNamedType().stringValue().equals("User"))
+                    .count());
+            occurrences++;
+        }
+        assertTrue(occurrences > 0);
+    }
+
+    @Test
+    @DisplayName("Tracked reactum nodes keep the name and the attributes of their agent node")
+    void tracked_nodes() throws Exception {
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("User", "a").child("Job", "b");
+        PureBigraph agent = b.create();
+        BigraphEntity.NodeEntity<?> user = nodeOf(agent, "User");
+        user.setAttributes(Map.of("id", 42));
+
+        PureBigraphBuilder<DynamicSignature> redex = pureBuilder(sig);
+        redex.root().child("Room").down().child("User", "x").site();
+        PureBigraphBuilder<DynamicSignature> reactum = pureBuilder(sig);
+        reactum.root().child("Room").down().child("User", "x").child("Job", "x").site();
+        ParametricReactionRule<PureBigraph> rule = new ParametricReactionRule<>(redex.create(), reactum.create());
+        TrackingMap trackingMap = new TrackingMap();
+        trackingMap.put(nodeOf(rule.getReactum(), "User").getName(), nodeOf(rule.getRedex(), "User").getName());
+        trackingMap.put(nodeOf(rule.getReactum(), "Room").getName(), nodeOf(rule.getRedex(), "Room").getName());
+        trackingMap.put(nodeOf(rule.getReactum(), "Job").getName(), "");
+        rule.withTrackingMap(trackingMap);
+
+        PureBigraph result = assertSameResults(agent, rule, 1).get(0);
+        BigraphEntity.NodeEntity<?> trackedUser = nodeOf(result, "User");
+        assertEquals(user.getName(), trackedUser.getName());
+        assertEquals(42, trackedUser.getAttributes().get("id"));
+        assertEquals(nodeOf(agent, "Room").getName(), nodeOf(result, "Room").getName());
+        Set<String> names = new HashSet<>();
+        result.getNodes().forEach(x -> assertTrue(names.add(x.getName())));
+    }
+
+    private List<PureBigraph> assertSameResults(PureBigraph agent, ReactionRule<PureBigraph> rule, int expected) throws Exception {
+        PureReactiveSystem reactiveSystem = new PureReactiveSystem();
+        reactiveSystem.setAgent(agent);
+        reactiveSystem.addReactionRule(rule);
+
+        List<String> jLibBigResults = new ArrayList<>();
+        for (Object each : AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.JLIBBIG).matchAll(agent, rule)) {
+            jLibBigResults.add(canonical(reactiveSystem.buildGroundReaction(agent, (PureBigraphMatch) each, rule)));
+        }
+        List<PureBigraph> nativeResults = new ArrayList<>();
+        for (Object each : AbstractBigraphMatcher.create(PureBigraph.class, BigraphMatchingEngine.Type.NATIVE).matchAll(agent, rule)) {
+            assertTrue(((PureBigraphMatch) each).isNativeMatch());
+            PureBigraph result = reactiveSystem.buildGroundReaction(agent, (PureBigraphMatch) each, rule);
+            nativeResults.add(result);
+
+            // rewriting in place yields the same result and restores the agent
+            EObject before = EcoreUtil.copy(agent.getInstanceModel());
+            assertEquals(canonical(result), reactiveSystem.inspectReaction(agent, (PureBigraphMatch) each, rule, this::canonical));
+            assertTrue(EcoreUtil.equals(before, agent.getInstanceModel()));
+        }
+        assertEquals(expected, nativeResults.size());
+        assertEquals(new TreeSet<>(jLibBigResults), new TreeSet<>(nativeResults.stream().map(this::canonical).toList()));
+        return nativeResults;
+    }
+
+    private String canonical(PureBigraph bigraph) {
+        return BigraphCanonicalForm.createInstance().bfcs(bigraph);
+    }
+
+    private static BigraphEntity.NodeEntity<?> nodeOf(PureBigraph bigraph, String control) {
+        return bigraph.getNodes().stream()
+                .filter(x -> x.getControl().getNamedType().stringValue().equals(control))
+                .findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Bigraph Toolkit Suite Developers
+ * Main Developer: Dominik Grzelak
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.bigraphs.framework.simulation.matching;
+
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureBuilder;
+import static org.bigraphs.framework.core.factory.BigraphFactory.pureSignatureBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+import it.uniud.mads.jlibbig.core.std.Signature;
+import org.bigraphs.framework.core.impl.pure.PureBigraph;
+import org.bigraphs.framework.core.impl.pure.PureBigraphBuilder;
+import org.bigraphs.framework.core.impl.signature.DynamicSignature;
+import org.bigraphs.framework.simulation.encoding.BigraphCanonicalForm;
+import org.bigraphs.framework.simulation.matching.pure.CompiledReactionRuleCache;
+import org.bigraphs.framework.simulation.matching.pure.PreparedAgent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dominik Grzelak
+ */
+public class PreparedAgentUnitTest {
+
+    @Test
+    void registered_agent_is_encoded_once() {
+        DynamicSignature sig = pureSignatureBuilder().add("Room", 1).add("User", 1).create();
+        PureBigraphBuilder<DynamicSignature> b = pureBuilder(sig);
+        b.root().child("Room").down().child("User");
+        PureBigraph agent = b.create();
+        Signature jLibSignature = CompiledReactionRuleCache.getJLibSignature(sig);
+        assertSame(jLibSignature, CompiledReactionRuleCache.getJLibSignature(sig));
+
+        // without a registry, the agent is not shared
+        assertNotSame(PreparedAgent.prepare(agent), PreparedAgent.of(agent));
+
+        PreparedAgent.Registry registry = new PreparedAgent.Registry();
+        PreparedAgent.Registry previous = registry.bind();
+        PreparedAgent prepared;
+        try {
+            prepared = PreparedAgent.prepare(agent);
+            assertSame(prepared, PreparedAgent.of(agent));
+            assertSame(prepared.getJLibBigraph(jLibSignature), PreparedAgent.of(agent).getJLibBigraph(jLibSignature));
+
+            // the canonical strings are kept per canonical form instance
+            BigraphCanonicalForm canonicalForm = BigraphCanonicalForm.createInstance();
+            assertEquals(canonicalForm.bfcs(agent), prepared.getCanonicalString(canonicalForm));
+            BigraphCanonicalForm withNodeIdentifiers = BigraphCanonicalForm.createInstance(true);
+            prepared.setCanonicalString(withNodeIdentifiers, "known");
+            assertEquals("known", prepared.getCanonicalString(withNodeIdentifiers));
+            assertEquals(canonicalForm.bfcs(agent), prepared.getCanonicalString(canonicalForm));
+
+            PreparedAgent.release(agent);
+            assertEquals(0, registry.size());
+        } finally {
+            PreparedAgent.Registry.restore(previous);
+        }
+        assertNotSame(prepared, PreparedAgent.of(agent));
+    }
+}